@@ -0,0 +1,100 @@
+package com.library.benchmarks.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.library.common.dto.BookDTO;
+import com.library.common.event.BookEvent;
+import com.library.common.event.BorrowingEvent;
+import com.library.common.event.DomainEvent;
+import com.library.common.event.codec.EventFormat;
+import com.library.common.event.codec.EventSerializer;
+
+/**
+ * Serialization cost of domain events, JSON against the binary format
+ *
+ * Run with: java -jar target/benchmarks.jar EventSerializationBenchmark
+ * The encoded size of each event is logged at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSerializationBenchmark.class);
+
+    @Param({"JSON", "BINARY"})
+    private EventFormat format;
+
+    @Param({"BOOK_CREATED", "BORROWING_RETURNED"})
+    private String eventType;
+
+    private EventSerializer serializer;
+    private DomainEvent event;
+    private Class<? extends DomainEvent> baseType;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = EventSerializer.forFormat(format);
+
+        if ("BOOK_CREATED".equals(eventType)) {
+            BookDTO book = BookDTO.builder()
+                    .id(42L)
+                    .isbn("9780134685991")
+                    .title("Effective Java")
+                    .author("Joshua Bloch")
+                    .description("Best practices for the Java platform")
+                    .publisher("Addison-Wesley")
+                    .publicationDate(LocalDate.of(2017, 12, 27))
+                    .category("Programming")
+                    .tags(List.of("java", "best-practices"))
+                    .totalCopies(10)
+                    .availableCopies(7)
+                    .language("en")
+                    .pages(412)
+                    .status(BookDTO.BookStatus.AVAILABLE)
+                    .build();
+            event = new BookEvent.BookCreatedEvent("42", book);
+            baseType = BookEvent.class;
+        } else {
+            event = new BorrowingEvent.BorrowingReturnedEvent("1001", 1001L, 42L, 7L,
+                    LocalDateTime.now(), true, new BigDecimal("2.50"));
+            baseType = BorrowingEvent.class;
+        }
+
+        serialized = serializer.serialize(event);
+        log.info("{} {}: {} bytes", format, eventType, serialized.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(event);
+    }
+
+    @Benchmark
+    public DomainEvent deserialize() {
+        return serializer.deserialize(serialized, baseType);
+    }
+}
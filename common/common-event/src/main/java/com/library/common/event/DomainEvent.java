@@ -1,7 +1,8 @@
 package com.library.common.event;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
+
+import com.library.common.util.TimeOrderedIdGenerator;
 
 /**
  * Base interface for all domain events
@@ -37,9 +38,9 @@ public interface DomainEvent {
     }
     
     /**
-     * Generate a unique event ID
+     * Generate a unique, time ordered event ID (26 characters)
      */
     static String generateEventId() {
-        return UUID.randomUUID().toString();
+        return TimeOrderedIdGenerator.nextString();
     }
 }
@@ -0,0 +1,16 @@
+package com.library.common.event.bus;
+
+import java.util.List;
+
+import com.library.common.event.DomainEvent;
+
+/**
+ * Handles the events queued for an asynchronous subscriber in batches;
+ * events of one aggregate keep their publishing order within and across
+ * batches
+ */
+@FunctionalInterface
+public interface BatchEventHandler<E extends DomainEvent> {
+
+    void handle(List<E> events);
+}
@@ -0,0 +1,365 @@
+package com.library.common.event.bus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.library.common.event.DomainEvent;
+
+/**
+ * In-process event bus for local subscribers of domain events
+ *
+ * Subscriptions are fixed when the bus is built. The handlers of a
+ * concrete event class are resolved lazily, the first time an event of
+ * that class is published, and cached as an array in a ClassValue; from
+ * then on publishing is a class lookup and a loop of direct calls, with no
+ * reflection.
+ *
+ * Synchronous handlers run on the publishing thread, in registration
+ * order. Asynchronous handlers get a number of lanes, each a bounded queue
+ * drained in batches by its own thread; an event goes to the lane of its
+ * aggregate id, so every handler sees the events of one aggregate in
+ * publishing order. A full lane blocks the publisher. Handler failures are
+ * logged and counted and do not reach the publisher or other handlers;
+ * failed batches are not retried.
+ */
+public final class EventBus implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EventBus.class);
+
+    private static final Dispatch[] NO_HANDLERS = new Dispatch[0];
+
+    private final List<Registration> registrations;
+    private final List<AsyncDispatch> asyncDispatches;
+    private final ClassValue<Dispatch[]> dispatchTable = new ClassValue<>() {
+        @Override
+        protected Dispatch[] computeValue(Class<?> eventClass) {
+            Dispatch[] dispatches = registrations.stream()
+                    .filter(registration -> registration.eventType().isAssignableFrom(eventClass))
+                    .map(Registration::dispatch)
+                    .toArray(Dispatch[]::new);
+            return dispatches.length == 0 ? NO_HANDLERS : dispatches;
+        }
+    };
+
+    private volatile boolean closed;
+
+    private EventBus(List<Registration> registrations, List<AsyncDispatch> asyncDispatches) {
+        this.registrations = List.copyOf(registrations);
+        this.asyncDispatches = List.copyOf(asyncDispatches);
+        this.asyncDispatches.forEach(AsyncDispatch::start);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Deliver an event to every handler subscribed to its class or a
+     * supertype of it
+     */
+    public void publish(DomainEvent event) {
+        if (closed) {
+            throw new IllegalStateException("Event bus is closed");
+        }
+        for (Dispatch dispatch : dispatchTable.get(event.getClass())) {
+            dispatch.accept(event);
+        }
+    }
+
+    /**
+     * Whether any handler receives events of this class
+     */
+    public boolean hasSubscribers(Class<? extends DomainEvent> eventClass) {
+        return dispatchTable.get(eventClass).length > 0;
+    }
+
+    /**
+     * Events queued for asynchronous handlers and not yet handled
+     */
+    public int pending() {
+        return asyncDispatches.stream().mapToInt(AsyncDispatch::pending).sum();
+    }
+
+    /**
+     * Stop accepting events, let the asynchronous handlers finish what is
+     * queued and stop their threads
+     */
+    @Override
+    public void close() {
+        closed = true;
+        asyncDispatches.forEach(AsyncDispatch::stop);
+        asyncDispatches.forEach(AsyncDispatch::await);
+    }
+
+    public static final class Builder {
+
+        private final List<Registration> registrations = new ArrayList<>();
+        private final List<AsyncDispatch> asyncDispatches = new ArrayList<>();
+        private final DelegatingMetrics metrics = new DelegatingMetrics();
+        private int lanes = 4;
+        private int batchSize = 256;
+        private int queueCapacity = 10_000;
+
+        private Builder() {
+        }
+
+        public Builder metrics(EventBusMetrics metrics) {
+            this.metrics.delegate = metrics;
+            return this;
+        }
+
+        /**
+         * Defaults for asynchronous handlers registered after this call
+         */
+        public Builder asyncDefaults(int lanes, int batchSize, int queueCapacity) {
+            if (lanes < 1 || batchSize < 1 || queueCapacity < 1) {
+                throw new IllegalArgumentException("Lanes, batch size and queue capacity must be positive");
+            }
+            this.lanes = lanes;
+            this.batchSize = batchSize;
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Handle events of the type on the publishing thread
+         */
+        public <E extends DomainEvent> Builder on(Class<E> eventType, String name, EventHandler<? super E> handler) {
+            registrations.add(new Registration(eventType, new SyncDispatch(name, handler, metrics)));
+            return this;
+        }
+
+        /**
+         * Handle events of the type one by one on background lanes
+         */
+        public <E extends DomainEvent> Builder onAsync(Class<E> eventType, String name,
+                EventHandler<? super E> handler) {
+            return onAsyncBatch(eventType, name, events -> events.forEach(handler::handle));
+        }
+
+        /**
+         * Handle events of the type in batches on background lanes
+         */
+        public <E extends DomainEvent> Builder onAsyncBatch(Class<E> eventType, String name,
+                BatchEventHandler<E> handler) {
+            AsyncDispatch dispatch = new AsyncDispatch(name, handler, metrics, lanes, batchSize, queueCapacity);
+            registrations.add(new Registration(eventType, dispatch));
+            asyncDispatches.add(dispatch);
+            return this;
+        }
+
+        public Builder subscribe(EventSubscriber subscriber) {
+            subscriber.subscribe(this);
+            return this;
+        }
+
+        public EventBus build() {
+            return new EventBus(registrations, asyncDispatches);
+        }
+    }
+
+    private record Registration(Class<?> eventType, Dispatch dispatch) {
+    }
+
+    /**
+     * Lets handlers registered before {@link Builder#metrics} report to it
+     */
+    private static final class DelegatingMetrics implements EventBusMetrics {
+
+        private volatile EventBusMetrics delegate = EventBusMetrics.NONE;
+
+        @Override
+        public void recordHandled(String handler, String eventType, long nanos, boolean success) {
+            delegate.recordHandled(handler, eventType, nanos, success);
+        }
+
+        @Override
+        public void recordBatch(String handler, int size, long nanos, boolean success) {
+            delegate.recordBatch(handler, size, nanos, success);
+        }
+    }
+
+    private interface Dispatch {
+        void accept(DomainEvent event);
+    }
+
+    private static final class SyncDispatch implements Dispatch {
+
+        private final String name;
+        private final EventHandler<DomainEvent> handler;
+        private final EventBusMetrics metrics;
+
+        @SuppressWarnings("unchecked")
+        SyncDispatch(String name, EventHandler<?> handler, EventBusMetrics metrics) {
+            this.name = name;
+            this.handler = (EventHandler<DomainEvent>) handler;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void accept(DomainEvent event) {
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                handler.handle(event);
+                success = true;
+            } catch (RuntimeException e) {
+                log.error("Event handler {} failed on {} {}", name, event.getEventType(), event.getEventId(), e);
+            } finally {
+                metrics.recordHandled(name, event.getEventType(), System.nanoTime() - start, success);
+            }
+        }
+    }
+
+    private static final class AsyncDispatch implements Dispatch {
+
+        private final String name;
+        private final BatchEventHandler<DomainEvent> handler;
+        private final EventBusMetrics metrics;
+        private final int batchSize;
+        private final Lane[] lanes;
+
+        @SuppressWarnings("unchecked")
+        AsyncDispatch(String name, BatchEventHandler<?> handler, EventBusMetrics metrics,
+                int laneCount, int batchSize, int queueCapacity) {
+            this.name = name;
+            this.handler = (BatchEventHandler<DomainEvent>) handler;
+            this.metrics = metrics;
+            this.batchSize = batchSize;
+            this.lanes = new Lane[laneCount];
+            for (int i = 0; i < laneCount; i++) {
+                lanes[i] = new Lane(i, queueCapacity);
+            }
+        }
+
+        @Override
+        public void accept(DomainEvent event) {
+            String aggregateId = event.getAggregateId();
+            int lane = aggregateId == null ? 0 : Math.floorMod(aggregateId.hashCode(), lanes.length);
+            lanes[lane].enqueue(event);
+        }
+
+        void start() {
+            for (Lane lane : lanes) {
+                lane.thread.start();
+            }
+        }
+
+        void stop() {
+            for (Lane lane : lanes) {
+                lane.enqueue(Lane.STOP);
+            }
+        }
+
+        void await() {
+            for (Lane lane : lanes) {
+                try {
+                    lane.thread.join(TimeUnit.SECONDS.toMillis(10));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        int pending() {
+            int pending = 0;
+            for (Lane lane : lanes) {
+                pending += lane.queue.size();
+            }
+            return pending;
+        }
+
+        private void handle(List<DomainEvent> batch) {
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                handler.handle(batch);
+                success = true;
+            } catch (RuntimeException e) {
+                log.error("Event handler {} failed on a batch of {} events", name, batch.size(), e);
+            } finally {
+                metrics.recordBatch(name, batch.size(), System.nanoTime() - start, success);
+            }
+        }
+
+        private final class Lane implements Runnable {
+
+            private static final DomainEvent STOP = new StopSignal();
+
+            private final BlockingQueue<DomainEvent> queue;
+            private final Thread thread;
+
+            Lane(int index, int capacity) {
+                this.queue = new ArrayBlockingQueue<>(capacity);
+                this.thread = new Thread(this, "event-bus-" + name + "-" + index);
+                this.thread.setDaemon(true);
+            }
+
+            void enqueue(DomainEvent event) {
+                try {
+                    queue.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while publishing to " + name, e);
+                }
+            }
+
+            @Override
+            public void run() {
+                List<DomainEvent> batch = new ArrayList<>(batchSize);
+                try {
+                    while (true) {
+                        batch.add(queue.take());
+                        queue.drainTo(batch, batchSize - 1);
+
+                        int stop = batch.indexOf(STOP);
+                        if (stop >= 0) {
+                            if (stop > 0) {
+                                handle(batch.subList(0, stop));
+                            }
+                            return;
+                        }
+                        handle(batch);
+                        batch.clear();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Marker queued to stop a lane after the events ahead of it
+     */
+    private static final class StopSignal implements DomainEvent {
+
+        @Override
+        public String getEventId() {
+            return null;
+        }
+
+        @Override
+        public String getEventType() {
+            return "STOP";
+        }
+
+        @Override
+        public LocalDateTime getOccurredOn() {
+            return null;
+        }
+
+        @Override
+        public String getAggregateId() {
+            return null;
+        }
+    }
+}
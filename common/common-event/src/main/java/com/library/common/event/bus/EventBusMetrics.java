@@ -0,0 +1,27 @@
+package com.library.common.event.bus;
+
+/**
+ * Receives handler timings from the event bus
+ */
+public interface EventBusMetrics {
+
+    EventBusMetrics NONE = new EventBusMetrics() {
+        @Override
+        public void recordHandled(String handler, String eventType, long nanos, boolean success) {
+        }
+
+        @Override
+        public void recordBatch(String handler, int size, long nanos, boolean success) {
+        }
+    };
+
+    /**
+     * A synchronous handler processed one event
+     */
+    void recordHandled(String handler, String eventType, long nanos, boolean success);
+
+    /**
+     * An asynchronous handler processed a batch of events
+     */
+    void recordBatch(String handler, int size, long nanos, boolean success);
+}
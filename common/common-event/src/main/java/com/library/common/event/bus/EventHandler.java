@@ -0,0 +1,12 @@
+package com.library.common.event.bus;
+
+import com.library.common.event.DomainEvent;
+
+/**
+ * Handles one event at a time
+ */
+@FunctionalInterface
+public interface EventHandler<E extends DomainEvent> {
+
+    void handle(E event);
+}
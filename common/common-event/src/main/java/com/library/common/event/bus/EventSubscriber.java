@@ -0,0 +1,10 @@
+package com.library.common.event.bus;
+
+/**
+ * Component that registers its handlers while the bus is built
+ */
+@FunctionalInterface
+public interface EventSubscriber {
+
+    void subscribe(EventBus.Builder bus);
+}
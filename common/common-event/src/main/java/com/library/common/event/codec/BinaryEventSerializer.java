@@ -0,0 +1,99 @@
+package com.library.common.event.codec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.library.common.event.DomainEvent;
+
+/**
+ * Compact binary format for domain events
+ *
+ * Layout: magic byte, varint type tag, varint schema version
+ * ({@link DomainEvent#getVersion()}), event id (16 bytes when time
+ * ordered), occurredOn in epoch microseconds, aggregate id, then the type
+ * specific fields of the type's {@link EventCodec}. Codecs are looked up in
+ * a table built once, without reflection or polymorphic type resolution.
+ */
+public class BinaryEventSerializer implements EventSerializer {
+
+    public static final byte MAGIC = (byte) 0xEC;
+
+    private static final EventCodec<?>[] BY_TAG;
+    private static final Map<Class<?>, EventCodec<?>> BY_CLASS = new HashMap<>();
+
+    static {
+        List<EventCodec<?>> codecs = Stream.of(
+                BookEventCodecs.all(),
+                BorrowingEventCodecs.all(),
+                UserEventCodecs.all(),
+                NotificationEventCodecs.all())
+                .flatMap(List::stream)
+                .toList();
+
+        int maxTag = codecs.stream().mapToInt(EventCodec::typeTag).max().orElse(0);
+        BY_TAG = new EventCodec<?>[maxTag + 1];
+        for (EventCodec<?> codec : codecs) {
+            if (BY_TAG[codec.typeTag()] != null || BY_CLASS.put(codec.eventClass(), codec) != null) {
+                throw new IllegalStateException("Duplicate event codec for tag " + codec.typeTag());
+            }
+            BY_TAG[codec.typeTag()] = codec;
+        }
+    }
+
+    @Override
+    public EventFormat format() {
+        return EventFormat.BINARY;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(DomainEvent event) {
+        EventCodec<DomainEvent> codec = (EventCodec<DomainEvent>) BY_CLASS.get(event.getClass());
+        if (codec == null) {
+            throw new IllegalArgumentException("No binary codec for " + event.getClass().getName());
+        }
+
+        EventWriter out = new EventWriter();
+        out.writeByte(MAGIC);
+        out.writeVarInt(codec.typeTag());
+        out.writeVarInt(event.getVersion());
+        out.writeEventId(event.getEventId());
+        out.writeTimestamp(event.getOccurredOn());
+        out.writeString(event.getAggregateId());
+        codec.write(event, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public <T extends DomainEvent> T deserialize(byte[] data, Class<T> type) {
+        EventReader in = new EventReader(data);
+        if (data.length == 0 || (byte) in.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary event");
+        }
+
+        int tag = in.readVarInt();
+        EventCodec<?> codec = tag < BY_TAG.length ? BY_TAG[tag] : null;
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown event type tag: " + tag);
+        }
+        int version = in.readVarInt();
+        EventHeader header = new EventHeader(in.readEventId(), in.readTimestamp(), in.readString());
+
+        // Fields appended by a newer writer are left unread
+        DomainEvent event = codec.read(header, in, version);
+        if (!type.isInstance(event)) {
+            throw new IllegalArgumentException(
+                    "Expected " + type.getSimpleName() + " but got " + event.getClass().getSimpleName());
+        }
+        return type.cast(event);
+    }
+
+    /**
+     * Whether the binary format covers this event type
+     */
+    public static boolean supports(Class<? extends DomainEvent> type) {
+        return BY_CLASS.containsKey(type);
+    }
+}
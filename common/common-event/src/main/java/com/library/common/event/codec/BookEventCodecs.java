@@ -0,0 +1,76 @@
+package com.library.common.event.codec;
+
+import java.util.List;
+
+import com.library.common.event.BookEvent;
+import com.library.common.event.BookEvent.BookBorrowedEvent;
+import com.library.common.event.BookEvent.BookCreatedEvent;
+import com.library.common.event.BookEvent.BookDeletedEvent;
+import com.library.common.event.BookEvent.BookReturnedEvent;
+import com.library.common.event.BookEvent.BookUpdatedEvent;
+
+/**
+ * Binary codecs of the {@link BookEvent} types, tags 1-15
+ */
+final class BookEventCodecs {
+
+    private BookEventCodecs() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    static List<EventCodec<?>> all() {
+        return List.of(
+                EventCodec.of(1, BookCreatedEvent.class,
+                        (event, out) -> DtoCodecs.writeBook(event.getBook(), out),
+                        (header, in, version) -> withHeader(BookCreatedEvent.builder()
+                                .book(DtoCodecs.readBook(in))
+                                .build(), header)),
+
+                EventCodec.of(2, BookUpdatedEvent.class,
+                        (event, out) -> DtoCodecs.writeBook(event.getBook(), out),
+                        (header, in, version) -> withHeader(BookUpdatedEvent.builder()
+                                .book(DtoCodecs.readBook(in))
+                                .build(), header)),
+
+                EventCodec.of(3, BookDeletedEvent.class,
+                        (event, out) -> out.writeNullableLong(event.getBookId()),
+                        (header, in, version) -> withHeader(BookDeletedEvent.builder()
+                                .bookId(in.readNullableLong())
+                                .build(), header)),
+
+                EventCodec.of(4, BookBorrowedEvent.class,
+                        (event, out) -> {
+                            out.writeNullableLong(event.getBookId());
+                            out.writeNullableLong(event.getUserId());
+                            out.writeTimestamp(event.getBorrowDate());
+                            out.writeTimestamp(event.getDueDate());
+                        },
+                        (header, in, version) -> withHeader(BookBorrowedEvent.builder()
+                                .bookId(in.readNullableLong())
+                                .userId(in.readNullableLong())
+                                .borrowDate(in.readTimestamp())
+                                .dueDate(in.readTimestamp())
+                                .build(), header)),
+
+                EventCodec.of(5, BookReturnedEvent.class,
+                        (event, out) -> {
+                            out.writeNullableLong(event.getBookId());
+                            out.writeNullableLong(event.getUserId());
+                            out.writeTimestamp(event.getReturnDate());
+                            out.writeBoolean(event.isOverdue());
+                        },
+                        (header, in, version) -> withHeader(BookReturnedEvent.builder()
+                                .bookId(in.readNullableLong())
+                                .userId(in.readNullableLong())
+                                .returnDate(in.readTimestamp())
+                                .isOverdue(in.readBoolean())
+                                .build(), header)));
+    }
+
+    private static <T extends BookEvent> T withHeader(T event, EventHeader header) {
+        event.setEventId(header.eventId());
+        event.setOccurredOn(header.occurredOn());
+        event.setAggregateId(header.aggregateId());
+        return event;
+    }
+}
@@ -0,0 +1,98 @@
+package com.library.common.event.codec;
+
+import java.util.List;
+
+import com.library.common.event.BorrowingEvent;
+import com.library.common.event.BorrowingEvent.BorrowingCreatedEvent;
+import com.library.common.event.BorrowingEvent.BorrowingOverdueEvent;
+import com.library.common.event.BorrowingEvent.BorrowingRenewedEvent;
+import com.library.common.event.BorrowingEvent.BorrowingReturnedEvent;
+import com.library.common.event.BorrowingEvent.FinePaidEvent;
+
+/**
+ * Binary codecs of the {@link BorrowingEvent} types, tags 16-31
+ */
+final class BorrowingEventCodecs {
+
+    private BorrowingEventCodecs() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    static List<EventCodec<?>> all() {
+        return List.of(
+                EventCodec.of(16, BorrowingCreatedEvent.class,
+                        (event, out) -> DtoCodecs.writeBorrowing(event.getBorrowing(), out),
+                        (header, in, version) -> withHeader(BorrowingCreatedEvent.builder()
+                                .borrowing(DtoCodecs.readBorrowing(in))
+                                .build(), header)),
+
+                EventCodec.of(17, BorrowingReturnedEvent.class,
+                        (event, out) -> {
+                            out.writeNullableLong(event.getBorrowingId());
+                            out.writeNullableLong(event.getBookId());
+                            out.writeNullableLong(event.getUserId());
+                            out.writeTimestamp(event.getReturnDate());
+                            out.writeBoolean(event.isOverdue());
+                            out.writeDecimal(event.getFineAmount());
+                        },
+                        (header, in, version) -> withHeader(BorrowingReturnedEvent.builder()
+                                .borrowingId(in.readNullableLong())
+                                .bookId(in.readNullableLong())
+                                .userId(in.readNullableLong())
+                                .returnDate(in.readTimestamp())
+                                .isOverdue(in.readBoolean())
+                                .fineAmount(in.readDecimal())
+                                .build(), header)),
+
+                EventCodec.of(18, BorrowingOverdueEvent.class,
+                        (event, out) -> {
+                            out.writeNullableLong(event.getBorrowingId());
+                            out.writeNullableLong(event.getUserId());
+                            out.writeNullableLong(event.getBookId());
+                            out.writeInt(event.getDaysOverdue());
+                            out.writeDecimal(event.getFineAmount());
+                        },
+                        (header, in, version) -> withHeader(BorrowingOverdueEvent.builder()
+                                .borrowingId(in.readNullableLong())
+                                .userId(in.readNullableLong())
+                                .bookId(in.readNullableLong())
+                                .daysOverdue(in.readInt())
+                                .fineAmount(in.readDecimal())
+                                .build(), header)),
+
+                EventCodec.of(19, BorrowingRenewedEvent.class,
+                        (event, out) -> {
+                            out.writeNullableLong(event.getBorrowingId());
+                            out.writeNullableLong(event.getUserId());
+                            out.writeNullableLong(event.getBookId());
+                            out.writeTimestamp(event.getNewDueDate());
+                        },
+                        (header, in, version) -> withHeader(BorrowingRenewedEvent.builder()
+                                .borrowingId(in.readNullableLong())
+                                .userId(in.readNullableLong())
+                                .bookId(in.readNullableLong())
+                                .newDueDate(in.readTimestamp())
+                                .build(), header)),
+
+                EventCodec.of(20, FinePaidEvent.class,
+                        (event, out) -> {
+                            out.writeNullableLong(event.getBorrowingId());
+                            out.writeNullableLong(event.getUserId());
+                            out.writeDecimal(event.getAmount());
+                            out.writeTimestamp(event.getPaidAt());
+                        },
+                        (header, in, version) -> withHeader(FinePaidEvent.builder()
+                                .borrowingId(in.readNullableLong())
+                                .userId(in.readNullableLong())
+                                .amount(in.readDecimal())
+                                .paidAt(in.readTimestamp())
+                                .build(), header)));
+    }
+
+    private static <T extends BorrowingEvent> T withHeader(T event, EventHeader header) {
+        event.setEventId(header.eventId());
+        event.setOccurredOn(header.occurredOn());
+        event.setAggregateId(header.aggregateId());
+        return event;
+    }
+}
@@ -0,0 +1,150 @@
+package com.library.common.event.codec;
+
+import com.library.common.dto.BookDTO;
+import com.library.common.dto.BorrowingDTO;
+import com.library.common.dto.UserDTO;
+
+/**
+ * Binary form of the DTOs embedded in events
+ *
+ * DTO fields follow the same rule as event fields: append only, and raise
+ * the version of every event embedding the DTO so that readers can gate
+ * the appended fields on it.
+ */
+final class DtoCodecs {
+
+    private DtoCodecs() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    static void writeBook(BookDTO book, EventWriter out) {
+        out.writeBoolean(book != null);
+        if (book == null) {
+            return;
+        }
+        out.writeNullableLong(book.getId());
+        out.writeString(book.getIsbn());
+        out.writeString(book.getTitle());
+        out.writeString(book.getAuthor());
+        out.writeString(book.getDescription());
+        out.writeString(book.getPublisher());
+        out.writeDate(book.getPublicationDate());
+        out.writeString(book.getCategory());
+        out.writeStringList(book.getTags());
+        out.writeNullableInt(book.getTotalCopies());
+        out.writeNullableInt(book.getAvailableCopies());
+        out.writeString(book.getLanguage());
+        out.writeNullableInt(book.getPages());
+        out.writeString(book.getCoverImageUrl());
+        out.writeEnum(book.getStatus());
+    }
+
+    static BookDTO readBook(EventReader in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return BookDTO.builder()
+                .id(in.readNullableLong())
+                .isbn(in.readString())
+                .title(in.readString())
+                .author(in.readString())
+                .description(in.readString())
+                .publisher(in.readString())
+                .publicationDate(in.readDate())
+                .category(in.readString())
+                .tags(in.readStringList())
+                .totalCopies(in.readNullableInt())
+                .availableCopies(in.readNullableInt())
+                .language(in.readString())
+                .pages(in.readNullableInt())
+                .coverImageUrl(in.readString())
+                .status(in.readEnum(BookDTO.BookStatus.class))
+                .build();
+    }
+
+    static void writeBorrowing(BorrowingDTO borrowing, EventWriter out) {
+        out.writeBoolean(borrowing != null);
+        if (borrowing == null) {
+            return;
+        }
+        out.writeNullableLong(borrowing.getId());
+        out.writeNullableLong(borrowing.getUserId());
+        out.writeNullableLong(borrowing.getBookId());
+        out.writeString(borrowing.getUsername());
+        out.writeString(borrowing.getBookTitle());
+        out.writeString(borrowing.getBookIsbn());
+        out.writeDate(borrowing.getBorrowDate());
+        out.writeDate(borrowing.getDueDate());
+        out.writeDate(borrowing.getReturnDate());
+        out.writeEnum(borrowing.getStatus());
+        out.writeNullableInt(borrowing.getDaysOverdue());
+        out.writeDecimal(borrowing.getFineAmount());
+        out.writeNullableBoolean(borrowing.getFinePaid());
+        out.writeString(borrowing.getNotes());
+        out.writeTimestamp(borrowing.getCreatedAt());
+        out.writeTimestamp(borrowing.getUpdatedAt());
+    }
+
+    static BorrowingDTO readBorrowing(EventReader in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return BorrowingDTO.builder()
+                .id(in.readNullableLong())
+                .userId(in.readNullableLong())
+                .bookId(in.readNullableLong())
+                .username(in.readString())
+                .bookTitle(in.readString())
+                .bookIsbn(in.readString())
+                .borrowDate(in.readDate())
+                .dueDate(in.readDate())
+                .returnDate(in.readDate())
+                .status(in.readEnum(BorrowingDTO.BorrowingStatus.class))
+                .daysOverdue(in.readNullableInt())
+                .fineAmount(in.readDecimal())
+                .finePaid(in.readNullableBoolean())
+                .notes(in.readString())
+                .createdAt(in.readTimestamp())
+                .updatedAt(in.readTimestamp())
+                .build();
+    }
+
+    static void writeUser(UserDTO user, EventWriter out) {
+        out.writeBoolean(user != null);
+        if (user == null) {
+            return;
+        }
+        out.writeNullableLong(user.getId());
+        out.writeString(user.getUsername());
+        out.writeString(user.getEmail());
+        out.writeString(user.getFirstName());
+        out.writeString(user.getLastName());
+        out.writeString(user.getPhoneNumber());
+        out.writeString(user.getAddress());
+        out.writeEnum(user.getRole());
+        out.writeEnum(user.getStatus());
+        out.writeTimestamp(user.getRegisteredAt());
+        out.writeTimestamp(user.getLastLoginAt());
+        out.writeString(user.getProfileImageUrl());
+    }
+
+    static UserDTO readUser(EventReader in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return UserDTO.builder()
+                .id(in.readNullableLong())
+                .username(in.readString())
+                .email(in.readString())
+                .firstName(in.readString())
+                .lastName(in.readString())
+                .phoneNumber(in.readString())
+                .address(in.readString())
+                .role(in.readEnum(UserDTO.UserRole.class))
+                .status(in.readEnum(UserDTO.UserStatus.class))
+                .registeredAt(in.readTimestamp())
+                .lastLoginAt(in.readTimestamp())
+                .profileImageUrl(in.readString())
+                .build();
+    }
+}
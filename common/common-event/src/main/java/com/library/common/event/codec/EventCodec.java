@@ -0,0 +1,68 @@
+package com.library.common.event.codec;
+
+import com.library.common.event.DomainEvent;
+
+/**
+ * Binary serializer of one concrete domain event type
+ *
+ * Fields are written in a fixed order without names. To evolve a type,
+ * only append fields at the end of the body and raise the event's
+ * {@link DomainEvent#getVersion()}; the reader receives the version the
+ * event was written with and reads an appended field only when
+ * {@code version} is high enough. Fields appended by newer writers are
+ * simply left unread by older readers.
+ */
+public interface EventCodec<T extends DomainEvent> {
+
+    /**
+     * Wire tag of the type; never reused for another type
+     */
+    int typeTag();
+
+    Class<T> eventClass();
+
+    /**
+     * Write the type specific fields, the header is written by the caller
+     */
+    void write(T event, EventWriter out);
+
+    /**
+     * Read the type specific fields written with the given schema version
+     */
+    T read(EventHeader header, EventReader in, int version);
+
+    static <T extends DomainEvent> EventCodec<T> of(int typeTag, Class<T> eventClass,
+            BodyWriter<T> writer, BodyReader<T> reader) {
+        return new EventCodec<>() {
+            @Override
+            public int typeTag() {
+                return typeTag;
+            }
+
+            @Override
+            public Class<T> eventClass() {
+                return eventClass;
+            }
+
+            @Override
+            public void write(T event, EventWriter out) {
+                writer.write(event, out);
+            }
+
+            @Override
+            public T read(EventHeader header, EventReader in, int version) {
+                return reader.read(header, in, version);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface BodyWriter<T> {
+        void write(T event, EventWriter out);
+    }
+
+    @FunctionalInterface
+    interface BodyReader<T> {
+        T read(EventHeader header, EventReader in, int version);
+    }
+}
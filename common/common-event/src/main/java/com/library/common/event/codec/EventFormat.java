@@ -0,0 +1,39 @@
+package com.library.common.event.codec;
+
+/**
+ * Wire format of serialized domain events
+ */
+public enum EventFormat {
+
+    JSON("application/json"),
+    BINARY("application/vnd.library.event+binary");
+
+    private final String contentType;
+
+    EventFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Format of a serialized event, recognised by its first byte
+     */
+    public static EventFormat detect(byte[] data) {
+        return data != null && data.length > 0 && data[0] == BinaryEventSerializer.MAGIC ? BINARY : JSON;
+    }
+
+    /**
+     * Format by name, case insensitive
+     */
+    public static EventFormat from(String value) {
+        for (EventFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown event format: " + value);
+    }
+}
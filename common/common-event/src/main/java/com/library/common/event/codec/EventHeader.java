@@ -0,0 +1,9 @@
+package com.library.common.event.codec;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fields every domain event carries, decoded before the type specific body
+ */
+public record EventHeader(String eventId, LocalDateTime occurredOn, String aggregateId) {
+}
@@ -0,0 +1,254 @@
+package com.library.common.event.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.library.common.util.TimeOrderedId;
+
+/**
+ * Reads the primitive values written by {@link EventWriter}
+ *
+ * Sizes read from the input are checked against the remaining bytes
+ * before use, so malformed or truncated input fails with
+ * IllegalArgumentException instead of large allocations.
+ */
+public final class EventReader {
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private final byte[] buffer;
+    private int position;
+    private final int limit;
+
+    public EventReader(byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    public EventReader(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Whether unread bytes are left, e.g. fields appended by a newer schema
+     * version
+     */
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    public long readSignedLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public int readInt() {
+        return (int) readSignedLong();
+    }
+
+    public long readFixedLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public Long readNullableLong() {
+        return readBoolean() ? readSignedLong() : null;
+    }
+
+    public Integer readNullableInt() {
+        return readBoolean() ? (int) readSignedLong() : null;
+    }
+
+    public Boolean readNullableBoolean() {
+        int value = readByte();
+        return value == 0 ? null : value == 2;
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        length--;
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Enum constant by name, null for names this version does not know
+     */
+    public <E extends Enum<E>> E readEnum(Class<E> type) {
+        String name = readString();
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public LocalDateTime readTimestamp() {
+        if (!readBoolean()) {
+            return null;
+        }
+        long micros = readSignedLong();
+        long seconds = Math.floorDiv(micros, MICROS_PER_SECOND);
+        int nanos = (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1000;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    public LocalDate readDate() {
+        return readBoolean() ? LocalDate.ofEpochDay(readSignedLong()) : null;
+    }
+
+    public BigDecimal readDecimal() {
+        if (!readBoolean()) {
+            return null;
+        }
+        int scale = (int) readSignedLong();
+        int length = readVarInt();
+        require(length);
+        byte[] unscaled = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    public String readEventId() {
+        int kind = readByte();
+        return switch (kind) {
+            case EventWriter.ID_NULL -> null;
+            case EventWriter.ID_TIME_ORDERED -> {
+                require(TimeOrderedId.BYTES);
+                byte[] bytes = Arrays.copyOfRange(buffer, position, position + TimeOrderedId.BYTES);
+                position += TimeOrderedId.BYTES;
+                yield TimeOrderedId.fromBytes(bytes).toString();
+            }
+            case EventWriter.ID_TEXT -> readString();
+            default -> throw new IllegalArgumentException("Unknown event id kind: " + kind);
+        };
+    }
+
+    public List<String> readStringList() {
+        int size = readVarInt();
+        if (size == 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(Math.min(size - 1, limit - position));
+        for (int i = 1; i < size; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    public Map<String, String> readStringMap() {
+        int size = readVarInt();
+        if (size == 0) {
+            return null;
+        }
+        Map<String, String> values = new HashMap<>(mapCapacity(size - 1));
+        for (int i = 1; i < size; i++) {
+            values.put(readString(), readString());
+        }
+        return values;
+    }
+
+    public Map<String, Object> readValueMap() {
+        int size = readVarInt();
+        if (size == 0) {
+            return null;
+        }
+        Map<String, Object> values = new LinkedHashMap<>(mapCapacity(size - 1));
+        for (int i = 1; i < size; i++) {
+            values.put(readString(), readValue());
+        }
+        return values;
+    }
+
+    private Object readValue() {
+        int tag = readByte();
+        return switch (tag) {
+            case EventWriter.VALUE_NULL -> null;
+            case EventWriter.VALUE_FALSE -> Boolean.FALSE;
+            case EventWriter.VALUE_TRUE -> Boolean.TRUE;
+            case EventWriter.VALUE_INT -> (int) readSignedLong();
+            case EventWriter.VALUE_LONG -> readSignedLong();
+            case EventWriter.VALUE_DOUBLE -> Double.longBitsToDouble(readFixedLong());
+            case EventWriter.VALUE_STRING -> readString();
+            case EventWriter.VALUE_DECIMAL -> readDecimal();
+            case EventWriter.VALUE_LIST -> {
+                int size = readVarInt();
+                List<Object> list = new ArrayList<>(Math.min(size, limit - position));
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue());
+                }
+                yield list;
+            }
+            case EventWriter.VALUE_MAP -> readValueMap();
+            default -> throw new IllegalArgumentException("Unknown event value tag: " + tag);
+        };
+    }
+
+    private int mapCapacity(int size) {
+        // Never trust a size read from the input for an allocation
+        return (int) (Math.min(size, limit - position) / 0.75f) + 1;
+    }
+
+    private void require(int bytes) {
+        // Compared as remaining bytes, position + bytes could overflow
+        if (bytes < 0 || bytes > limit - position) {
+            throw new IllegalArgumentException("Truncated event");
+        }
+    }
+}
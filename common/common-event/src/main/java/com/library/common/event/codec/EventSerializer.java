@@ -0,0 +1,26 @@
+package com.library.common.event.codec;
+
+import com.library.common.event.DomainEvent;
+
+/**
+ * Turns domain events into bytes and back
+ */
+public interface EventSerializer {
+
+    EventFormat format();
+
+    byte[] serialize(DomainEvent event);
+
+    /**
+     * Decode an event of the given type or one of its subtypes, e.g.
+     * {@code BookEvent.class}
+     */
+    <T extends DomainEvent> T deserialize(byte[] data, Class<T> type);
+
+    static EventSerializer forFormat(EventFormat format) {
+        return switch (format) {
+            case JSON -> new JsonEventSerializer();
+            case BINARY -> new BinaryEventSerializer();
+        };
+    }
+}
@@ -0,0 +1,279 @@
+package com.library.common.event.codec;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.library.common.util.TimeOrderedId;
+
+/**
+ * Appends the primitive values of the binary event format to a growable
+ * buffer
+ *
+ * Integers are varints (signed ones zigzag encoded), timestamps are epoch
+ * microseconds in UTC, strings are UTF-8 with their length, and every
+ * nullable value has its own null marker.
+ */
+public final class EventWriter {
+
+    static final int VALUE_NULL = 0;
+    static final int VALUE_FALSE = 1;
+    static final int VALUE_TRUE = 2;
+    static final int VALUE_INT = 3;
+    static final int VALUE_LONG = 4;
+    static final int VALUE_DOUBLE = 5;
+    static final int VALUE_STRING = 6;
+    static final int VALUE_DECIMAL = 7;
+    static final int VALUE_LIST = 8;
+    static final int VALUE_MAP = 9;
+
+    static final int ID_NULL = 0;
+    static final int ID_TIME_ORDERED = 1;
+    static final int ID_TEXT = 2;
+
+    private byte[] buffer;
+    private int position;
+
+    public EventWriter() {
+        this(256);
+    }
+
+    public EventWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public int size() {
+        return position;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    /**
+     * Unsigned LEB128 varint
+     */
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Zigzag varint, small negative values stay short
+     */
+    public void writeSignedLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeInt(int value) {
+        writeSignedLong(value);
+    }
+
+    /**
+     * Eight bytes, big-endian
+     */
+    public void writeFixedLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeNullableLong(Long value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeSignedLong(value);
+        }
+    }
+
+    public void writeNullableInt(Integer value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeSignedLong(value);
+        }
+    }
+
+    public void writeNullableBoolean(Boolean value) {
+        writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    public void writeEnum(Enum<?> value) {
+        writeString(value != null ? value.name() : null);
+    }
+
+    /**
+     * Epoch microseconds, reading the local date time as UTC; sub-microsecond
+     * precision is dropped
+     */
+    public void writeTimestamp(LocalDateTime value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeSignedLong(value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1000);
+        }
+    }
+
+    public void writeDate(LocalDate value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeSignedLong(value.toEpochDay());
+        }
+    }
+
+    public void writeDecimal(BigDecimal value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            writeSignedLong(value.scale());
+            writeVarInt(unscaled.length);
+            writeBytes(unscaled, 0, unscaled.length);
+        }
+    }
+
+    /**
+     * Event ids in time ordered form take 16 bytes, anything else (such as
+     * UUIDs of older events) is written as text
+     */
+    public void writeEventId(String eventId) {
+        if (eventId == null) {
+            writeByte(ID_NULL);
+            return;
+        }
+        if (eventId.length() == TimeOrderedId.TEXT_LENGTH) {
+            TimeOrderedId id = parseCanonical(eventId);
+            if (id != null) {
+                writeByte(ID_TIME_ORDERED);
+                writeBytes(id.toBytes(), 0, TimeOrderedId.BYTES);
+                return;
+            }
+        }
+        writeByte(ID_TEXT);
+        writeString(eventId);
+    }
+
+    public void writeStringList(List<String> values) {
+        if (values == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(values.size() + 1);
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    public void writeStringMap(Map<String, String> values) {
+        if (values == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(values.size() + 1);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            writeString(entry.getKey());
+            writeString(entry.getValue());
+        }
+    }
+
+    /**
+     * Map of JSON-like values: null, booleans, numbers, strings, lists and
+     * nested maps
+     */
+    public void writeValueMap(Map<String, Object> values) {
+        if (values == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(values.size() + 1);
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            writeString(entry.getKey());
+            writeValue(entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeValue(Object value) {
+        if (value == null) {
+            writeByte(VALUE_NULL);
+        } else if (value instanceof Boolean b) {
+            writeByte(b ? VALUE_TRUE : VALUE_FALSE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeByte(VALUE_INT);
+            writeSignedLong(((Number) value).longValue());
+        } else if (value instanceof Long l) {
+            writeByte(VALUE_LONG);
+            writeSignedLong(l);
+        } else if (value instanceof Double || value instanceof Float) {
+            writeByte(VALUE_DOUBLE);
+            writeFixedLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+        } else if (value instanceof BigDecimal d) {
+            writeByte(VALUE_DECIMAL);
+            writeDecimal(d);
+        } else if (value instanceof CharSequence || value instanceof Enum<?>) {
+            writeByte(VALUE_STRING);
+            writeString(value.toString());
+        } else if (value instanceof List<?> list) {
+            writeByte(VALUE_LIST);
+            writeVarInt(list.size());
+            for (Object item : list) {
+                writeValue(item);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            writeByte(VALUE_MAP);
+            writeValueMap((Map<String, Object>) map);
+        } else {
+            throw new IllegalArgumentException("Unsupported event value type: " + value.getClass().getName());
+        }
+    }
+
+    private static TimeOrderedId parseCanonical(String text) {
+        try {
+            TimeOrderedId id = TimeOrderedId.parse(text);
+            return id.toString().equals(text) ? id : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
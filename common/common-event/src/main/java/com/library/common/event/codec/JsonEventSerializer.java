@@ -0,0 +1,56 @@
+package com.library.common.event.codec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.common.event.DomainEvent;
+import com.library.common.util.JsonUtils;
+
+/**
+ * JSON format, using the polymorphic type info on the event base classes
+ */
+public class JsonEventSerializer implements EventSerializer {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonEventSerializer() {
+        this(defaultObjectMapper());
+    }
+
+    public JsonEventSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Mapper for event payloads; eventType and version are derived getters
+     * without setters, so unknown properties are ignored when reading
+     */
+    public static ObjectMapper defaultObjectMapper() {
+        return JsonUtils.getObjectMapper().copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Override
+    public EventFormat format() {
+        return EventFormat.JSON;
+    }
+
+    @Override
+    public byte[] serialize(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not serialize " + event.getEventType(), e);
+        }
+    }
+
+    @Override
+    public <T extends DomainEvent> T deserialize(byte[] data, Class<T> type) {
+        try {
+            return objectMapper.readValue(data, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not deserialize " + type.getSimpleName(), e);
+        }
+    }
+}
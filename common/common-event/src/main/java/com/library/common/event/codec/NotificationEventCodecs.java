@@ -0,0 +1,68 @@
+package com.library.common.event.codec;
+
+import java.util.List;
+
+import com.library.common.event.NotificationEvent;
+import com.library.common.event.NotificationEvent.EmailNotificationEvent;
+import com.library.common.event.NotificationEvent.PushNotificationEvent;
+import com.library.common.event.NotificationEvent.SmsNotificationEvent;
+
+/**
+ * Binary codecs of the {@link NotificationEvent} types, tags 48-63
+ */
+final class NotificationEventCodecs {
+
+    private NotificationEventCodecs() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    static List<EventCodec<?>> all() {
+        return List.of(
+                EventCodec.of(48, EmailNotificationEvent.class,
+                        (event, out) -> {
+                            out.writeString(event.getTo());
+                            out.writeString(event.getSubject());
+                            out.writeString(event.getBody());
+                            out.writeStringMap(event.getTemplateData());
+                            out.writeString(event.getTemplateName());
+                        },
+                        (header, in, version) -> withHeader(EmailNotificationEvent.builder()
+                                .to(in.readString())
+                                .subject(in.readString())
+                                .body(in.readString())
+                                .templateData(in.readStringMap())
+                                .templateName(in.readString())
+                                .build(), header)),
+
+                EventCodec.of(49, SmsNotificationEvent.class,
+                        (event, out) -> {
+                            out.writeString(event.getPhoneNumber());
+                            out.writeString(event.getMessage());
+                        },
+                        (header, in, version) -> withHeader(SmsNotificationEvent.builder()
+                                .phoneNumber(in.readString())
+                                .message(in.readString())
+                                .build(), header)),
+
+                EventCodec.of(50, PushNotificationEvent.class,
+                        (event, out) -> {
+                            out.writeNullableLong(event.getUserId());
+                            out.writeString(event.getTitle());
+                            out.writeString(event.getBody());
+                            out.writeValueMap(event.getData());
+                        },
+                        (header, in, version) -> withHeader(PushNotificationEvent.builder()
+                                .userId(in.readNullableLong())
+                                .title(in.readString())
+                                .body(in.readString())
+                                .data(in.readValueMap())
+                                .build(), header)));
+    }
+
+    private static <T extends NotificationEvent> T withHeader(T event, EventHeader header) {
+        event.setEventId(header.eventId());
+        event.setOccurredOn(header.occurredOn());
+        event.setAggregateId(header.aggregateId());
+        return event;
+    }
+}
@@ -0,0 +1,70 @@
+package com.library.common.event.codec;
+
+import java.util.List;
+
+import com.library.common.event.UserEvent;
+import com.library.common.event.UserEvent.UserActivatedEvent;
+import com.library.common.event.UserEvent.UserDeactivatedEvent;
+import com.library.common.event.UserEvent.UserDeletedEvent;
+import com.library.common.event.UserEvent.UserRegisteredEvent;
+import com.library.common.event.UserEvent.UserUpdatedEvent;
+
+/**
+ * Binary codecs of the {@link UserEvent} types, tags 32-47
+ */
+final class UserEventCodecs {
+
+    private UserEventCodecs() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    static List<EventCodec<?>> all() {
+        return List.of(
+                EventCodec.of(32, UserRegisteredEvent.class,
+                        (event, out) -> DtoCodecs.writeUser(event.getUser(), out),
+                        (header, in, version) -> withHeader(UserRegisteredEvent.builder()
+                                .user(DtoCodecs.readUser(in))
+                                .build(), header)),
+
+                EventCodec.of(33, UserUpdatedEvent.class,
+                        (event, out) -> DtoCodecs.writeUser(event.getUser(), out),
+                        (header, in, version) -> withHeader(UserUpdatedEvent.builder()
+                                .user(DtoCodecs.readUser(in))
+                                .build(), header)),
+
+                EventCodec.of(34, UserDeletedEvent.class,
+                        (event, out) -> out.writeNullableLong(event.getUserId()),
+                        (header, in, version) -> withHeader(UserDeletedEvent.builder()
+                                .userId(in.readNullableLong())
+                                .build(), header)),
+
+                EventCodec.of(35, UserActivatedEvent.class,
+                        (event, out) -> {
+                            out.writeNullableLong(event.getUserId());
+                            out.writeString(event.getUsername());
+                        },
+                        (header, in, version) -> withHeader(UserActivatedEvent.builder()
+                                .userId(in.readNullableLong())
+                                .username(in.readString())
+                                .build(), header)),
+
+                EventCodec.of(36, UserDeactivatedEvent.class,
+                        (event, out) -> {
+                            out.writeNullableLong(event.getUserId());
+                            out.writeString(event.getUsername());
+                            out.writeString(event.getReason());
+                        },
+                        (header, in, version) -> withHeader(UserDeactivatedEvent.builder()
+                                .userId(in.readNullableLong())
+                                .username(in.readString())
+                                .reason(in.readString())
+                                .build(), header)));
+    }
+
+    private static <T extends UserEvent> T withHeader(T event, EventHeader header) {
+        event.setEventId(header.eventId());
+        event.setOccurredOn(header.occurredOn());
+        event.setAggregateId(header.aggregateId());
+        return event;
+    }
+}
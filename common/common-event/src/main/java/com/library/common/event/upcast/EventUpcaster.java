@@ -0,0 +1,58 @@
+package com.library.common.event.upcast;
+
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Rewrites the JSON payload of one event type from one schema version to
+ * the next
+ *
+ * Upcasters work on the JSON tree and never see event classes, so the
+ * classes only have to know the latest shape. Example: version 1 of
+ * BOOK_CREATED called {@code book.totalCopies} {@code book.copies}:
+ *
+ * <pre>
+ * EventUpcaster.of("BOOK_CREATED", 1, payload -> {
+ *     ObjectNode book = (ObjectNode) payload.get("book");
+ *     book.set("totalCopies", book.remove("copies"));
+ * });
+ * </pre>
+ */
+public interface EventUpcaster {
+
+    /**
+     * Event type (the JSON type id) this upcaster applies to
+     */
+    String eventType();
+
+    /**
+     * Version of the payloads this upcaster accepts; it produces
+     * {@code fromVersion() + 1}
+     */
+    int fromVersion();
+
+    /**
+     * Transform the payload in place
+     */
+    void upcast(ObjectNode payload);
+
+    static EventUpcaster of(String eventType, int fromVersion, Consumer<ObjectNode> transform) {
+        return new EventUpcaster() {
+            @Override
+            public String eventType() {
+                return eventType;
+            }
+
+            @Override
+            public int fromVersion() {
+                return fromVersion;
+            }
+
+            @Override
+            public void upcast(ObjectNode payload) {
+                transform.accept(payload);
+            }
+        };
+    }
+}
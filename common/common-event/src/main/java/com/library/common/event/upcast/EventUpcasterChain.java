@@ -0,0 +1,82 @@
+package com.library.common.event.upcast;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Upcasters of all event types, applied in version order
+ *
+ * Each event type has a contiguous chain 1 → 2 → ... → latest. A payload
+ * already at the latest version is not touched at all.
+ */
+public final class EventUpcasterChain {
+
+    public static final String TYPE_FIELD = "type";
+    public static final String VERSION_FIELD = "version";
+
+    private static final EventUpcasterChain EMPTY = new EventUpcasterChain(Map.of());
+
+    // Per event type, the upcaster of version v at index v - 1
+    private final Map<String, EventUpcaster[]> chains;
+
+    private EventUpcasterChain(Map<String, EventUpcaster[]> chains) {
+        this.chains = chains;
+    }
+
+    public static EventUpcasterChain empty() {
+        return EMPTY;
+    }
+
+    public static EventUpcasterChain of(List<EventUpcaster> upcasters) {
+        Map<String, List<EventUpcaster>> byType = new HashMap<>();
+        for (EventUpcaster upcaster : upcasters) {
+            byType.computeIfAbsent(upcaster.eventType(), type -> new ArrayList<>()).add(upcaster);
+        }
+
+        Map<String, EventUpcaster[]> chains = new HashMap<>();
+        byType.forEach((type, list) -> {
+            EventUpcaster[] chain = new EventUpcaster[list.size()];
+            for (EventUpcaster upcaster : list) {
+                int index = upcaster.fromVersion() - 1;
+                if (index < 0 || index >= chain.length || chain[index] != null) {
+                    throw new IllegalArgumentException("Upcasters of " + type
+                            + " must cover versions 1 to " + chain.length + " exactly once");
+                }
+                chain[index] = upcaster;
+            }
+            chains.put(type, chain);
+        });
+        return new EventUpcasterChain(Map.copyOf(chains));
+    }
+
+    /**
+     * Latest schema version of an event type, 1 when it has no upcasters
+     */
+    public int latestVersion(String eventType) {
+        EventUpcaster[] chain = chains.get(eventType);
+        return chain == null ? 1 : chain.length + 1;
+    }
+
+    public boolean needsUpcast(String eventType, int version) {
+        return version < latestVersion(eventType);
+    }
+
+    /**
+     * Bring a payload from its version to the latest one, in place
+     */
+    public ObjectNode upcast(String eventType, int version, ObjectNode payload) {
+        EventUpcaster[] chain = chains.get(eventType);
+        if (chain == null || version > chain.length) {
+            return payload;
+        }
+        for (int v = Math.max(version, 1); v <= chain.length; v++) {
+            chain[v - 1].upcast(payload);
+        }
+        payload.put(VERSION_FIELD, chain.length + 1);
+        return payload;
+    }
+}
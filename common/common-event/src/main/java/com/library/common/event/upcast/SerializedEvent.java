@@ -0,0 +1,113 @@
+package com.library.common.event.upcast;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.library.common.event.DomainEvent;
+
+/**
+ * A stored or received JSON event that is decoded only when asked for
+ *
+ * Type and version come from a streaming scan of the top level fields,
+ * which stops as soon as both are found, so replays can filter or route
+ * millions of events without binding any of them. Deserializing an event
+ * at the latest version binds the bytes directly; only older payloads go
+ * through the JSON tree and the upcaster chain.
+ */
+public final class SerializedEvent {
+
+    private final byte[] data;
+    private final EventUpcasterChain upcasters;
+    private final ObjectMapper objectMapper;
+
+    private String eventType;
+    private int version;
+    private boolean scanned;
+
+    public SerializedEvent(byte[] data, EventUpcasterChain upcasters, ObjectMapper objectMapper) {
+        this.data = data;
+        this.upcasters = upcasters;
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public String getEventType() {
+        scan();
+        return eventType;
+    }
+
+    /**
+     * Schema version the payload was written with, 1 when absent
+     */
+    public int getVersion() {
+        scan();
+        return version;
+    }
+
+    public boolean needsUpcast() {
+        return upcasters.needsUpcast(getEventType(), getVersion());
+    }
+
+    /**
+     * Bind the payload, upcasting it first if it is older than the latest
+     * version of its type
+     */
+    public <T extends DomainEvent> T deserialize(Class<T> type) {
+        try {
+            if (!needsUpcast()) {
+                return objectMapper.readValue(data, type);
+            }
+            JsonNode tree = objectMapper.readTree(data);
+            if (!(tree instanceof ObjectNode payload)) {
+                throw new IllegalArgumentException("Event payload is not a JSON object");
+            }
+            upcasters.upcast(getEventType(), getVersion(), payload);
+            return objectMapper.treeToValue(payload, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not deserialize " + getEventType(), e);
+        }
+    }
+
+    private void scan() {
+        if (scanned) {
+            return;
+        }
+        String type = null;
+        String fallbackType = null;
+        int payloadVersion = 1;
+        boolean versionSeen = false;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Event payload is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME && (type == null || !versionSeen)) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (EventUpcasterChain.TYPE_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                    type = parser.getText();
+                } else if ("eventType".equals(field) && value == JsonToken.VALUE_STRING) {
+                    fallbackType = parser.getText();
+                } else if (EventUpcasterChain.VERSION_FIELD.equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    payloadVersion = parser.getIntValue();
+                    versionSeen = true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed event payload", e);
+        }
+
+        this.eventType = type != null ? type : fallbackType;
+        this.version = payloadVersion;
+        this.scanned = true;
+    }
+}
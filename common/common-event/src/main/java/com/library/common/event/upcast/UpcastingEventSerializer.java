@@ -0,0 +1,56 @@
+package com.library.common.event.upcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.common.event.DomainEvent;
+import com.library.common.event.codec.EventFormat;
+import com.library.common.event.codec.EventSerializer;
+import com.library.common.event.codec.JsonEventSerializer;
+
+/**
+ * JSON event serializer that upcasts old payloads on read
+ *
+ * Binary payloads handle older versions in their codecs and are passed to
+ * the binary serializer unchanged.
+ */
+public class UpcastingEventSerializer implements EventSerializer {
+
+    private final EventUpcasterChain upcasters;
+    private final ObjectMapper objectMapper;
+    private final EventSerializer json;
+    private final EventSerializer binary = EventSerializer.forFormat(EventFormat.BINARY);
+
+    public UpcastingEventSerializer(EventUpcasterChain upcasters) {
+        this(upcasters, JsonEventSerializer.defaultObjectMapper());
+    }
+
+    public UpcastingEventSerializer(EventUpcasterChain upcasters, ObjectMapper objectMapper) {
+        this.upcasters = upcasters;
+        this.objectMapper = objectMapper;
+        this.json = new JsonEventSerializer(objectMapper);
+    }
+
+    @Override
+    public EventFormat format() {
+        return EventFormat.JSON;
+    }
+
+    @Override
+    public byte[] serialize(DomainEvent event) {
+        return json.serialize(event);
+    }
+
+    @Override
+    public <T extends DomainEvent> T deserialize(byte[] data, Class<T> type) {
+        if (EventFormat.detect(data) == EventFormat.BINARY) {
+            return binary.deserialize(data, type);
+        }
+        return wrap(data).deserialize(type);
+    }
+
+    /**
+     * Lazy view of a payload, for consumers that filter before binding
+     */
+    public SerializedEvent wrap(byte[] data) {
+        return new SerializedEvent(data, upcasters, objectMapper);
+    }
+}
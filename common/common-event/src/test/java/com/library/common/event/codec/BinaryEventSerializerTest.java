@@ -0,0 +1,317 @@
+package com.library.common.event.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.library.common.dto.BookDTO;
+import com.library.common.dto.BorrowingDTO;
+import com.library.common.dto.UserDTO;
+import com.library.common.event.BookEvent;
+import com.library.common.event.BookEvent.BookBorrowedEvent;
+import com.library.common.event.BookEvent.BookCreatedEvent;
+import com.library.common.event.BookEvent.BookDeletedEvent;
+import com.library.common.event.BookEvent.BookReturnedEvent;
+import com.library.common.event.BookEvent.BookUpdatedEvent;
+import com.library.common.event.BorrowingEvent;
+import com.library.common.event.BorrowingEvent.BorrowingCreatedEvent;
+import com.library.common.event.BorrowingEvent.BorrowingOverdueEvent;
+import com.library.common.event.BorrowingEvent.BorrowingRenewedEvent;
+import com.library.common.event.BorrowingEvent.BorrowingReturnedEvent;
+import com.library.common.event.BorrowingEvent.FinePaidEvent;
+import com.library.common.event.DomainEvent;
+import com.library.common.event.NotificationEvent;
+import com.library.common.event.NotificationEvent.EmailNotificationEvent;
+import com.library.common.event.NotificationEvent.PushNotificationEvent;
+import com.library.common.event.NotificationEvent.SmsNotificationEvent;
+import com.library.common.event.UserEvent;
+import com.library.common.event.UserEvent.UserActivatedEvent;
+import com.library.common.event.UserEvent.UserDeactivatedEvent;
+import com.library.common.event.UserEvent.UserDeletedEvent;
+import com.library.common.event.UserEvent.UserRegisteredEvent;
+import com.library.common.event.UserEvent.UserUpdatedEvent;
+import com.library.common.util.TimeOrderedIdGenerator;
+
+class BinaryEventSerializerTest {
+
+    private static final LocalDateTime OCCURRED_ON = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+    private static final String UUID_EVENT_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+    private final BinaryEventSerializer serializer = new BinaryEventSerializer();
+
+    @ParameterizedTest
+    @MethodSource("events")
+    void roundTripsEveryField(DomainEvent event) {
+        assertThat(BinaryEventSerializer.supports(event.getClass())).isTrue();
+
+        byte[] data = serializer.serialize(event);
+        DomainEvent decoded = serializer.deserialize(data, DomainEvent.class);
+
+        assertThat(EventFormat.detect(data)).isEqualTo(EventFormat.BINARY);
+        assertThat(decoded).isExactlyInstanceOf(event.getClass());
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(event);
+    }
+
+    @ParameterizedTest
+    @MethodSource("events")
+    void roundTripsEmptyEvents(DomainEvent event) throws Exception {
+        DomainEvent empty = event.getClass().getDeclaredConstructor().newInstance();
+
+        DomainEvent decoded = serializer.deserialize(serializer.serialize(empty), DomainEvent.class);
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(empty);
+    }
+
+    @ParameterizedTest
+    @MethodSource("events")
+    void rejectsEveryTruncation(DomainEvent event) {
+        byte[] data = serializer.serialize(event);
+
+        for (int length = 0; length < data.length; length++) {
+            byte[] truncated = Arrays.copyOf(data, length);
+            assertThatIllegalArgumentException()
+                    .as("first %d of %d bytes", length, data.length)
+                    .isThrownBy(() -> serializer.deserialize(truncated, DomainEvent.class));
+        }
+    }
+
+    /**
+     * The exact bytes of one event, so a change of the layout, byte order
+     * or varint encoding cannot go unnoticed
+     */
+    @Test
+    void layoutIsStable() {
+        BookDeletedEvent event = book(BookDeletedEvent.builder().bookId(42L).build(), UUID_EVENT_ID);
+
+        assertThat(HexFormat.of().formatHex(serializer.serialize(event))).isEqualTo(
+                "ec" // magic
+                        + "03" // type tag
+                        + "01" // schema version
+                        + "02" + "25" + hex(UUID_EVENT_ID) // event id as text
+                        + "01" + "8098bf9b91a68906" // occurredOn, zigzag epoch microseconds
+                        + "03" + hex("42") // aggregate id
+                        + "01" + "54"); // bookId 42, zigzag
+    }
+
+    @Test
+    void timeOrderedEventIdsAreWrittenAsSixteenBytes() {
+        String eventId = TimeOrderedIdGenerator.nextString();
+        BookDeletedEvent timeOrdered = book(BookDeletedEvent.builder().bookId(1L).build(), eventId);
+        BookDeletedEvent text = book(BookDeletedEvent.builder().bookId(1L).build(), UUID_EVENT_ID);
+
+        byte[] data = serializer.serialize(timeOrdered);
+
+        assertThat(data[3]).isEqualTo((byte) EventWriter.ID_TIME_ORDERED);
+        assertThat(serializer.serialize(text).length - data.length).isEqualTo(UUID_EVENT_ID.length() + 1 - 16);
+        assertThat(serializer.deserialize(data, BookEvent.class).getEventId()).isEqualTo(eventId);
+    }
+
+    @Test
+    void skipsFieldsAppendedByANewerVersion() {
+        BookReturnedEvent event = book(BookReturnedEvent.builder()
+                .bookId(42L)
+                .userId(7L)
+                .returnDate(OCCURRED_ON)
+                .isOverdue(true)
+                .build(), UUID_EVENT_ID);
+        byte[] current = serializer.serialize(event);
+
+        EventWriter newer = new EventWriter();
+        newer.writeBytes(current, 0, current.length);
+        newer.writeString("appended in version 2");
+        newer.writeDecimal(new BigDecimal("1.50"));
+        byte[] data = newer.toByteArray();
+        // Schema version, after the magic byte and the one byte type tag
+        data[2] = 2;
+
+        assertThat(serializer.deserialize(data, BookEvent.class)).usingRecursiveComparison().isEqualTo(event);
+    }
+
+    @Test
+    void readsEnumConstantsOfANewerVersionAsNull() {
+        BookCreatedEvent event = book(BookCreatedEvent.builder()
+                .book(BookDTO.builder().id(1L).title("Dune").status(BookDTO.BookStatus.AVAILABLE).build())
+                .build(), UUID_EVENT_ID);
+        byte[] current = serializer.serialize(event);
+
+        // The status is the last field of the book
+        int statusLength = 1 + BookDTO.BookStatus.AVAILABLE.name().length();
+        EventWriter newer = new EventWriter();
+        newer.writeBytes(current, 0, current.length - statusLength);
+        newer.writeString("ARCHIVED");
+
+        BookCreatedEvent decoded = serializer.deserialize(newer.toByteArray(), BookCreatedEvent.class);
+
+        assertThat(decoded.getBook().getTitle()).isEqualTo("Dune");
+        assertThat(decoded.getBook().getStatus()).isNull();
+    }
+
+    @Test
+    void rejectsOtherInput() {
+        byte[] json = new JsonEventSerializer().serialize(book(BookDeletedEvent.builder().bookId(1L).build(),
+                UUID_EVENT_ID));
+        assertThat(EventFormat.detect(json)).isEqualTo(EventFormat.JSON);
+        assertThatThrownBy(() -> serializer.deserialize(json, DomainEvent.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> serializer.deserialize(new byte[0], DomainEvent.class))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // A tag inside the table that no codec uses, and one past its end
+        for (int tag : new int[] { 6, 100 }) {
+            EventWriter unknown = new EventWriter();
+            unknown.writeByte(BinaryEventSerializer.MAGIC);
+            unknown.writeVarInt(tag);
+            unknown.writeVarInt(1);
+            assertThatThrownBy(() -> serializer.deserialize(unknown.toByteArray(), DomainEvent.class))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("tag: " + tag);
+        }
+    }
+
+    @Test
+    void rejectsAnotherEventType() {
+        byte[] data = serializer.serialize(book(BookDeletedEvent.builder().bookId(1L).build(), UUID_EVENT_ID));
+
+        assertThatThrownBy(() -> serializer.deserialize(data, UserEvent.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static Stream<DomainEvent> events() {
+        String eventId = TimeOrderedIdGenerator.nextString();
+        BookDTO bookDto = BookDTO.builder()
+                .id(42L)
+                .isbn("9780134685991")
+                .title("Effective Java")
+                .author("Joshua Bloch")
+                .description("Best practices for the Java platform – 3rd edition")
+                .publisher("Addison-Wesley")
+                .publicationDate(LocalDate.of(2017, 12, 27))
+                .category("Programming")
+                .tags(List.of("java", "best-practices"))
+                .totalCopies(10)
+                .availableCopies(0)
+                .language("en")
+                .pages(412)
+                .coverImageUrl("https://covers.example.com/42.jpg")
+                .status(BookDTO.BookStatus.BORROWED)
+                .build();
+        BorrowingDTO borrowingDto = BorrowingDTO.builder()
+                .id(1001L)
+                .userId(7L)
+                .bookId(42L)
+                .username("reader")
+                .bookTitle("Effective Java")
+                .bookIsbn("9780134685991")
+                .borrowDate(LocalDate.of(2024, 2, 1))
+                .dueDate(LocalDate.of(2024, 2, 15))
+                .returnDate(LocalDate.of(2024, 2, 20))
+                .status(BorrowingDTO.BorrowingStatus.RETURNED)
+                .daysOverdue(5)
+                .fineAmount(new BigDecimal("2.50"))
+                .finePaid(false)
+                .notes(null)
+                .createdAt(OCCURRED_ON.minusDays(20))
+                .updatedAt(OCCURRED_ON)
+                .build();
+        UserDTO userDto = UserDTO.builder()
+                .id(7L)
+                .username("reader")
+                .email("reader@example.com")
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .phoneNumber("+44 20 7946 0000")
+                .address(null)
+                .role(UserDTO.UserRole.MEMBER)
+                .status(UserDTO.UserStatus.ACTIVE)
+                .registeredAt(OCCURRED_ON.minusYears(1))
+                .lastLoginAt(null)
+                .profileImageUrl("https://avatars.example.com/7.png")
+                .build();
+        Map<String, Object> pushData = new LinkedHashMap<>();
+        pushData.put("bookId", 42L);
+        pushData.put("daysLeft", -3);
+        pushData.put("fine", new BigDecimal("2.50"));
+        pushData.put("ratio", 0.25);
+        pushData.put("tags", List.of("overdue", true));
+        pushData.put("missing", null);
+        pushData.put("nested", Map.of("deep", "value"));
+
+        return Stream.of(
+                book(BookCreatedEvent.builder().book(bookDto).build(), eventId),
+                book(BookUpdatedEvent.builder().book(bookDto).build(), UUID_EVENT_ID),
+                book(BookDeletedEvent.builder().bookId(Long.MAX_VALUE).build(), eventId),
+                book(BookBorrowedEvent.builder().bookId(42L).userId(7L).borrowDate(OCCURRED_ON)
+                        .dueDate(OCCURRED_ON.plusWeeks(2)).build(), eventId),
+                book(BookReturnedEvent.builder().bookId(42L).userId(7L).returnDate(OCCURRED_ON).isOverdue(true)
+                        .build(), eventId),
+                borrowing(BorrowingCreatedEvent.builder().borrowing(borrowingDto).build(), eventId),
+                borrowing(BorrowingReturnedEvent.builder().borrowingId(1001L).bookId(42L).userId(7L)
+                        .returnDate(OCCURRED_ON).isOverdue(true).fineAmount(new BigDecimal("2.50")).build(), eventId),
+                borrowing(BorrowingOverdueEvent.builder().borrowingId(1001L).userId(7L).bookId(42L).daysOverdue(-1)
+                        .fineAmount(new BigDecimal("-0.01")).build(), eventId),
+                borrowing(BorrowingRenewedEvent.builder().borrowingId(1001L).userId(7L).bookId(42L)
+                        .newDueDate(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000)).build(), eventId),
+                borrowing(FinePaidEvent.builder().borrowingId(1001L).userId(7L).amount(new BigDecimal("1E+3"))
+                        .paidAt(OCCURRED_ON).build(), eventId),
+                user(UserRegisteredEvent.builder().user(userDto).build(), eventId),
+                user(UserUpdatedEvent.builder().user(userDto).build(), eventId),
+                user(UserDeletedEvent.builder().userId(Long.MIN_VALUE).build(), eventId),
+                user(UserActivatedEvent.builder().userId(7L).username("reader").build(), eventId),
+                user(UserDeactivatedEvent.builder().userId(7L).username("reader").reason("Müller, 東京").build(),
+                        eventId),
+                notification(EmailNotificationEvent.builder().to("reader@example.com").subject("Due soon")
+                        .body("Please return").templateData(Map.of("title", "Effective Java", "days", "3"))
+                        .templateName("due-reminder").build(), eventId),
+                notification(SmsNotificationEvent.builder().phoneNumber("+44 20 7946 0000").message("📚 due")
+                        .build(), eventId),
+                notification(PushNotificationEvent.builder().userId(7L).title("Overdue").body("Return it")
+                        .data(pushData).build(), eventId));
+    }
+
+    private static <T extends BookEvent> T book(T event, String eventId) {
+        event.setEventId(eventId);
+        event.setOccurredOn(OCCURRED_ON);
+        event.setAggregateId("42");
+        return event;
+    }
+
+    private static <T extends BorrowingEvent> T borrowing(T event, String eventId) {
+        event.setEventId(eventId);
+        event.setOccurredOn(OCCURRED_ON);
+        event.setAggregateId("1001");
+        return event;
+    }
+
+    private static <T extends UserEvent> T user(T event, String eventId) {
+        event.setEventId(eventId);
+        event.setOccurredOn(OCCURRED_ON);
+        event.setAggregateId("7");
+        return event;
+    }
+
+    private static <T extends NotificationEvent> T notification(T event, String eventId) {
+        event.setEventId(eventId);
+        event.setOccurredOn(OCCURRED_ON);
+        event.setAggregateId(null);
+        return event;
+    }
+
+    private static String hex(String text) {
+        return HexFormat.of().formatHex(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,329 @@
+package com.library.common.event.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.library.common.util.TimeOrderedIdGenerator;
+
+class EventReaderTest {
+
+    @Test
+    void varintsRoundTripAtEveryLengthBoundary() {
+        long[] values = { 0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, 1L << 56, Long.MAX_VALUE, -1,
+                Long.MIN_VALUE };
+        EventWriter out = new EventWriter();
+        for (long value : values) {
+            out.writeVarLong(value);
+        }
+
+        EventReader in = new EventReader(out.toByteArray());
+        for (long value : values) {
+            assertThat(in.readVarLong()).isEqualTo(value);
+        }
+        assertThat(in.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void varintsAreLittleEndianGroupsOfSeven() {
+        assertThat(bytes(out -> out.writeVarLong(300))).isEqualTo("ac02");
+        assertThat(bytes(out -> out.writeVarLong(127))).isEqualTo("7f");
+        assertThat(bytes(out -> out.writeVarLong(-1))).isEqualTo("ffffffffffffffffff01");
+    }
+
+    @Test
+    void signedValuesAreZigzagEncoded() {
+        assertThat(bytes(out -> out.writeSignedLong(0))).isEqualTo("00");
+        assertThat(bytes(out -> out.writeSignedLong(-1))).isEqualTo("01");
+        assertThat(bytes(out -> out.writeSignedLong(1))).isEqualTo("02");
+        assertThat(bytes(out -> out.writeSignedLong(-64))).isEqualTo("7f");
+
+        long[] values = { 0, -1, 1, -64, 64, Integer.MIN_VALUE, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE };
+        EventWriter out = new EventWriter();
+        for (long value : values) {
+            out.writeSignedLong(value);
+        }
+        EventReader in = new EventReader(out.toByteArray());
+        for (long value : values) {
+            assertThat(in.readSignedLong()).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void fixedLongsAreBigEndian() {
+        assertThat(bytes(out -> out.writeFixedLong(0x0102030405060708L))).isEqualTo("0102030405060708");
+
+        EventWriter out = new EventWriter();
+        out.writeFixedLong(Double.doubleToLongBits(-0.1));
+        assertThat(Double.longBitsToDouble(new EventReader(out.toByteArray()).readFixedLong())).isEqualTo(-0.1);
+    }
+
+    @Test
+    void malformedVarintsAreRejected() {
+        byte[] endless = new byte[11];
+        Arrays.fill(endless, (byte) 0x80);
+        assertThatThrownBy(() -> new EventReader(endless).readVarLong())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Malformed varint");
+
+        EventWriter tooLarge = new EventWriter();
+        tooLarge.writeVarLong(Integer.MAX_VALUE + 1L);
+        assertThatThrownBy(() -> new EventReader(tooLarge.toByteArray()).readVarInt())
+                .isInstanceOf(IllegalArgumentException.class);
+
+        EventWriter negative = new EventWriter();
+        negative.writeVarLong(-2);
+        assertThatThrownBy(() -> new EventReader(negative.toByteArray()).readVarInt())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void readsStopAtTheEndOfTheInput() {
+        assertThatThrownBy(() -> new EventReader(new byte[0]).readByte())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+        assertThatThrownBy(() -> new EventReader(new byte[7]).readFixedLong())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new EventReader(new byte[] { (byte) 0x80 }).readVarLong())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void readsStayWithinTheGivenWindow() {
+        EventWriter out = new EventWriter();
+        out.writeString("inside");
+        byte[] inside = out.toByteArray();
+        byte[] buffer = new byte[inside.length + 4];
+        System.arraycopy(inside, 0, buffer, 2, inside.length);
+
+        assertThat(new EventReader(buffer, 2, inside.length).readString()).isEqualTo("inside");
+        // The bytes are there, but past the end of the window
+        assertThatThrownBy(() -> new EventReader(buffer, 2, inside.length - 1).readString())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void declaredSizesAreCheckedBeforeAllocating() {
+        for (Consumer<EventReader> read : List.<Consumer<EventReader>>of(
+                EventReader::readString,
+                EventReader::readStringList,
+                EventReader::readStringMap,
+                EventReader::readValueMap)) {
+            EventWriter out = new EventWriter();
+            out.writeVarInt(Integer.MAX_VALUE);
+
+            assertThatThrownBy(() -> read.accept(new EventReader(out.toByteArray())))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        EventWriter decimal = new EventWriter();
+        decimal.writeBoolean(true);
+        decimal.writeSignedLong(2);
+        decimal.writeVarInt(Integer.MAX_VALUE);
+        assertThatThrownBy(() -> new EventReader(decimal.toByteArray()).readDecimal())
+                .isInstanceOf(IllegalArgumentException.class);
+
+        EventWriter list = new EventWriter();
+        list.writeVarInt(2);
+        list.writeString("key");
+        list.writeByte(EventWriter.VALUE_LIST);
+        list.writeVarInt(Integer.MAX_VALUE);
+        assertThatThrownBy(() -> new EventReader(list.toByteArray()).readValueMap())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void nullableValuesKeepNull() {
+        EventWriter out = new EventWriter();
+        out.writeString(null);
+        out.writeString("");
+        out.writeNullableLong(null);
+        out.writeNullableLong(-5L);
+        out.writeNullableInt(null);
+        out.writeNullableInt(Integer.MIN_VALUE);
+        out.writeNullableBoolean(null);
+        out.writeNullableBoolean(false);
+        out.writeNullableBoolean(true);
+        out.writeTimestamp(null);
+        out.writeDate(null);
+        out.writeDecimal(null);
+        out.writeEnum(null);
+        out.writeStringList(null);
+        out.writeStringMap(null);
+        out.writeValueMap(null);
+
+        EventReader in = new EventReader(out.toByteArray());
+        assertThat(in.readString()).isNull();
+        assertThat(in.readString()).isEmpty();
+        assertThat(in.readNullableLong()).isNull();
+        assertThat(in.readNullableLong()).isEqualTo(-5L);
+        assertThat(in.readNullableInt()).isNull();
+        assertThat(in.readNullableInt()).isEqualTo(Integer.MIN_VALUE);
+        assertThat(in.readNullableBoolean()).isNull();
+        assertThat(in.readNullableBoolean()).isFalse();
+        assertThat(in.readNullableBoolean()).isTrue();
+        assertThat(in.readTimestamp()).isNull();
+        assertThat(in.readDate()).isNull();
+        assertThat(in.readDecimal()).isNull();
+        assertThat(in.readEnum(Thread.State.class)).isNull();
+        assertThat(in.readStringList()).isNull();
+        assertThat(in.readStringMap()).isNull();
+        assertThat(in.readValueMap()).isNull();
+        assertThat(in.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void stringsAreUtf8() {
+        EventWriter out = new EventWriter();
+        out.writeString("Müller – 東京 📚");
+
+        assertThat(new EventReader(out.toByteArray()).readString()).isEqualTo("Müller – 東京 📚");
+    }
+
+    @Test
+    void timestampsKeepMicrosecondsAroundTheEpoch() {
+        LocalDateTime[] values = {
+                LocalDateTime.of(1970, 1, 1, 0, 0),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000),
+                LocalDateTime.of(1900, 2, 28, 12, 0, 0, 1_000),
+                LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_000),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_000) };
+        EventWriter out = new EventWriter();
+        for (LocalDateTime value : values) {
+            out.writeTimestamp(value);
+        }
+        out.writeTimestamp(LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_789));
+
+        EventReader in = new EventReader(out.toByteArray());
+        for (LocalDateTime value : values) {
+            assertThat(in.readTimestamp()).isEqualTo(value);
+        }
+        // Nanoseconds are dropped
+        assertThat(in.readTimestamp()).isEqualTo(LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_000));
+    }
+
+    @Test
+    void datesAndDecimalsRoundTrip() {
+        LocalDate[] dates = { LocalDate.EPOCH, LocalDate.of(1969, 12, 31), LocalDate.of(2100, 1, 1) };
+        BigDecimal[] decimals = { BigDecimal.ZERO, new BigDecimal("2.50"), new BigDecimal("-0.001"),
+                new BigDecimal("123456789012345678901234567890.123456789"), new BigDecimal("1E+10") };
+        EventWriter out = new EventWriter();
+        for (LocalDate date : dates) {
+            out.writeDate(date);
+        }
+        for (BigDecimal decimal : decimals) {
+            out.writeDecimal(decimal);
+        }
+
+        EventReader in = new EventReader(out.toByteArray());
+        for (LocalDate date : dates) {
+            assertThat(in.readDate()).isEqualTo(date);
+        }
+        for (BigDecimal decimal : decimals) {
+            // Same scale, not only the same value
+            assertThat(in.readDecimal()).isEqualTo(decimal);
+        }
+    }
+
+    @Test
+    void enumsOfAnotherVersionReadAsNull() {
+        EventWriter out = new EventWriter();
+        out.writeEnum(Thread.State.BLOCKED);
+        out.writeString("ADDED_IN_A_LATER_VERSION");
+
+        EventReader in = new EventReader(out.toByteArray());
+        assertThat(in.readEnum(Thread.State.class)).isEqualTo(Thread.State.BLOCKED);
+        assertThat(in.readEnum(Thread.State.class)).isNull();
+    }
+
+    @Test
+    void eventIdsInTimeOrderedFormTakeSixteenBytes() {
+        String timeOrdered = TimeOrderedIdGenerator.nextString();
+        String uuid = UUID.randomUUID().toString();
+        // Parses, but is not the canonical text, so it must be kept as written
+        String lowerCase = TimeOrderedIdGenerator.nextString().toLowerCase();
+
+        EventWriter out = new EventWriter();
+        out.writeEventId(timeOrdered);
+        assertThat(out.size()).isEqualTo(1 + 16);
+        out.writeEventId(uuid);
+        out.writeEventId(lowerCase);
+        out.writeEventId(null);
+
+        EventReader in = new EventReader(out.toByteArray());
+        assertThat(in.readEventId()).isEqualTo(timeOrdered);
+        assertThat(in.readEventId()).isEqualTo(uuid);
+        assertThat(in.readEventId()).isEqualTo(lowerCase);
+        assertThat(in.readEventId()).isNull();
+
+        assertThatThrownBy(() -> new EventReader(new byte[] { 7 }).readEventId())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new EventReader(new byte[] { EventWriter.ID_TIME_ORDERED, 1, 2 }).readEventId())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void collectionsRoundTrip() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("flag", true);
+        nested.put("none", null);
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("int", -7);
+        values.put("long", Long.MAX_VALUE);
+        values.put("double", 2.5);
+        values.put("decimal", new BigDecimal("9.99"));
+        values.put("string", "text");
+        values.put("false", false);
+        values.put("list", Arrays.asList(1, "two", null, List.of(3L)));
+        values.put("map", nested);
+
+        EventWriter out = new EventWriter();
+        out.writeStringList(List.of("a", "", "c"));
+        out.writeStringList(List.of());
+        out.writeStringMap(Map.of("k", "v"));
+        out.writeValueMap(values);
+
+        EventReader in = new EventReader(out.toByteArray());
+        assertThat(in.readStringList()).containsExactly("a", "", "c");
+        assertThat(in.readStringList()).isEmpty();
+        assertThat(in.readStringMap()).containsExactly(Map.entry("k", "v"));
+        assertThat(in.readValueMap()).isEqualTo(values);
+        assertThat(in.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void unknownValueTagsAreRejected() {
+        EventWriter out = new EventWriter();
+        out.writeVarInt(2);
+        out.writeString("key");
+        out.writeByte(99);
+
+        assertThatThrownBy(() -> new EventReader(out.toByteArray()).readValueMap())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    void unsupportedValueTypesAreRejectedOnWrite() {
+        assertThatThrownBy(() -> new EventWriter().writeValueMap(Map.<String, Object>of("date", LocalDate.EPOCH)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String bytes(Consumer<EventWriter> write) {
+        EventWriter out = new EventWriter();
+        write.accept(out);
+        return HexFormat.of().formatHex(out.toByteArray());
+    }
+}
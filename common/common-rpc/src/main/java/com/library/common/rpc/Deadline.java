@@ -0,0 +1,51 @@
+package com.library.common.rpc;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a call must be answered
+ *
+ * The client sends the remaining time with the request, so the server
+ * stops working on calls nobody waits for any more; a deadline is never
+ * extended along the way.
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + Math.max(0, timeout.toNanos()));
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    public long remainingMillis() {
+        return remaining().toMillis();
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @throws RpcException with DEADLINE_EXCEEDED once the deadline has passed
+     */
+    public void check() {
+        if (isExpired()) {
+            throw new RpcException(RpcStatus.DEADLINE_EXCEEDED, "Deadline exceeded");
+        }
+    }
+
+    /**
+     * The earlier of the two deadlines
+     */
+    public Deadline min(Deadline other) {
+        return deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+    }
+}
@@ -0,0 +1,79 @@
+package com.library.common.rpc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+
+/**
+ * Calls POST {baseUri}/internal/rpc/{method} directly on the target
+ * instance, without the gateway
+ *
+ * The request timeout is the time left until the deadline, which also
+ * travels in the Rpc-Timeout header. Responses are read as a stream, so
+ * the messages of a streaming call are handed out while the server is
+ * still producing later ones.
+ */
+public class HttpRpcTransport implements RpcTransport {
+
+    public static final String PATH = "/internal/rpc/";
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
+    private final URI baseUri;
+    private final HttpClient client;
+
+    public HttpRpcTransport(URI baseUri) {
+        this(baseUri, HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build());
+    }
+
+    public HttpRpcTransport(URI baseUri, HttpClient client) {
+        this.baseUri = baseUri;
+        this.client = client;
+    }
+
+    @Override
+    public InputStream call(String method, byte[] request, Deadline deadline) {
+        deadline.check();
+        HttpRequest httpRequest = HttpRequest.newBuilder(baseUri.resolve(PATH + method))
+                .timeout(deadline.remaining())
+                .header("Content-Type", RpcFrames.CONTENT_TYPE)
+                .header(RpcFrames.TIMEOUT_HEADER, Long.toString(Math.max(1, deadline.remainingMillis())))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(request))
+                .build();
+
+        HttpResponse<InputStream> response;
+        try {
+            response = client.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (HttpTimeoutException e) {
+            throw new RpcException(RpcStatus.DEADLINE_EXCEEDED, "No response from " + baseUri + " in time", e);
+        } catch (IOException e) {
+            throw new RpcException(RpcStatus.UNAVAILABLE, baseUri + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RpcException(RpcStatus.UNAVAILABLE, "Interrupted", e);
+        }
+
+        if (response.statusCode() != 200) {
+            // Not an RPC response, e.g. a proxy error page
+            closeQuietly(response.body());
+            throw new RpcException(RpcStatus.UNAVAILABLE, baseUri + " answered HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+            // Nothing left to read from it
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.library.common.rpc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Test harness: calls a dispatcher in the same JVM, without sockets
+ *
+ * Requests and responses go through the same encoding, framing, status
+ * mapping and deadline checks as over HTTP, so a client and server pair
+ * can be exercised in a unit test. The response is buffered: the messages
+ * of a streaming call are handed out once the handler has returned.
+ */
+public class InProcessRpcTransport implements RpcTransport {
+
+    private final RpcDispatcher dispatcher;
+
+    public InProcessRpcTransport(RpcDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public InputStream call(String method, byte[] request, Deadline deadline) {
+        deadline.check();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            dispatcher.dispatch(method, request.clone(), out, deadline);
+        } catch (IOException e) {
+            // Cannot happen with an in-memory stream
+            throw new UncheckedIOException(e);
+        }
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
@@ -0,0 +1,74 @@
+package com.library.common.rpc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.library.common.event.codec.EventReader;
+import com.library.common.event.codec.EventWriter;
+
+/**
+ * Client side: sends calls over a transport and decodes the frames of the
+ * response
+ */
+public class RpcChannel {
+
+    private final RpcTransport transport;
+
+    public RpcChannel(RpcTransport transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Call a method that answers with at most one message
+     *
+     * @return the decoded message, null when the call sent none
+     */
+    public <T> T unary(String method, EventWriter request, Deadline deadline, Function<EventReader, T> decoder) {
+        Object[] result = new Object[1];
+        call(method, request, deadline, in -> {
+            if (result[0] != null) {
+                throw new RpcException(RpcStatus.INTERNAL, "More than one response to unary call " + method);
+            }
+            result[0] = decoder.apply(in);
+        });
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+
+    /**
+     * Call a streaming method, handing each message to the consumer as it
+     * arrives
+     *
+     * A failure after some messages were delivered still throws; the
+     * consumer has then seen a prefix of the response.
+     */
+    public <T> void stream(String method, EventWriter request, Deadline deadline,
+            Function<EventReader, T> decoder, Consumer<? super T> consumer) {
+        call(method, request, deadline, in -> consumer.accept(decoder.apply(in)));
+    }
+
+    private void call(String method, EventWriter request, Deadline deadline, Consumer<EventReader> onMessage) {
+        deadline.check();
+        try (InputStream in = transport.call(method, request.toByteArray(), deadline)) {
+            while (true) {
+                RpcFrames.Frame frame = RpcFrames.read(in);
+                if (frame == null) {
+                    throw new RpcException(RpcStatus.UNAVAILABLE, "Response of " + method + " ended without status");
+                }
+                if (frame.kind() == RpcFrames.END) {
+                    frame.checkStatus();
+                    return;
+                }
+                if (frame.kind() == RpcFrames.DATA) {
+                    onMessage.accept(frame.reader());
+                }
+                // Unknown frame kinds from newer servers are skipped
+            }
+        } catch (IOException e) {
+            throw new RpcException(RpcStatus.UNAVAILABLE, "Reading response of " + method + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.library.common.rpc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.library.common.event.codec.EventReader;
+
+/**
+ * Server side: runs the handler registered for a method and writes its
+ * responses as frames
+ *
+ * Transport independent; the HTTP endpoint of a service and
+ * {@link InProcessRpcTransport} both call {@link #dispatch}.
+ */
+public class RpcDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RpcDispatcher.class);
+
+    private final Map<String, Method> methods = new ConcurrentHashMap<>();
+
+    /**
+     * Register a method answering with at most one message, which is sent
+     * together with the END frame
+     */
+    public RpcDispatcher register(String method, RpcHandler handler) {
+        return add(method, new Method(handler, false));
+    }
+
+    /**
+     * Register a method answering with any number of messages, each one
+     * flushed to the client as soon as it is sent
+     */
+    public RpcDispatcher registerStreaming(String method, RpcHandler handler) {
+        return add(method, new Method(handler, true));
+    }
+
+    /**
+     * Handle one call; every outcome, failures included, is written to the
+     * output as the END frame
+     *
+     * @throws IOException only when the output fails, i.e. the client is gone
+     */
+    public void dispatch(String method, byte[] request, OutputStream out, Deadline deadline) throws IOException {
+        RpcStatus status = RpcStatus.OK;
+        String message = null;
+        try {
+            Method target = methods.get(method);
+            if (target == null) {
+                throw new RpcException(RpcStatus.UNIMPLEMENTED, "Unknown method: " + method);
+            }
+            deadline.check();
+            int[] sent = new int[1];
+            target.handler().handle(new EventReader(request), response -> {
+                deadline.check();
+                if (!target.streaming() && sent[0] > 0) {
+                    throw new RpcException(RpcStatus.INTERNAL, "More than one response to unary call " + method);
+                }
+                try {
+                    RpcFrames.writeData(out, response);
+                    if (target.streaming()) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                sent[0]++;
+            }, deadline);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RpcException e) {
+            status = e.getStatus();
+            message = e.getDescription();
+        } catch (IllegalArgumentException e) {
+            status = RpcStatus.INVALID_ARGUMENT;
+            message = e.getMessage();
+        } catch (IllegalStateException e) {
+            status = RpcStatus.FAILED_PRECONDITION;
+            message = e.getMessage();
+        } catch (RuntimeException e) {
+            log.error("RPC {} failed", method, e);
+            status = RpcStatus.INTERNAL;
+            message = "Internal error";
+        }
+        if (status != RpcStatus.OK) {
+            log.debug("RPC {} ended with {}", method, message);
+        }
+        RpcFrames.writeEnd(out, status, message);
+        out.flush();
+    }
+
+    private RpcDispatcher add(String method, Method target) {
+        if (methods.putIfAbsent(method, target) != null) {
+            throw new IllegalStateException("RPC method already registered: " + method);
+        }
+        return this;
+    }
+
+    private record Method(RpcHandler handler, boolean streaming) {
+    }
+}
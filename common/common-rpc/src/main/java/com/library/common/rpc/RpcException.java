@@ -0,0 +1,32 @@
+package com.library.common.rpc;
+
+/**
+ * A call that ended with a status other than OK
+ */
+public class RpcException extends RuntimeException {
+
+    private final RpcStatus status;
+    private final String description;
+
+    public RpcException(RpcStatus status, String description) {
+        super(status + (description != null ? ": " + description : ""));
+        this.status = status;
+        this.description = description;
+    }
+
+    public RpcException(RpcStatus status, String description, Throwable cause) {
+        this(status, description);
+        initCause(cause);
+    }
+
+    public RpcStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * The message without the status, as sent to the client
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,95 @@
+package com.library.common.rpc;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.library.common.event.codec.EventReader;
+import com.library.common.event.codec.EventWriter;
+
+/**
+ * Wire format of responses
+ *
+ * A request body is one message. A response is a sequence of frames: any
+ * number of DATA frames with one message each, then exactly one END frame
+ * with the status code and message. Each frame is a kind byte and a
+ * four byte big-endian payload length followed by the payload; messages
+ * are written with the varint encoding of {@link EventWriter}.
+ */
+public final class RpcFrames {
+
+    public static final String CONTENT_TYPE = "application/x-library-rpc";
+
+    /** Request header with the milliseconds left until the client's deadline */
+    public static final String TIMEOUT_HEADER = "Rpc-Timeout";
+
+    public static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+
+    static final int DATA = 1;
+    static final int END = 2;
+
+    private RpcFrames() {
+    }
+
+    public static void writeData(OutputStream out, EventWriter message) throws IOException {
+        writeFrame(out, DATA, message.toByteArray());
+    }
+
+    public static void writeEnd(OutputStream out, RpcStatus status, String message) throws IOException {
+        EventWriter payload = new EventWriter(32);
+        payload.writeVarInt(status.code());
+        payload.writeString(message);
+        writeFrame(out, END, payload.toByteArray());
+    }
+
+    /**
+     * The next frame, or null when the stream ends before one starts
+     */
+    static Frame read(InputStream in) throws IOException {
+        int kind = in.read();
+        if (kind < 0) {
+            return null;
+        }
+        DataInputStream data = new DataInputStream(in);
+        int length = data.readInt();
+        if (length < 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        byte[] payload = new byte[length];
+        try {
+            data.readFully(payload);
+        } catch (EOFException e) {
+            throw new IOException("Truncated frame", e);
+        }
+        return new Frame(kind, payload);
+    }
+
+    private static void writeFrame(OutputStream out, int kind, byte[] payload) throws IOException {
+        out.write(kind);
+        out.write(payload.length >>> 24);
+        out.write(payload.length >>> 16);
+        out.write(payload.length >>> 8);
+        out.write(payload.length);
+        out.write(payload);
+    }
+
+    record Frame(int kind, byte[] payload) {
+
+        EventReader reader() {
+            return new EventReader(payload);
+        }
+
+        /**
+         * Status of an END frame, as an exception unless OK
+         */
+        void checkStatus() {
+            EventReader in = reader();
+            RpcStatus status = RpcStatus.fromCode(in.readVarInt());
+            if (status != RpcStatus.OK) {
+                throw new RpcException(status, in.readString());
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.library.common.rpc;
+
+import com.library.common.event.codec.EventReader;
+import com.library.common.event.codec.EventWriter;
+
+/**
+ * Server side of one method
+ *
+ * A unary method sends at most one message, a streaming one any number;
+ * returning normally ends the call with OK. Throwing RpcException ends it
+ * with that status, IllegalArgumentException with INVALID_ARGUMENT and
+ * IllegalStateException with FAILED_PRECONDITION.
+ */
+@FunctionalInterface
+public interface RpcHandler {
+
+    void handle(EventReader request, Responses responses, Deadline deadline);
+
+    /**
+     * Sends response messages; those of a streaming method are flushed to
+     * the client right away
+     */
+    @FunctionalInterface
+    interface Responses {
+
+        /**
+         * @throws RpcException with DEADLINE_EXCEEDED once the deadline has passed
+         */
+        void send(EventWriter message);
+    }
+}
@@ -0,0 +1,41 @@
+package com.library.common.rpc;
+
+/**
+ * Outcome of a call, sent in the final frame of every response
+ *
+ * Codes follow the gRPC status codes so they read the same in logs and
+ * dashboards.
+ */
+public enum RpcStatus {
+    OK(0),
+    INVALID_ARGUMENT(3),
+    DEADLINE_EXCEEDED(4),
+    NOT_FOUND(5),
+    FAILED_PRECONDITION(9),
+    ABORTED(10),
+    UNIMPLEMENTED(12),
+    INTERNAL(13),
+    UNAVAILABLE(14);
+
+    private final int code;
+
+    RpcStatus(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    /**
+     * Status for a wire code, INTERNAL for codes this version does not know
+     */
+    public static RpcStatus fromCode(int code) {
+        for (RpcStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        return INTERNAL;
+    }
+}
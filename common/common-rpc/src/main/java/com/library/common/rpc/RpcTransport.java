@@ -0,0 +1,18 @@
+package com.library.common.rpc;
+
+import java.io.InputStream;
+
+/**
+ * Carries one call to the server and back
+ */
+public interface RpcTransport {
+
+    /**
+     * Send the request message and return the response frames as they
+     * arrive; the caller closes the stream
+     *
+     * @throws RpcException with UNAVAILABLE or DEADLINE_EXCEEDED when the
+     *                      server could not be reached in time
+     */
+    InputStream call(String method, byte[] request, Deadline deadline);
+}
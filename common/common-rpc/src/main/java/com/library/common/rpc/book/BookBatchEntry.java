@@ -0,0 +1,12 @@
+package com.library.common.rpc.book;
+
+/**
+ * One entry of a batch lookup, in the position it was requested
+ * book is null when there is no book with the id
+ */
+public record BookBatchEntry(long id, BookMessage book) {
+
+    public boolean found() {
+        return book != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.library.common.rpc.book;
+
+import java.time.LocalDateTime;
+
+/**
+ * What other services get to see of a book
+ */
+public record BookMessage(
+        long id,
+        String isbn,
+        String title,
+        String authorName,
+        String categoryName,
+        String status,
+        Integer totalQuantity,
+        Integer availableQuantity,
+        Integer borrowedQuantity,
+        boolean availableForBorrowing,
+        LocalDateTime updatedAt) {
+}
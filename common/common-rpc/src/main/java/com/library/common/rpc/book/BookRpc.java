@@ -0,0 +1,38 @@
+package com.library.common.rpc.book;
+
+/**
+ * Methods of the book service RPC contract
+ *
+ * Messages are fixed field sequences without names; a change to one
+ * needs a new method name so older peers keep working.
+ */
+public final class BookRpc {
+
+    /** id → book, NOT_FOUND when there is none */
+    public static final String GET = "book.get";
+
+    /** ids → entries in request order, streamed in chunks as they are read */
+    public static final String BATCH_GET = "book.batchGet";
+
+    /** book id, user id → reserve one copy; FAILED_PRECONDITION when none is available */
+    public static final String RESERVE = "book.reserve";
+
+    /**
+     * book id, user id, idempotency key → as {@link #RESERVE}, executed at
+     * most once per key; retries get the first outcome back and ABORTED
+     * while the first call is still running
+     */
+    public static final String RESERVE_IDEMPOTENT = "book.reserveIdempotent";
+
+    /** Longest idempotency key a call may carry */
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
+    /** book id → release one reserved copy */
+    public static final String RELEASE = "book.release";
+
+    /** Most ids one batch call may carry; the client splits longer lists */
+    public static final int MAX_BATCH = 500;
+
+    private BookRpc() {
+    }
+}
@@ -0,0 +1,123 @@
+package com.library.common.rpc.book;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.library.common.event.codec.EventWriter;
+import com.library.common.rpc.Deadline;
+import com.library.common.rpc.RpcChannel;
+import com.library.common.rpc.RpcException;
+import com.library.common.rpc.RpcStatus;
+import com.library.common.rpc.RpcTransport;
+
+/**
+ * Client of the book service RPC contract
+ *
+ * Every call has a deadline: the one passed in, or the default timeout
+ * from now. Failures surface as RpcException; a missing book is an empty
+ * Optional or an entry that is not found.
+ *
+ * <pre>
+ * BookRpcClient books = new BookRpcClient(
+ *         new HttpRpcTransport(URI.create("http://book-service:8081")), Duration.ofMillis(500));
+ * books.reserve(bookId, userId, loanId);
+ * </pre>
+ */
+public class BookRpcClient {
+
+    private final RpcChannel channel;
+    private final Duration timeout;
+
+    public BookRpcClient(RpcTransport transport, Duration timeout) {
+        this.channel = new RpcChannel(transport);
+        this.timeout = timeout;
+    }
+
+    public Optional<BookMessage> get(long id) {
+        return get(id, deadline());
+    }
+
+    public Optional<BookMessage> get(long id, Deadline deadline) {
+        EventWriter request = new EventWriter(16);
+        request.writeSignedLong(id);
+        try {
+            return Optional.of(channel.unary(BookRpc.GET, request, deadline, BookRpcCodec::readBook));
+        } catch (RpcException e) {
+            if (e.getStatus() == RpcStatus.NOT_FOUND) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * One entry per requested id, in request order
+     */
+    public List<BookBatchEntry> batchGet(List<Long> ids) {
+        return batchGet(ids, deadline());
+    }
+
+    public List<BookBatchEntry> batchGet(List<Long> ids, Deadline deadline) {
+        List<BookBatchEntry> entries = new ArrayList<>(ids.size());
+        batchGet(ids, deadline, entries::add);
+        return entries;
+    }
+
+    /**
+     * Hand each entry to the consumer as soon as its chunk arrives; lists
+     * longer than {@link BookRpc#MAX_BATCH} are sent as consecutive calls
+     * under the same deadline
+     */
+    public void batchGet(List<Long> ids, Deadline deadline, Consumer<BookBatchEntry> consumer) {
+        for (int from = 0; from < ids.size(); from += BookRpc.MAX_BATCH) {
+            List<Long> part = ids.subList(from, Math.min(from + BookRpc.MAX_BATCH, ids.size()));
+            channel.stream(BookRpc.BATCH_GET, BookRpcCodec.writeIds(part), deadline,
+                    BookRpcCodec::readChunk, chunk -> chunk.forEach(consumer));
+        }
+    }
+
+    public void reserve(long bookId, Long userId) {
+        reserve(bookId, userId, deadline());
+    }
+
+    public void reserve(long bookId, Long userId, Deadline deadline) {
+        reserve(bookId, userId, null, deadline);
+    }
+
+    /**
+     * Reserve at most once per idempotency key, so a call that timed out
+     * can be retried with the same key without reserving a second copy
+     */
+    public void reserve(long bookId, Long userId, String idempotencyKey) {
+        reserve(bookId, userId, idempotencyKey, deadline());
+    }
+
+    public void reserve(long bookId, Long userId, String idempotencyKey, Deadline deadline) {
+        EventWriter request = new EventWriter(idempotencyKey != null ? 32 + idempotencyKey.length() : 24);
+        request.writeSignedLong(bookId);
+        request.writeNullableLong(userId);
+        if (idempotencyKey == null) {
+            channel.unary(BookRpc.RESERVE, request, deadline, in -> null);
+            return;
+        }
+        request.writeString(idempotencyKey);
+        channel.unary(BookRpc.RESERVE_IDEMPOTENT, request, deadline, in -> null);
+    }
+
+    public void release(long bookId) {
+        release(bookId, deadline());
+    }
+
+    public void release(long bookId, Deadline deadline) {
+        EventWriter request = new EventWriter(16);
+        request.writeSignedLong(bookId);
+        channel.unary(BookRpc.RELEASE, request, deadline, in -> null);
+    }
+
+    private Deadline deadline() {
+        return Deadline.after(timeout);
+    }
+}
@@ -0,0 +1,108 @@
+package com.library.common.rpc.book;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.library.common.event.codec.EventReader;
+import com.library.common.event.codec.EventWriter;
+
+/**
+ * Encoding of the book RPC messages, shared by client and server
+ */
+final class BookRpcCodec {
+
+    private BookRpcCodec() {
+    }
+
+    static EventWriter writeIds(List<Long> ids) {
+        EventWriter out = new EventWriter(8 + ids.size() * 4);
+        out.writeVarInt(ids.size());
+        for (Long id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("Book IDs must not be null");
+            }
+            out.writeSignedLong(id);
+        }
+        return out;
+    }
+
+    static List<Long> readIds(EventReader in) {
+        int size = in.readVarInt();
+        if (size > BookRpc.MAX_BATCH) {
+            throw new IllegalArgumentException("At most " + BookRpc.MAX_BATCH + " IDs per batch, got " + size);
+        }
+        List<Long> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(in.readSignedLong());
+        }
+        return ids;
+    }
+
+    static String readIdempotencyKey(EventReader in) {
+        String key = in.readString();
+        if (key == null || key.isBlank() || key.length() > BookRpc.MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency key must be between 1 and " + BookRpc.MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        return key;
+    }
+
+    static EventWriter writeChunk(List<BookBatchEntry> entries) {
+        EventWriter out = new EventWriter(16 + entries.size() * 96);
+        out.writeVarInt(entries.size());
+        for (BookBatchEntry entry : entries) {
+            out.writeSignedLong(entry.id());
+            out.writeBoolean(entry.found());
+            if (entry.found()) {
+                writeBook(entry.book(), out);
+            }
+        }
+        return out;
+    }
+
+    static List<BookBatchEntry> readChunk(EventReader in) {
+        int size = in.readVarInt();
+        // Never trust a size read from the input for an allocation
+        List<BookBatchEntry> entries = new ArrayList<>(Math.min(size, BookRpc.MAX_BATCH));
+        for (int i = 0; i < size; i++) {
+            long id = in.readSignedLong();
+            entries.add(new BookBatchEntry(id, in.readBoolean() ? readBook(in) : null));
+        }
+        return entries;
+    }
+
+    static EventWriter writeBook(BookMessage book) {
+        EventWriter out = new EventWriter(128);
+        writeBook(book, out);
+        return out;
+    }
+
+    static void writeBook(BookMessage book, EventWriter out) {
+        out.writeSignedLong(book.id());
+        out.writeString(book.isbn());
+        out.writeString(book.title());
+        out.writeString(book.authorName());
+        out.writeString(book.categoryName());
+        out.writeString(book.status());
+        out.writeNullableInt(book.totalQuantity());
+        out.writeNullableInt(book.availableQuantity());
+        out.writeNullableInt(book.borrowedQuantity());
+        out.writeBoolean(book.availableForBorrowing());
+        out.writeTimestamp(book.updatedAt());
+    }
+
+    static BookMessage readBook(EventReader in) {
+        return new BookMessage(
+                in.readSignedLong(),
+                in.readString(),
+                in.readString(),
+                in.readString(),
+                in.readString(),
+                in.readString(),
+                in.readNullableInt(),
+                in.readNullableInt(),
+                in.readNullableInt(),
+                in.readBoolean(),
+                in.readTimestamp());
+    }
+}
@@ -0,0 +1,38 @@
+package com.library.common.rpc.book;
+
+import com.library.common.rpc.RpcDispatcher;
+import com.library.common.rpc.RpcException;
+import com.library.common.rpc.RpcStatus;
+
+/**
+ * Registers the book methods of a {@link BookRpcService} with a dispatcher
+ */
+public final class BookRpcServer {
+
+    private BookRpcServer() {
+    }
+
+    public static RpcDispatcher register(RpcDispatcher dispatcher, BookRpcService service) {
+        return dispatcher
+                .register(BookRpc.GET, (request, responses, deadline) -> {
+                    long id = request.readSignedLong();
+                    BookMessage book = service.get(id).orElseThrow(
+                            () -> new RpcException(RpcStatus.NOT_FOUND, "Book not found with ID: " + id));
+                    responses.send(BookRpcCodec.writeBook(book));
+                })
+                .registerStreaming(BookRpc.BATCH_GET, (request, responses, deadline) -> service.batchGet(
+                        BookRpcCodec.readIds(request),
+                        chunk -> responses.send(BookRpcCodec.writeChunk(chunk)),
+                        deadline))
+                .register(BookRpc.RESERVE, (request, responses, deadline) -> service.reserve(
+                        request.readSignedLong(),
+                        request.readNullableLong(),
+                        null))
+                .register(BookRpc.RESERVE_IDEMPOTENT, (request, responses, deadline) -> service.reserve(
+                        request.readSignedLong(),
+                        request.readNullableLong(),
+                        BookRpcCodec.readIdempotencyKey(request)))
+                .register(BookRpc.RELEASE, (request, responses, deadline) -> service.release(
+                        request.readSignedLong()));
+    }
+}
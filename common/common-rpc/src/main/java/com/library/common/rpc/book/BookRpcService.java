@@ -0,0 +1,33 @@
+package com.library.common.rpc.book;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.library.common.rpc.Deadline;
+
+/**
+ * Implemented by the book service, exposed through {@link BookRpcServer}
+ *
+ * Failures follow the RpcHandler conventions: IllegalArgumentException
+ * for bad input, IllegalStateException when the book's state does not
+ * allow the operation.
+ */
+public interface BookRpcService {
+
+    Optional<BookMessage> get(long id);
+
+    /**
+     * Look up books in request order, handing each chunk over as soon as it
+     * is read; the deadline is checked between chunks
+     */
+    void batchGet(List<Long> ids, Consumer<List<BookBatchEntry>> chunks, Deadline deadline);
+
+    /**
+     * @param idempotencyKey null for a plain call; otherwise the call runs at
+     *                       most once per key and repeats get its outcome
+     */
+    void reserve(long bookId, Long userId, String idempotencyKey);
+
+    void release(long bookId);
+}
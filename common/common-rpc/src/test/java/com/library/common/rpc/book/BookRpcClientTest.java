@@ -0,0 +1,268 @@
+package com.library.common.rpc.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.library.common.event.codec.EventWriter;
+import com.library.common.rpc.Deadline;
+import com.library.common.rpc.InProcessRpcTransport;
+import com.library.common.rpc.RpcChannel;
+import com.library.common.rpc.RpcDispatcher;
+import com.library.common.rpc.RpcException;
+import com.library.common.rpc.RpcStatus;
+
+class BookRpcClientTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+
+    private FakeBookService service;
+    private RpcDispatcher dispatcher;
+    private BookRpcClient client;
+
+    @BeforeEach
+    void setUp() {
+        service = new FakeBookService();
+        dispatcher = BookRpcServer.register(new RpcDispatcher(), service);
+        client = new BookRpcClient(new InProcessRpcTransport(dispatcher), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void getReturnsEveryField() {
+        BookMessage book = book(1);
+        service.books.put(1L, book);
+
+        assertThat(client.get(1)).contains(book);
+    }
+
+    @Test
+    void getKeepsNullFields() {
+        BookMessage book = new BookMessage(2, "978-0000000002", "Untitled", null, null, "AVAILABLE",
+                null, null, null, false, null);
+        service.books.put(2L, book);
+
+        assertThat(client.get(2)).contains(book);
+    }
+
+    @Test
+    void getOfMissingBookIsEmpty() {
+        assertThat(client.get(404)).isEmpty();
+    }
+
+    @Test
+    void notFoundReachesTheChannelAsStatus() {
+        EventWriter request = new EventWriter(16);
+        request.writeSignedLong(404);
+
+        assertThatThrownBy(() -> new RpcChannel(new InProcessRpcTransport(dispatcher))
+                .unary(BookRpc.GET, request, Deadline.after(Duration.ofSeconds(1)), in -> null))
+                .isInstanceOfSatisfying(RpcException.class, e -> {
+                    assertThat(e.getStatus()).isEqualTo(RpcStatus.NOT_FOUND);
+                    assertThat(e.getDescription()).isEqualTo("Book not found with ID: 404");
+                });
+    }
+
+    @Test
+    void batchGetReturnsOneEntryPerIdInRequestOrder() {
+        service.books.put(3L, book(3));
+        service.books.put(1L, book(1));
+
+        List<BookBatchEntry> entries = client.batchGet(List.of(3L, 2L, 1L, 3L));
+
+        assertThat(entries).containsExactly(
+                new BookBatchEntry(3, book(3)),
+                new BookBatchEntry(2, null),
+                new BookBatchEntry(1, book(1)),
+                new BookBatchEntry(3, book(3)));
+        assertThat(entries.get(1).found()).isFalse();
+    }
+
+    @Test
+    void batchGetStreamsEveryChunk() {
+        service.chunkSize = 2;
+        LongStream.rangeClosed(1, 5).forEach(id -> service.books.put(id, book(id)));
+
+        List<Long> received = new ArrayList<>();
+        client.batchGet(List.of(1L, 2L, 3L, 4L, 5L), Deadline.after(Duration.ofSeconds(1)),
+                entry -> received.add(entry.id()));
+
+        assertThat(received).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(service.chunksSent).isEqualTo(3);
+    }
+
+    @Test
+    void batchGetSplitsLongListsIntoSeveralCalls() {
+        List<Long> ids = LongStream.rangeClosed(1, BookRpc.MAX_BATCH * 2L + 1).boxed().toList();
+
+        List<BookBatchEntry> entries = client.batchGet(ids);
+
+        assertThat(entries).extracting(BookBatchEntry::id).containsExactlyElementsOf(ids);
+        assertThat(service.batchCalls).isEqualTo(3);
+    }
+
+    @Test
+    void batchGetRejectsNullIds() {
+        List<Long> ids = new ArrayList<>();
+        ids.add(null);
+
+        assertThatThrownBy(() -> client.batchGet(ids)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void failureAfterSomeChunksStillThrows() {
+        service.chunkSize = 1;
+        service.failAfterChunks = 2;
+
+        List<Long> received = new ArrayList<>();
+        assertThatThrownBy(() -> client.batchGet(List.of(1L, 2L, 3L), Deadline.after(Duration.ofSeconds(1)),
+                entry -> received.add(entry.id())))
+                .isInstanceOfSatisfying(RpcException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(RpcStatus.FAILED_PRECONDITION));
+        // The in-process transport hands out the prefix before the END frame
+        assertThat(received).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void reserveAndReleaseReachTheService() {
+        client.reserve(7, 42L);
+        client.reserve(7, null);
+        client.release(7);
+
+        assertThat(service.reserved).containsExactly("7:42:null", "7:null:null");
+        assertThat(service.released).containsExactly(7L);
+    }
+
+    @Test
+    void reserveCarriesTheIdempotencyKey() {
+        client.reserve(7, 42L, "loan-1001");
+
+        assertThat(service.reserved).containsExactly("7:42:loan-1001");
+    }
+
+    @Test
+    void reserveRejectsAnOverlongIdempotencyKey() {
+        String key = "k".repeat(BookRpc.MAX_IDEMPOTENCY_KEY_LENGTH + 1);
+
+        assertThatThrownBy(() -> client.reserve(7, 42L, key))
+                .isInstanceOfSatisfying(RpcException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(RpcStatus.INVALID_ARGUMENT));
+        assertThat(service.reserved).isEmpty();
+    }
+
+    @Test
+    void rejectedReserveIsFailedPrecondition() {
+        service.available = false;
+
+        assertThatThrownBy(() -> client.reserve(7, 42L))
+                .isInstanceOfSatisfying(RpcException.class, e -> {
+                    assertThat(e.getStatus()).isEqualTo(RpcStatus.FAILED_PRECONDITION);
+                    assertThat(e.getDescription()).isEqualTo("No copies available");
+                });
+    }
+
+    @Test
+    void expiredDeadlineFailsBeforeTheCall() {
+        service.books.put(1L, book(1));
+
+        assertThatThrownBy(() -> client.get(1, Deadline.after(Duration.ZERO)))
+                .isInstanceOfSatisfying(RpcException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(RpcStatus.DEADLINE_EXCEEDED));
+        assertThat(service.getCalls).isZero();
+    }
+
+    @Test
+    void deadlinePassingInTheHandlerEndsTheCall() {
+        service.books.put(1L, book(1));
+        service.delay = Duration.ofMillis(100);
+
+        assertThatThrownBy(() -> client.get(1, Deadline.after(Duration.ofMillis(20))))
+                .isInstanceOfSatisfying(RpcException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(RpcStatus.DEADLINE_EXCEEDED));
+        assertThat(service.getCalls).isEqualTo(1);
+    }
+
+    @Test
+    void unknownMethodIsUnimplemented() {
+        assertThatThrownBy(() -> new RpcChannel(new InProcessRpcTransport(dispatcher))
+                .unary("book.unknown", new EventWriter(8), Deadline.after(Duration.ofSeconds(1)), in -> null))
+                .isInstanceOfSatisfying(RpcException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(RpcStatus.UNIMPLEMENTED));
+    }
+
+    private static BookMessage book(long id) {
+        return new BookMessage(id, "978-000000000" + id, "Title " + id, "Author " + id, "Fiction", "AVAILABLE",
+                5, 3, 2, true, UPDATED_AT);
+    }
+
+    private static class FakeBookService implements BookRpcService {
+
+        final Map<Long, BookMessage> books = new HashMap<>();
+        final List<String> reserved = new ArrayList<>();
+        final List<Long> released = new ArrayList<>();
+
+        int chunkSize = 100;
+        int failAfterChunks = -1;
+        boolean available = true;
+        Duration delay = Duration.ZERO;
+
+        int getCalls;
+        int batchCalls;
+        int chunksSent;
+
+        @Override
+        public Optional<BookMessage> get(long id) {
+            getCalls++;
+            sleep();
+            return Optional.ofNullable(books.get(id));
+        }
+
+        @Override
+        public void batchGet(List<Long> ids, Consumer<List<BookBatchEntry>> chunks, Deadline deadline) {
+            batchCalls++;
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                if (chunksSent == failAfterChunks) {
+                    throw new IllegalStateException("Catalog unavailable");
+                }
+                List<BookBatchEntry> chunk = new ArrayList<>();
+                for (Long id : ids.subList(from, Math.min(from + chunkSize, ids.size()))) {
+                    chunk.add(new BookBatchEntry(id, books.get(id)));
+                }
+                chunks.accept(chunk);
+                chunksSent++;
+            }
+        }
+
+        @Override
+        public void reserve(long bookId, Long userId, String idempotencyKey) {
+            if (!available) {
+                throw new IllegalStateException("No copies available");
+            }
+            reserved.add(bookId + ":" + userId + ":" + idempotencyKey);
+        }
+
+        @Override
+        public void release(long bookId) {
+            released.add(bookId);
+        }
+
+        private void sleep() {
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
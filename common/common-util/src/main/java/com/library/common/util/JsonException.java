@@ -0,0 +1,12 @@
+package com.library.common.util;
+
+/**
+ * Thrown by the {@link JsonUtils} read and write methods when a value
+ * cannot be serialized or a payload cannot be parsed
+ */
+public class JsonException extends RuntimeException {
+
+    public JsonException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,27 +1,79 @@
 package com.library.common.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for JSON operations
+ *
+ * The toJson/fromJson methods log failures and return null. The read/write
+ * methods throw {@link JsonException} instead, reuse a cached
+ * ObjectReader/ObjectWriter per type and never close the streams they are
+ * given.
  */
 public final class JsonUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(JsonUtils.class);
     private static final ObjectMapper objectMapper;
     
+    /** Pooled buffers above this size are not kept for reuse */
+    private static final int MAX_POOLED_BUFFER = 64 * 1024;
+    
+    private static final ObjectWriter baseWriter;
+    private static final ObjectReader baseReader;
+    private static final ClassValue<ObjectWriter> writers;
+    private static final ClassValue<ObjectReader> readers;
+    private static final Map<JavaType, ObjectReader> genericReaders = new ConcurrentHashMap<>();
+    private static final ThreadLocal<PooledBuffer> buffers = ThreadLocal.withInitial(PooledBuffer::new);
+    
     static {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        
+        baseWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        baseReader = objectMapper.reader().without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        writers = new ClassValue<>() {
+            @Override
+            protected ObjectWriter computeValue(Class<?> type) {
+                return baseWriter.forType(type);
+            }
+        };
+        readers = new ClassValue<>() {
+            @Override
+            protected ObjectReader computeValue(Class<?> type) {
+                return baseReader.forType(type);
+            }
+        };
     }
     
     private JsonUtils() {
@@ -130,4 +182,218 @@ public final class JsonUtils {
             return false;
         }
     }
+    
+    // ==================== Typed, cached API ====================
+    
+    /**
+     * Cached reader for a type
+     */
+    public static ObjectReader reader(Class<?> type) {
+        return readers.get(type);
+    }
+    
+    /**
+     * Cached reader for a generic type
+     */
+    public static ObjectReader reader(TypeReference<?> typeReference) {
+        JavaType type = objectMapper.getTypeFactory().constructType(typeReference);
+        return genericReaders.computeIfAbsent(type, baseReader::forType);
+    }
+    
+    /**
+     * Cached writer for a type
+     */
+    public static ObjectWriter writer(Class<?> type) {
+        return writers.get(type);
+    }
+    
+    /**
+     * Serialize to bytes, using a per-thread reusable buffer
+     */
+    public static byte[] writeBytes(Object value) {
+        PooledBuffer buffer = buffers.get();
+        if (buffer.inUse) {
+            // Called from inside a serializer on this thread
+            return write(value, new ByteArrayOutputStream()).toByteArray();
+        }
+        buffer.inUse = true;
+        try {
+            write(value, buffer);
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+    
+    /**
+     * Serialize into a stream; the stream is left open
+     */
+    public static <S extends OutputStream> S write(Object value, S out) {
+        try {
+            writerFor(value).writeValue(out, value);
+            return out;
+        } catch (IOException e) {
+            throw new JsonException("Error writing " + typeName(value) + " as JSON", e);
+        }
+    }
+    
+    /**
+     * Serialize into a buffer, starting at its position
+     * 
+     * @return number of bytes written
+     */
+    public static int write(Object value, ByteBuffer buffer) {
+        int start = buffer.position();
+        try {
+            writerFor(value).writeValue(new ByteBufferBackedOutputStream(buffer), value);
+            return buffer.position() - start;
+        } catch (BufferOverflowException e) {
+            throw new JsonException("Buffer too small for " + typeName(value) + " JSON", e);
+        } catch (IOException e) {
+            throw new JsonException("Error writing " + typeName(value) + " as JSON", e);
+        }
+    }
+    
+    public static <T> T read(byte[] json, Class<T> type) {
+        try {
+            return reader(type).readValue(json);
+        } catch (IOException e) {
+            throw new JsonException("Error reading JSON as " + type.getSimpleName(), e);
+        }
+    }
+    
+    public static <T> T read(byte[] json, TypeReference<T> typeReference) {
+        try {
+            return reader(typeReference).readValue(json);
+        } catch (IOException e) {
+            throw new JsonException("Error reading JSON as " + typeReference.getType(), e);
+        }
+    }
+    
+    /**
+     * Parse from a stream; the stream is left open
+     */
+    public static <T> T read(InputStream in, Class<T> type) {
+        try {
+            return reader(type).readValue(in);
+        } catch (IOException e) {
+            throw new JsonException("Error reading JSON as " + type.getSimpleName(), e);
+        }
+    }
+    
+    /**
+     * Parse from a stream; the stream is left open
+     */
+    public static <T> T read(InputStream in, TypeReference<T> typeReference) {
+        try {
+            return reader(typeReference).readValue(in);
+        } catch (IOException e) {
+            throw new JsonException("Error reading JSON as " + typeReference.getType(), e);
+        }
+    }
+    
+    /**
+     * Parse the remaining bytes of a buffer, advancing its position
+     */
+    public static <T> T read(ByteBuffer buffer, Class<T> type) {
+        return read(new ByteBufferBackedInputStream(buffer), type);
+    }
+    
+    /**
+     * Lazily read newline delimited JSON (one value per line), without
+     * loading the whole input. Closing the iterator leaves the stream open.
+     */
+    public static <T> MappingIterator<T> readLines(InputStream in, Class<T> type) {
+        try {
+            return reader(type).readValues(in);
+        } catch (IOException e) {
+            throw new JsonException("Error opening JSON lines of " + type.getSimpleName(), e);
+        }
+    }
+    
+    /**
+     * Newline delimited JSON as a stream; close it to release the parser.
+     * Parse errors surface as {@link JsonException} while iterating.
+     */
+    public static <T> Stream<T> streamLines(InputStream in, Class<T> type) {
+        MappingIterator<T> values = readLines(in, type);
+        Iterator<T> iterator = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return values.hasNextValue();
+                } catch (IOException e) {
+                    throw new JsonException("Error reading JSON lines of " + type.getSimpleName(), e);
+                }
+            }
+            
+            @Override
+            public T next() {
+                try {
+                    return values.nextValue();
+                } catch (IOException e) {
+                    throw new JsonException("Error reading JSON lines of " + type.getSimpleName(), e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        values.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+    
+    /**
+     * Write values as newline delimited JSON; the stream is left open
+     * 
+     * @return number of values written
+     */
+    public static long writeLines(Iterable<?> values, OutputStream out) {
+        long count = 0;
+        try (SequenceWriter sequence = baseWriter.withRootValueSeparator("\n").writeValues(out)) {
+            for (Object value : values) {
+                sequence.write(value);
+                count++;
+            }
+            sequence.flush();
+            if (count > 0) {
+                out.write('\n');
+            }
+            return count;
+        } catch (IOException e) {
+            throw new JsonException("Error writing JSON lines after " + count + " values", e);
+        }
+    }
+    
+    private static ObjectWriter writerFor(Object value) {
+        return value == null ? baseWriter : writers.get(value.getClass());
+    }
+    
+    private static String typeName(Object value) {
+        return value == null ? "null" : value.getClass().getSimpleName();
+    }
+    
+    /**
+     * Per-thread output buffer; shrunk again after large payloads so that
+     * idle threads do not keep them
+     */
+    private static final class PooledBuffer extends ByteArrayOutputStream {
+        
+        private boolean inUse;
+        
+        PooledBuffer() {
+            super(1024);
+        }
+        
+        void release() {
+            if (buf.length > MAX_POOLED_BUFFER) {
+                buf = new byte[1024];
+            }
+            reset();
+            inUse = false;
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package com.library.common.util;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * 128-bit time-ordered identifier
+ *
+ * Layout, most significant bit first:
+ * 48 bits Unix epoch milliseconds, 10 bits node id, 14 bits thread slot,
+ * 56 bits sequence. The text form is 26 Crockford base32 characters, the
+ * same encoding and timestamp prefix as a ULID, so both the binary and the
+ * text form sort by creation time.
+ */
+public final class TimeOrderedId implements Comparable<TimeOrderedId> {
+
+    public static final int BYTES = 16;
+    public static final int TEXT_LENGTH = 26;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = (byte) i;
+            DECODE[Character.toLowerCase(ALPHABET[i])] = (byte) i;
+        }
+    }
+
+    private final long msb;
+    private final long lsb;
+
+    public TimeOrderedId(long msb, long lsb) {
+        this.msb = msb;
+        this.lsb = lsb;
+    }
+
+    public long getMostSignificantBits() {
+        return msb;
+    }
+
+    public long getLeastSignificantBits() {
+        return lsb;
+    }
+
+    /**
+     * Creation time in epoch milliseconds
+     */
+    public long getTimestamp() {
+        return msb >>> 16;
+    }
+
+    public Instant getInstant() {
+        return Instant.ofEpochMilli(getTimestamp());
+    }
+
+    public int getNodeId() {
+        return (int) (msb >>> 6) & TimeOrderedIdGenerator.MAX_NODE_ID;
+    }
+
+    /**
+     * Compact 16 byte big-endian form, e.g. for a BINARY(16) column
+     */
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(BYTES).putLong(msb).putLong(lsb).array();
+    }
+
+    public static TimeOrderedId fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != BYTES) {
+            throw new IllegalArgumentException("Time ordered id must be " + BYTES + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new TimeOrderedId(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Parse the 26 character text form, case insensitive
+     */
+    public static TimeOrderedId parse(String text) {
+        if (text == null || text.length() != TEXT_LENGTH) {
+            throw new IllegalArgumentException("Time ordered id must be " + TEXT_LENGTH + " characters");
+        }
+        long hi = 0;
+        long lo = 0;
+        for (int i = 0; i < TEXT_LENGTH; i++) {
+            char c = text.charAt(i);
+            int value = c < DECODE.length ? DECODE[c] : -1;
+            if (value < 0 || (i == 0 && value > 7)) {
+                throw new IllegalArgumentException("Invalid time ordered id: " + text);
+            }
+            hi = (hi << 5) | (lo >>> 59);
+            lo = (lo << 5) | value;
+        }
+        return new TimeOrderedId(hi, lo);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[TEXT_LENGTH];
+        long hi = msb;
+        long lo = lsb;
+        for (int i = TEXT_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (lo & 31)];
+            lo = (lo >>> 5) | (hi << 59);
+            hi >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public int compareTo(TimeOrderedId other) {
+        int result = Long.compareUnsigned(msb, other.msb);
+        return result != 0 ? result : Long.compareUnsigned(lsb, other.lsb);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimeOrderedId other)) {
+            return false;
+        }
+        return msb == other.msb && lsb == other.lsb;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(msb) * 31 + Long.hashCode(lsb);
+    }
+}
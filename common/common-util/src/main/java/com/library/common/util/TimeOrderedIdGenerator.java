@@ -0,0 +1,102 @@
+package com.library.common.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generator of {@link TimeOrderedId}s
+ *
+ * Every thread keeps its own clock and sequence, so generating an id takes
+ * no lock, no CAS and no SecureRandom. Ids of one thread are strictly
+ * increasing, also if the wall clock steps back; ids of different threads
+ * and nodes are ordered by millisecond. Uniqueness comes from the node id
+ * and thread slot, and the sequence starts at a random value every
+ * millisecond in case two nodes are started with the same node id.
+ *
+ * The node id is read from the library.node-id system property or the
+ * LIBRARY_NODE_ID environment variable, or set through
+ * {@link #configureNodeId(int)}; without either a random one is used.
+ */
+public final class TimeOrderedIdGenerator {
+
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    private static final int SLOT_BITS = 14;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << 56) - 1;
+    // Random start leaves half of the range for ids within the same millisecond
+    private static final long SEQUENCE_START_BOUND = 1L << 55;
+
+    private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+    private static final ThreadLocal<State> STATE =
+            ThreadLocal.withInitial(() -> new State(NEXT_SLOT.getAndIncrement() & SLOT_MASK));
+
+    private static volatile int nodeId = initialNodeId();
+
+    private TimeOrderedIdGenerator() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Set the node id of this process, between 0 and {@value #MAX_NODE_ID}
+     */
+    public static void configureNodeId(int id) {
+        if (id < 0 || id > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        nodeId = id;
+    }
+
+    public static int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Next id of the calling thread
+     */
+    public static TimeOrderedId next() {
+        State state = STATE.get();
+        long now = System.currentTimeMillis();
+
+        if (now > state.millis) {
+            state.millis = now;
+            state.sequence = ThreadLocalRandom.current().nextLong(SEQUENCE_START_BOUND);
+        } else if (++state.sequence > SEQUENCE_MASK) {
+            // Sequence exhausted or clock behind: borrow the next millisecond
+            state.millis++;
+            state.sequence = 0;
+        }
+
+        long msb = (state.millis << 16) | ((long) nodeId << 6) | (state.slot >>> 8);
+        long lsb = ((long) (state.slot & 0xFF) << 56) | state.sequence;
+        return new TimeOrderedId(msb, lsb);
+    }
+
+    /**
+     * Next id in its 26 character text form
+     */
+    public static String nextString() {
+        return next().toString();
+    }
+
+    private static int initialNodeId() {
+        String configured = System.getProperty("library.node-id", System.getenv("LIBRARY_NODE_ID"));
+        if (configured != null && !configured.isBlank()) {
+            int id = Integer.parseInt(configured.trim());
+            if (id >= 0 && id <= MAX_NODE_ID) {
+                return id;
+            }
+        }
+        return ThreadLocalRandom.current().nextInt(MAX_NODE_ID + 1);
+    }
+
+    private static final class State {
+        private final int slot;
+        private long millis;
+        private long sequence;
+
+        private State(int slot) {
+            this.slot = slot;
+        }
+    }
+}
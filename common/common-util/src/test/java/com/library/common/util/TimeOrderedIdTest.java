@@ -0,0 +1,105 @@
+package com.library.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdTest {
+
+    @Test
+    void encodesTheBoundaries() {
+        assertThat(new TimeOrderedId(0, 0).toString()).isEqualTo("00000000000000000000000000");
+        assertThat(new TimeOrderedId(0, 31).toString()).isEqualTo("0000000000000000000000000Z");
+        assertThat(new TimeOrderedId(-1, -1).toString()).isEqualTo("7ZZZZZZZZZZZZZZZZZZZZZZZZZ");
+        // The top bit of the low half is bit 3 of the 13th character from the right
+        assertThat(new TimeOrderedId(0, Long.MIN_VALUE).toString()).isEqualTo("00000000000008000000000000");
+    }
+
+    @Test
+    void bytesAreBigEndian() {
+        TimeOrderedId id = new TimeOrderedId(0x0102030405060708L, 0x090A0B0C0D0E0F10L);
+
+        assertThat(HexFormat.of().formatHex(id.toBytes())).isEqualTo("0102030405060708090a0b0c0d0e0f10");
+        assertThat(TimeOrderedId.fromBytes(id.toBytes())).isEqualTo(id);
+    }
+
+    @Test
+    void roundTripsTextAndBytes() {
+        List<TimeOrderedId> ids = new ArrayList<>(List.of(
+                new TimeOrderedId(0, 0),
+                new TimeOrderedId(-1, -1),
+                new TimeOrderedId(Long.MIN_VALUE, Long.MAX_VALUE),
+                new TimeOrderedId(0x0000_0000_FFFF_FFFFL, 0xFFFF_FFFF_0000_0000L)));
+        for (int i = 0; i < 1000; i++) {
+            ids.add(TimeOrderedIdGenerator.next());
+        }
+
+        for (TimeOrderedId id : ids) {
+            assertThat(TimeOrderedId.parse(id.toString())).isEqualTo(id);
+            assertThat(TimeOrderedId.fromBytes(id.toBytes())).isEqualTo(id);
+            assertThat(id.toString()).hasSize(TimeOrderedId.TEXT_LENGTH);
+            assertThat(id.toBytes()).hasSize(TimeOrderedId.BYTES);
+        }
+    }
+
+    @Test
+    void parseIgnoresCase() {
+        TimeOrderedId id = TimeOrderedIdGenerator.next();
+
+        assertThat(TimeOrderedId.parse(id.toString().toLowerCase())).isEqualTo(id);
+    }
+
+    @Test
+    void parseRejectsMalformedText() {
+        assertThatThrownBy(() -> TimeOrderedId.parse(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeOrderedId.parse("0000000000000000000000000"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // 26 characters hold 130 bits, the first one may only use 3 of its 5
+        assertThatThrownBy(() -> TimeOrderedId.parse("80000000000000000000000000"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // Letters left out of the Crockford alphabet, and non-ASCII
+        assertThatThrownBy(() -> TimeOrderedId.parse("0000000000000000000000000U"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeOrderedId.parse("0000000000000000000000000I"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeOrderedId.parse("0000000000000000000000000é"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fromBytesRejectsOtherLengths() {
+        assertThatThrownBy(() -> TimeOrderedId.fromBytes(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeOrderedId.fromBytes(new byte[15])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeOrderedId.fromBytes(new byte[17])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void textBytesAndCreationOrderAgree() {
+        List<TimeOrderedId> created = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            created.add(TimeOrderedIdGenerator.next());
+        }
+
+        assertThat(created).isSortedAccordingTo(Comparator.naturalOrder());
+        assertThat(created).extracting(TimeOrderedId::toString).isSorted();
+        assertThat(created).extracting(TimeOrderedId::toBytes).isSortedAccordingTo(Arrays::compareUnsigned);
+        assertThat(created).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void carriesTimestampAndNodeId() {
+        long before = System.currentTimeMillis();
+        TimeOrderedId id = TimeOrderedIdGenerator.next();
+
+        assertThat(id.getTimestamp()).isBetween(before, System.currentTimeMillis() + 1);
+        assertThat(id.getInstant().toEpochMilli()).isEqualTo(id.getTimestamp());
+        assertThat(id.getNodeId()).isEqualTo(TimeOrderedIdGenerator.getNodeId());
+    }
+}
@@ -2,6 +2,7 @@ package com.library.gateway;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
 /**
@@ -15,10 +16,12 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
  * - Rate limiting
  * - Request/response transformation
  * - Circuit breaker integration
+ * - Adaptive concurrency limiting and retry budgets
  * - CORS configuration
  */
 @SpringBootApplication
 @EnableDiscoveryClient
+@ConfigurationPropertiesScan
 public class ApiGatewayApplication {
     
     public static void main(String[] args) {
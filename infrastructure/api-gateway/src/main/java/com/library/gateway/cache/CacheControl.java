@@ -0,0 +1,53 @@
+package com.library.gateway.cache;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Parsed response Cache-Control directives relevant to a shared cache
+ */
+public record CacheControl(boolean storable, Duration maxAge, Duration staleWhileRevalidate) {
+
+    /**
+     * Parse the upstream headers
+     *
+     * @return directives, with null durations for anything not specified
+     */
+    public static CacheControl parse(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return new CacheControl(false, null, null);
+        }
+
+        boolean storable = true;
+        Duration maxAge = null;
+        Duration sharedMaxAge = null;
+        Duration stale = null;
+
+        for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String raw : value.split(",")) {
+                String directive = raw.trim().toLowerCase(Locale.ROOT);
+                if (directive.equals("no-store") || directive.equals("private") || directive.equals("no-cache")) {
+                    storable = false;
+                } else if (directive.startsWith("s-maxage=")) {
+                    sharedMaxAge = seconds(directive);
+                } else if (directive.startsWith("max-age=")) {
+                    maxAge = seconds(directive);
+                } else if (directive.startsWith("stale-while-revalidate=")) {
+                    stale = seconds(directive);
+                }
+            }
+        }
+
+        return new CacheControl(storable, sharedMaxAge != null ? sharedMaxAge : maxAge, stale);
+    }
+
+    private static Duration seconds(String directive) {
+        try {
+            return Duration.ofSeconds(Long.parseLong(directive.substring(directive.indexOf('=') + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.library.gateway.cache;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Upstream response held by the gateway cache
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedResponse {
+
+    private int status;
+    private Map<String, List<String>> headers;
+    private byte[] body;
+    private String etag;
+
+    // Epoch millis
+    private long storedAt;
+    private long expiresAt;
+    private long staleUntil;
+
+    @JsonIgnore
+    public boolean isFresh(long now) {
+        return now < expiresAt;
+    }
+
+    @JsonIgnore
+    public boolean isServableStale(long now) {
+        return now >= expiresAt && now < staleUntil;
+    }
+
+    /**
+     * Approximate heap footprint used for the byte bound of the memory segment
+     */
+    @JsonIgnore
+    public long sizeBytes() {
+        long size = body != null ? body.length : 0;
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                size += header.getKey().length();
+                for (String value : header.getValue()) {
+                    size += value.length();
+                }
+            }
+        }
+        return size + 64;
+    }
+}
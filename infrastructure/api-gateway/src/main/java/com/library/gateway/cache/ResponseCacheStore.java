@@ -0,0 +1,151 @@
+package com.library.gateway.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.gateway.config.ResponseCacheProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Two level response store: a byte bounded LRU segment in memory, optionally
+ * backed by Redis so that gateway nodes share their entries
+ */
+@Component
+@Slf4j
+public class ResponseCacheStore {
+
+    private final ResponseCacheProperties properties;
+    private final ReactiveStringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+
+    private final LinkedHashMap<String, CachedResponse> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+
+    public ResponseCacheStore(
+            ResponseCacheProperties properties,
+            ObjectProvider<ReactiveStringRedisTemplate> redisProvider,
+            ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.redis = properties.getRedis().isEnabled() ? redisProvider.getIfAvailable() : null;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Look an entry up in memory first, then in Redis
+     */
+    public Mono<CachedResponse> get(String key) {
+        CachedResponse local = getLocal(key);
+        if (local != null || redis == null) {
+            return Mono.justOrEmpty(local);
+        }
+
+        return redis.opsForValue().get(properties.getRedis().getKeyPrefix() + key)
+                .flatMap(json -> Mono.justOrEmpty(deserialize(json)))
+                .doOnNext(entry -> putLocal(key, entry))
+                .onErrorResume(e -> {
+                    log.warn("Redis cache lookup failed for {}: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public void put(String key, CachedResponse entry) {
+        if (entry.sizeBytes() > properties.getMaxEntryBytes()) {
+            return;
+        }
+        putLocal(key, entry);
+
+        if (redis != null) {
+            String json = serialize(entry);
+            Duration ttl = Duration.ofMillis(Math.max(1, entry.getStaleUntil() - System.currentTimeMillis()));
+            if (json != null) {
+                redis.opsForValue().set(properties.getRedis().getKeyPrefix() + key, json, ttl)
+                        .subscribe(
+                                ok -> { },
+                                e -> log.warn("Redis cache write failed for {}: {}", key, e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Drop every entry whose key starts with the prefix (one route)
+     */
+    public void invalidate(String keyPrefix) {
+        synchronized (memory) {
+            Iterator<Map.Entry<String, CachedResponse>> it = memory.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, CachedResponse> entry = it.next();
+                if (entry.getKey().startsWith(keyPrefix)) {
+                    memoryBytes -= entry.getValue().sizeBytes();
+                    it.remove();
+                }
+            }
+        }
+
+        if (redis != null) {
+            String pattern = properties.getRedis().getKeyPrefix() + keyPrefix + "*";
+            redis.delete(redis.scan(ScanOptions.scanOptions().match(pattern).build()))
+                    .subscribe(
+                            deleted -> log.debug("Invalidated {} shared cache entries for {}", deleted, keyPrefix),
+                            e -> log.warn("Redis cache invalidation failed for {}: {}", keyPrefix, e.getMessage()));
+        }
+    }
+
+    private CachedResponse getLocal(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (memory) {
+            CachedResponse entry = memory.get(key);
+            if (entry != null && now >= entry.getStaleUntil()) {
+                memory.remove(key);
+                memoryBytes -= entry.sizeBytes();
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void putLocal(String key, CachedResponse entry) {
+        synchronized (memory) {
+            CachedResponse previous = memory.put(key, entry);
+            if (previous != null) {
+                memoryBytes -= previous.sizeBytes();
+            }
+            memoryBytes += entry.sizeBytes();
+
+            // Evict least recently used entries until we are back under the bound
+            Iterator<Map.Entry<String, CachedResponse>> it = memory.entrySet().iterator();
+            while (memoryBytes > properties.getMaxBytes() && it.hasNext()) {
+                memoryBytes -= it.next().getValue().sizeBytes();
+                it.remove();
+            }
+        }
+    }
+
+    private String serialize(CachedResponse entry) {
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            log.warn("Cannot serialize cached response", e);
+            return null;
+        }
+    }
+
+    private CachedResponse deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, CachedResponse.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Cannot deserialize cached response", e);
+            return null;
+        }
+    }
+}
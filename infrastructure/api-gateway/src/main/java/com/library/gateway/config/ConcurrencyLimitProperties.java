@@ -0,0 +1,64 @@
+package com.library.gateway.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for the per-route adaptive concurrency limiter and retry budget
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.concurrency")
+public class ConcurrencyLimitProperties {
+
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 500;
+
+    /**
+     * Weight of each new limit estimate (0..1]
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * How much the short term RTT may exceed the long term baseline before
+     * the limit starts shrinking
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Multiplicative decrease applied when an upstream request fails
+     */
+    private double backoffRatio = 0.9;
+
+    private int shortWindow = 10;
+    private int longWindow = 600;
+
+    /**
+     * Value of the Retry-After header on shed requests
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private RetryBudgetProperties retryBudget = new RetryBudgetProperties();
+
+    @Data
+    public static class RetryBudgetProperties {
+
+        /**
+         * Retries allowed as a fraction of base requests
+         */
+        private double ratio = 0.2;
+
+        /**
+         * Retries always allowed per second, regardless of traffic
+         */
+        private int minRetriesPerSecond = 5;
+
+        /**
+         * Upper bound of retries that can be saved up
+         */
+        private int maxTokens = 100;
+    }
+}
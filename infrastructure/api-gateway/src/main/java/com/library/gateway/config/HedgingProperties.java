@@ -0,0 +1,55 @@
+package com.library.gateway.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for hedged GET requests
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.hedging")
+public class HedgingProperties {
+
+    /**
+     * Percentile of the route's recent latency used as hedge delay
+     */
+    private double delayPercentile = 0.95;
+
+    /**
+     * Number of recent responses the percentile is computed over
+     */
+    private int window = 1000;
+
+    /**
+     * Samples needed before the observed percentile is trusted
+     */
+    private int minSamples = 100;
+
+    /**
+     * Delay used until enough samples exist
+     */
+    private Duration initialDelay = Duration.ofMillis(100);
+
+    /**
+     * Never hedge earlier than this
+     */
+    private Duration minDelay = Duration.ofMillis(5);
+
+    /**
+     * Hedges allowed as a fraction of requests on the route
+     */
+    private double budgetRatio = 0.05;
+
+    private int minHedgesPerSecond = 2;
+
+    private int maxBudgetTokens = 50;
+
+    /**
+     * Each attempt is buffered to race it against the other; larger
+     * responses fail, so keep this above the biggest page of a hedged route
+     */
+    private int maxResponseBytes = 16 * 1024 * 1024;
+}
@@ -0,0 +1,16 @@
+package com.library.gateway.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+import com.library.gateway.loadbalancer.PeakEwmaLoadBalancerConfiguration;
+
+/**
+ * Replaces the default round robin load balancer for all lb:// routes
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.loadbalancer", name = "peak-ewma-enabled", havingValue = "true", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,61 @@
+package com.library.gateway.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for the latency-aware (peak EWMA, power of two choices) load balancer
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.loadbalancer")
+public class LoadBalancerProperties {
+
+    /**
+     * Use peak EWMA instead of Spring Cloud's default round robin
+     */
+    private boolean peakEwmaEnabled = true;
+
+    /**
+     * Decay time of the latency average
+     */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    /**
+     * Latency assumed for instances without samples yet
+     */
+    private Duration defaultRtt = Duration.ofMillis(50);
+
+    /**
+     * Time over which a newly seen instance ramps up to its full share
+     */
+    private Duration slowStartWindow = Duration.ofSeconds(30);
+
+    private OutlierProperties outlier = new OutlierProperties();
+
+    @Data
+    public static class OutlierProperties {
+
+        /**
+         * Consecutive failures (5xx or connection errors) before ejection
+         */
+        private int consecutiveFailures = 5;
+
+        /**
+         * Ejection time, multiplied by the number of times the instance was ejected
+         */
+        private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+        /**
+         * Longest an instance stays ejected
+         */
+        private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+        /**
+         * Never eject more than this share of a service's instances
+         */
+        private double maxEjectionPercent = 0.5;
+    }
+}
@@ -0,0 +1,68 @@
+package com.library.gateway.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for the gateway response cache
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Upper bound of response bytes held in memory per gateway node
+     */
+    private long maxBytes = 64L * 1024 * 1024;
+
+    /**
+     * Responses larger than this are never cached
+     */
+    private int maxEntryBytes = 1024 * 1024;
+
+    /**
+     * GET paths (Ant patterns, as requested from the gateway) cached for
+     * default-ttl although the upstream sends no max-age; any other path is
+     * only cached when its response carries max-age or s-maxage
+     */
+    private List<String> paths = new ArrayList<>(List.of(
+            "/api/books",
+            "/api/books/search",
+            "/api/books/search/faceted",
+            "/api/books/available",
+            "/api/books/category/*"));
+
+    /**
+     * Freshness of responses on the listed paths that have no max-age
+     */
+    private Duration defaultTtl = Duration.ofSeconds(30);
+
+    /**
+     * How long an expired entry may still be served while it is refreshed
+     * in the background, unless the upstream sends stale-while-revalidate
+     */
+    private Duration staleWhileRevalidate = Duration.ofSeconds(60);
+
+    /**
+     * How long concurrent misses wait for the request already in flight
+     */
+    private Duration collapseTimeout = Duration.ofSeconds(5);
+
+    private RedisProperties redis = new RedisProperties();
+
+    @Data
+    public static class RedisProperties {
+
+        /**
+         * Share cached responses across gateway nodes through Redis
+         */
+        private boolean enabled = false;
+
+        private String keyPrefix = "gateway:cache:";
+    }
+}
@@ -0,0 +1,78 @@
+package com.library.gateway.filter;
+
+import java.util.Optional;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import com.library.gateway.config.ConcurrencyLimitProperties;
+import com.library.gateway.limiter.GradientConcurrencyLimiter;
+import com.library.gateway.limiter.RouteLimiterRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sheds load per route once the adaptive concurrency limit is reached
+ *
+ * Must run before the Retry filter so that one client request holds one slot
+ * for all of its attempts, and so that it deposits into the route's retry
+ * budget exactly once.
+ *
+ * Usage: {@code - AdaptiveConcurrency}
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+    private final RouteLimiterRegistry registry;
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public AdaptiveConcurrencyGatewayFilterFactory(
+            RouteLimiterRegistry registry,
+            ConcurrencyLimitProperties properties,
+            MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.registry = registry;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            String routeId = RouteLimiterRegistry.routeId(exchange);
+            GradientConcurrencyLimiter limiter = registry.limiter(routeId);
+
+            Optional<GradientConcurrencyLimiter.Listener> acquired = limiter.tryAcquire();
+            if (acquired.isEmpty()) {
+                log.debug("Shedding request to route {} (limit {})", routeId, limiter.getLimit());
+                meterRegistry.counter("gateway.concurrency.rejected", "route", routeId).increment();
+                return GatewayResponses.serviceUnavailable(exchange, properties.getRetryAfter());
+            }
+
+            registry.retryBudget(routeId).deposit();
+            GradientConcurrencyLimiter.Listener listener = acquired.get();
+
+            return chain.filter(exchange)
+                    .doOnSuccess(unused -> {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (status != null && status.is5xxServerError()) {
+                            listener.onDropped();
+                        } else {
+                            listener.onSuccess();
+                        }
+                    })
+                    .doOnError(error -> listener.onDropped())
+                    .doOnCancel(listener::onIgnored);
+        };
+    }
+
+    public static class Config {
+        // No per-route arguments, limits are configured under gateway.concurrency
+    }
+}
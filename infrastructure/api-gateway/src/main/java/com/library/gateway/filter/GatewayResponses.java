@@ -0,0 +1,32 @@
+package com.library.gateway.filter;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Helpers for responses the gateway produces itself
+ */
+final class GatewayResponses {
+
+    private GatewayResponses() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Complete the exchange with 503 and a Retry-After hint, without
+     * contacting the upstream service
+     */
+    static Mono<Void> serviceUnavailable(ServerWebExchange exchange, Duration retryAfter) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        return response.setComplete();
+    }
+}
@@ -0,0 +1,304 @@
+package com.library.gateway.filter;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.library.gateway.config.HedgingProperties;
+import com.library.gateway.hedge.HedgeRegistry;
+import com.library.gateway.limiter.RetryBudget;
+import com.library.gateway.loadbalancer.AlternateInstanceRequestContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * Hedges GET requests of an lb:// route
+ *
+ * The request goes to the instance picked by the load balancer. If no answer
+ * arrived after the hedge delay (the route's observed p95 by default), the
+ * same request is sent to another instance of the service; whichever answers
+ * first wins and the other call is cancelled. The second instance is chosen
+ * by the service's load balancer with the primary excluded, so ejected or
+ * slow instances are avoided, and the hedge's outcome (including being
+ * cancelled) is reported through the load balancer lifecycle like any other
+ * call. Both attempts are buffered, up to gateway.hedging.max-response-bytes. Hedges are capped by a per
+ * route budget. Only GET is ever hedged, every other method is routed
+ * normally, so POST endpoints such as reserve or add-copies are never sent
+ * twice. GETs carrying an X-Read-Token are not hedged either.
+ *
+ * The filter performs the upstream calls itself and marks the exchange as
+ * routed, so it runs right after the load balancer filter has resolved the
+ * primary instance.
+ *
+ * Usage: {@code - Hedge} or {@code - Hedge=150ms} for a fixed delay
+ */
+@Component
+@Slf4j
+public class HedgeGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+
+    static final String HEDGED_HEADER = "X-Gateway-Hedged";
+
+    private final HedgeRegistry registry;
+    private final LoadBalancerClientFactory clientFactory;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+
+    public HedgeGatewayFilterFactory(
+            HedgeRegistry registry,
+            LoadBalancerClientFactory clientFactory,
+            ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+            MeterRegistry meterRegistry,
+            HedgingProperties properties,
+            WebClient.Builder webClientBuilder) {
+        super(Config.class);
+        this.registry = registry;
+        this.clientFactory = clientFactory;
+        this.headersFilters = headersFilters;
+        this.meterRegistry = meterRegistry;
+        this.webClient = webClientBuilder
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(properties.getMaxResponseBytes()))
+                .build();
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("delay");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        GatewayFilter filter = (exchange, chain) -> {
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            URI primary = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+            if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())
+                    // Read-your-writes requests are routed once, like the response cache bypasses them
+                    || exchange.getRequest().getHeaders().containsKey(ResponseCacheGatewayFilterFactory.READ_TOKEN_HEADER)
+                    || route == null
+                    || primary == null
+                    || !"lb".equals(route.getUri().getScheme())
+                    || isAlreadyRouted(exchange)) {
+                return chain.filter(exchange);
+            }
+            setAlreadyRouted(exchange);
+
+            String routeId = route.getId();
+            String serviceId = route.getUri().getHost();
+            RetryBudget budget = registry.budget(routeId);
+            budget.deposit();
+            meterRegistry.counter("gateway.hedge.requests", "route", routeId).increment();
+
+            Duration delay = config.getDelay() != null ? config.getDelay() : registry.delay(routeId);
+            HttpHeaders requestHeaders = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+            long start = System.nanoTime();
+
+            Mono<Attempt> first = send(primary, requestHeaders)
+                    .map(response -> new Attempt(response, false));
+
+            Mono<Attempt> hedge = Mono.delay(delay)
+                    .then(Mono.defer(() -> hedge(exchange, routeId, serviceId, budget, primary, requestHeaders)))
+                    .map(response -> new Attempt(response, true));
+
+            return Mono.firstWithValue(first, hedge)
+                    .onErrorResume(NoSuchElementException.class, e -> Mono.error(firstCause(e)))
+                    .onErrorResume(UpstreamFailure.class, e -> Mono.just(new Attempt(e.response, false)))
+                    .flatMap(attempt -> {
+                        registry.tracker(routeId).record(System.nanoTime() - start);
+                        if (attempt.hedged()) {
+                            meterRegistry.counter("gateway.hedge.won", "route", routeId).increment();
+                        }
+                        return write(exchange, attempt);
+                    });
+        };
+
+        return new OrderedGatewayFilter(filter, ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1);
+    }
+
+    private boolean withdraw(RetryBudget budget, String routeId) {
+        if (budget.tryWithdraw()) {
+            return true;
+        }
+        meterRegistry.counter("gateway.hedge.budget.exhausted", "route", routeId).increment();
+        return false;
+    }
+
+    /**
+     * Send the hedge to the instance the service's load balancer picks with
+     * the primary excluded, or nothing if there is no other instance or
+     * the budget is used up
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Mono<ResponseEntity<byte[]>> hedge(ServerWebExchange exchange, String routeId, String serviceId,
+            RetryBudget budget, URI primary, HttpHeaders requestHeaders) {
+
+        ReactorServiceInstanceLoadBalancer loadBalancer =
+                clientFactory.getInstance(serviceId, ReactorServiceInstanceLoadBalancer.class);
+        if (loadBalancer == null) {
+            return Mono.empty();
+        }
+        Set<LoadBalancerLifecycle> lifecycles = LoadBalancerLifecycleValidator.getSupportedLifecycleProcessors(
+                clientFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
+                RequestDataContext.class, ResponseData.class, ServiceInstance.class);
+
+        RequestData requestData = new RequestData(exchange.getRequest());
+        Request<RequestDataContext> request = new DefaultRequest<>(new AlternateInstanceRequestContext(
+                requestData, "default", primary.getHost(), primary.getPort()));
+        lifecycles.forEach(lifecycle -> lifecycle.onStart(request));
+
+        return Mono.from(loadBalancer.choose(request))
+                .filter(response -> response.hasServer() && !isPrimary(response.getServer(), primary))
+                .filter(response -> withdraw(budget, routeId))
+                .flatMap(lbResponse -> {
+                    ServiceInstance instance = lbResponse.getServer();
+                    URI uri = UriComponentsBuilder.fromUri(primary)
+                            .scheme(instance.isSecure() ? "https" : "http")
+                            .host(instance.getHost())
+                            .port(instance.getPort())
+                            .build(true)
+                            .toUri();
+                    log.debug("Hedging {} to {}", primary, uri);
+                    meterRegistry.counter("gateway.hedge.sent", "route", routeId).increment();
+
+                    lifecycles.forEach(lifecycle -> lifecycle.onStartRequest(request, lbResponse));
+                    return send(uri, requestHeaders)
+                            .doOnSuccess(entity -> complete(lifecycles, new CompletionContext<>(
+                                    CompletionContext.Status.SUCCESS, request, lbResponse,
+                                    responseData(entity, requestData))))
+                            .doOnError(UpstreamFailure.class, e -> complete(lifecycles, new CompletionContext<>(
+                                    CompletionContext.Status.FAILED, e, request, lbResponse,
+                                    responseData(e.response, requestData))))
+                            .doOnError(e -> !(e instanceof UpstreamFailure), e -> complete(lifecycles,
+                                    new CompletionContext<>(CompletionContext.Status.FAILED, e, request, lbResponse)))
+                            .doOnCancel(() -> complete(lifecycles, new CompletionContext<>(
+                                    CompletionContext.Status.DISCARD, request, lbResponse)));
+                });
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static void complete(Set<LoadBalancerLifecycle> lifecycles, CompletionContext context) {
+        lifecycles.forEach(lifecycle -> lifecycle.onComplete(context));
+    }
+
+    private static ResponseData responseData(ResponseEntity<byte[]> entity, RequestData requestData) {
+        return new ResponseData(entity.getStatusCode(), entity.getHeaders(), new LinkedMultiValueMap<>(), requestData);
+    }
+
+    private static boolean isPrimary(ServiceInstance instance, URI primary) {
+        return instance.getHost().equals(primary.getHost()) && instance.getPort() == primary.getPort();
+    }
+
+    /**
+     * Call one instance, turning 5xx answers into errors so that the race
+     * waits for the other attempt
+     */
+    private Mono<ResponseEntity<byte[]>> send(URI uri, HttpHeaders requestHeaders) {
+        return webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    headers.addAll(requestHeaders);
+                    headers.remove(HttpHeaders.HOST);
+                })
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .flatMap(response -> response.getStatusCode().is5xxServerError()
+                        ? Mono.error(new UpstreamFailure(response))
+                        : Mono.just(response));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Attempt attempt) {
+        ResponseEntity<byte[]> upstream = attempt.response();
+        ServerHttpResponse response = exchange.getResponse();
+
+        HttpHeaders headers = HttpHeadersFilter.filter(
+                headersFilters.getIfAvailable(), upstream.getHeaders(), exchange, HttpHeadersFilter.Type.RESPONSE);
+        response.setStatusCode(upstream.getStatusCode());
+        response.getHeaders().putAll(headers);
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        if (attempt.hedged()) {
+            response.getHeaders().set(HEDGED_HEADER, "true");
+        }
+
+        if (upstream.getStatusCode().is5xxServerError()) {
+            // Leave the response uncommitted so the Retry and CircuitBreaker
+            // filters still see the status, as they do for the Netty routing filter
+            response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            return Mono.empty();
+        }
+
+        byte[] body = upstream.getBody();
+        if (body == null || body.length == 0) {
+            return response.setComplete();
+        }
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private static Throwable firstCause(NoSuchElementException e) {
+        if (e.getCause() == null) {
+            return e;
+        }
+        List<Throwable> causes = Exceptions.unwrapMultiple(e.getCause());
+        return causes.isEmpty() ? e : causes.get(0);
+    }
+
+    private record Attempt(ResponseEntity<byte[]> response, boolean hedged) {
+    }
+
+    private static class UpstreamFailure extends RuntimeException {
+
+        private final transient ResponseEntity<byte[]> response;
+
+        UpstreamFailure(ResponseEntity<byte[]> response) {
+            super("Upstream answered " + response.getStatusCode(), null, false, false);
+            this.response = response;
+        }
+    }
+
+    @Data
+    public static class Config {
+        /**
+         * Fixed hedge delay, defaults to the route's observed percentile
+         */
+        private Duration delay;
+    }
+}
@@ -0,0 +1,427 @@
+package com.library.gateway.filter;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.library.gateway.cache.CacheControl;
+import com.library.gateway.cache.CachedResponse;
+import com.library.gateway.cache.ResponseCacheStore;
+import com.library.gateway.config.ResponseCacheProperties;
+import com.library.gateway.limiter.RouteLimiterRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Caches idempotent GET responses of a route
+ *
+ * Entries are keyed on route, path, normalized query string and the content
+ * codings the client accepts (upstreams send Vary: Accept-Encoding and a
+ * compressed body only to clients that can decode it), and honour the
+ * upstream Cache-Control (no-store, private, max-age, s-maxage,
+ * stale-while-revalidate) and ETag. A response is only stored when it
+ * carries max-age or s-maxage, or its path is listed in gateway.cache.paths;
+ * per-id reads, batches and the change feed are not listed, since they must
+ * reflect availability changes that never pass through this gateway.
+ * Requests with a read-your-writes token bypass the cache, as an entry may
+ * predate the client's write. Concurrent misses for the same key are
+ * collapsed into a single upstream call. Expired entries inside the stale
+ * window are served immediately while one background request refreshes
+ * them. Successful non-GET requests on the route invalidate its entries.
+ *
+ * Runs ahead of the default filters so that hits never take a concurrency
+ * slot or touch the circuit breaker.
+ *
+ * Usage: {@code - ResponseCache}
+ */
+@Component
+@Slf4j
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+    static final String REVALIDATE_HEADER = "X-Gateway-Cache-Revalidate";
+    static final String READ_TOKEN_HEADER = "X-Read-Token";
+
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase(),
+            HttpHeaders.AGE.toLowerCase(),
+            "keep-alive");
+
+    // CORS headers belong to the request's Origin and are set by globalcors on every response
+    private static final String CORS_HEADER_PREFIX = "access-control-";
+
+    private final ResponseCacheStore store;
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final WebClient webClient;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    public ResponseCacheGatewayFilterFactory(
+            ResponseCacheStore store,
+            ResponseCacheProperties properties,
+            MeterRegistry meterRegistry,
+            Environment environment,
+            WebClient.Builder webClientBuilder) {
+        super(Config.class);
+        this.store = store;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.webClient = webClientBuilder.build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        GatewayFilter filter = (incoming, chain) -> {
+            ServerHttpRequest request = incoming.getRequest();
+            boolean revalidation = isRevalidation(request);
+            // Internal marker, never forwarded upstream
+            ServerWebExchange exchange = request.getHeaders().containsKey(REVALIDATE_HEADER)
+                    ? incoming.mutate().request(builder -> builder.headers(h -> h.remove(REVALIDATE_HEADER))).build()
+                    : incoming;
+            String routeId = RouteLimiterRegistry.routeId(exchange);
+
+            if (!HttpMethod.GET.equals(request.getMethod())) {
+                return chain.filter(exchange).doOnSuccess(unused -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is2xxSuccessful()) {
+                        store.invalidate(routeId + "|");
+                    }
+                });
+            }
+            if (request.getHeaders().containsKey(READ_TOKEN_HEADER)) {
+                count("bypass");
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(routeId, exchange.getRequest());
+
+            return store.get(key)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(cached -> {
+                        if (revalidation) {
+                            return fetch(exchange, chain, key, cached.orElse(null), entry -> { });
+                        }
+                        if (cached.isPresent()) {
+                            return serve(exchange, chain, key, cached.get());
+                        }
+                        return miss(exchange, chain, key);
+                    });
+        };
+        return new OrderedGatewayFilter(filter, Ordered.HIGHEST_PRECEDENCE + 100);
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, GatewayFilterChain chain, String key, CachedResponse entry) {
+        long now = System.currentTimeMillis();
+        if (entry.isFresh(now)) {
+            return write(exchange, entry, "HIT");
+        }
+        if (entry.isServableStale(now)) {
+            revalidateInBackground(key, exchange.getRequest());
+            return write(exchange, entry, "STALE");
+        }
+        return miss(exchange, chain, key);
+    }
+
+    private Mono<Void> miss(ServerWebExchange exchange, GatewayFilterChain chain, String key) {
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+
+        if (leader != null) {
+            // Another request is already fetching this key: wait for its response
+            return leader.asMono()
+                    .timeout(properties.getCollapseTimeout())
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .onErrorReturn(Optional.empty())
+                    .flatMap(result -> result.isPresent()
+                            ? write(exchange, result.get(), "COLLAPSED")
+                            : chain.filter(exchange));
+        }
+
+        count("miss");
+        return fetch(exchange, chain, key, null, sink::tryEmitValue)
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    /**
+     * Forward the request upstream and store a cacheable response on the way back
+     */
+    private Mono<Void> fetch(
+            ServerWebExchange exchange,
+            GatewayFilterChain chain,
+            String key,
+            CachedResponse previous,
+            Consumer<CachedResponse> onStored) {
+
+        ServerWebExchange upstreamExchange = exchange;
+        if (previous != null && previous.getEtag() != null) {
+            upstreamExchange = exchange.mutate()
+                    .request(builder -> builder.headers(headers -> headers.setIfNoneMatch(previous.getEtag())))
+                    .build();
+        }
+
+        boolean listed = isListed(exchange.getRequest().getPath().value());
+        ServerHttpResponse original = exchange.getResponse();
+        ServerHttpResponseDecorator decorated = new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                HttpStatusCode status = getStatusCode();
+                CacheControl cacheControl = CacheControl.parse(getHeaders());
+                if (status == null || status.value() != HttpStatus.OK.value() || !cacheControl.storable()
+                        || (cacheControl.maxAge() == null && !listed)) {
+                    return super.writeWith(body);
+                }
+
+                return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+
+                    CachedResponse entry = toEntry(getHeaders(), bytes, cacheControl);
+                    store.put(key, entry);
+                    onStored.accept(entry);
+
+                    getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+            }
+        };
+
+        return chain.filter(upstreamExchange.mutate().response(decorated).build())
+                .doOnSuccess(unused -> {
+                    // Upstream confirmed our copy is still current: extend it
+                    HttpStatusCode status = decorated.getStatusCode();
+                    if (previous != null && status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+                        CachedResponse refreshed = refresh(previous, decorated.getHeaders());
+                        store.put(key, refreshed);
+                        onStored.accept(refreshed);
+                    }
+                });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse entry, String cacheStatus) {
+        count(cacheStatus.toLowerCase());
+
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        entry.getHeaders().forEach((name, values) -> {
+            if (HttpHeaders.VARY.equalsIgnoreCase(name)) {
+                // Keep what globalcors added for this request (Vary: Origin, ...)
+                values.stream()
+                        .filter(value -> !headers.getOrEmpty(HttpHeaders.VARY).contains(value))
+                        .forEach(value -> headers.add(HttpHeaders.VARY, value));
+            } else {
+                headers.put(name, values);
+            }
+        });
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        headers.set(HttpHeaders.AGE, String.valueOf(
+                Math.max(0, (System.currentTimeMillis() - entry.getStoredAt()) / 1000)));
+
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (entry.getEtag() != null && entry.getEtag().equals(ifNoneMatch)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(entry.getStatus()));
+        headers.setContentLength(entry.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.getBody())));
+    }
+
+    /**
+     * Refresh an expired entry by replaying the request through this gateway,
+     * so it goes through the same route filters and load balancer
+     */
+    private void revalidateInBackground(String key, ServerHttpRequest request) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+
+        String port = environment.getProperty("local.server.port",
+                environment.getProperty("server.port", "8080"));
+        String uri = "http://localhost:" + port + request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : "");
+
+        // Same Accept-Encoding, so the replay maps to the same key
+        WebClient.RequestHeadersSpec<?> replay = webClient.get()
+                .uri(uri)
+                .header(REVALIDATE_HEADER, "1");
+        String acceptEncoding = request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null) {
+            replay = replay.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+
+        replay.retrieve()
+                .toBodilessEntity()
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(
+                        response -> log.debug("Revalidated cache entry {}", key),
+                        e -> log.warn("Background revalidation of {} failed: {}", key, e.getMessage()));
+    }
+
+    private boolean isListed(String path) {
+        for (String pattern : properties.getPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isRevalidation(ServerHttpRequest request) {
+        if (!request.getHeaders().containsKey(REVALIDATE_HEADER)) {
+            return false;
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote != null && remote.getAddress() != null && remote.getAddress().isLoopbackAddress();
+    }
+
+    private CachedResponse toEntry(HttpHeaders headers, byte[] body, CacheControl cacheControl) {
+        long now = System.currentTimeMillis();
+        Duration ttl = cacheControl.maxAge() != null ? cacheControl.maxAge() : properties.getDefaultTtl();
+        Duration stale = cacheControl.staleWhileRevalidate() != null
+                ? cacheControl.staleWhileRevalidate()
+                : properties.getStaleWhileRevalidate();
+
+        Map<String, List<String>> stored = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.forEach((name, values) -> {
+            String lower = name.toLowerCase();
+            if (!UNCACHED_HEADERS.contains(lower) && !lower.startsWith(CORS_HEADER_PREFIX)) {
+                stored.put(name, new ArrayList<>(values));
+            }
+        });
+
+        return CachedResponse.builder()
+                .status(HttpStatus.OK.value())
+                .headers(stored)
+                .body(body)
+                .etag(headers.getETag())
+                .storedAt(now)
+                .expiresAt(now + ttl.toMillis())
+                .staleUntil(now + ttl.toMillis() + stale.toMillis())
+                .build();
+    }
+
+    private CachedResponse refresh(CachedResponse previous, HttpHeaders notModifiedHeaders) {
+        CacheControl cacheControl = CacheControl.parse(notModifiedHeaders);
+        long now = System.currentTimeMillis();
+        long ttl = (cacheControl.maxAge() != null ? cacheControl.maxAge() : properties.getDefaultTtl()).toMillis();
+        long stale = previous.getStaleUntil() - previous.getExpiresAt();
+
+        return previous.toBuilder()
+                .storedAt(now)
+                .expiresAt(now + ttl)
+                .staleUntil(now + ttl + stale)
+                .build();
+    }
+
+    /**
+     * Route, path and query parameters sorted by name and value, so that
+     * {@code ?b=2&a=1} and {@code ?a=1&b=2} share an entry, then the
+     * accepted codings
+     */
+    static String cacheKey(String routeId, ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(routeId).append('|').append(request.getPath().value());
+
+        MultiValueMap<String, String> params = request.getQueryParams();
+        if (!params.isEmpty()) {
+            char separator = '?';
+            for (Map.Entry<String, List<String>> param : new TreeMap<>(params).entrySet()) {
+                List<String> values = new ArrayList<>(param.getValue());
+                values.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+                for (String value : values) {
+                    key.append(separator).append(param.getKey()).append('=').append(value == null ? "" : value);
+                    separator = '&';
+                }
+            }
+        }
+        key.append('|').append(acceptedCodings(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING)));
+        return key.toString();
+    }
+
+    /**
+     * Codings with a non-zero weight, lowercased and sorted, so that
+     * {@code gzip, br} and {@code br;q=0.9, gzip} share an entry; weights
+     * are dropped since the client can decode whichever coding of the set
+     * the upstream picked
+     */
+    static String acceptedCodings(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return "";
+        }
+        TreeSet<String> codings = new TreeSet<>();
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            boolean rejected = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    rejected = parameter.substring(2).trim().matches("0(\\.0*)?");
+                }
+            }
+            if (!coding.isEmpty() && !rejected) {
+                codings.add(coding);
+            }
+        }
+        return String.join(",", codings);
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("gateway.cache.requests", "result", result).increment();
+    }
+
+    public static class Config {
+        // No per-route arguments, the cache is configured under gateway.cache
+    }
+}
@@ -0,0 +1,73 @@
+package com.library.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+
+import com.library.gateway.config.ConcurrencyLimitProperties;
+import com.library.gateway.limiter.RouteLimiterRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caps retries issued by the Retry filter to the route's retry budget
+ *
+ * Must run after the Retry filter: every attempt passes through it, and the
+ * Retry filter marks repeated attempts with its iteration attribute. When the
+ * budget is exhausted the attempt is answered with 503 locally and the Retry
+ * filter is told that no attempts are left.
+ *
+ * Usage: {@code - RetryBudget}
+ */
+@Component
+@Slf4j
+public class RetryBudgetGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RetryBudgetGatewayFilterFactory.Config> {
+
+    /**
+     * Pushes the Retry filter's iteration counter past any configured retries
+     */
+    private static final int RETRIES_EXHAUSTED = 1_000_000;
+
+    private final RouteLimiterRegistry registry;
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RetryBudgetGatewayFilterFactory(
+            RouteLimiterRegistry registry,
+            ConcurrencyLimitProperties properties,
+            MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.registry = registry;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            Integer iteration = exchange.getAttribute(RetryGatewayFilterFactory.RETRY_ITERATION_KEY);
+            if (iteration == null) {
+                // First attempt, already accounted for by AdaptiveConcurrency
+                return chain.filter(exchange);
+            }
+
+            String routeId = RouteLimiterRegistry.routeId(exchange);
+            if (registry.retryBudget(routeId).tryWithdraw()) {
+                meterRegistry.counter("gateway.retry.attempts", "route", routeId).increment();
+                return chain.filter(exchange);
+            }
+
+            log.debug("Retry budget exhausted for route {}", routeId);
+            meterRegistry.counter("gateway.retry.budget.exhausted", "route", routeId).increment();
+            exchange.getAttributes().put(RetryGatewayFilterFactory.RETRY_ITERATION_KEY, RETRIES_EXHAUSTED);
+            return GatewayResponses.serviceUnavailable(exchange, properties.getRetryAfter());
+        };
+    }
+
+    public static class Config {
+        // No per-route arguments, the budget is configured under gateway.concurrency.retry-budget
+    }
+}
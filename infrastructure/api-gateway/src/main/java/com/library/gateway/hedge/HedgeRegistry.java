@@ -0,0 +1,73 @@
+package com.library.gateway.hedge;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.library.gateway.config.HedgingProperties;
+import com.library.gateway.limiter.RetryBudget;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Holds the latency window and hedge budget of every hedged route
+ *
+ * The budget reuses the retry budget token bucket: each request deposits a
+ * fraction of a token and each hedge withdraws a whole one.
+ */
+@Component
+@RequiredArgsConstructor
+public class HedgeRegistry {
+
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    public LatencyTracker tracker(String routeId) {
+        return trackers.computeIfAbsent(routeId, this::createTracker);
+    }
+
+    public RetryBudget budget(String routeId) {
+        return budgets.computeIfAbsent(routeId, this::createBudget);
+    }
+
+    /**
+     * Delay before the hedge is sent: the observed percentile of the route,
+     * or the initial delay while the window is still filling up
+     */
+    public Duration delay(String routeId) {
+        long observed = tracker(routeId).percentileNanos(properties.getMinSamples());
+        Duration delay = observed < 0 ? properties.getInitialDelay() : Duration.ofNanos(observed);
+        return delay.compareTo(properties.getMinDelay()) < 0 ? properties.getMinDelay() : delay;
+    }
+
+    private LatencyTracker createTracker(String routeId) {
+        LatencyTracker tracker = new LatencyTracker(properties.getWindow(), properties.getDelayPercentile());
+
+        Gauge.builder("gateway.hedge.delay", this, registry -> registry.delay(routeId).toMillis())
+                .tag("route", routeId)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        return tracker;
+    }
+
+    private RetryBudget createBudget(String routeId) {
+        RetryBudget budget = new RetryBudget(
+                properties.getBudgetRatio(),
+                properties.getMinHedgesPerSecond(),
+                properties.getMaxBudgetTokens());
+
+        Gauge.builder("gateway.hedge.budget.available", budget, RetryBudget::available)
+                .tag("route", routeId)
+                .register(meterRegistry);
+
+        return budget;
+    }
+}
@@ -0,0 +1,66 @@
+package com.library.gateway.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window of recent latencies with a cached percentile
+ *
+ * Samples go into a fixed ring buffer without locking; the percentile is
+ * recomputed from a sorted copy at most once per refresh interval, which is
+ * cheap enough for the window sizes used here.
+ */
+public class LatencyTracker {
+
+    private static final long REFRESH_NANOS = 1_000_000_000L;
+
+    private final AtomicLongArray samples;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicInteger count = new AtomicInteger();
+    private final double percentile;
+
+    private volatile long cachedNanos = -1;
+    private volatile long computedAt;
+
+    public LatencyTracker(int windowSize, double percentile) {
+        if (windowSize < 1 || percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Window must be positive and percentile in (0, 1)");
+        }
+        this.samples = new AtomicLongArray(windowSize);
+        this.percentile = percentile;
+    }
+
+    public void record(long nanos) {
+        int index = Math.floorMod(cursor.getAndIncrement(), samples.length());
+        samples.set(index, nanos);
+        if (count.get() < samples.length()) {
+            count.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the tracked percentile in nanos, or -1 until enough samples exist
+     */
+    public long percentileNanos(int minSamples) {
+        int size = Math.min(count.get(), samples.length());
+        if (size < minSamples) {
+            return -1;
+        }
+
+        long now = System.nanoTime();
+        if (cachedNanos >= 0 && now - computedAt < REFRESH_NANOS) {
+            return cachedNanos;
+        }
+
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = samples.get(i);
+        }
+        Arrays.sort(copy);
+
+        cachedNanos = copy[(int) Math.min(size - 1, Math.ceil(percentile * size) - 1)];
+        computedAt = now;
+        return cachedNanos;
+    }
+}
@@ -0,0 +1,177 @@
+package com.library.gateway.limiter;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limiter (gradient / Vegas style)
+ *
+ * Tracks a fast and a slow exponentially weighted moving average of the
+ * observed round trip time. While the short term RTT stays close to the long
+ * term baseline the limit grows by a small queue allowance; once latency
+ * starts to climb (queueing upstream) the gradient drops below 1 and the limit
+ * shrinks proportionally. Dropped requests (5xx, errors) back the limit off
+ * multiplicatively.
+ */
+public class GradientConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double backoffRatio;
+    private final double shortAlpha;
+    private final double longAlpha;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public GradientConcurrencyLimiter(
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            double smoothing,
+            double rttTolerance,
+            double backoffRatio,
+            int shortWindow,
+            int longWindow) {
+
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1]");
+        }
+        if (rttTolerance < 1) {
+            throw new IllegalArgumentException("RTT tolerance must be at least 1");
+        }
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.backoffRatio = backoffRatio;
+        this.shortAlpha = 2.0 / (Math.max(shortWindow, 1) + 1);
+        this.longAlpha = 2.0 / (Math.max(longWindow, 1) + 1);
+        this.estimatedLimit = clamp(initialLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Try to take a concurrency slot
+     *
+     * @return listener that must be completed exactly once, or empty if the
+     *         limit has been reached
+     */
+    public Optional<Listener> tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Listener(current + 1, System.nanoTime()));
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += shortAlpha * (rttNanos - shortRttNanos);
+            longRttNanos += longAlpha * (rttNanos - longRttNanos);
+        }
+
+        // Long term baseline drifted up past the short term: let it recover
+        // quickly so a past spike does not keep the limit inflated
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // App limited: we are not using the current limit, so the sample says
+        // nothing about whether a larger limit would be safe
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+
+        estimatedLimit = clamp(newLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    private synchronized void onDrop() {
+        estimatedLimit = clamp(estimatedLimit * backoffRatio);
+        limit = (int) estimatedLimit;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    /**
+     * Outcome callback for a single acquired slot
+     */
+    public final class Listener {
+
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Listener(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Request completed normally, feed its latency into the limit
+         */
+        public void onSuccess() {
+            if (release()) {
+                onSample(System.nanoTime() - startNanos, inFlightAtStart);
+            }
+        }
+
+        /**
+         * Request failed or timed out upstream, back the limit off
+         */
+        public void onDropped() {
+            if (release()) {
+                onDrop();
+            }
+        }
+
+        /**
+         * Request was cancelled by the client, release without a sample
+         */
+        public void onIgnored() {
+            release();
+        }
+
+        private boolean release() {
+            if (completed.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
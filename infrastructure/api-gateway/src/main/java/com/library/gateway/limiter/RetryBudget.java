@@ -0,0 +1,88 @@
+package com.library.gateway.limiter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retry budget shared by all requests of a route
+ *
+ * Every base request deposits a fraction of a token and every retry withdraws
+ * a whole one, so retries can never exceed {@code retryRatio} of the traffic
+ * actually reaching the route. A small per-second reserve keeps retries
+ * possible on low traffic routes.
+ */
+public class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long depositPerRequest;
+    private final long reservePerSecond;
+    private final long maxBalance;
+
+    private final AtomicLong balance;
+    private final AtomicLong lastRefillNanos;
+
+    public RetryBudget(double retryRatio, int minRetriesPerSecond, int maxTokens) {
+        if (retryRatio < 0 || retryRatio > 1) {
+            throw new IllegalArgumentException("Retry ratio must be between 0 and 1");
+        }
+        if (minRetriesPerSecond < 0 || maxTokens < 1) {
+            throw new IllegalArgumentException("Retry budget reserve and capacity must be positive");
+        }
+
+        this.depositPerRequest = (long) (retryRatio * TOKEN);
+        this.reservePerSecond = minRetriesPerSecond * TOKEN;
+        this.maxBalance = maxTokens * TOKEN;
+        this.balance = new AtomicLong(Math.min(reservePerSecond, maxBalance));
+        this.lastRefillNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Record a base (non retried) request
+     */
+    public void deposit() {
+        add(depositPerRequest);
+    }
+
+    /**
+     * Try to spend one retry
+     *
+     * @return true if the retry is within budget
+     */
+    public boolean tryWithdraw() {
+        refill();
+        while (true) {
+            long current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Remaining whole retries
+     */
+    public long available() {
+        refill();
+        return balance.get() / TOKEN;
+    }
+
+    private void refill() {
+        if (reservePerSecond == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastRefillNanos.get();
+        long elapsed = now - last;
+        long amount = elapsed * reservePerSecond / 1_000_000_000L;
+        if (amount > 0 && lastRefillNanos.compareAndSet(last, now)) {
+            add(amount);
+        }
+    }
+
+    private void add(long amount) {
+        balance.accumulateAndGet(amount, (current, delta) -> Math.min(maxBalance, current + delta));
+    }
+}
@@ -0,0 +1,82 @@
+package com.library.gateway.limiter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.library.gateway.config.ConcurrencyLimitProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Holds one concurrency limiter and one retry budget per gateway route
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteLimiterRegistry {
+
+    private static final String UNKNOWN_ROUTE = "unknown";
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, GradientConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String, RetryBudget> retryBudgets = new ConcurrentHashMap<>();
+
+    public GradientConcurrencyLimiter limiter(String routeId) {
+        return limiters.computeIfAbsent(routeId, this::createLimiter);
+    }
+
+    public RetryBudget retryBudget(String routeId) {
+        return retryBudgets.computeIfAbsent(routeId, this::createRetryBudget);
+    }
+
+    /**
+     * Resolve the id of the route the exchange was matched to
+     */
+    public static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : UNKNOWN_ROUTE;
+    }
+
+    private GradientConcurrencyLimiter createLimiter(String routeId) {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getSmoothing(),
+                properties.getRttTolerance(),
+                properties.getBackoffRatio(),
+                properties.getShortWindow(),
+                properties.getLongWindow());
+
+        Gauge.builder("gateway.concurrency.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, GradientConcurrencyLimiter::getInFlight)
+                .tag("route", routeId)
+                .register(meterRegistry);
+
+        return limiter;
+    }
+
+    private RetryBudget createRetryBudget(String routeId) {
+        ConcurrencyLimitProperties.RetryBudgetProperties budget = properties.getRetryBudget();
+        RetryBudget retryBudget = new RetryBudget(
+                budget.getRatio(),
+                budget.getMinRetriesPerSecond(),
+                budget.getMaxTokens());
+
+        Gauge.builder("gateway.retry.budget.available", retryBudget, RetryBudget::available)
+                .tag("route", routeId)
+                .register(meterRegistry);
+
+        return retryBudget;
+    }
+}
@@ -0,0 +1,25 @@
+package com.library.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+
+/**
+ * Load balancer request for a second attempt, which must not land on the
+ * instance already serving the first one
+ */
+public class AlternateInstanceRequestContext extends RequestDataContext {
+
+    private final String excludedHost;
+    private final int excludedPort;
+
+    public AlternateInstanceRequestContext(RequestData requestData, String hint, String excludedHost, int excludedPort) {
+        super(requestData, hint);
+        this.excludedHost = excludedHost;
+        this.excludedPort = excludedPort;
+    }
+
+    public boolean excludes(ServiceInstance instance) {
+        return instance.getHost().equals(excludedHost) && instance.getPort() == excludedPort;
+    }
+}
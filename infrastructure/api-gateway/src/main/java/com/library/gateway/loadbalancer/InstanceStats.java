@@ -0,0 +1,104 @@
+package com.library.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency and health statistics of one service instance
+ *
+ * Latency is a peak EWMA: a sample above the current average replaces it
+ * immediately, samples below it decay in over {@code decayNanos}. A replica
+ * that stalls (GC pause, noisy neighbour) is therefore penalised at once
+ * and only slowly trusted again.
+ */
+public class InstanceStats {
+
+    private final long decayNanos;
+    private final long firstSeenNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastSampleNanos;
+    private int consecutiveFailures;
+    private int ejectionCount;
+    private long ejectedUntilNanos;
+
+    InstanceStats(long defaultRttNanos, long decayNanos, long nowNanos) {
+        this.decayNanos = decayNanos;
+        this.firstSeenNanos = nowNanos;
+        this.ewmaNanos = defaultRttNanos;
+        this.lastSampleNanos = nowNanos;
+    }
+
+    void onStart() {
+        outstanding.incrementAndGet();
+    }
+
+    synchronized void onSuccess(long rttNanos, long nowNanos) {
+        outstanding.decrementAndGet();
+        consecutiveFailures = 0;
+        observe(rttNanos, nowNanos);
+    }
+
+    /**
+     * @return number of consecutive failures including this one
+     */
+    synchronized int onFailure(long rttNanos, long nowNanos) {
+        outstanding.decrementAndGet();
+        observe(rttNanos, nowNanos);
+        return ++consecutiveFailures;
+    }
+
+    /**
+     * A cancelled call only says the instance took at least this long, so
+     * it can raise the peak but never pull the average down
+     */
+    synchronized void onDiscard(long elapsedNanos, long nowNanos) {
+        outstanding.decrementAndGet();
+        if (elapsedNanos > ewmaNanos) {
+            observe(elapsedNanos, nowNanos);
+        }
+    }
+
+    synchronized void eject(long baseNanos, long maxNanos, long nowNanos) {
+        ejectionCount++;
+        ejectedUntilNanos = nowNanos + Math.min(maxNanos, baseNanos * ejectionCount);
+        consecutiveFailures = 0;
+    }
+
+    synchronized boolean isEjected(long nowNanos) {
+        return nowNanos < ejectedUntilNanos;
+    }
+
+    /**
+     * Load score, lower is better: latency times pending work, inflated
+     * while the instance is still warming up
+     */
+    synchronized double cost(long nowNanos, long slowStartNanos) {
+        // Decay towards zero while idle so a recovered instance gets probed again
+        double elapsed = nowNanos - lastSampleNanos;
+        double decayed = ewmaNanos * Math.exp(-elapsed / decayNanos);
+        double cost = decayed * (outstanding.get() + 1);
+
+        if (slowStartNanos > 0) {
+            double age = nowNanos - firstSeenNanos;
+            if (age < slowStartNanos) {
+                cost /= Math.max(0.1, age / slowStartNanos);
+            }
+        }
+        return cost;
+    }
+
+    private void observe(long rttNanos, long nowNanos) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (rttNanos > ewmaNanos) {
+            ewmaNanos = rttNanos;
+        } else {
+            double elapsed = Math.max(0, nowNanos - lastSampleNanos);
+            double weight = Math.exp(-elapsed / decayNanos);
+            ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+        }
+        lastSampleNanos = nowNanos;
+    }
+}
@@ -0,0 +1,92 @@
+package com.library.gateway.loadbalancer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import com.library.gateway.config.LoadBalancerProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Statistics of all known instances of one service
+ */
+@Slf4j
+public class InstanceStatsRegistry {
+
+    private final String serviceId;
+    private final LoadBalancerProperties properties;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    private volatile List<ServiceInstance> knownInstances = List.of();
+
+    public InstanceStatsRegistry(String serviceId, LoadBalancerProperties properties) {
+        this.serviceId = serviceId;
+        this.properties = properties;
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), key -> new InstanceStats(
+                properties.getDefaultRtt().toNanos(),
+                properties.getDecayTime().toNanos(),
+                System.nanoTime()));
+    }
+
+    /**
+     * Drop statistics of instances that left the registry, so a replica that
+     * re-registers on the same address goes through slow start again
+     */
+    public void retain(List<ServiceInstance> instances) {
+        knownInstances = instances;
+        if (stats.size() <= instances.size()) {
+            return;
+        }
+        var live = instances.stream().map(InstanceStatsRegistry::key).toList();
+        stats.keySet().retainAll(live);
+    }
+
+    /**
+     * Record a failed call and eject the instance if it keeps failing,
+     * unless too many instances are ejected already
+     */
+    public void recordFailure(ServiceInstance instance, long rttNanos) {
+        long now = System.nanoTime();
+        InstanceStats instanceStats = get(instance);
+        int failures = instanceStats.onFailure(rttNanos, now);
+
+        LoadBalancerProperties.OutlierProperties outlier = properties.getOutlier();
+        if (failures < outlier.getConsecutiveFailures()) {
+            return;
+        }
+
+        List<ServiceInstance> known = knownInstances;
+        long ejected = known.stream().filter(i -> get(i).isEjected(now)).count();
+        if (ejected + 1 > Math.floor(known.size() * outlier.getMaxEjectionPercent())) {
+            log.warn("Not ejecting {} of {}: ejection limit reached", key(instance), serviceId);
+            return;
+        }
+
+        instanceStats.eject(
+                outlier.getBaseEjectionTime().toNanos(),
+                outlier.getMaxEjectionTime().toNanos(),
+                now);
+        log.warn("Ejected instance {} of {} after {} consecutive failures", key(instance), serviceId, failures);
+    }
+
+    public void recordSuccess(ServiceInstance instance, long rttNanos) {
+        get(instance).onSuccess(rttNanos, System.nanoTime());
+    }
+
+    /**
+     * Record a call cancelled before it answered
+     */
+    public void recordDiscard(ServiceInstance instance, long elapsedNanos) {
+        get(instance).onDiscard(elapsedNanos, System.nanoTime());
+    }
+
+    static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+}
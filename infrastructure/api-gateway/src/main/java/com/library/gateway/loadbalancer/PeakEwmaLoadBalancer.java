@@ -0,0 +1,103 @@
+package com.library.gateway.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import com.library.gateway.config.LoadBalancerProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Power of two choices load balancer using peak EWMA latency
+ *
+ * Picks two random healthy instances and routes to the one with the lower
+ * {@code latency * (outstanding + 1)} cost. Ejected outliers are skipped and
+ * newly registered instances ramp up over the slow start window. A request
+ * with an {@link AlternateInstanceRequestContext} (hedges) never gets the
+ * instance it excludes.
+ */
+@Slf4j
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final InstanceStatsRegistry statsRegistry;
+    private final LoadBalancerProperties properties;
+
+    public PeakEwmaLoadBalancer(
+            ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+            String serviceId,
+            InstanceStatsRegistry statsRegistry,
+            LoadBalancerProperties properties) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.statsRegistry = statsRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+
+        return supplier.get(request)
+                .next()
+                .map(instances -> choose(instances, request));
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances, Request request) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+
+        statsRegistry.retain(instances);
+        long now = System.nanoTime();
+
+        List<ServiceInstance> candidates = instances;
+        if (request != null && request.getContext() instanceof AlternateInstanceRequestContext alternate) {
+            candidates = instances.stream().filter(instance -> !alternate.excludes(instance)).toList();
+            if (candidates.isEmpty()) {
+                return new EmptyResponse();
+            }
+        }
+
+        List<ServiceInstance> healthy = candidates.stream()
+                .filter(instance -> !statsRegistry.get(instance).isEjected(now))
+                .toList();
+        if (healthy.isEmpty()) {
+            // Everything is ejected: fall back to the full list rather than failing
+            healthy = candidates;
+        }
+
+        if (healthy.size() == 1) {
+            return new DefaultResponse(healthy.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(healthy.size());
+        int second = random.nextInt(healthy.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        ServiceInstance a = healthy.get(first);
+        ServiceInstance b = healthy.get(second);
+        long slowStart = properties.getSlowStartWindow().toNanos();
+        double costA = statsRegistry.get(a).cost(now, slowStart);
+        double costB = statsRegistry.get(b).cost(now, slowStart);
+
+        return new DefaultResponse(costA <= costB ? a : b);
+    }
+}
@@ -0,0 +1,44 @@
+package com.library.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import com.library.gateway.config.LoadBalancerProperties;
+
+/**
+ * Per-service load balancer configuration
+ *
+ * Instantiated once per service id in its own child context, so it is
+ * deliberately not a component-scanned {@code @Configuration}.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(Environment environment, LoadBalancerProperties properties) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new InstanceStatsRegistry(serviceId, properties);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> peakEwmaLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            InstanceStatsRegistry instanceStatsRegistry,
+            LoadBalancerProperties properties) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new PeakEwmaLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                instanceStatsRegistry,
+                properties);
+    }
+
+    @Bean
+    public PeakEwmaLoadBalancerLifecycle peakEwmaLoadBalancerLifecycle(InstanceStatsRegistry instanceStatsRegistry) {
+        return new PeakEwmaLoadBalancerLifecycle(instanceStatsRegistry);
+    }
+}
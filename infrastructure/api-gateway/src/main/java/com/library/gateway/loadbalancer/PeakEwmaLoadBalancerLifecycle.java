@@ -0,0 +1,79 @@
+package com.library.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+/**
+ * Feeds call outcomes back into the peak EWMA statistics
+ *
+ * Invoked by the gateway's ReactiveLoadBalancerClientFilter (and by load
+ * balanced WebClients) around every call to a chosen instance.
+ */
+public class PeakEwmaLoadBalancerLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final InstanceStatsRegistry statsRegistry;
+
+    public PeakEwmaLoadBalancerLifecycle(InstanceStatsRegistry statsRegistry) {
+        this.statsRegistry = statsRegistry;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+        // Instance not chosen yet
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(System.nanoTime());
+        }
+        statsRegistry.get(lbResponse.getServer()).onStart();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+
+        ServiceInstance instance = lbResponse.getServer();
+        long rtt = 0;
+        Object context = completionContext.getLoadBalancerRequest().getContext();
+        if (context instanceof TimedRequestContext timed && timed.getRequestStartTime() > 0) {
+            rtt = System.nanoTime() - timed.getRequestStartTime();
+        }
+
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            // Cancelled, e.g. the losing side of a hedge: it took at least this long
+            statsRegistry.recordDiscard(instance, rtt);
+        } else if (isFailure(completionContext)) {
+            statsRegistry.recordFailure(instance, rtt);
+        } else {
+            statsRegistry.recordSuccess(instance, rtt);
+        }
+    }
+
+    private boolean isFailure(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        if (completionContext.getClientResponse() instanceof ResponseData data) {
+            return data.getHttpStatus() != null && data.getHttpStatus().is5xxServerError();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,101 @@
+#!/bin/bash
+
+# Compare gateway tail latency with round robin vs peak EWMA load balancing
+# while one of two book-service replicas is periodically paused (SIGSTOP),
+# which mimics a replica stuck in long GC pauses.
+#
+# Requires: built jars (./scripts/build-all.sh), MySQL from docker-compose, and `hey`
+# Usage: ./scripts/lb-tail-latency-benchmark.sh [requests] [concurrency]
+
+set -e
+
+# Colors
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+YELLOW='\033[1;33m'
+RED='\033[0;31m'
+NC='\033[0m'
+
+REQUESTS=${1:-20000}
+CONCURRENCY=${2:-32}
+PAUSE_MS=${PAUSE_MS:-300}
+RUN_MS=${RUN_MS:-700}
+
+# Navigate to project root
+cd "$(dirname "$0")/.."
+mkdir -p logs
+
+if ! command -v hey > /dev/null; then
+    echo -e "${RED}'hey' is required: go install github.com/rakyll/hey@latest${NC}"
+    exit 1
+fi
+
+BOOK_JAR=$(ls services/book-service/target/book-service-*.jar | head -1)
+GATEWAY_JAR=$(ls infrastructure/api-gateway/target/api-gateway-*.jar | head -1)
+
+PIDS=()
+cleanup() {
+    for pid in "${PIDS[@]}"; do
+        kill -CONT "$pid" 2> /dev/null || true
+        kill "$pid" 2> /dev/null || true
+    done
+}
+trap cleanup EXIT
+
+wait_for() {
+    until curl -sf "$1" > /dev/null; do sleep 1; done
+}
+
+echo -e "${BLUE}Starting two book-service replicas (8081 healthy, 8091 paused periodically)...${NC}"
+java -jar "$BOOK_JAR" --server.port=8081 > logs/bench-book-1.log 2>&1 &
+PIDS+=($!)
+java -jar "$BOOK_JAR" --server.port=8091 --spring.flyway.enabled=false > logs/bench-book-2.log 2>&1 &
+SLOW_PID=$!
+PIDS+=($SLOW_PID)
+wait_for http://localhost:8081/api/v1/books
+wait_for http://localhost:8091/api/v1/books
+
+run_gateway() {
+    local strategy=$1
+    java -jar "$GATEWAY_JAR" \
+        --eureka.client.enabled=false \
+        --spring.cloud.config.enabled=false \
+        --spring.cloud.discovery.client.simple.instances.book-service[0].uri=http://localhost:8081 \
+        --spring.cloud.discovery.client.simple.instances.book-service[1].uri=http://localhost:8091 \
+        --gateway.loadbalancer.peak-ewma-enabled="$strategy" \
+        > "logs/bench-gateway-$strategy.log" 2>&1 &
+    GATEWAY_PID=$!
+    PIDS+=($GATEWAY_PID)
+    wait_for http://localhost:8000/actuator/health
+}
+
+# Pause the slow replica for PAUSE_MS out of every PAUSE_MS + RUN_MS
+(
+    while true; do
+        kill -STOP $SLOW_PID 2> /dev/null || exit 0
+        sleep "$(echo "scale=3; $PAUSE_MS / 1000" | bc)"
+        kill -CONT $SLOW_PID 2> /dev/null || exit 0
+        sleep "$(echo "scale=3; $RUN_MS / 1000" | bc)"
+    done
+) &
+PIDS+=($!)
+
+for strategy in false true; do
+    label=$([ "$strategy" = "true" ] && echo "peak EWMA" || echo "round robin")
+    echo -e "${BLUE}Benchmarking ${label}...${NC}"
+    run_gateway "$strategy"
+
+    # Warm up so the latency averages have samples
+    hey -n 2000 -c "$CONCURRENCY" http://localhost:8000/api/books/api/v1/books/1 > /dev/null
+
+    hey -n "$REQUESTS" -c "$CONCURRENCY" http://localhost:8000/api/books/api/v1/books/1 \
+        | tee "logs/bench-$strategy.txt" \
+        | grep -E "Requests/sec|50%|90%|99%"
+
+    kill $GATEWAY_PID
+    wait $GATEWAY_PID 2> /dev/null || true
+    echo ""
+done
+
+echo -e "${GREEN}✓ Benchmark finished, full reports in logs/bench-false.txt (round robin) and logs/bench-true.txt (peak EWMA)${NC}"
+echo -e "${YELLOW}Expect p99 with peak EWMA to approach the healthy replica's latency, round robin to track PAUSE_MS${NC}"
@@ -0,0 +1,169 @@
+#!/bin/bash
+
+# Smoke test the book-service native image and compare it with the JVM build:
+# time to first request, resident memory (idle and under load) and
+# steady-state throughput of GET /api/v1/books.
+#
+# Before measuring, the same requests as BookServiceSmokeTest (which also
+# runs as a native test: mvn -PnativeTest test) are sent to both builds,
+# stopping at the first unexpected status.
+#
+# Requires: MySQL from docker-compose, `hey`, and both builds:
+#   mvn clean package -pl services/book-service -am -DskipTests
+#   mvn package -Pnative -pl services/book-service -am -DskipTests   (GraalVM JDK 21)
+# Usage: ./scripts/native-benchmark.sh [duration] [concurrency] [port]
+
+set -e
+
+# Colors
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+YELLOW='\033[1;33m'
+RED='\033[0;31m'
+NC='\033[0m'
+
+DURATION=${1:-30s}
+CONCURRENCY=${2:-32}
+PORT=${3:-8081}
+TIMEOUT_S=${TIMEOUT_S:-120}
+BASE="http://localhost:$PORT"
+
+# Navigate to project root
+cd "$(dirname "$0")/.."
+mkdir -p logs
+
+if ! command -v hey > /dev/null; then
+    echo -e "${RED}'hey' is required: go install github.com/rakyll/hey@latest${NC}"
+    exit 1
+fi
+
+BOOK_JAR=$(ls services/book-service/target/book-service-*.jar | head -1)
+NATIVE_BIN=services/book-service/target/book-service
+
+if [ -z "$BOOK_JAR" ] || [ ! -x "$NATIVE_BIN" ]; then
+    echo -e "${RED}Build both the jar and the native image first (see the header of this script)${NC}"
+    exit 1
+fi
+
+APP_PID=
+cleanup() {
+    if [ -n "$APP_PID" ]; then
+        kill "$APP_PID" 2> /dev/null || true
+        wait "$APP_PID" 2> /dev/null || true
+    fi
+}
+trap cleanup EXIT
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+rss_mb() {
+    echo $(( $(ps -o rss= -p "$APP_PID") / 1024 ))
+}
+
+start_app() {
+    local log=$1
+    shift
+    START_MS=$(now_ms)
+    "$@" --server.port="$PORT" > "$log" 2>&1 &
+    APP_PID=$!
+
+    until curl -sf -o /dev/null "$BASE/api/v1/books?page=0&size=1"; do
+        if ! kill -0 "$APP_PID" 2> /dev/null; then
+            echo -e "${RED}Application exited, see $log${NC}"
+            exit 1
+        fi
+        if [ $(( $(now_ms) - START_MS )) -gt $(( TIMEOUT_S * 1000 )) ]; then
+            echo -e "${RED}No response within ${TIMEOUT_S}s, see $log${NC}"
+            exit 1
+        fi
+        sleep 0.01
+    done
+    FIRST_REQUEST_MS=$(( $(now_ms) - START_MS ))
+}
+
+stop_app() {
+    kill "$APP_PID"
+    wait "$APP_PID" 2> /dev/null || true
+    APP_PID=
+}
+
+expect() {
+    local status=$1
+    local method=$2
+    local path=$3
+    shift 3
+    local actual
+    actual=$(curl -s -o /tmp/native-smoke.out -w '%{http_code}' -X "$method" "$@" "$BASE$path")
+    if [ "$actual" != "$status" ]; then
+        echo -e "${RED}  $method $path: expected $status, got $actual${NC}"
+        head -c 500 /tmp/native-smoke.out
+        echo ""
+        exit 1
+    fi
+    echo -e "  ${GREEN}$status${NC} $method $path"
+}
+
+smoke_test() {
+    expect 200 GET "/api/v1/books?page=0&size=5"
+    expect 200 GET "/api/v1/books?view=summary"
+    expect 200 GET "/api/v1/books?fields=id,title,categoryName"
+    expect 200 GET "/api/v1/books/search?keyword=the"
+    expect 200 GET "/api/v1/books/search?keyword=hary%20poter&mode=fuzzy"
+    expect 200 GET "/api/v1/books/search/faceted?keyword=&size=5"
+    expect 200 GET "/api/v1/books/suggest?prefix=ha"
+    expect 200 GET "/api/v1/books/changes?since=0&limit=10"
+    expect 200 GET "/api/v1/books/batch?ids=1,2,999999"
+    expect 400 GET "/api/v1/books?fields=nope"
+
+    local isbn
+    isbn=$(printf '979%010d' $(( $(date +%s) % 10000000000 )))
+    expect 201 POST "/api/v1/books" -H 'Content-Type: application/json' -H "Idempotency-Key: smoke-$isbn" \
+        -d "{\"isbn\":\"$isbn\",\"title\":\"Native Smoke\",\"authorName\":\"Smoke Test\",\"categoryName\":\"Fiction\",\"initialQuantity\":1}"
+    local id
+    id=$(grep -o '"id":[0-9]*' /tmp/native-smoke.out | head -1 | cut -d: -f2)
+    expect 200 GET "/api/v1/books/$id"
+    expect 204 DELETE "/api/v1/books/$id"
+
+    expect 200 GET "/v3/api-docs"
+    expect 200 GET "/actuator/health"
+}
+
+# Runs the smoke test and the measurements; sets RESULT_* for the report
+measure() {
+    local name=$1
+    shift
+    echo -e "${BLUE}$name${NC}"
+    start_app "logs/native-bench-$name.log" "$@"
+    RESULT_START+=("$FIRST_REQUEST_MS")
+    RESULT_IDLE+=("$(rss_mb)")
+
+    smoke_test
+
+    hey -z "$DURATION" -c "$CONCURRENCY" "$BASE/api/v1/books?page=0&size=20" > "logs/native-bench-$name-hey.txt"
+    RESULT_RPS+=("$(grep 'Requests/sec' "logs/native-bench-$name-hey.txt" | awk '{print $2}')")
+    RESULT_LOADED+=("$(rss_mb)")
+    stop_app
+}
+
+RESULT_START=()
+RESULT_IDLE=()
+RESULT_LOADED=()
+RESULT_RPS=()
+
+# The native image runs the fast-startup profile, which refuses to start on pending migrations:
+# apply them as a deployment would, with the image itself run as an init job
+echo -e "${BLUE}Applying Flyway migrations (native image as init job)...${NC}"
+"$NATIVE_BIN" -Dspring.context.exit=onRefresh --spring.profiles.active=fast-startup --startup.flyway=migrate \
+    --server.port=0 > logs/native-bench-migrate.log 2>&1
+
+measure jvm java -jar "$BOOK_JAR"
+measure native "$NATIVE_BIN" --spring.profiles.active=fast-startup
+
+echo ""
+echo -e "${GREEN}book-service JVM vs native ($DURATION at concurrency $CONCURRENCY)${NC}"
+printf "%-8s %18s %12s %14s %12s\n" "" "first request ms" "idle RSS MB" "loaded RSS MB" "req/s"
+printf "%-8s %18s %12s %14s %12s\n" "jvm" "${RESULT_START[0]}" "${RESULT_IDLE[0]}" "${RESULT_LOADED[0]}" "${RESULT_RPS[0]}"
+printf "%-8s %18s %12s %14s %12s\n" "native" "${RESULT_START[1]}" "${RESULT_IDLE[1]}" "${RESULT_LOADED[1]}" "${RESULT_RPS[1]}"
+echo -e "${YELLOW}The JVM is still warming up its JIT during a short run; use a longer duration for steady state${NC}"
@@ -0,0 +1,132 @@
+#!/bin/bash
+
+# Compare book-service time-to-first-request of the regular fat jar with the
+# fast-startup build (AppCDS archive + Spring AOT + lazy beans + deferred
+# Flyway validation, failing only on pending migrations). Each run is timed from launching the JVM until
+# GET /api/v1/books first answers 200; the JVM reported startup time is shown
+# next to it.
+#
+# Requires: MySQL from docker-compose and both builds:
+#   mvn clean package -pl services/book-service -am -DskipTests
+#   mvn package -Pfast-startup -pl services/book-service -am -DskipTests
+# Usage: ./scripts/startup-benchmark.sh [runs] [port]
+
+set -e
+
+# Colors
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+YELLOW='\033[1;33m'
+RED='\033[0;31m'
+NC='\033[0m'
+
+RUNS=${1:-5}
+PORT=${2:-8081}
+TIMEOUT_S=${TIMEOUT_S:-120}
+
+# Navigate to project root
+cd "$(dirname "$0")/.."
+ROOT=$(pwd)
+mkdir -p logs
+
+BOOK_JAR=$(ls services/book-service/target/book-service-*.jar | head -1)
+FAST_DIR=services/book-service/target/fast-startup
+FAST_JAR=$(cd "$FAST_DIR" 2> /dev/null && ls book-service-*-fast-startup.jar | head -1)
+
+if [ -z "$BOOK_JAR" ] || [ -z "$FAST_JAR" ] || [ ! -f "$FAST_DIR/book-service.jsa" ]; then
+    echo -e "${RED}Build both jars first (see the header of this script)${NC}"
+    exit 1
+fi
+
+# measure runs in a command substitution, so it stops its own process
+APP_PID=
+cleanup() {
+    if [ -n "$APP_PID" ]; then
+        kill "$APP_PID" 2> /dev/null || true
+        wait "$APP_PID" 2> /dev/null || true
+    fi
+}
+trap cleanup EXIT
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Launch with the given command, print the milliseconds until the first 200
+measure() {
+    local log=$1
+    shift
+    local start
+    start=$(now_ms)
+    "$@" --server.port="$PORT" > "$log" 2>&1 &
+    APP_PID=$!
+
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/v1/books?page=0&size=1"; do
+        if ! kill -0 "$APP_PID" 2> /dev/null; then
+            echo -e "${RED}Application exited, see $log${NC}" >&2
+            exit 1
+        fi
+        if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_S * 1000 )) ]; then
+            echo -e "${RED}No response within ${TIMEOUT_S}s, see $log${NC}" >&2
+            cleanup
+            exit 1
+        fi
+        sleep 0.02
+    done
+    local elapsed=$(( $(now_ms) - start ))
+
+    kill "$APP_PID"
+    wait "$APP_PID" 2> /dev/null || true
+    APP_PID=
+    echo "$elapsed"
+}
+
+# Started in the background by measure; exec keeps $! the JVM's pid
+run_default() {
+    exec java -jar "$ROOT/$BOOK_JAR" "$@"
+}
+
+# The archive only matches when the jar is launched from its own directory, as in the training run
+run_fast() {
+    cd "$FAST_DIR"
+    exec java -XX:SharedArchiveFile=book-service.jsa -Dspring.aot.enabled=true \
+        -jar "$FAST_JAR" --spring.profiles.active=fast-startup "$@"
+}
+
+report() {
+    local name=$1
+    shift
+    local sorted
+    sorted=$(printf '%s\n' "$@" | sort -n)
+    local min median max
+    min=$(echo "$sorted" | head -1)
+    max=$(echo "$sorted" | tail -1)
+    median=$(echo "$sorted" | sed -n "$(( ($# + 1) / 2 ))p")
+    printf "%-14s min %6s ms   median %6s ms   max %6s ms\n" "$name" "$min" "$median" "$max"
+}
+
+# One untimed start applies pending migrations, the fast-startup build refuses to start on them
+echo -e "${BLUE}Warm-up start (applies Flyway migrations)...${NC}"
+measure logs/startup-warmup.log run_default > /dev/null
+
+DEFAULT_TIMES=()
+FAST_TIMES=()
+for i in $(seq 1 "$RUNS"); do
+    echo -e "${BLUE}Run $i/$RUNS${NC}"
+    t=$(measure "logs/startup-default-$i.log" run_default)
+    DEFAULT_TIMES+=("$t")
+    echo -e "  default:      ${t} ms  ($(grep -o 'Started BookServiceApplication in [0-9.]* seconds' "logs/startup-default-$i.log" | head -1))"
+
+    t=$(measure "logs/startup-fast-$i.log" run_fast)
+    FAST_TIMES+=("$t")
+    echo -e "  fast-startup: ${t} ms  ($(grep -o 'Started BookServiceApplication in [0-9.]* seconds' "logs/startup-fast-$i.log" | head -1))"
+done
+
+echo ""
+echo -e "${GREEN}Time to first request (${RUNS} runs)${NC}"
+report "default" "${DEFAULT_TIMES[@]}"
+report "fast-startup" "${FAST_TIMES[@]}"
+
+if grep -q "Specified shared archive not found\|shared class paths mismatch" logs/startup-fast-*.log; then
+    echo -e "${YELLOW}The CDS archive was not used; rebuild it with the JDK used to run the benchmark${NC}"
+fi
@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 // import org.springframework.cache.annotation.EnableCaching;
 // import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Book Service Application
@@ -27,6 +28,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 @SpringBootApplication
 // @EnableDiscoveryClient
 @EnableJpaAuditing
+@EnableScheduling
 // @EnableCaching
 public class BookServiceApplication {
 
@@ -0,0 +1,21 @@
+package com.library.bookservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a batch lookup, in the position it was requested
+ * book is null when nothing matched the key
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBatchItem {
+    private Long id;
+    private String isbn;
+    private boolean found;
+    private BookResponse book;
+}
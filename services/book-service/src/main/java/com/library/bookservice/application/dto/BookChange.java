@@ -0,0 +1,25 @@
+package com.library.bookservice.application.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entry of the book change feed
+ * book holds the current state for UPSERT entries whose book still exists
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookChange {
+    private Long seq;
+    private Long bookId;
+    private String isbn;
+    private BookChangeType type;
+    private LocalDateTime changedAt;
+    private BookResponse book;
+}
@@ -0,0 +1,22 @@
+package com.library.bookservice.application.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of the book change feed
+ * Pass nextCursor as since to get the following page
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookChangePage {
+    private List<BookChange> changes;
+    private long nextCursor;
+    private boolean hasMore;
+}
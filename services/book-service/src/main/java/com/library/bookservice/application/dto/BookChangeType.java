@@ -0,0 +1,11 @@
+package com.library.bookservice.application.dto;
+
+/**
+ * Kind of entry in the book change feed
+ */
+public enum BookChangeType {
+    /** The book was created or modified, the entry carries its current state */
+    UPSERT,
+    /** The book was deleted (tombstone) */
+    DELETE
+}
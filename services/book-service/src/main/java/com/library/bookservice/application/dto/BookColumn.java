@@ -0,0 +1,21 @@
+package com.library.bookservice.application.dto;
+
+/**
+ * Stored book attributes a field projection can select
+ */
+public enum BookColumn {
+    ID,
+    ISBN,
+    TITLE,
+    AUTHOR_NAME,
+    DESCRIPTION,
+    CATEGORY_ID,
+    CATEGORY_NAME,
+    TOTAL_QUANTITY,
+    AVAILABLE_QUANTITY,
+    BORROWED_QUANTITY,
+    STATUS,
+    COVER_IMAGE_URL,
+    CREATED_AT,
+    UPDATED_AT
+}
@@ -0,0 +1,23 @@
+package com.library.bookservice.application.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a facet index query: the IDs of one page of matching books,
+ * the total number of matches and the counts per facet
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFacetResult {
+    private List<Long> bookIds;
+    private long total;
+    private Map<String, List<FacetCount>> facets;
+}
@@ -0,0 +1,125 @@
+package com.library.bookservice.application.dto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.library.bookservice.domain.model.Author;
+import com.library.bookservice.domain.model.BookStatus;
+import com.library.bookservice.domain.model.ISBN;
+import com.library.bookservice.domain.model.Inventory;
+
+/**
+ * Fields of the book representation that can be requested with ?fields=
+ *
+ * Each field names the columns it is computed from, so that only those are
+ * selected, and computes its value from a projected row. Derived fields
+ * reuse the domain value objects.
+ */
+public enum BookField {
+    ID("id", EnumSet.of(BookColumn.ID), row -> row.get(BookColumn.ID)),
+    ISBN_VALUE("isbn", EnumSet.of(BookColumn.ISBN), row -> row.get(BookColumn.ISBN)),
+    FORMATTED_ISBN("formattedIsbn", EnumSet.of(BookColumn.ISBN),
+            row -> ISBN.of((String) row.get(BookColumn.ISBN)).formatted()),
+    TITLE("title", EnumSet.of(BookColumn.TITLE), row -> row.get(BookColumn.TITLE)),
+    AUTHOR_NAME("authorName", EnumSet.of(BookColumn.AUTHOR_NAME), row -> row.get(BookColumn.AUTHOR_NAME)),
+    AUTHOR_FIRST_NAME("authorFirstName", EnumSet.of(BookColumn.AUTHOR_NAME),
+            row -> Author.of((String) row.get(BookColumn.AUTHOR_NAME)).getFirstName()),
+    AUTHOR_LAST_NAME("authorLastName", EnumSet.of(BookColumn.AUTHOR_NAME),
+            row -> Author.of((String) row.get(BookColumn.AUTHOR_NAME)).getLastName()),
+    DESCRIPTION("description", EnumSet.of(BookColumn.DESCRIPTION), row -> row.get(BookColumn.DESCRIPTION)),
+    CATEGORY_NAME("categoryName", EnumSet.of(BookColumn.CATEGORY_NAME), row -> row.get(BookColumn.CATEGORY_NAME)),
+    TOTAL_QUANTITY("totalQuantity", EnumSet.of(BookColumn.TOTAL_QUANTITY),
+            row -> row.get(BookColumn.TOTAL_QUANTITY)),
+    AVAILABLE_QUANTITY("availableQuantity", EnumSet.of(BookColumn.AVAILABLE_QUANTITY),
+            row -> row.get(BookColumn.AVAILABLE_QUANTITY)),
+    BORROWED_QUANTITY("borrowedQuantity", EnumSet.of(BookColumn.BORROWED_QUANTITY),
+            row -> row.get(BookColumn.BORROWED_QUANTITY)),
+    STATUS("status", EnumSet.of(BookColumn.STATUS), row -> ((BookStatus) row.get(BookColumn.STATUS)).name()),
+    COVER_IMAGE_URL("coverImageUrl", EnumSet.of(BookColumn.COVER_IMAGE_URL),
+            row -> row.get(BookColumn.COVER_IMAGE_URL)),
+    AVAILABLE_FOR_BORROWING("availableForBorrowing", EnumSet.of(BookColumn.STATUS, BookColumn.AVAILABLE_QUANTITY),
+            row -> row.get(BookColumn.STATUS) == BookStatus.AVAILABLE
+                    && (Integer) row.get(BookColumn.AVAILABLE_QUANTITY) > 0),
+    POPULAR("popular", inventoryColumns(), row -> inventory(row).getBorrowRate() > 0.8),
+    BORROW_RATE("borrowRate", inventoryColumns(), row -> inventory(row).getBorrowRate()),
+    CREATED_AT("createdAt", EnumSet.of(BookColumn.CREATED_AT), row -> seconds(row.get(BookColumn.CREATED_AT))),
+    UPDATED_AT("updatedAt", EnumSet.of(BookColumn.UPDATED_AT), row -> seconds(row.get(BookColumn.UPDATED_AT)));
+
+    private final String apiName;
+    private final Set<BookColumn> columns;
+    private final Function<Map<BookColumn, Object>, Object> value;
+
+    BookField(String name, Set<BookColumn> columns, Function<Map<BookColumn, Object>, Object> value) {
+        this.apiName = name;
+        this.columns = columns;
+        this.value = value;
+    }
+
+    public String getName() {
+        return apiName;
+    }
+
+    public Set<BookColumn> getColumns() {
+        return columns;
+    }
+
+    public Object extract(Map<BookColumn, Object> row) {
+        return value.apply(row);
+    }
+
+    /**
+     * Parse a comma separated ?fields= list, keeping the requested order
+     *
+     * @throws IllegalArgumentException for unknown or missing field names
+     */
+    public static Set<BookField> parse(String fields) {
+        Set<BookField> parsed = new LinkedHashSet<>();
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.apiName.equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown field '" + name + "', expected one of "
+                            + Arrays.stream(values()).map(BookField::getName).collect(Collectors.joining(", ")))));
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be requested");
+        }
+        return parsed;
+    }
+
+    /**
+     * Columns needed to compute the given fields
+     */
+    public static Set<BookColumn> columnsOf(Set<BookField> fields) {
+        Set<BookColumn> columns = EnumSet.noneOf(BookColumn.class);
+        fields.forEach(field -> columns.addAll(field.columns));
+        return columns;
+    }
+
+    private static Set<BookColumn> inventoryColumns() {
+        return EnumSet.of(BookColumn.TOTAL_QUANTITY, BookColumn.AVAILABLE_QUANTITY, BookColumn.BORROWED_QUANTITY);
+    }
+
+    private static Inventory inventory(Map<BookColumn, Object> row) {
+        return Inventory.of(
+                (Integer) row.get(BookColumn.TOTAL_QUANTITY),
+                (Integer) row.get(BookColumn.AVAILABLE_QUANTITY),
+                (Integer) row.get(BookColumn.BORROWED_QUANTITY));
+    }
+
+    private static Object seconds(Object timestamp) {
+        // Same precision as the @JsonFormat of the full representation
+        return timestamp != null ? ((LocalDateTime) timestamp).truncatedTo(ChronoUnit.SECONDS) : null;
+    }
+}
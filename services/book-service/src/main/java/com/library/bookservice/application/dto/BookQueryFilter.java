@@ -0,0 +1,28 @@
+package com.library.bookservice.application.dto;
+
+/**
+ * Which books a field projection reads
+ * At most one criterion is set; none means all books
+ */
+public record BookQueryFilter(Long id, String keyword, String categoryName, boolean availableOnly) {
+
+    public static BookQueryFilter all() {
+        return new BookQueryFilter(null, null, null, false);
+    }
+
+    public static BookQueryFilter byId(Long id) {
+        return new BookQueryFilter(id, null, null, false);
+    }
+
+    public static BookQueryFilter byKeyword(String keyword) {
+        return keyword == null || keyword.isBlank() ? all() : new BookQueryFilter(null, keyword, null, false);
+    }
+
+    public static BookQueryFilter byCategory(String categoryName) {
+        return new BookQueryFilter(null, null, categoryName, false);
+    }
+
+    public static BookQueryFilter available() {
+        return new BookQueryFilter(null, null, null, true);
+    }
+}
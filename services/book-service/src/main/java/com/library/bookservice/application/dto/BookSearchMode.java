@@ -0,0 +1,29 @@
+package com.library.bookservice.application.dto;
+
+import java.util.Locale;
+
+/**
+ * How the search keyword is matched
+ */
+public enum BookSearchMode {
+    /** Substring of title, author or description */
+    EXACT,
+    /** Close matches of each word in title or author, tolerating typos */
+    FUZZY;
+
+    /**
+     * Parse the {@code mode} request parameter
+     *
+     * @throws IllegalArgumentException if the value is not a known mode
+     */
+    public static BookSearchMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown mode '" + value + "', expected exact or fuzzy");
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.library.bookservice.application.dto;
 
+import java.util.Arrays;
+import java.util.Locale;
+
 import com.library.bookservice.domain.model.BookStatus;
 
 import lombok.AllArgsConstructor;
@@ -18,6 +21,7 @@ import lombok.NoArgsConstructor;
 public class BookSearchQuery {
 
     private String keyword;
+    private Long categoryId;
     private String categoryName;
     private String authorName;
     private BookStatus status;
@@ -29,4 +33,21 @@ public class BookSearchQuery {
     private String sortBy;
     private String sortDirection; // ASC or DESC
 
+    /**
+     * Parse the {@code status} request parameter
+     *
+     * @return null if no status is given
+     * @throws IllegalArgumentException if the value is not a known status
+     */
+    public static BookStatus parseStatus(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return BookStatus.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status '" + value + "', expected one of "
+                    + Arrays.toString(BookStatus.values()));
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.library.bookservice.application.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a faceted search
+ * facets is keyed by facet name (category, status, availability, author)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchResult {
+    private List<BookResponse> books;
+    private long total;
+    private int page;
+    private int size;
+    private Map<String, List<FacetCount>> facets;
+}
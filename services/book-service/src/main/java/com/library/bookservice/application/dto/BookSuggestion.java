@@ -0,0 +1,22 @@
+package com.library.bookservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typeahead suggestion
+ * bookId is only set for TITLE suggestions; score is the popularity the
+ * suggestions are ranked by
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSuggestion {
+    private String text;
+    private BookSuggestionType type;
+    private Long bookId;
+    private int score;
+}
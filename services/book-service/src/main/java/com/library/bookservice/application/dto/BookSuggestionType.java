@@ -0,0 +1,11 @@
+package com.library.bookservice.application.dto;
+
+/**
+ * What a typeahead suggestion completes to
+ */
+public enum BookSuggestionType {
+    /** A book title, the suggestion carries the book ID */
+    TITLE,
+    /** An author name, shared by all books of the author */
+    AUTHOR
+}
@@ -0,0 +1,28 @@
+package com.library.bookservice.application.dto;
+
+import com.library.bookservice.domain.model.BookStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary of a Book for list views
+ * Fields keep the meaning they have in BookResponse, categoryName included
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSummary {
+    private Long id;
+    private String isbn;
+    private String title;
+    private String authorName;
+    private String categoryName;
+    private Integer availableQuantity;
+    private BookStatus status;
+    private String coverImageUrl;
+    private boolean availableForBorrowing;
+}
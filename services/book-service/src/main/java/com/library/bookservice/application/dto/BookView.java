@@ -0,0 +1,29 @@
+package com.library.bookservice.application.dto;
+
+import java.util.Locale;
+
+/**
+ * Representation requested for book lists
+ */
+public enum BookView {
+    /** Title, author and availability only */
+    SUMMARY,
+    /** Every field, including description and computed fields */
+    FULL;
+
+    /**
+     * Parse the {@code view} request parameter
+     *
+     * @throws IllegalArgumentException if the value is not a known view
+     */
+    public static BookView from(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown view '" + value + "', expected summary or full");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.library.bookservice.application.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Header of the current catalog snapshot file
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSnapshotInfo {
+    private int books;
+    private long bytes;
+    /** Change feed sequence the snapshot is complete up to */
+    private long changeSeq;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,45 @@
+package com.library.bookservice.application.dto;
+
+import java.util.Locale;
+
+/**
+ * File format of a reorder report
+ */
+public enum ReorderReportFormat {
+    /** Comma separated values with a header row */
+    CSV("csv", "text/csv"),
+    /** One JSON object per line */
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String extension;
+    private final String contentType;
+
+    ReorderReportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Parse the {@code format} request parameter; blank means CSV
+     *
+     * @throws IllegalArgumentException if the value is not a known format
+     */
+    public static ReorderReportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown format '" + value + "', expected csv or ndjson");
+        }
+    }
+}
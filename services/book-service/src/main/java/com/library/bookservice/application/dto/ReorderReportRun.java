@@ -0,0 +1,39 @@
+package com.library.bookservice.application.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a reorder report run, saved after every chunk so that an
+ * unfinished run can continue after lastBookId
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderReportRun {
+    private String runId;
+    private ReorderReportFormat format;
+    private int threshold;
+    private ReorderReportState state;
+
+    /** Candidate books, as counted when the run (or its last resume) started */
+    private long total;
+    /** Candidate books read so far */
+    private long processed;
+    /** Report lines written; books with nothing to reorder get none */
+    private long written;
+    /** Highest book ID processed */
+    private long lastBookId;
+    /** Length of the report file at the last checkpoint */
+    private long reportBytes;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package com.library.bookservice.application.dto;
+
+/**
+ * Lifecycle of a reorder report run
+ */
+public enum ReorderReportState {
+    /** Being written */
+    RUNNING,
+    /** Report file complete */
+    COMPLETED,
+    /** Stopped by an error; can be resumed */
+    FAILED,
+    /** Stopped by a shutdown; can be resumed */
+    INTERRUPTED
+}
@@ -1,9 +1,18 @@
 package com.library.bookservice.application.port.input;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import com.library.bookservice.application.dto.BookBatchItem;
+import com.library.bookservice.application.dto.BookChangePage;
+import com.library.bookservice.application.dto.BookField;
+import com.library.bookservice.application.dto.BookQueryFilter;
 import com.library.bookservice.application.dto.BookResponse;
 import com.library.bookservice.application.dto.BookSearchQuery;
+import com.library.bookservice.application.dto.BookSearchResult;
+import com.library.bookservice.application.dto.BookSuggestion;
+import com.library.bookservice.application.dto.BookSummary;
 import com.library.bookservice.application.dto.CreateBookCommand;
 import com.library.bookservice.application.dto.ReserveBookCommand;
 import com.library.bookservice.application.dto.UpdateBookCommand;
@@ -46,6 +55,22 @@ public interface BookService {
      */
     BookResponse getBookById(Long id);
 
+    /**
+     * Get many books by ID, in the requested order
+     * 
+     * @param ids
+     * @return
+     */
+    List<BookBatchItem> getBooksByIds(List<Long> ids);
+
+    /**
+     * Get many books by ISBN, in the requested order
+     * 
+     * @param isbns
+     * @return
+     */
+    List<BookBatchItem> getBooksByIsbns(List<String> isbns);
+
     /**
      * Get all books
      * 
@@ -61,6 +86,32 @@ public interface BookService {
      */
     List<BookResponse> searchBooks(BookSearchQuery query);
 
+    /**
+     * Search books by title and author, tolerating misspelled words
+     * 
+     * @param keyword
+     * @return best matches first
+     */
+    List<BookResponse> fuzzySearchBooks(String keyword);
+
+    /**
+     * Search books with category, status, availability and author filters,
+     * returning one page and the counts per facet value
+     * 
+     * @param query
+     * @return
+     */
+    BookSearchResult searchBooksWithFacets(BookSearchQuery query);
+
+    /**
+     * Suggest titles and authors starting with a prefix, most popular first
+     * 
+     * @param prefix
+     * @param limit
+     * @return
+     */
+    List<BookSuggestion> suggestBooks(String prefix, int limit);
+
     /**
      * Get available books
      * 
@@ -76,6 +127,63 @@ public interface BookService {
      */
     List<BookResponse> getBooksByCategory(String categoryName);
 
+    /**
+     * Get summaries of all books
+     * 
+     * @return
+     */
+    List<BookSummary> getAllBookSummaries();
+
+    /**
+     * Search book summaries
+     * 
+     * @param query
+     * @return
+     */
+    List<BookSummary> searchBookSummaries(BookSearchQuery query);
+
+    /**
+     * Get summaries of available books
+     * 
+     * @return
+     */
+    List<BookSummary> getAvailableBookSummaries();
+
+    /**
+     * Get summaries of books in a category
+     * 
+     * @param categoryName
+     * @return
+     */
+    List<BookSummary> getBookSummariesByCategory(String categoryName);
+
+    /**
+     * Get only the requested fields of the books matching the filter
+     * 
+     * @param filter
+     * @param fields
+     * @return one map per book, keyed by field name in request order
+     */
+    List<Map<String, Object>> getBookFields(BookQueryFilter filter, Set<BookField> fields);
+
+    /**
+     * Get only the requested fields of one book
+     * 
+     * @param id
+     * @param fields
+     * @return
+     */
+    Map<String, Object> getBookFieldsById(Long id, Set<BookField> fields);
+
+    /**
+     * Get the book changes recorded after a cursor, oldest first
+     * 
+     * @param since
+     * @param limit
+     * @return
+     */
+    BookChangePage getBookChanges(long since, int limit);
+
     /**
      * Reserve a book
      * 
@@ -0,0 +1,36 @@
+package com.library.bookservice.application.port.input;
+
+import java.nio.file.Path;
+
+import com.library.bookservice.application.dto.CatalogSnapshotInfo;
+
+/**
+ * Input Port - Columnar snapshot of the catalog
+ * A compact binary copy of the books table for analytics, offline reports
+ * and warming up in-process indexes without going through JPA
+ */
+public interface CatalogSnapshotService {
+
+    /**
+     * Writes a new snapshot, replacing the current one
+     * 
+     * @return
+     */
+    CatalogSnapshotInfo export();
+
+    /**
+     * Describes the current snapshot
+     * 
+     * @return
+     * @throws IllegalStateException if none was exported yet
+     */
+    CatalogSnapshotInfo getInfo();
+
+    /**
+     * Location of the current snapshot file
+     * 
+     * @return
+     * @throws IllegalStateException if none was exported yet
+     */
+    Path getFile();
+}
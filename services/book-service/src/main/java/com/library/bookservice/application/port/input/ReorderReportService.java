@@ -0,0 +1,56 @@
+package com.library.bookservice.application.port.input;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import com.library.bookservice.application.dto.ReorderReportFormat;
+import com.library.bookservice.application.dto.ReorderReportRun;
+
+/**
+ * Input Port - Reorder report job
+ * Reports the books with few available copies left and how many copies to
+ * order for each
+ */
+public interface ReorderReportService {
+
+    /**
+     * Starts a report in the background
+     * 
+     * @param format
+     * @param threshold books with fewer available copies are reported
+     * @return the new run
+     * @throws IllegalStateException if a report is already running
+     */
+    ReorderReportRun start(ReorderReportFormat format, int threshold);
+
+    /**
+     * Continues a failed or interrupted run after its last checkpoint
+     * 
+     * @param runId
+     * @return
+     */
+    ReorderReportRun resume(String runId);
+
+    /**
+     * Progress of a run
+     * 
+     * @param runId
+     * @return
+     */
+    ReorderReportRun getRun(String runId);
+
+    /**
+     * All known runs, newest first
+     * 
+     * @return
+     */
+    List<ReorderReportRun> getRuns();
+
+    /**
+     * File of a completed run
+     * 
+     * @param runId
+     * @return
+     */
+    Path getReportFile(String runId);
+}
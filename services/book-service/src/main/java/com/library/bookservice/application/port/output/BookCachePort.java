@@ -0,0 +1,53 @@
+package com.library.bookservice.application.port.output;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.library.bookservice.application.dto.BookResponse;
+
+/**
+ * Output Port for the book read cache
+ * Infrastructure layer will implement this
+ */
+public interface BookCachePort {
+
+    /**
+     * Looks up cached books
+     * 
+     * @param ids
+     * @return the cached entries, misses are absent
+     */
+    Map<Long, BookResponse> getAll(Collection<Long> ids);
+
+    /**
+     * Looks up cached books by their normalized ISBN
+     * 
+     * @param isbns
+     * @return the cached entries by ISBN, misses are absent
+     */
+    Map<String, BookResponse> getAllByIsbn(Collection<String> isbns);
+
+    /**
+     * Eviction counter to pass back to putAll, read before the books are
+     * loaded
+     * 
+     * @return
+     */
+    long generation();
+
+    /**
+     * Caches books by their ID and ISBN, unless a book was evicted since
+     * the generation was read or the books may be stale
+     * 
+     * @param books
+     * @param generation
+     */
+    void putAll(Collection<BookResponse> books, long generation);
+
+    /**
+     * Drops a book from the cache
+     * 
+     * @param id
+     */
+    void evict(Long id);
+}
@@ -0,0 +1,41 @@
+package com.library.bookservice.application.port.output;
+
+import java.util.List;
+
+import com.library.bookservice.application.dto.BookChange;
+import com.library.bookservice.application.dto.BookChangeType;
+
+/**
+ * Output Port for the book change feed
+ * Infrastructure layer will implement this
+ */
+public interface BookChangeLogPort {
+
+    /**
+     * Appends a change in the current transaction
+     * 
+     * @param bookId
+     * @param isbn
+     * @param type
+     */
+    void record(Long bookId, String isbn, BookChangeType type);
+
+    /**
+     * Finds changes with a sequence greater than the cursor, oldest first
+     * 
+     * @param cursor
+     * @param limit
+     * @return changes without the book state
+     * @throws IllegalStateException when changes after the cursor have been
+     *                               purged; the consumer must reload the catalog
+     */
+    List<BookChange> findSince(long cursor, int limit);
+
+    /**
+     * Highest sequence findSince can currently return; a copy of the
+     * catalog read after this call is complete up to it
+     * 
+     * @return the sequence, 0 for an empty feed
+     */
+    long findLatestSeq();
+}
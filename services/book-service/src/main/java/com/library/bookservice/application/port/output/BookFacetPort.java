@@ -0,0 +1,30 @@
+package com.library.bookservice.application.port.output;
+
+import java.util.Collection;
+
+import com.library.bookservice.application.dto.BookFacetResult;
+import com.library.bookservice.application.dto.BookSearchQuery;
+
+/**
+ * Output Port for the facet index over category, status, availability and
+ * author
+ * Infrastructure layer will implement this
+ */
+public interface BookFacetPort {
+
+    String CATEGORY = "category";
+    String STATUS = "status";
+    String AVAILABILITY = "availability";
+    String AUTHOR = "author";
+
+    /**
+     * Applies the filters of the query to the candidate books and counts the
+     * matches per facet value. The counts of a facet ignore that facet's own
+     * filter, so the UI can offer the other values of it.
+     * 
+     * @param candidates books to start from, null for all books
+     * @param query      filters and page
+     * @return
+     */
+    BookFacetResult query(Collection<Long> candidates, BookSearchQuery query);
+}
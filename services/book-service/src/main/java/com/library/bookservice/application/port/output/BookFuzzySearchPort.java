@@ -0,0 +1,20 @@
+package com.library.bookservice.application.port.output;
+
+import java.util.List;
+
+/**
+ * Output Port for typo tolerant search over titles and author names
+ * Infrastructure layer will implement this
+ */
+public interface BookFuzzySearchPort {
+
+    /**
+     * Finds the books whose title or author contain a close match for every
+     * word of the keyword
+     * 
+     * @param keyword
+     * @param limit
+     * @return book IDs, best match first
+     */
+    List<Long> search(String keyword, int limit);
+}
@@ -1,8 +1,15 @@
 package com.library.bookservice.application.port.output;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import com.library.bookservice.application.dto.BookColumn;
+import com.library.bookservice.application.dto.BookQueryFilter;
+import com.library.bookservice.application.dto.BookSummary;
 import com.library.bookservice.domain.model.Book;
 import com.library.bookservice.domain.model.BookStatus;
 
@@ -37,6 +44,22 @@ public interface BookRepositoryPort {
      */
     Optional<Book> findByIsbn(String isbn);
 
+    /**
+     * Finds the Book entities with the given IDs, in no particular order
+     * 
+     * @param ids
+     * @return the books found, missing IDs are absent
+     */
+    List<Book> findAllByIds(Collection<Long> ids);
+
+    /**
+     * Finds the Book entities with the given ISBNs, in no particular order
+     * 
+     * @param isbns
+     * @return the books found, missing ISBNs are absent
+     */
+    List<Book> findAllByIsbns(Collection<String> isbns);
+
     /**
      * Finds all Book entities
      * 
@@ -67,6 +90,14 @@ public interface BookRepositoryPort {
      */
     List<Book> searchByKeyword(String keyword);
 
+    /**
+     * Finds Book entities in a category, ignoring case
+     * 
+     * @param categoryName
+     * @return
+     */
+    List<Book> findByCategoryName(String categoryName);
+
     /**
      * Deletes a Book entity from the repository
      * 
@@ -88,4 +119,75 @@ public interface BookRepositoryPort {
      * @return
      */
     long count();
-}
\ No newline at end of file
+
+    /**
+     * Finds summaries of all Book entities, without the heavy columns
+     * 
+     * @return
+     */
+    List<BookSummary> findAllSummaries();
+
+    /**
+     * Finds summaries of all available Book entities
+     * 
+     * @return
+     */
+    List<BookSummary> findAvailableSummaries();
+
+    /**
+     * Searches summaries of Book entities by a keyword
+     * 
+     * @param keyword
+     * @return
+     */
+    List<BookSummary> searchSummariesByKeyword(String keyword);
+
+    /**
+     * Finds summaries of Book entities in a category
+     * 
+     * @param categoryName
+     * @return
+     */
+    List<BookSummary> findSummariesByCategoryName(String categoryName);
+
+    /**
+     * Reads only the given columns of the Book entities matching the filter
+     * 
+     * @param columns
+     * @param filter
+     * @return one map per book, keyed by column
+     */
+    List<Map<BookColumn, Object>> findColumns(Set<BookColumn> columns, BookQueryFilter filter);
+
+    /**
+     * Streams the given columns of the Book entities matching the filter, in
+     * ID order, through a forward-only cursor. Must be consumed and closed
+     * inside a transaction
+     * 
+     * @param columns
+     * @param filter
+     * @return one map per book, keyed by column
+     */
+    Stream<Map<BookColumn, Object>> streamColumns(Set<BookColumn> columns, BookQueryFilter filter);
+
+    /**
+     * Streams the books with fewer available copies than the threshold and
+     * an ID above afterId, in ID order, through a forward-only cursor. Must
+     * be consumed and closed inside a transaction; books are detached once
+     * mapped, so memory stays flat however many rows match.
+     * 
+     * @param threshold
+     * @param afterId
+     * @return
+     */
+    Stream<Book> streamBooksNeedingReorder(int threshold, long afterId);
+
+    /**
+     * Counts the books streamBooksNeedingReorder would return
+     * 
+     * @param threshold
+     * @param afterId
+     * @return
+     */
+    long countBooksNeedingReorder(int threshold, long afterId);
+}
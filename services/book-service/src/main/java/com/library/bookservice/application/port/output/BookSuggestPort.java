@@ -0,0 +1,21 @@
+package com.library.bookservice.application.port.output;
+
+import java.util.List;
+
+import com.library.bookservice.application.dto.BookSuggestion;
+
+/**
+ * Output Port for the typeahead index over titles and author names
+ * Infrastructure layer will implement this
+ */
+public interface BookSuggestPort {
+
+    /**
+     * Finds the most popular titles and authors starting with a prefix
+     * 
+     * @param prefix
+     * @param limit
+     * @return at most limit suggestions, best first
+     */
+    List<BookSuggestion> suggest(String prefix, int limit);
+}
@@ -1,12 +1,23 @@
 package com.library.bookservice.application.usecase;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.library.bookservice.application.dto.BookBatchItem;
+import com.library.bookservice.application.dto.BookChangePage;
+import com.library.bookservice.application.dto.BookField;
+import com.library.bookservice.application.dto.BookQueryFilter;
 import com.library.bookservice.application.dto.BookResponse;
 import com.library.bookservice.application.dto.BookSearchQuery;
+import com.library.bookservice.application.dto.BookSearchResult;
+import com.library.bookservice.application.dto.BookSuggestion;
+import com.library.bookservice.application.dto.BookSummary;
 import com.library.bookservice.application.dto.CreateBookCommand;
 import com.library.bookservice.application.dto.ReserveBookCommand;
 import com.library.bookservice.application.dto.UpdateBookCommand;
@@ -27,7 +38,12 @@ public class BookServiceImpl implements BookService {
     private final DeleteBookUseCase deleteBookUseCase;
     private final GetBookByIdUseCase getBookByIdUseCase;
     private final GetAllBooksUseCase getAllBooksUseCase;
+    private final GetBooksBatchUseCase getBooksBatchUseCase;
+    private final GetBookChangesUseCase getBookChangesUseCase;
     private final ReserveBookUseCase reserveBookUseCase;
+    private final SuggestBooksUseCase suggestBooksUseCase;
+    private final SearchBooksWithFacetsUseCase searchBooksWithFacetsUseCase;
+    private final FuzzySearchBooksUseCase fuzzySearchBooksUseCase;
     private final BookRepositoryPort bookRepository;
 
     @Override
@@ -50,6 +66,16 @@ public class BookServiceImpl implements BookService {
         return getBookByIdUseCase.execute(id);
     }
 
+    @Override
+    public List<BookBatchItem> getBooksByIds(List<Long> ids) {
+        return getBooksBatchUseCase.execute(ids);
+    }
+
+    @Override
+    public List<BookBatchItem> getBooksByIsbns(List<String> isbns) {
+        return getBooksBatchUseCase.executeByIsbn(isbns);
+    }
+
     @Override
     public List<BookResponse> getAllBooks() {
         return getAllBooksUseCase.execute();
@@ -66,6 +92,21 @@ public class BookServiceImpl implements BookService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<BookResponse> fuzzySearchBooks(String keyword) {
+        return fuzzySearchBooksUseCase.execute(keyword);
+    }
+
+    @Override
+    public BookSearchResult searchBooksWithFacets(BookSearchQuery query) {
+        return searchBooksWithFacetsUseCase.execute(query);
+    }
+
+    @Override
+    public List<BookSuggestion> suggestBooks(String prefix, int limit) {
+        return suggestBooksUseCase.execute(prefix, limit);
+    }
+
     @Override
     public List<BookResponse> getAvailableBooks() {
         log.info("Getting available books");
@@ -81,22 +122,79 @@ public class BookServiceImpl implements BookService {
     public List<BookResponse> getBooksByCategory(String categoryName) {
         log.info("Getting books by category: {}", categoryName);
 
-        // For simplicity, using keyword search
-        // In real implementation, should have dedicated method
-        List<Book> books = bookRepository.searchByKeyword(categoryName);
+        List<Book> books = bookRepository.findByCategoryName(categoryName);
 
         return books.stream()
-                .filter(book -> book.getCategory().getName().equalsIgnoreCase(categoryName))
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> getAllBookSummaries() {
+        log.info("Getting all book summaries");
+
+        return bookRepository.findAllSummaries();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> searchBookSummaries(BookSearchQuery query) {
+        log.info("Searching book summaries with keyword: {}", query.getKeyword());
+
+        return bookRepository.searchSummariesByKeyword(query.getKeyword());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> getAvailableBookSummaries() {
+        log.info("Getting available book summaries");
+
+        return bookRepository.findAvailableSummaries();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookSummary> getBookSummariesByCategory(String categoryName) {
+        log.info("Getting book summaries by category: {}", categoryName);
+
+        return bookRepository.findSummariesByCategoryName(categoryName);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getBookFields(BookQueryFilter filter, Set<BookField> fields) {
+        log.info("Getting book fields {} with {}", fields, filter);
+
+        return bookRepository.findColumns(BookField.columnsOf(fields), filter).stream()
+                .map(row -> {
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    fields.forEach(field -> values.put(field.getName(), field.extract(row)));
+                    return values;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getBookFieldsById(Long id, Set<BookField> fields) {
+        return getBookFields(BookQueryFilter.byId(id), fields).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Book not found with ID: " + id));
+    }
+
+    @Override
+    public BookChangePage getBookChanges(long since, int limit) {
+        return getBookChangesUseCase.execute(since, limit);
+    }
+
     @Override
     public void reserveBook(ReserveBookCommand command) {
         reserveBookUseCase.execute(command);
     }
 
     @Override
+    @Transactional
     public void releaseBook(Long bookId) {
         log.info("Releasing book: {}", bookId);
 
@@ -108,6 +206,7 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @Transactional
     public BookResponse addCopies(Long bookId, int quantity) {
         log.info("Adding {} copies to book:  {}", quantity, bookId);
 
@@ -121,6 +220,7 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
+    @Transactional
     public BookResponse removeCopies(Long bookId, int quantity) {
         log.info("Removing {} copies from book: {}", quantity, bookId);
 
@@ -143,7 +243,7 @@ public class BookServiceImpl implements BookService {
                 .authorFirstName(book.getAuthorFirstName())
                 .authorLastName(book.getAuthorLastName())
                 .description(book.getDescription())
-                .categoryName(book.getCategory().getName())
+                .categoryName(book.getCategoryName())
                 .totalQuantity(book.getInventory().getTotalQuantity())
                 .availableQuantity(book.getInventory().getAvailableQuantity())
                 .borrowedQuantity(book.getInventory().getBorrowedQuantity())
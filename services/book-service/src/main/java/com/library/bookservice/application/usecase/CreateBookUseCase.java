@@ -121,7 +121,7 @@ public class CreateBookUseCase {
                 .authorFirstName(book.getAuthorFirstName())
                 .authorLastName(book.getAuthorLastName())
                 .description(book.getDescription())
-                .categoryName(book.getCategory().getName())
+                .categoryName(book.getCategoryName())
                 .totalQuantity(book.getInventory().getTotalQuantity())
                 .availableQuantity(book.getInventory().getAvailableQuantity())
                 .borrowedQuantity(book.getInventory().getBorrowedQuantity())
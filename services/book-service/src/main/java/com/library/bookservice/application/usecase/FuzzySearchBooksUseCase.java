@@ -0,0 +1,86 @@
+package com.library.bookservice.application.usecase;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.bookservice.application.dto.BookResponse;
+import com.library.bookservice.application.port.output.BookFuzzySearchPort;
+import com.library.bookservice.application.port.output.BookRepositoryPort;
+import com.library.bookservice.domain.model.Book;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Use Case: Typo tolerant search
+ * Candidates and ranking come from the in-memory fuzzy index; only the
+ * best matches are loaded, in ranking order
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FuzzySearchBooksUseCase {
+
+    public static final int MAX_RESULTS = 50;
+
+    private final BookFuzzySearchPort fuzzyIndex;
+    private final BookRepositoryPort bookRepository;
+
+    @Transactional(readOnly = true)
+    public List<BookResponse> execute(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new IllegalArgumentException("Keyword is required for fuzzy search");
+        }
+        log.info("Fuzzy searching books with keyword: {}", keyword);
+
+        List<Long> ids = fuzzyIndex.search(keyword, MAX_RESULTS);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // The index is updated after commit; skip books deleted in between
+        Map<Long, Book> books = bookRepository.findAllByIds(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Map Book entity to BookResponse DTO
+     * 
+     * @param book
+     * @return
+     */
+    private BookResponse mapToResponse(Book book) {
+        return BookResponse.builder()
+                .id(book.getId())
+                .isbn(book.getIsbn().getValue())
+                .formattedIsbn(book.getFormattedIsbn())
+                .title(book.getTitle())
+                .authorName(book.getAuthor().getName())
+                .authorFirstName(book.getAuthorFirstName())
+                .authorLastName(book.getAuthorLastName())
+                .description(book.getDescription())
+                .categoryName(book.getCategoryName())
+                .totalQuantity(book.getInventory().getTotalQuantity())
+                .availableQuantity(book.getInventory().getAvailableQuantity())
+                .borrowedQuantity(book.getInventory().getBorrowedQuantity())
+                .status(book.getStatus())
+                .coverImageUrl(book.getCoverImageUrl())
+                .availableForBorrowing(book.isAvailableForBorrowing())
+                .popular(book.isPopular())
+                .borrowRate(book.getInventory().getBorrowRate())
+                .createdAt(book.getCreatedAt())
+                .updatedAt(book.getUpdatedAt())
+                .build();
+    }
+}
@@ -52,7 +52,7 @@ public class GetAllBooksUseCase {
                 .authorFirstName(book.getAuthorFirstName())
                 .authorLastName(book.getAuthorLastName())
                 .description(book.getDescription())
-                .categoryName(book.getCategory().getName())
+                .categoryName(book.getCategoryName())
                 .totalQuantity(book.getInventory().getTotalQuantity())
                 .availableQuantity(book.getInventory().getAvailableQuantity())
                 .borrowedQuantity(book.getInventory().getBorrowedQuantity())
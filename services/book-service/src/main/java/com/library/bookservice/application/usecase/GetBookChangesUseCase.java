@@ -0,0 +1,113 @@
+package com.library.bookservice.application.usecase;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.bookservice.application.dto.BookChange;
+import com.library.bookservice.application.dto.BookChangePage;
+import com.library.bookservice.application.dto.BookChangeType;
+import com.library.bookservice.application.dto.BookResponse;
+import com.library.bookservice.application.port.output.BookChangeLogPort;
+import com.library.bookservice.application.port.output.BookRepositoryPort;
+import com.library.bookservice.domain.model.Book;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Use Case: Read the book change feed
+ * Returns the changes after a cursor in sequence order. UPSERT entries carry
+ * the current state of the book, loaded in one batch per page; DELETE
+ * entries are tombstones. A consumer stores nextCursor and asks again from
+ * there, so keeping a copy in sync costs work proportional to the changes
+ * rather than to the catalog.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetBookChangesUseCase {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private final BookChangeLogPort changeLog;
+    private final BookRepositoryPort bookRepository;
+
+    @Transactional(readOnly = true)
+    public BookChangePage execute(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("Cursor must not be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        log.info("Getting book changes since {} (limit {})", since, limit);
+
+        // Fetch one extra entry to know whether another page follows
+        List<BookChange> changes = changeLog.findSince(since, limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        List<Long> upserted = changes.stream()
+                .filter(change -> change.getType() == BookChangeType.UPSERT)
+                .map(BookChange::getBookId)
+                .distinct()
+                .collect(Collectors.toList());
+        if (!upserted.isEmpty()) {
+            Map<Long, BookResponse> current = bookRepository.findAllByIds(upserted).stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toMap(BookResponse::getId, Function.identity()));
+            // A book deleted since then has no state; its tombstone comes later in the feed
+            changes.forEach(change -> {
+                if (change.getType() == BookChangeType.UPSERT) {
+                    change.setBook(current.get(change.getBookId()));
+                }
+            });
+        }
+
+        long nextCursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+
+        return BookChangePage.builder()
+                .changes(changes)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Map Book entity to BookResponse DTO
+     * 
+     * @param book
+     * @return
+     */
+    private BookResponse mapToResponse(Book book) {
+        return BookResponse.builder()
+                .id(book.getId())
+                .isbn(book.getIsbn().getValue())
+                .formattedIsbn(book.getFormattedIsbn())
+                .title(book.getTitle())
+                .authorName(book.getAuthor().getName())
+                .authorFirstName(book.getAuthorFirstName())
+                .authorLastName(book.getAuthorLastName())
+                .description(book.getDescription())
+                .categoryName(book.getCategoryName())
+                .totalQuantity(book.getInventory().getTotalQuantity())
+                .availableQuantity(book.getInventory().getAvailableQuantity())
+                .borrowedQuantity(book.getInventory().getBorrowedQuantity())
+                .status(book.getStatus())
+                .coverImageUrl(book.getCoverImageUrl())
+                .availableForBorrowing(book.isAvailableForBorrowing())
+                .popular(book.isPopular())
+                .borrowRate(book.getInventory().getBorrowRate())
+                .createdAt(book.getCreatedAt())
+                .updatedAt(book.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.library.bookservice.application.usecase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.bookservice.application.dto.BookBatchItem;
+import com.library.bookservice.application.dto.BookResponse;
+import com.library.bookservice.application.port.output.BookCachePort;
+import com.library.bookservice.application.port.output.BookRepositoryPort;
+import com.library.bookservice.domain.model.Book;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Use Case: Get many books in one call
+ * Cached books are served from the cache, by ID or ISBN, only misses are
+ * read from the database. Results follow the requested order and keys
+ * without a book are reported as not found instead of failing the whole
+ * call.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetBooksBatchUseCase {
+
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private final BookRepositoryPort bookRepository;
+    private final BookCachePort bookCache;
+
+    @Transactional(readOnly = true)
+    public List<BookBatchItem> execute(List<Long> ids) {
+        validateSize(ids.size());
+        log.info("Getting {} books by ID", ids.size());
+
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        long generation = bookCache.generation();
+        Map<Long, BookResponse> found = new HashMap<>(bookCache.getAll(distinct));
+
+        List<Long> misses = distinct.stream()
+                .filter(id -> !found.containsKey(id))
+                .collect(Collectors.toList());
+        if (!misses.isEmpty()) {
+            List<BookResponse> loaded = bookRepository.findAllByIds(misses).stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+            bookCache.putAll(loaded, generation);
+            loaded.forEach(book -> found.put(book.getId(), book));
+        }
+
+        log.info("Batch by ID: {} requested, {} cached, {} loaded", distinct.size(),
+                distinct.size() - misses.size(), found.size() - (distinct.size() - misses.size()));
+
+        List<BookBatchItem> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            BookResponse book = found.get(id);
+            items.add(BookBatchItem.builder()
+                    .id(id)
+                    .found(book != null)
+                    .book(book)
+                    .build());
+        }
+        return items;
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookBatchItem> executeByIsbn(List<String> isbns) {
+        validateSize(isbns.size());
+        log.info("Getting {} books by ISBN", isbns.size());
+
+        Set<String> normalized = isbns.stream()
+                .map(GetBooksBatchUseCase::normalizeIsbn)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        long generation = bookCache.generation();
+        Map<String, BookResponse> found = new HashMap<>(bookCache.getAllByIsbn(normalized));
+
+        List<String> misses = normalized.stream()
+                .filter(isbn -> !found.containsKey(isbn))
+                .collect(Collectors.toList());
+        if (!misses.isEmpty()) {
+            List<BookResponse> loaded = bookRepository.findAllByIsbns(misses).stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toList());
+            bookCache.putAll(loaded, generation);
+            loaded.forEach(book -> found.put(book.getIsbn(), book));
+        }
+
+        log.info("Batch by ISBN: {} requested, {} cached, {} loaded", normalized.size(),
+                normalized.size() - misses.size(), found.size() - (normalized.size() - misses.size()));
+
+        List<BookBatchItem> items = new ArrayList<>(isbns.size());
+        for (String isbn : isbns) {
+            BookResponse book = found.get(normalizeIsbn(isbn));
+            items.add(BookBatchItem.builder()
+                    .isbn(isbn)
+                    .found(book != null)
+                    .book(book)
+                    .build());
+        }
+        return items;
+    }
+
+    /**
+     * Same cleaning as the ISBN value object, without rejecting malformed
+     * values: those simply are not found
+     */
+    private static String normalizeIsbn(String isbn) {
+        return isbn == null ? "" : isbn.replace("-", "").replace(" ", "");
+    }
+
+    private void validateSize(int size) {
+        if (size == 0) {
+            throw new IllegalArgumentException("At least one key must be given");
+        }
+        if (size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " books can be requested at once");
+        }
+    }
+
+    /**
+     * Map Book entity to BookResponse DTO
+     * 
+     * @param book
+     * @return
+     */
+    private BookResponse mapToResponse(Book book) {
+        return BookResponse.builder()
+                .id(book.getId())
+                .isbn(book.getIsbn().getValue())
+                .formattedIsbn(book.getFormattedIsbn())
+                .title(book.getTitle())
+                .authorName(book.getAuthor().getName())
+                .authorFirstName(book.getAuthorFirstName())
+                .authorLastName(book.getAuthorLastName())
+                .description(book.getDescription())
+                .categoryName(book.getCategoryName())
+                .totalQuantity(book.getInventory().getTotalQuantity())
+                .availableQuantity(book.getInventory().getAvailableQuantity())
+                .borrowedQuantity(book.getInventory().getBorrowedQuantity())
+                .status(book.getStatus())
+                .coverImageUrl(book.getCoverImageUrl())
+                .availableForBorrowing(book.isAvailableForBorrowing())
+                .popular(book.isPopular())
+                .borrowRate(book.getInventory().getBorrowRate())
+                .createdAt(book.getCreatedAt())
+                .updatedAt(book.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.library.bookservice.application.usecase;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.bookservice.application.dto.BookColumn;
+import com.library.bookservice.application.dto.BookFacetResult;
+import com.library.bookservice.application.dto.BookQueryFilter;
+import com.library.bookservice.application.dto.BookResponse;
+import com.library.bookservice.application.dto.BookSearchQuery;
+import com.library.bookservice.application.dto.BookSearchResult;
+import com.library.bookservice.application.port.output.BookFacetPort;
+import com.library.bookservice.application.port.output.BookRepositoryPort;
+import com.library.bookservice.domain.model.Book;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Use Case: Search books with filters and facet counts
+ * The keyword, if any, is resolved to matching IDs with one narrow query;
+ * filtering, counting and paging then happen on the in-memory facet
+ * bitmaps, and only the books of the requested page are loaded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchBooksWithFacetsUseCase {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private final BookRepositoryPort bookRepository;
+    private final BookFacetPort facetIndex;
+
+    @Transactional(readOnly = true)
+    public BookSearchResult execute(BookSearchQuery query) {
+        if (query.getPage() < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (query.getSize() == 0) {
+            query.setSize(DEFAULT_SIZE);
+        }
+        if (query.getSize() < 1 || query.getSize() > MAX_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SIZE);
+        }
+        log.info("Searching books with facets: {}", query);
+
+        List<Long> candidates = null;
+        if (query.getKeyword() != null && !query.getKeyword().isBlank()) {
+            candidates = bookRepository.findColumns(EnumSet.of(BookColumn.ID),
+                    BookQueryFilter.byKeyword(query.getKeyword().trim())).stream()
+                    .map(row -> (Long) row.get(BookColumn.ID))
+                    .collect(Collectors.toList());
+        }
+
+        BookFacetResult result = facetIndex.query(candidates, query);
+
+        // The index is updated after commit; skip books deleted in between
+        Map<Long, Book> books = bookRepository.findAllByIds(result.getBookIds()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<BookResponse> page = result.getBookIds().stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+
+        return BookSearchResult.builder()
+                .books(page)
+                .total(result.getTotal())
+                .page(query.getPage())
+                .size(query.getSize())
+                .facets(result.getFacets())
+                .build();
+    }
+
+    /**
+     * Map Book entity to BookResponse DTO
+     * 
+     * @param book
+     * @return
+     */
+    private BookResponse mapToResponse(Book book) {
+        return BookResponse.builder()
+                .id(book.getId())
+                .isbn(book.getIsbn().getValue())
+                .formattedIsbn(book.getFormattedIsbn())
+                .title(book.getTitle())
+                .authorName(book.getAuthor().getName())
+                .authorFirstName(book.getAuthorFirstName())
+                .authorLastName(book.getAuthorLastName())
+                .description(book.getDescription())
+                .categoryName(book.getCategoryName())
+                .totalQuantity(book.getInventory().getTotalQuantity())
+                .availableQuantity(book.getInventory().getAvailableQuantity())
+                .borrowedQuantity(book.getInventory().getBorrowedQuantity())
+                .status(book.getStatus())
+                .coverImageUrl(book.getCoverImageUrl())
+                .availableForBorrowing(book.isAvailableForBorrowing())
+                .popular(book.isPopular())
+                .borrowRate(book.getInventory().getBorrowRate())
+                .createdAt(book.getCreatedAt())
+                .updatedAt(book.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.library.bookservice.application.usecase;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.library.bookservice.application.dto.BookSuggestion;
+import com.library.bookservice.application.port.output.BookSuggestPort;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Use Case: Typeahead suggestions
+ * Served from the in-memory prefix index, without touching the database, so
+ * it can be called on every keystroke
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestBooksUseCase {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+    public static final int MAX_PREFIX_LENGTH = 100;
+
+    private final BookSuggestPort suggestIndex;
+
+    public List<BookSuggestion> execute(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        if (prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("Prefix cannot exceed " + MAX_PREFIX_LENGTH + " characters");
+        }
+        log.debug("Suggesting books for prefix: {}", prefix);
+
+        return suggestIndex.suggest(prefix, limit);
+    }
+}
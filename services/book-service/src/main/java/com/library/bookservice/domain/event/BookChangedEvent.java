@@ -0,0 +1,53 @@
+package com.library.bookservice.domain.event;
+
+import java.time.LocalDateTime;
+
+import com.library.bookservice.domain.model.Book;
+import com.library.common.event.DomainEvent;
+import com.library.common.util.TimeOrderedIdGenerator;
+
+import lombok.Getter;
+
+/**
+ * A book's committed state, for the local read models (caches and search
+ * indexes) to project
+ *
+ * Published for this instance's own writes and for every change read from
+ * the change feed, so a model may see the same state more than once.
+ */
+@Getter
+public class BookChangedEvent implements DomainEvent {
+
+    private final String eventId;
+    private final String eventType;
+    private final LocalDateTime occurredOn;
+    private final Long bookId;
+
+    /** Current state, null when the book was deleted */
+    private final Book book;
+
+    private BookChangedEvent(String eventType, Long bookId, Book book) {
+        this.eventId = TimeOrderedIdGenerator.nextString();
+        this.eventType = eventType;
+        this.occurredOn = LocalDateTime.now();
+        this.bookId = bookId;
+        this.book = book;
+    }
+
+    public static BookChangedEvent saved(Book book) {
+        return new BookChangedEvent("BOOK_SAVED", book.getId(), book);
+    }
+
+    public static BookChangedEvent deleted(Long bookId) {
+        return new BookChangedEvent("BOOK_DELETED", bookId, null);
+    }
+
+    public boolean isDeleted() {
+        return book == null;
+    }
+
+    @Override
+    public String getAggregateId() {
+        return bookId != null ? bookId.toString() : null;
+    }
+}
@@ -3,6 +3,9 @@ package com.library.bookservice.domain.event;
 import java.time.LocalDateTime;
 import java.util.Map;
 
+import com.library.common.event.DomainEvent;
+import com.library.common.util.TimeOrderedIdGenerator;
+
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,7 +17,7 @@ import lombok.Setter;
 @Builder
 @Getter
 @Setter
-public class BookEvent {
+public class BookEvent implements DomainEvent {
     private String eventId;
     private String eventType;
     private LocalDateTime occurredOn;
@@ -23,6 +26,11 @@ public class BookEvent {
     private String title;
     private Map<String, Object> metadata;
 
+    @Override
+    public String getAggregateId() {
+        return bookId != null ? bookId.toString() : null;
+    }
+
     /**
      * Factory method to create a Book Created event
      * 
@@ -36,7 +44,7 @@ public class BookEvent {
             String isbn,
             String title) {
         return BookEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(TimeOrderedIdGenerator.nextString())
                 .eventType("BOOK_CREATED")
                 .occurredOn(LocalDateTime.now())
                 .bookId(bookId)
@@ -58,7 +66,7 @@ public class BookEvent {
             String isbn,
             String title) {
         return BookEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(TimeOrderedIdGenerator.nextString())
                 .eventType("BOOK_UPDATED")
                 .occurredOn(LocalDateTime.now())
                 .bookId(bookId)
@@ -78,7 +86,7 @@ public class BookEvent {
             Long bookId,
             String isbn) {
         return BookEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(TimeOrderedIdGenerator.nextString())
                 .eventType("BOOK_DELETED")
                 .occurredOn(LocalDateTime.now())
                 .bookId(bookId)
@@ -101,7 +109,7 @@ public class BookEvent {
             String title,
             Long userId) {
         return BookEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(TimeOrderedIdGenerator.nextString())
                 .eventType("BOOK_RESERVED")
                 .occurredOn(LocalDateTime.now())
                 .bookId(bookId)
@@ -116,7 +124,7 @@ public class BookEvent {
             String isbn,
             String title) {
         return BookEvent.builder()
-                .eventId(java.util.UUID.randomUUID().toString())
+                .eventId(TimeOrderedIdGenerator.nextString())
                 .eventType("BOOK_RETURNED")
                 .occurredOn(LocalDateTime.now())
                 .bookId(bookId)
@@ -376,6 +376,15 @@ public class Book {
         return this.author.getLastName();
     }
 
+    /**
+     * Get category name, null when the book has no category
+     * 
+     * @return Category name
+     */
+    public String getCategoryName() {
+        return this.category == null ? null : this.category.getName();
+    }
+
     /**
      * Set the ID of the category (used by ORM)
      * 
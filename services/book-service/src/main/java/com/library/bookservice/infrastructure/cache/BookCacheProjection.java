@@ -0,0 +1,30 @@
+package com.library.bookservice.infrastructure.cache;
+
+import org.springframework.stereotype.Component;
+
+import com.library.bookservice.application.port.output.BookCachePort;
+import com.library.bookservice.domain.event.BookChangedEvent;
+import com.library.common.event.bus.EventBus;
+import com.library.common.event.bus.EventSubscriber;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Invalidates the book and response caches for every committed book change,
+ * whether made by this instance or read from the change feed
+ */
+@Component
+@RequiredArgsConstructor
+public class BookCacheProjection implements EventSubscriber {
+
+    private final BookCachePort bookCache;
+    private final CompressedResponseCache responseCache;
+
+    @Override
+    public void subscribe(EventBus.Builder bus) {
+        bus.on(BookChangedEvent.class, "book-cache", event -> {
+            bookCache.evict(event.getBookId());
+            responseCache.invalidateAll();
+        });
+    }
+}
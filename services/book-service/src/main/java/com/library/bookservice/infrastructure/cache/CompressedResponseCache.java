@@ -0,0 +1,146 @@
+package com.library.bookservice.infrastructure.cache;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.library.bookservice.infrastructure.config.CompressionProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Encoded bodies of cacheable GET responses, so that hot list and search
+ * pages are serialized and compressed once rather than per request
+ *
+ * Bounded LRU with a TTL, by entries and bytes. Book writes clear it once
+ * committed (BookCacheProjection, also for writes followed from the change
+ * feed), category writes both before and after commit; a response is only
+ * stored if no clear happened since its request started, so a page read
+ * before a commit cannot be put back afterwards.
+ */
+@Component
+@Slf4j
+public class CompressedResponseCache {
+
+    private final CompressionProperties.Cache properties;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private long bytes;
+
+    public CompressedResponseCache(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getCache();
+        Gauge.builder("http.compression.cache.bytes", this, CompressedResponseCache::bytes)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Write counter to pass back to {@link #put}, read before the response
+     * is produced
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public Entry get(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now >= entry.expiresAt()) {
+                remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Store a response unless the catalog changed since {@code generation}
+     */
+    public void put(String key, String contentType, String contentEncoding, List<Header> headers, byte[] body,
+            long generation) {
+        if (body.length > properties.getMaxEntrySize().toBytes()) {
+            return;
+        }
+        Entry entry = new Entry(contentType, contentEncoding, List.copyOf(headers), body,
+                System.currentTimeMillis() + properties.getTtl().toMillis());
+
+        synchronized (entries) {
+            if (this.generation.get() != generation) {
+                return;
+            }
+            remove(key);
+            entries.put(key, entry);
+            bytes += entry.size();
+
+            var eldest = entries.entrySet().iterator();
+            while ((entries.size() > properties.getMaxEntries() || bytes > properties.getMaxBytes().toBytes())
+                    && eldest.hasNext()) {
+                Entry evicted = eldest.next().getValue();
+                eldest.remove();
+                bytes -= evicted.size();
+            }
+        }
+    }
+
+    /**
+     * Drop every entry, and again after the current transaction if any
+     */
+    public void invalidateAll() {
+        clear();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+            bytes = 0;
+        }
+        log.debug("Cleared compressed response cache");
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.size();
+        }
+    }
+
+    private long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    public record Header(String name, String value) {
+    }
+
+    /**
+     * @param contentEncoding coding of the body, null when stored as it is
+     */
+    public record Entry(String contentType, String contentEncoding, List<Header> headers, byte[] body,
+            long expiresAt) {
+
+        long size() {
+            long size = body.length + 64L;
+            for (Header header : headers) {
+                size += header.name().length() + header.value().length();
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.library.bookservice.infrastructure.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.library.bookservice.application.dto.BookResponse;
+import com.library.bookservice.application.port.output.BookCachePort;
+import com.library.bookservice.infrastructure.config.BookCacheProperties;
+import com.library.bookservice.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded in-memory implementation of BookCachePort
+ * LRU with a TTL, keyed by ID with a secondary ISBN lookup
+ *
+ * Books are only stored if nothing was evicted since their read started,
+ * as in CompressedResponseCache, so a read racing a commit cannot put the
+ * pre-commit state back. Books read from a replica are not stored at all:
+ * the replica may not have applied a write whose eviction already happened.
+ */
+@Component
+@Slf4j
+public class InMemoryBookCache implements BookCachePort {
+
+    private final BookCacheProperties properties;
+    private final LinkedHashMap<Long, Entry> entries;
+    private final Map<String, Long> idsByIsbn = new HashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public InMemoryBookCache(BookCacheProperties properties) {
+        this.properties = properties;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() <= properties.getMaxEntries()) {
+                    return false;
+                }
+                idsByIsbn.remove(eldest.getValue().book().getIsbn(), eldest.getKey());
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public Map<Long, BookResponse> getAll(Collection<Long> ids) {
+        long now = System.currentTimeMillis();
+        Map<Long, BookResponse> hits = new HashMap<>();
+        synchronized (entries) {
+            for (Long id : ids) {
+                BookResponse book = get(id, now);
+                if (book != null) {
+                    hits.put(id, book);
+                }
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public Map<String, BookResponse> getAllByIsbn(Collection<String> isbns) {
+        long now = System.currentTimeMillis();
+        Map<String, BookResponse> hits = new HashMap<>();
+        synchronized (entries) {
+            for (String isbn : isbns) {
+                Long id = idsByIsbn.get(isbn);
+                BookResponse book = id == null ? null : get(id, now);
+                if (book != null) {
+                    hits.put(isbn, book);
+                }
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public long generation() {
+        return generation.get();
+    }
+
+    @Override
+    public void putAll(Collection<BookResponse> books, long generation) {
+        if (books.isEmpty()) {
+            return;
+        }
+        if (ReadWriteRoutingDataSource.isReadingFromReplica()) {
+            log.debug("Not caching {} books read from a replica", books.size());
+            return;
+        }
+
+        long expiresAt = System.currentTimeMillis() + properties.getTtl().toMillis();
+        synchronized (entries) {
+            if (this.generation.get() != generation) {
+                return;
+            }
+            for (BookResponse book : books) {
+                Entry previous = entries.put(book.getId(), new Entry(book, expiresAt));
+                if (previous != null) {
+                    idsByIsbn.remove(previous.book().getIsbn(), book.getId());
+                }
+                idsByIsbn.put(book.getIsbn(), book.getId());
+            }
+        }
+    }
+
+    @Override
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        remove(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(id);
+                }
+            });
+        }
+    }
+
+    private BookResponse get(Long id, long now) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (now >= entry.expiresAt()) {
+            removeEntry(id);
+            return null;
+        }
+        return entry.book();
+    }
+
+    private void remove(Long id) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            removeEntry(id);
+        }
+        log.debug("Evicted book {} from cache", id);
+    }
+
+    private void removeEntry(Long id) {
+        Entry removed = entries.remove(id);
+        if (removed != null) {
+            idsByIsbn.remove(removed.book().getIsbn(), id);
+        }
+    }
+
+    private record Entry(BookResponse book, long expiresAt) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.library.bookservice.infrastructure.compression;
+
+import java.io.IOException;
+
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+/**
+ * Brotli through brotli4j
+ *
+ * brotli4j only exposes one-shot encoding with a native state per call,
+ * so there is nothing to pool; the text mode suits JSON.
+ */
+final class BrotliResponseEncoder implements ResponseEncoder {
+
+    @Override
+    public ContentCoding coding() {
+        return ContentCoding.BROTLI;
+    }
+
+    @Override
+    public byte[] encode(byte[] body, int level) throws IOException {
+        Encoder.Parameters parameters = new Encoder.Parameters()
+                .setQuality(level)
+                .setMode(Encoder.Mode.TEXT);
+        return Encoder.compress(body, parameters);
+    }
+
+    @Override
+    public void close() {
+        // No pooled state
+    }
+}
@@ -0,0 +1,39 @@
+package com.library.bookservice.infrastructure.compression;
+
+import java.util.Optional;
+
+/**
+ * HTTP content codings the service can produce
+ */
+public enum ContentCoding {
+
+    GZIP("gzip"),
+    BROTLI("br"),
+    ZSTD("zstd");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Value of the Content-Encoding header
+     */
+    public String token() {
+        return token;
+    }
+
+    public static Optional<ContentCoding> fromToken(String token) {
+        for (ContentCoding coding : values()) {
+            if (coding.token.equalsIgnoreCase(token)) {
+                return Optional.of(coding);
+            }
+        }
+        // Legacy alias from RFC 9110
+        if ("x-gzip".equalsIgnoreCase(token)) {
+            return Optional.of(GZIP);
+        }
+        return Optional.empty();
+    }
+}
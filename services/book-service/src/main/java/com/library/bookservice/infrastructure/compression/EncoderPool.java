@@ -0,0 +1,58 @@
+package com.library.bookservice.infrastructure.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable native encoders
+ *
+ * Creating a Deflater or zstd context allocates native memory and the
+ * compression tables, which costs more than compressing a small body. A
+ * borrow never waits: when the pool is empty a new encoder is created, and
+ * one returned to a full pool is closed, so the pool only bounds how many
+ * idle encoders are kept.
+ */
+final class EncoderPool<T> {
+
+    private final BlockingQueue<T> idle;
+    private final Supplier<T> factory;
+    private final Consumer<T> reset;
+    private final Consumer<T> closer;
+
+    EncoderPool(int size, Supplier<T> factory, Consumer<T> reset, Consumer<T> closer) {
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, size));
+        this.factory = factory;
+        this.reset = reset;
+        this.closer = closer;
+    }
+
+    T borrow() {
+        T encoder = idle.poll();
+        return encoder != null ? encoder : factory.get();
+    }
+
+    /**
+     * Return an encoder after use; it is closed instead if resetting it
+     * fails or the pool is full
+     */
+    void release(T encoder) {
+        try {
+            reset.accept(encoder);
+        } catch (RuntimeException e) {
+            closer.accept(encoder);
+            return;
+        }
+        if (!idle.offer(encoder)) {
+            closer.accept(encoder);
+        }
+    }
+
+    void close() {
+        T encoder;
+        while ((encoder = idle.poll()) != null) {
+            closer.accept(encoder);
+        }
+    }
+}
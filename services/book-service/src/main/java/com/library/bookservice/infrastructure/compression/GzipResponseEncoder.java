@@ -0,0 +1,76 @@
+package com.library.bookservice.infrastructure.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * gzip with pooled Deflaters
+ *
+ * GZIPOutputStream creates and frees a Deflater per stream, so the gzip
+ * header and trailer (RFC 1952) are written here around a raw deflate
+ * stream instead.
+ */
+final class GzipResponseEncoder implements ResponseEncoder {
+
+    private static final byte[] HEADER = {
+            0x1f, (byte) 0x8b, // magic
+            Deflater.DEFLATED, // method
+            0, // flags
+            0, 0, 0, 0, // mtime
+            0, // extra flags
+            (byte) 0xff // OS unknown
+    };
+
+    private final EncoderPool<Deflater> pool;
+
+    GzipResponseEncoder(int poolSize) {
+        this.pool = new EncoderPool<>(poolSize,
+                () -> new Deflater(Deflater.DEFAULT_COMPRESSION, true),
+                Deflater::reset,
+                Deflater::end);
+    }
+
+    @Override
+    public ContentCoding coding() {
+        return ContentCoding.GZIP;
+    }
+
+    @Override
+    public byte[] encode(byte[] body, int level) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        out.writeBytes(HEADER);
+
+        Deflater deflater = pool.borrow();
+        try {
+            deflater.setLevel(level);
+            deflater.setInput(body);
+            deflater.finish();
+            byte[] buffer = new byte[Math.min(64 * 1024, Math.max(512, body.length))];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+        } finally {
+            pool.release(deflater);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        writeIntLe(out, (int) crc.getValue());
+        writeIntLe(out, body.length);
+        return out.toByteArray();
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private static void writeIntLe(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+}
@@ -0,0 +1,19 @@
+package com.library.bookservice.infrastructure.compression;
+
+import java.io.IOException;
+
+/**
+ * Encodes a whole response body in one content coding
+ */
+public interface ResponseEncoder extends AutoCloseable {
+
+    ContentCoding coding();
+
+    byte[] encode(byte[] body, int level) throws IOException;
+
+    /**
+     * Release pooled native encoders
+     */
+    @Override
+    void close();
+}
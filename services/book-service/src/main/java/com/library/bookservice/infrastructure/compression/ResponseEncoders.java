@@ -0,0 +1,131 @@
+package com.library.bookservice.infrastructure.compression;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.github.luben.zstd.util.Native;
+import com.library.bookservice.infrastructure.config.CompressionProperties;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Encoders for the configured codings and Accept-Encoding negotiation
+ *
+ * Brotli and zstd are JNI libraries; when their native part cannot be
+ * loaded on this platform (or in a native image) the coding is dropped
+ * and clients fall back to gzip.
+ */
+@Component
+@Slf4j
+public class ResponseEncoders {
+
+    private final CompressionProperties properties;
+    private final List<ResponseEncoder> preferred = new ArrayList<>();
+
+    public ResponseEncoders(CompressionProperties properties) {
+        this.properties = properties;
+        int poolSize = properties.getPoolSize() > 0
+                ? properties.getPoolSize()
+                : Runtime.getRuntime().availableProcessors();
+
+        for (String token : properties.getEncodings()) {
+            Optional<ContentCoding> coding = ContentCoding.fromToken(token.trim());
+            if (coding.isEmpty()) {
+                throw new IllegalArgumentException("Unsupported compression.encodings entry: " + token);
+            }
+            create(coding.get(), poolSize).ifPresent(preferred::add);
+        }
+        log.info("Response compression codings: {}", preferred.stream().map(e -> e.coding().token()).toList());
+    }
+
+    /**
+     * Best encoder for an Accept-Encoding header: the highest weight wins,
+     * ties go to the configured preference order. Empty when the client
+     * accepts none of them (or sent no header).
+     */
+    public Optional<ResponseEncoder> negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank() || preferred.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<ContentCoding, Double> weights = new EnumMap<>(ContentCoding.class);
+        Double wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String name = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double q = weight(tokens);
+            if ("*".equals(name)) {
+                wildcard = q;
+            } else {
+                ContentCoding.fromToken(name).ifPresent(coding -> weights.merge(coding, q, Math::max));
+            }
+        }
+
+        ResponseEncoder best = null;
+        double bestWeight = 0;
+        for (ResponseEncoder encoder : preferred) {
+            Double q = weights.getOrDefault(encoder.coding(), wildcard);
+            if (q != null && q > bestWeight) {
+                best = encoder;
+                bestWeight = q;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public int level(ContentCoding coding, boolean cached) {
+        CompressionProperties.Codec codec = switch (coding) {
+            case GZIP -> properties.getGzip();
+            case BROTLI -> properties.getBrotli();
+            case ZSTD -> properties.getZstd();
+        };
+        return cached ? codec.getCacheLevel() : codec.getLevel();
+    }
+
+    @PreDestroy
+    public void close() {
+        preferred.forEach(ResponseEncoder::close);
+    }
+
+    private static double weight(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    // An unreadable weight does not make the coding acceptable
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static Optional<ResponseEncoder> create(ContentCoding coding, int poolSize) {
+        try {
+            return Optional.of(switch (coding) {
+                case GZIP -> new GzipResponseEncoder(poolSize);
+                case BROTLI -> {
+                    Brotli4jLoader.ensureAvailability();
+                    yield new BrotliResponseEncoder();
+                }
+                case ZSTD -> {
+                    Native.load();
+                    yield new ZstdResponseEncoder(poolSize);
+                }
+            });
+        } catch (LinkageError | RuntimeException e) {
+            log.warn("Compression coding {} not available on this platform: {}", coding.token(), e.toString());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.library.bookservice.infrastructure.compression;
+
+import com.github.luben.zstd.ZstdCompressCtx;
+
+/**
+ * zstd with pooled compression contexts
+ */
+final class ZstdResponseEncoder implements ResponseEncoder {
+
+    private final EncoderPool<ZstdCompressCtx> pool;
+
+    ZstdResponseEncoder(int poolSize) {
+        this.pool = new EncoderPool<>(poolSize,
+                ZstdCompressCtx::new,
+                ctx -> { },
+                ZstdCompressCtx::close);
+    }
+
+    @Override
+    public ContentCoding coding() {
+        return ContentCoding.ZSTD;
+    }
+
+    @Override
+    public byte[] encode(byte[] body, int level) {
+        ZstdCompressCtx ctx = pool.borrow();
+        try {
+            // Content size in the frame header lets the client allocate once
+            ctx.setLevel(level);
+            ctx.setContentSize(true);
+            return ctx.compress(body);
+        } finally {
+            pool.release(ctx);
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+}
@@ -0,0 +1,26 @@
+package com.library.bookservice.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Book read cache and batch lookup configuration
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "book.cache")
+public class BookCacheProperties {
+
+    private int maxEntries = 10_000;
+
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * Maximum number of values in one IN (...) query
+     */
+    private int batchChunkSize = 100;
+}
@@ -0,0 +1,28 @@
+package com.library.bookservice.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Book change feed configuration
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "book.changes")
+public class BookChangeFeedProperties {
+
+    /**
+     * How long changes are kept; consumers whose cursor falls further behind
+     * must reload the catalog. Keep it above the snapshot export interval.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Most rows deleted per statement when purging old changes
+     */
+    private int purgeBatchSize = 10_000;
+}
@@ -0,0 +1,20 @@
+package com.library.bookservice.infrastructure.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.library.common.rpc.RpcDispatcher;
+import com.library.common.rpc.book.BookRpcServer;
+import com.library.common.rpc.book.BookRpcService;
+
+/**
+ * Internal binary RPC: the book methods served under /internal/rpc
+ */
+@Configuration
+public class BookRpcConfig {
+
+    @Bean
+    public RpcDispatcher rpcDispatcher(BookRpcService bookRpcService) {
+        return BookRpcServer.register(new RpcDispatcher(), bookRpcService);
+    }
+}
@@ -0,0 +1,32 @@
+package com.library.bookservice.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Internal binary RPC configuration
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "book.rpc")
+public class BookRpcProperties {
+
+    /**
+     * Deadline of calls that do not send an Rpc-Timeout header
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Upper bound for the deadline a caller may ask for
+     */
+    private Duration maxTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Books read and sent per chunk of a streaming batch lookup
+     */
+    private int streamChunkSize = 100;
+}
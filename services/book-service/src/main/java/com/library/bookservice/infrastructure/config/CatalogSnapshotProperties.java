@@ -0,0 +1,36 @@
+package com.library.bookservice.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Catalog snapshot configuration
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "book.snapshot")
+public class CatalogSnapshotProperties {
+
+    /**
+     * Snapshot file
+     */
+    private String file = "snapshots/catalog.bks";
+
+    /**
+     * Cron expression of scheduled exports; "-" disables them
+     */
+    private String exportCron = "-";
+
+    /**
+     * Load the search indexes from the snapshot at startup, when there is one
+     */
+    private boolean loadOnStartup = true;
+
+    /**
+     * Changes since the snapshot that startup replays from the database;
+     * with more, the indexes are loaded from the database instead
+     */
+    private int maxCatchUp = 10_000;
+}
@@ -0,0 +1,127 @@
+package com.library.bookservice.infrastructure.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Response compression and precompressed response cache configuration
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "compression")
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Smaller bodies are sent as they are
+     */
+    private DataSize minSize = DataSize.ofKilobytes(1);
+
+    /**
+     * Server preference between codings the client accepts with the same
+     * weight; codings whose native library cannot load are left out
+     */
+    private List<String> encodings = new ArrayList<>(List.of("br", "zstd", "gzip"));
+
+    /**
+     * Response content types that are compressed (parameters are ignored)
+     */
+    private List<String> mimeTypes = new ArrayList<>(List.of(
+            "application/json",
+            "application/problem+json",
+            "application/javascript",
+            "text/html",
+            "text/plain",
+            "text/css"));
+
+    /**
+     * Request paths (Ant patterns) whose responses are buffered and compressed
+     */
+    private List<String> paths = new ArrayList<>(List.of("/api/**", "/v3/api-docs/**"));
+
+    /**
+     * File downloads and streamed responses, never buffered
+     */
+    private List<String> excludePaths = new ArrayList<>(List.of(
+            "/api/v1/books/reorder-reports/*/file",
+            "/api/v1/books/snapshot/**",
+            "/internal/**"));
+
+    /**
+     * Idle encoders (Deflater, zstd contexts) kept per coding; 0 means one
+     * per available processor
+     */
+    private int poolSize = 0;
+
+    private Codec gzip = new Codec(6, 9);
+
+    private Codec brotli = new Codec(4, 9);
+
+    private Codec zstd = new Codec(3, 12);
+
+    private Cache cache = new Cache();
+
+    @Data
+    public static class Codec {
+
+        /**
+         * Level used for responses compressed per request
+         */
+        private int level;
+
+        /**
+         * Level used for responses that are stored in the cache, which are
+         * compressed once and served many times
+         */
+        private int cacheLevel;
+
+        public Codec() {
+        }
+
+        public Codec(int level, int cacheLevel) {
+            this.level = level;
+            this.cacheLevel = cacheLevel;
+        }
+    }
+
+    @Data
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        /**
+         * GET paths (Ant patterns) whose 200 responses are kept encoded,
+         * keyed on path, sorted query parameters and negotiated coding
+         */
+        private List<String> paths = new ArrayList<>(List.of(
+                "/api/v1/books",
+                "/api/v1/books/search",
+                "/api/v1/books/search/faceted",
+                "/api/v1/books/available",
+                "/api/v1/books/category/*",
+                "/api/v1/books/suggest"));
+
+        /**
+         * Backstop for changes made through other instances; writes through
+         * this instance invalidate the cache immediately
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        private int maxEntries = 1000;
+
+        private DataSize maxBytes = DataSize.ofMegabytes(32);
+
+        /**
+         * Larger responses are compressed per request instead
+         */
+        private DataSize maxEntrySize = DataSize.ofMegabytes(2);
+    }
+}
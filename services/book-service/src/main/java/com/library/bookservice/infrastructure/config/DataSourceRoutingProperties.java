@@ -0,0 +1,50 @@
+package com.library.bookservice.infrastructure.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Read replica routing configuration
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * Send read-only transactions to the replicas
+     */
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replicas lagging more than this are taken out of rotation
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How long a read carrying a read-your-writes token waits for a replica
+     * to apply it (WAIT_FOR_EXECUTED_GTID_SET) before trying the next one or
+     * the primary; 0 only checks (GTID_SUBSET)
+     */
+    private Duration readYourWritesWait = Duration.ZERO;
+
+    private long healthCheckIntervalMs = 5000;
+
+    private int replicaPoolSize = 10;
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
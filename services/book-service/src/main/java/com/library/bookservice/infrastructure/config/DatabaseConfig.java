@@ -1,17 +1,21 @@
 package com.library.bookservice.infrastructure.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import com.library.bookservice.infrastructure.persistence.PersistenceRuntimeHints;
+
 /**
  * Database configuration
  */
 @Configuration
-@EnableJpaRepositories(basePackages = "com.library.bookservice.infrastructure.persistence. repository")
+@EnableJpaRepositories(basePackages = "com.library.bookservice.infrastructure.persistence.repository")
 @EnableTransactionManagement
+@ImportRuntimeHints(PersistenceRuntimeHints.class)
 public class DatabaseConfig {
 
     // Additional database configurations can go here
     // For now, application.yml handles most settings
-}
\ No newline at end of file
+}
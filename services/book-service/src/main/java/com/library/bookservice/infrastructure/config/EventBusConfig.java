@@ -0,0 +1,40 @@
+package com.library.bookservice.infrastructure.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.library.bookservice.infrastructure.messaging.MicrometerEventBusMetrics;
+import com.library.common.event.bus.EventBus;
+import com.library.common.event.bus.EventSubscriber;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the in-process event bus from every EventSubscriber bean
+ */
+@Configuration
+@Slf4j
+public class EventBusConfig {
+
+    @Bean(destroyMethod = "close")
+    public EventBus eventBus(ObjectProvider<EventSubscriber> subscribers, EventBusProperties properties,
+            MeterRegistry meterRegistry) {
+
+        EventBus.Builder builder = EventBus.builder()
+                .metrics(new MicrometerEventBusMetrics(meterRegistry))
+                .asyncDefaults(properties.getLanes(), properties.getBatchSize(), properties.getQueueCapacity());
+        long count = subscribers.orderedStream()
+                .peek(builder::subscribe)
+                .count();
+        EventBus eventBus = builder.build();
+
+        Gauge.builder("events.bus.pending", eventBus, EventBus::pending)
+                .register(meterRegistry);
+
+        log.info("Event bus started with {} subscribers", count);
+        return eventBus;
+    }
+}
@@ -0,0 +1,31 @@
+package com.library.bookservice.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * In-process event bus configuration
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "events.bus")
+public class EventBusProperties {
+
+    /**
+     * Background lanes per asynchronous handler; events of one book always
+     * use the same lane
+     */
+    private int lanes = 4;
+
+    /**
+     * Most events handed to an asynchronous handler at once
+     */
+    private int batchSize = 256;
+
+    /**
+     * Events queued per lane before publishers block
+     */
+    private int queueCapacity = 10000;
+}
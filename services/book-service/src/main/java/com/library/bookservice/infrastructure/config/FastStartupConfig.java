@@ -0,0 +1,110 @@
+package com.library.bookservice.infrastructure.config;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import com.library.bookservice.infrastructure.persistence.DeferredFlywayValidator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Startup-optimized profile (fast-startup)
+ *
+ * Beans whose class or configuration class starts with one of
+ * startup.lazy-packages are created on first use instead of during the
+ * context refresh; the request path stays eager so the first request does
+ * not pay for it. Flyway only checks for pending migrations at startup,
+ * which are applied beforehand by the same build run as an init job or
+ * container (startup.flyway=migrate); the full validation of the applied
+ * migrations runs in the background once the application is ready.
+ *
+ * With Spring AOT (mvn -Pfast-startup) this class, the lazy flags and all
+ * conditions are evaluated at build time.
+ */
+@Configuration
+@Profile("fast-startup")
+@Slf4j
+public class FastStartupConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyBeansPostProcessor(Environment environment) {
+        List<String> prefixes = Binder.get(environment)
+                .bind("startup.lazy-packages", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return beanFactory -> {
+            int lazy = 0;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                String className = declaringClassName(definition);
+                if (className != null && prefixes.stream().anyMatch(className::startsWith)) {
+                    definition.setLazyInit(true);
+                    lazy++;
+                }
+            }
+            log.debug("{} beans marked lazy for {}", lazy, prefixes);
+        };
+    }
+
+    /**
+     * startup.flyway: check (default) refuses to start while migrations are
+     * pending, migrate applies them (the init job), skip does neither (the
+     * AppCDS training run, which has no database). Read at runtime, so the
+     * AOT and native builds can be run in each mode.
+     */
+    @Bean
+    public FlywayMigrationStrategy fastStartupFlywayMigrationStrategy(Environment environment) {
+        String mode = environment.getProperty("startup.flyway", "check");
+        return flyway -> {
+            switch (mode) {
+                case "migrate" -> {
+                    int applied = flyway.migrate().migrationsExecuted;
+                    log.info("Applied {} Flyway migrations", applied);
+                }
+                case "skip" -> log.info("Flyway check skipped at startup");
+                case "check" -> failOnPendingMigrations(flyway);
+                default -> throw new IllegalArgumentException("Unknown startup.flyway mode: " + mode);
+            }
+        };
+    }
+
+    @Bean
+    public DeferredFlywayValidator schemaHealthIndicator(Flyway flyway) {
+        return new DeferredFlywayValidator(flyway);
+    }
+
+    private static void failOnPendingMigrations(Flyway flyway) {
+        MigrationInfo[] pending = flyway.info().pending();
+        if (pending.length > 0) {
+            String versions = Arrays.stream(pending)
+                    .map(migration -> migration.getVersion() + " " + migration.getDescription())
+                    .collect(Collectors.joining(", "));
+            throw new IllegalStateException("Pending Flyway migrations (" + versions
+                    + "), apply them first with startup.flyway=migrate");
+        }
+        log.info("No pending Flyway migrations, validating the applied ones once the application is ready");
+    }
+
+    /**
+     * The bean class, or for @Bean methods the class declaring them
+     */
+    private static String declaringClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        return definition.getBeanClassName();
+    }
+}
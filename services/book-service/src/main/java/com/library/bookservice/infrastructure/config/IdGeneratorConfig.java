@@ -0,0 +1,24 @@
+package com.library.bookservice.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import com.library.common.util.TimeOrderedIdGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Node id of the time ordered event id generator
+ * Every instance sharing a topic or table should get its own library.node-id
+ */
+@Configuration
+@Slf4j
+public class IdGeneratorConfig {
+
+    public IdGeneratorConfig(@Value("${library.node-id:-1}") int nodeId) {
+        if (nodeId >= 0) {
+            TimeOrderedIdGenerator.configureNodeId(nodeId);
+        }
+        log.info("Event ids generated with node id {}", TimeOrderedIdGenerator.getNodeId());
+    }
+}
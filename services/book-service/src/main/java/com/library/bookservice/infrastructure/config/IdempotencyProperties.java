@@ -0,0 +1,39 @@
+package com.library.bookservice.infrastructure.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Idempotency-Key configuration
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * How long a stored response is replayed
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a claimed key stays locked while its request runs; a retry
+     * after that takes the key over and executes the request. Keep it above
+     * the slowest request.
+     */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /**
+     * Number of completed keys kept in memory in front of the table
+     */
+    private int hotEntries = 10_000;
+
+    /**
+     * How long a duplicate waits for the in-flight original on this instance
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,52 @@
+package com.library.bookservice.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Reorder report job configuration
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "book.reorder-report")
+public class ReorderReportProperties {
+
+    /**
+     * Directory holding the reports and their checkpoints
+     */
+    private String directory = "reports/reorder";
+
+    /**
+     * Books with fewer available copies are reported, unless a request
+     * gives its own threshold
+     */
+    private int threshold = 5;
+
+    /**
+     * Books read from the cursor, computed and written per checkpoint
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Worker threads computing reorder quantities; 0 uses one per CPU
+     */
+    private int parallelism = 0;
+
+    /**
+     * Books computed by one fork/join task before it stops splitting
+     */
+    private int forkThreshold = 128;
+
+    /**
+     * Cron expression of scheduled runs; "-" disables scheduling. A
+     * scheduled run resumes the last unfinished run if there is one
+     */
+    private String cron = "-";
+
+    /**
+     * Format of scheduled runs
+     */
+    private String format = "csv";
+}
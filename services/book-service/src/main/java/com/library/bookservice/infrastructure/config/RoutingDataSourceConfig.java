@@ -0,0 +1,104 @@
+package com.library.bookservice.infrastructure.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.library.bookservice.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import com.library.bookservice.infrastructure.persistence.routing.ReplicaHealthChecker;
+import com.library.bookservice.infrastructure.persistence.routing.ReplicaState;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read/write split: read-only transactions go to the replicas
+ * Only active with datasource.routing.enabled=true, otherwise the single
+ * Spring Boot datasource is used
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaHealthChecker replicaHealthChecker(DataSourceProperties primary,
+            DataSourceRoutingProperties properties) {
+        List<ReplicaState> replicas = properties.getReplicas().stream()
+                .map(replica -> {
+                    HikariDataSource dataSource = DataSourceBuilder.create()
+                            .type(HikariDataSource.class)
+                            .driverClassName(primary.getDriverClassName())
+                            .url(replica.getUrl())
+                            .username(replica.getUsername() != null ? replica.getUsername() : primary.getUsername())
+                            .password(replica.getPassword() != null ? replica.getPassword() : primary.getPassword())
+                            .build();
+                    dataSource.setPoolName("replica-" + replica.getName());
+                    dataSource.setMaximumPoolSize(properties.getReplicaPoolSize());
+                    dataSource.setReadOnly(true);
+                    return new ReplicaState(replica.getName(), dataSource);
+                })
+                .toList();
+
+        ReplicaHealthChecker checker = new ReplicaHealthChecker(replicas, properties);
+        // Know the replicas' state before the first request is routed
+        checker.checkReplicas();
+        return checker;
+    }
+
+    /**
+     * Pool of the primary; a bean of its own so that it is closed on shutdown
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryProperties) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaHealthChecker replicaHealthChecker,
+            DataSourceRoutingProperties properties) {
+        List<ReplicaState> replicaStates = replicaHealthChecker.getReplicas();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource);
+        replicaStates.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaStates, primaryDataSource,
+                properties.getReadYourWritesWait());
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Replica state under /actuator/health; always UP since reads fall back
+     * to the primary
+     */
+    @Bean
+    public HealthIndicator replicasHealthIndicator(ReplicaHealthChecker replicaHealthChecker) {
+        return () -> {
+            Map<String, Object> details = new LinkedHashMap<>();
+            replicaHealthChecker.getReplicas().forEach(replica -> details.put(replica.getName(), Map.of(
+                    "inRotation", replica.isHealthy(),
+                    "lagMs", replica.getLagMillis())));
+            return Health.up().withDetails(details).build();
+        };
+    }
+}
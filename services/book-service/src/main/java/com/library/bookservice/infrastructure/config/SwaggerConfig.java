@@ -2,8 +2,12 @@ package com.library.bookservice.infrastructure.config;
 
 import java.util.List;
 
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
@@ -15,6 +19,7 @@ import io.swagger.v3.oas.models.servers.Server;
  * Swagger/OpenAPI Configuration
  */
 @Configuration
+@ImportRuntimeHints(SwaggerConfig.SwaggerRuntimeHints.class)
 public class SwaggerConfig {
 
     @Bean
@@ -44,4 +49,17 @@ public class SwaggerConfig {
                 .info(info)
                 .servers(List.of(localServer));
     }
-}
\ No newline at end of file
+
+    /**
+     * Native image: the OpenAPI model built above is serialized by Jackson,
+     * and Swagger UI is served from webjar resources
+     */
+    static class SwaggerRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), OpenAPI.class);
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.library.bookservice.infrastructure.idempotency;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Result of presenting an Idempotency-Key to the store
+ */
+public record IdempotencyClaim(
+        Outcome outcome,
+        String owner,
+        StoredResponse response,
+        CompletableFuture<StoredResponse> pending) {
+
+    public enum Outcome {
+        /** The caller owns the key as {@link #owner()} and must execute the request */
+        ACQUIRED,
+        /** A response is stored, replay it */
+        REPLAY,
+        /** The original is running on this instance, wait for {@link #pending()} */
+        WAIT,
+        /** The original is running on another instance */
+        IN_PROGRESS
+    }
+
+    static IdempotencyClaim acquired(String owner) {
+        return new IdempotencyClaim(Outcome.ACQUIRED, owner, null, null);
+    }
+
+    static IdempotencyClaim replay(StoredResponse response) {
+        return new IdempotencyClaim(Outcome.REPLAY, null, response, null);
+    }
+
+    static IdempotencyClaim waitFor(CompletableFuture<StoredResponse> pending) {
+        return new IdempotencyClaim(Outcome.WAIT, null, null, pending);
+    }
+
+    static IdempotencyClaim inProgress() {
+        return new IdempotencyClaim(Outcome.IN_PROGRESS, null, null, null);
+    }
+}
@@ -0,0 +1,175 @@
+package com.library.bookservice.infrastructure.idempotency;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.library.bookservice.infrastructure.config.IdempotencyProperties;
+import com.library.bookservice.infrastructure.persistence.entity.IdempotencyKeyEntity;
+import com.library.bookservice.infrastructure.persistence.repository.JpaIdempotencyKeyRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Idempotency-Key store
+ *
+ * The idempotency_keys table is the source of truth and its primary key
+ * decides which request owns a key across instances. The owner holds a
+ * lease (idempotency.lease) while its request runs; when it crashes or
+ * times out without storing a response, the next retry after the lease
+ * takes the key over, as it does for expired rows not purged yet. Completed responses
+ * are also kept in a bounded in-memory LRU so replays are served without a
+ * database round trip, and duplicates arriving on the instance that runs
+ * the original wait on its future instead of racing it.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private final JpaIdempotencyKeyRepository repository;
+    private final IdempotencyProperties properties;
+
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, HotEntry> hot;
+
+    public IdempotencyStore(JpaIdempotencyKeyRepository repository, IdempotencyProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+        this.hot = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, HotEntry> eldest) {
+                return size() > properties.getHotEntries();
+            }
+        };
+    }
+
+    /**
+     * Present a key: replay, wait, or take ownership of it
+     */
+    public IdempotencyClaim claim(String key, String requestHash) {
+        StoredResponse cached = getHot(key);
+        if (cached != null) {
+            return IdempotencyClaim.replay(cached);
+        }
+
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            return IdempotencyClaim.waitFor(existing);
+        }
+
+        String owner = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(properties.getTtl());
+        LocalDateTime lockedUntil = now.plus(properties.getLease());
+        StoredResponse stored;
+        try {
+            if (repository.tryInsert(key, requestHash, owner, now, expiresAt, lockedUntil) == 1
+                    || repository.tryReclaim(key, requestHash, owner, now, expiresAt, lockedUntil) == 1) {
+                return IdempotencyClaim.acquired(owner);
+            }
+
+            // Key already known to the table: stored earlier or running elsewhere
+            stored = repository.findById(key)
+                    .filter(entity -> entity.getResponseStatus() != null)
+                    .filter(entity -> entity.getExpiresAt().isAfter(now))
+                    .map(IdempotencyStore::toResponse)
+                    .orElse(null);
+        } catch (RuntimeException e) {
+            // Nobody owns the key: let waiting duplicates retry rather than time out
+            inFlight.remove(key, pending);
+            pending.complete(null);
+            throw e;
+        }
+
+        inFlight.remove(key, pending);
+        pending.complete(stored);
+
+        if (stored == null) {
+            return IdempotencyClaim.inProgress();
+        }
+        putHot(key, stored);
+        return IdempotencyClaim.replay(stored);
+    }
+
+    /**
+     * Record the response of an acquired key and release waiting duplicates
+     */
+    public void complete(String key, String owner, StoredResponse response) {
+        try {
+            if (repository.complete(key, owner, response.status(), response.contentType(), response.body()) == 0) {
+                log.warn("Idempotency key {} was taken over after its lease lapsed, response not stored", key);
+                return;
+            }
+            putHot(key, response);
+        } finally {
+            release(key, response);
+        }
+    }
+
+    /**
+     * Give an acquired key up so that a retry executes the request again
+     */
+    public void abandon(String key, String owner) {
+        try {
+            repository.release(key, owner);
+        } catch (RuntimeException e) {
+            log.warn("Could not release idempotency key {}: {}", key, e.getMessage());
+        } finally {
+            release(key, null);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private void release(String key, StoredResponse response) {
+        CompletableFuture<StoredResponse> pending = inFlight.remove(key);
+        if (pending != null) {
+            pending.complete(response);
+        }
+    }
+
+    private StoredResponse getHot(String key) {
+        synchronized (hot) {
+            HotEntry entry = hot.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() >= entry.expiresAt()) {
+                hot.remove(key);
+                return null;
+            }
+            return entry.response();
+        }
+    }
+
+    private void putHot(String key, StoredResponse response) {
+        long expiresAt = System.currentTimeMillis() + properties.getTtl().toMillis();
+        synchronized (hot) {
+            hot.put(key, new HotEntry(response, expiresAt));
+        }
+    }
+
+    private static StoredResponse toResponse(IdempotencyKeyEntity entity) {
+        return new StoredResponse(
+                entity.getRequestHash(),
+                entity.getResponseStatus(),
+                entity.getContentType(),
+                entity.getResponseBody());
+    }
+
+    private record HotEntry(StoredResponse response, long expiresAt) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.library.bookservice.infrastructure.idempotency;
+
+/**
+ * Response recorded for an Idempotency-Key, with the hash of the request
+ * that produced it
+ */
+public record StoredResponse(String requestHash, int status, String contentType, String body) {
+}
@@ -0,0 +1,35 @@
+package com.library.bookservice.infrastructure.messaging;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.library.common.event.DomainEvent;
+import com.library.common.event.bus.EventBus;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hands events to the local subscribers on the in-process event bus once
+ * the surrounding transaction has committed, so that local projections
+ * never see changes that are rolled back
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalEventPublisher {
+
+    private final EventBus eventBus;
+
+    public void publishAfterCommit(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventBus.publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventBus.publish(event);
+            }
+        });
+    }
+}
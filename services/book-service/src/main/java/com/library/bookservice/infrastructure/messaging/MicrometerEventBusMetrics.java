@@ -0,0 +1,55 @@
+package com.library.bookservice.infrastructure.messaging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.library.common.event.bus.EventBusMetrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Event bus handler timings as Micrometer meters
+ * events.handler.latency per handler, event type and outcome, and
+ * events.handler.batch / events.handler.batch.size for asynchronous handlers
+ */
+public class MicrometerEventBusMetrics implements EventBusMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> batchSizes = new ConcurrentHashMap<>();
+
+    public MicrometerEventBusMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void recordHandled(String handler, String eventType, long nanos, boolean success) {
+        String outcome = success ? "success" : "failure";
+        timers.computeIfAbsent(handler + '|' + eventType + '|' + outcome,
+                key -> Timer.builder("events.handler.latency")
+                        .tag("handler", handler)
+                        .tag("event", eventType)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordBatch(String handler, int size, long nanos, boolean success) {
+        String outcome = success ? "success" : "failure";
+        timers.computeIfAbsent(handler + '|' + outcome,
+                key -> Timer.builder("events.handler.batch")
+                        .tag("handler", handler)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        batchSizes.computeIfAbsent(handler,
+                key -> DistributionSummary.builder("events.handler.batch.size")
+                        .tag("handler", handler)
+                        .register(meterRegistry))
+                .record(size);
+    }
+}
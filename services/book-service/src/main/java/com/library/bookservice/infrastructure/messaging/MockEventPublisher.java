@@ -5,17 +5,22 @@ import org.springframework.stereotype.Component;
 import com.library.bookservice.application.port.output.EventPublisherPort;
 import com.library.bookservice.domain.event.BookEvent;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Mock implementation of EventPublisherPort
- * Just logs events for now
+ * Logs events and hands them to local subscribers on the in-process event
+ * bus, after the surrounding transaction has committed
  * TODO: Replace with real Kafka implementation later
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class MockEventPublisher implements EventPublisherPort {
 
+    private final LocalEventPublisher localEvents;
+
     @Override
     public void publish(BookEvent event) {
         log.info("📨 [MOCK] Publishing event synchronously: {} - {} - BookID: {}",
@@ -25,6 +30,7 @@ public class MockEventPublisher implements EventPublisherPort {
 
         // In real implementation, this would send to Kafka
         log.debug("Event details: ISBN={}, Title={}", event.getIsbn(), event.getTitle());
+        localEvents.publishAfterCommit(event);
     }
 
     @Override
@@ -36,5 +42,6 @@ public class MockEventPublisher implements EventPublisherPort {
 
         // In real implementation, this would send to Kafka asynchronously
         log.debug("Event details: ISBN={}, Title={}", event.getIsbn(), event.getTitle());
+        localEvents.publishAfterCommit(event);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.library.bookservice.infrastructure.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.ValidateResult;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Validates the Flyway migrations in the background once the application
+ * is ready, instead of migrating before the context refresh completes
+ *
+ * Used by the fast-startup profile, where migrations are applied by an
+ * init job and startup already fails on pending ones; this checks the
+ * applied migrations against their checksums. Until the check has run the
+ * schema health is UNKNOWN; a failed check turns it DOWN so the instance is
+ * taken out of rotation.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class DeferredFlywayValidator implements HealthIndicator {
+
+    private final Flyway flyway;
+
+    private volatile Health health = Health.unknown().withDetail("validation", "pending").build();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateInBackground() {
+        Thread.ofPlatform().daemon().name("flyway-validate").start(this::validate);
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    void validate() {
+        long start = System.currentTimeMillis();
+        try {
+            ValidateResult result = flyway.validateWithResult();
+            if (result.validationSuccessful) {
+                health = Health.up().withDetail("validation", "passed").build();
+                log.info("Flyway migrations validated in {} ms", System.currentTimeMillis() - start);
+                return;
+            }
+            String errors = result.getAllErrorMessages();
+            health = Health.down().withDetail("validation", "failed").withDetail("errors", errors).build();
+            log.error("Flyway validation failed, schema does not match the migrations: {}", errors);
+        } catch (RuntimeException e) {
+            health = Health.down(e).withDetail("validation", "failed").build();
+            log.error("Flyway validation could not run", e);
+        }
+    }
+}
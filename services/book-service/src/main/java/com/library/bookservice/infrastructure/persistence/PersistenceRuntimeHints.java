@@ -0,0 +1,43 @@
+package com.library.bookservice.infrastructure.persistence;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.library.bookservice.infrastructure.persistence.entity.BookChangeEntity;
+import com.library.bookservice.infrastructure.persistence.entity.BookEntity;
+import com.library.bookservice.infrastructure.persistence.entity.CategoryEntity;
+import com.library.bookservice.infrastructure.persistence.entity.IdempotencyKeyEntity;
+import com.library.bookservice.infrastructure.persistence.projection.BookSummaryRow;
+
+/**
+ * Reflection Hibernate needs in a native image
+ *
+ * Entities are read and written through their fields and created through
+ * the no-arg constructor; JPQL constructor expressions (SELECT new ...)
+ * call the projection's canonical constructor. Lazy to-one associations
+ * need the entities bytecode enhanced at build time, see the native
+ * profile in the pom.
+ */
+public class PersistenceRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] ENTITIES = {
+            BookEntity.class,
+            CategoryEntity.class,
+            BookChangeEntity.class,
+            IdempotencyKeyEntity.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        hints.reflection().registerType(BookSummaryRow.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
@@ -0,0 +1,52 @@
+package com.library.bookservice.infrastructure.persistence.entity;
+
+import java.time.LocalDateTime;
+
+import com.library.bookservice.application.dto.BookChangeType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * JPA Entity for a book change feed entry
+ *
+ * Read only: rows are inserted by JpaBookChangeRepository with a sequence
+ * from the counter row and the database clock.
+ */
+@Entity
+@Table(name = "book_changes", indexes = {
+        @Index(name = "idx_book_changes_changed_at", columnList = "changed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookChangeEntity {
+
+    @Id
+    private Long seq;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(nullable = false, length = 20)
+    private String isbn;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private BookChangeType changeType;
+
+    @Column(name = "changed_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime changedAt;
+}
@@ -2,12 +2,15 @@ package com.library.bookservice.infrastructure.persistence.mapper;
 
 import org.springframework.stereotype.Component;
 
+import com.library.bookservice.application.dto.BookSummary;
 import com.library.bookservice.domain.model.Author;
 import com.library.bookservice.domain.model.Book;
+import com.library.bookservice.domain.model.BookStatus;
 import com.library.bookservice.domain.model.Category;
 import com.library.bookservice.domain.model.ISBN;
 import com.library.bookservice.domain.model.Inventory;
 import com.library.bookservice.infrastructure.persistence.entity.BookEntity;
+import com.library.bookservice.infrastructure.persistence.projection.BookSummaryRow;
 
 import lombok.RequiredArgsConstructor;
 
@@ -76,4 +79,25 @@ public class BookMapper {
                 entity.getCreatedAt(),
                 entity.getUpdatedAt());
     }
-}
\ No newline at end of file
+
+    /**
+     * Convert summary projection to summary Response
+     */
+    public BookSummary toSummary(BookSummaryRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        return BookSummary.builder()
+                .id(row.id())
+                .isbn(row.isbn())
+                .title(row.title())
+                .authorName(row.authorName())
+                .categoryName(row.categoryName())
+                .availableQuantity(row.availableQuantity())
+                .status(row.status())
+                .coverImageUrl(row.coverImageUrl())
+                .availableForBorrowing(row.status() == BookStatus.AVAILABLE && row.availableQuantity() > 0)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.library.bookservice.infrastructure.persistence.projection;
+
+import com.library.bookservice.domain.model.BookStatus;
+
+/**
+ * Narrow projection of a books row for list views
+ * Leaves out description and the other columns only the detail view needs
+ */
+public record BookSummaryRow(
+        Long id,
+        String isbn,
+        String title,
+        String authorName,
+        String categoryName,
+        Integer availableQuantity,
+        BookStatus status,
+        String coverImageUrl) {
+}
@@ -0,0 +1,151 @@
+package com.library.bookservice.infrastructure.persistence.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.library.bookservice.application.dto.BookChange;
+import com.library.bookservice.application.dto.BookChangeType;
+import com.library.bookservice.application.port.output.BookChangeLogPort;
+import com.library.bookservice.infrastructure.config.BookChangeFeedProperties;
+import com.library.bookservice.infrastructure.persistence.entity.BookChangeEntity;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adapter implementing BookChangeLogPort
+ *
+ * Sequences are taken from a counter row that the writing transaction keeps
+ * locked until it commits, so they become visible in order and a reader's
+ * cursor never moves past a change that commits later. Any gap in what is
+ * read is therefore a bug and fails the read instead of being skipped.
+ *
+ * Holding that lock serializes the commits of all book writes, on every
+ * instance. To keep the hold short, changes are only buffered while the
+ * transaction runs; the sequences are taken and the rows inserted just
+ * before commit, after the book rows are written, so the lock covers those
+ * two statements and the commit itself. The catalog's write throughput is
+ * therefore bounded by one durable commit at a time (see the README and
+ * BookChangeLogLoadTest).
+ *
+ * Changes older than book.changes.retention are purged.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookChangeLogAdapter implements BookChangeLogPort {
+
+    private final JpaBookChangeRepository jpaRepository;
+    private final BookChangeFeedProperties properties;
+
+    /** Transaction resource key of the changes waiting for commit */
+    private final Object pendingKey = new Object();
+
+    private volatile long gaplessAfter = -1;
+
+    @Override
+    public void record(Long bookId, String isbn, BookChangeType type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Book changes must be recorded inside the writing transaction");
+        }
+
+        @SuppressWarnings("unchecked")
+        List<PendingChange> pending = (List<PendingChange>) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending == null) {
+            List<PendingChange> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(pendingKey, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    changes.forEach(BookChangeLogAdapter.this::write);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingKey);
+                }
+            });
+            pending = changes;
+        }
+        pending.add(new PendingChange(bookId, isbn, type));
+    }
+
+    private void write(PendingChange change) {
+        jpaRepository.incrementSeq();
+        long seq = jpaRepository.findLastSeq();
+        log.debug("Recording {} change {} for book {}", change.type(), seq, change.bookId());
+
+        jpaRepository.insert(seq, change.bookId(), change.isbn(), change.type().name());
+    }
+
+    @Override
+    public List<BookChange> findSince(long cursor, int limit) {
+        long purgedThrough = jpaRepository.findPurgedThrough();
+        if (cursor < purgedThrough) {
+            throw new IllegalStateException("Changes up to " + purgedThrough
+                    + " have been purged, cursor " + cursor + " must reload the catalog");
+        }
+
+        long gaplessAfter = gaplessAfter();
+        long previous = cursor;
+        List<BookChange> changes = new ArrayList<>();
+        for (BookChangeEntity entity : jpaRepository.findSince(cursor, PageRequest.of(0, limit))) {
+            if (previous >= gaplessAfter && entity.getSeq() != previous + 1) {
+                throw new IllegalStateException("Book change feed has a gap between "
+                        + previous + " and " + entity.getSeq());
+            }
+            previous = entity.getSeq();
+            changes.add(BookChange.builder()
+                    .seq(entity.getSeq())
+                    .bookId(entity.getBookId())
+                    .isbn(entity.getIsbn())
+                    .type(entity.getChangeType())
+                    .changedAt(entity.getChangedAt())
+                    .build());
+        }
+        return changes;
+    }
+
+    @Override
+    public long findLatestSeq() {
+        return jpaRepository.findLastSeq();
+    }
+
+    /**
+     * Delete changes older than the retention, recording the boundary first
+     * so that a cursor behind it fails instead of silently missing them
+     */
+    @Scheduled(fixedDelayString = "${book.changes.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        long through = jpaRepository.findLastSeqOlderThan(properties.getRetention().toSeconds());
+        if (through <= jpaRepository.findPurgedThrough()) {
+            return;
+        }
+        jpaRepository.markPurged(through);
+
+        int deleted = 0;
+        int batch;
+        do {
+            batch = jpaRepository.deleteThrough(through, properties.getPurgeBatchSize());
+            deleted += batch;
+        } while (batch == properties.getPurgeBatchSize());
+        log.info("Purged {} book changes up to {}", deleted, through);
+    }
+
+    private record PendingChange(Long bookId, String isbn, BookChangeType type) {
+    }
+
+    private long gaplessAfter() {
+        if (gaplessAfter < 0) {
+            // Fixed by the migration that introduced the counter
+            gaplessAfter = jpaRepository.findGaplessAfter();
+        }
+        return gaplessAfter;
+    }
+}
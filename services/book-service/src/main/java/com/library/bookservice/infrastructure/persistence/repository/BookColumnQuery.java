@@ -0,0 +1,108 @@
+package com.library.bookservice.infrastructure.persistence.repository;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Component;
+
+import com.library.bookservice.application.dto.BookColumn;
+import com.library.bookservice.application.dto.BookQueryFilter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Builds JPQL that selects only the requested book columns
+ * The category is only joined when its name is selected or filtered on
+ */
+@Component
+public class BookColumnQuery {
+
+    private static final Map<BookColumn, String> PATHS = new EnumMap<>(Map.ofEntries(
+            Map.entry(BookColumn.ID, "b.id"),
+            Map.entry(BookColumn.ISBN, "b.isbn"),
+            Map.entry(BookColumn.TITLE, "b.title"),
+            Map.entry(BookColumn.AUTHOR_NAME, "b.authorName"),
+            Map.entry(BookColumn.DESCRIPTION, "b.description"),
+            Map.entry(BookColumn.CATEGORY_ID, "b.category.id"),
+            Map.entry(BookColumn.CATEGORY_NAME, "c.name"),
+            Map.entry(BookColumn.TOTAL_QUANTITY, "b.totalQuantity"),
+            Map.entry(BookColumn.AVAILABLE_QUANTITY, "b.availableQuantity"),
+            Map.entry(BookColumn.BORROWED_QUANTITY, "b.borrowedQuantity"),
+            Map.entry(BookColumn.STATUS, "b.status"),
+            Map.entry(BookColumn.COVER_IMAGE_URL, "b.coverImageUrl"),
+            Map.entry(BookColumn.CREATED_AT, "b.createdAt"),
+            Map.entry(BookColumn.UPDATED_AT, "b.updatedAt")));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<Map<BookColumn, Object>> find(Set<BookColumn> columns, BookQueryFilter filter) {
+        return createQuery(columns, filter, false).getResultList().stream()
+                .map(tuple -> toRow(columns, tuple))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Same rows as find, in ID order, streamed from the driver instead of
+     * loaded at once; must be closed inside a transaction
+     */
+    public Stream<Map<BookColumn, Object>> stream(Set<BookColumn> columns, BookQueryFilter filter) {
+        return createQuery(columns, filter, true)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(tuple -> toRow(columns, tuple));
+    }
+
+    private TypedQuery<Tuple> createQuery(Set<BookColumn> columns, BookQueryFilter filter, boolean ordered) {
+        String select = columns.stream()
+                .map(column -> PATHS.get(column) + " AS " + column.name())
+                .collect(Collectors.joining(", "));
+
+        boolean joinCategory = columns.contains(BookColumn.CATEGORY_NAME) || filter.categoryName() != null;
+        StringBuilder jpql = new StringBuilder("SELECT ").append(select).append(" FROM BookEntity b");
+        if (joinCategory) {
+            jpql.append(" LEFT JOIN b.category c");
+        }
+
+        if (filter.id() != null) {
+            jpql.append(" WHERE b.id = :id");
+        } else if (filter.keyword() != null) {
+            jpql.append(" WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+                    .append(" OR LOWER(b.authorName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+                    .append(" OR LOWER(b.description) LIKE LOWER(CONCAT('%', :keyword, '%'))");
+        } else if (filter.categoryName() != null) {
+            jpql.append(" WHERE LOWER(c.name) = LOWER(:categoryName)");
+        } else if (filter.availableOnly()) {
+            jpql.append(" WHERE b.status = 'AVAILABLE' AND b.availableQuantity > 0");
+        }
+        if (ordered) {
+            jpql.append(" ORDER BY b.id");
+        }
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        if (filter.id() != null) {
+            query.setParameter("id", filter.id());
+        } else if (filter.keyword() != null) {
+            query.setParameter("keyword", filter.keyword());
+        } else if (filter.categoryName() != null) {
+            query.setParameter("categoryName", filter.categoryName());
+        }
+
+        return query;
+    }
+
+    private static Map<BookColumn, Object> toRow(Set<BookColumn> columns, Tuple tuple) {
+        Map<BookColumn, Object> row = new EnumMap<>(BookColumn.class);
+        columns.forEach(column -> row.put(column, tuple.get(column.name())));
+        return row;
+    }
+}
@@ -1,16 +1,33 @@
 package com.library.bookservice.infrastructure.persistence.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
 
+import com.library.bookservice.application.dto.BookChangeType;
+import com.library.bookservice.application.dto.BookColumn;
+import com.library.bookservice.application.dto.BookQueryFilter;
+import com.library.bookservice.application.dto.BookSummary;
+import com.library.bookservice.application.port.output.BookChangeLogPort;
 import com.library.bookservice.application.port.output.BookRepositoryPort;
+import com.library.bookservice.domain.event.BookChangedEvent;
 import com.library.bookservice.domain.model.Book;
 import com.library.bookservice.domain.model.BookStatus;
+import com.library.bookservice.infrastructure.config.BookCacheProperties;
+import com.library.bookservice.infrastructure.messaging.LocalEventPublisher;
 import com.library.bookservice.infrastructure.persistence.entity.BookEntity;
 import com.library.bookservice.infrastructure.persistence.mapper.BookMapper;
+import com.library.bookservice.infrastructure.persistence.projection.BookSummaryRow;
+
+import jakarta.persistence.EntityManager;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +35,8 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Adapter implementing BookRepositoryPort
  * Bridges Domain and Infrastructure layers
+ * Every save and delete is recorded in the change feed and, once committed,
+ * published on the event bus for the local caches and search indexes
  */
 @Component
 @RequiredArgsConstructor
@@ -26,6 +45,11 @@ public class BookRepositoryAdapter implements BookRepositoryPort {
 
     private final JpaBookRepository jpaRepository;
     private final BookMapper mapper;
+    private final BookColumnQuery columnQuery;
+    private final BookCacheProperties cacheProperties;
+    private final BookChangeLogPort changeLog;
+    private final LocalEventPublisher localEvents;
+    private final EntityManager entityManager;
 
     @Override
     public Book save(Book book) {
@@ -33,8 +57,10 @@ public class BookRepositoryAdapter implements BookRepositoryPort {
 
         BookEntity entity = mapper.toEntity(book);
         BookEntity savedEntity = jpaRepository.save(entity);
+        changeLog.record(savedEntity.getId(), savedEntity.getIsbn(), BookChangeType.UPSERT);
 
         Book savedBook = mapper.toDomain(savedEntity);
+        localEvents.publishAfterCommit(BookChangedEvent.saved(savedBook));
         log.debug("Book saved with ID: {}", savedBook.getId());
 
         return savedBook;
@@ -56,11 +82,25 @@ public class BookRepositoryAdapter implements BookRepositoryPort {
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public List<Book> findAllByIds(Collection<Long> ids) {
+        log.debug("Finding {} books by ID", ids.size());
+
+        return findInChunks(ids, jpaRepository::findAllWithCategoryByIdIn);
+    }
+
+    @Override
+    public List<Book> findAllByIsbns(Collection<String> isbns) {
+        log.debug("Finding {} books by ISBN", isbns.size());
+
+        return findInChunks(isbns, jpaRepository::findAllWithCategoryByIsbnIn);
+    }
+
     @Override
     public List<Book> findAll() {
         log.debug("Finding all books");
 
-        List<BookEntity> entities = jpaRepository.findAll();
+        List<BookEntity> entities = jpaRepository.findAllWithCategory();
         log.debug("Found {} books", entities.size());
 
         return entities.stream()
@@ -72,7 +112,7 @@ public class BookRepositoryAdapter implements BookRepositoryPort {
     public List<Book> findByStatus(BookStatus status) {
         log.debug("Finding books by status: {}", status);
 
-        return jpaRepository.findByStatus(status).stream()
+        return jpaRepository.findByStatusWithCategory(status).stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
     }
@@ -81,7 +121,7 @@ public class BookRepositoryAdapter implements BookRepositoryPort {
     public List<Book> findAvailableBooks() {
         log.debug("Finding available books");
 
-        return jpaRepository.findAvailableBooks().stream()
+        return jpaRepository.findAvailableBooksWithCategory().stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
     }
@@ -94,7 +134,16 @@ public class BookRepositoryAdapter implements BookRepositoryPort {
             return findAll();
         }
 
-        return jpaRepository.searchByKeyword(keyword).stream()
+        return jpaRepository.searchByKeywordWithCategory(keyword).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Book> findByCategoryName(String categoryName) {
+        log.debug("Finding books by category: {}", categoryName);
+
+        return jpaRepository.findByCategoryNameWithCategory(categoryName).stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
     }
@@ -105,6 +154,8 @@ public class BookRepositoryAdapter implements BookRepositoryPort {
 
         BookEntity entity = mapper.toEntity(book);
         jpaRepository.delete(entity);
+        changeLog.record(book.getId(), book.getIsbn().getValue(), BookChangeType.DELETE);
+        localEvents.publishAfterCommit(BookChangedEvent.deleted(book.getId()));
     }
 
     @Override
@@ -116,4 +167,89 @@ public class BookRepositoryAdapter implements BookRepositoryPort {
     public long count() {
         return jpaRepository.count();
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<BookSummary> findAllSummaries() {
+        log.debug("Finding all book summaries");
+
+        return toSummaries(jpaRepository.findAllSummaries());
+    }
+
+    @Override
+    public List<BookSummary> findAvailableSummaries() {
+        log.debug("Finding available book summaries");
+
+        return toSummaries(jpaRepository.findAvailableSummaries());
+    }
+
+    @Override
+    public List<BookSummary> searchSummariesByKeyword(String keyword) {
+        log.debug("Searching book summaries by keyword: {}", keyword);
+
+        if (keyword == null || keyword.isBlank()) {
+            return findAllSummaries();
+        }
+
+        return toSummaries(jpaRepository.searchSummariesByKeyword(keyword));
+    }
+
+    @Override
+    public List<BookSummary> findSummariesByCategoryName(String categoryName) {
+        log.debug("Finding book summaries by category: {}", categoryName);
+
+        return toSummaries(jpaRepository.findSummariesByCategoryName(categoryName));
+    }
+
+    @Override
+    public List<Map<BookColumn, Object>> findColumns(Set<BookColumn> columns, BookQueryFilter filter) {
+        log.debug("Finding book columns {} with {}", columns, filter);
+
+        return columnQuery.find(columns, filter);
+    }
+
+    @Override
+    public Stream<Map<BookColumn, Object>> streamColumns(Set<BookColumn> columns, BookQueryFilter filter) {
+        log.debug("Streaming book columns {} with {}", columns, filter);
+
+        return columnQuery.stream(columns, filter);
+    }
+
+    @Override
+    public Stream<Book> streamBooksNeedingReorder(int threshold, long afterId) {
+        log.debug("Streaming books needing reorder (threshold {}) after ID {}", threshold, afterId);
+
+        return jpaRepository.streamBooksNeedingReorderWithCategory(threshold, afterId)
+                .map(entity -> {
+                    Book book = mapper.toDomain(entity);
+                    entityManager.detach(entity);
+                    return book;
+                });
+    }
+
+    @Override
+    public long countBooksNeedingReorder(int threshold, long afterId) {
+        return jpaRepository.countBooksNeedingReorder(threshold, afterId);
+    }
+
+    /**
+     * Run an IN (...) query per chunk, keeping each statement's parameter
+     * list bounded
+     */
+    private <K> List<Book> findInChunks(Collection<K> keys, Function<List<K>, List<BookEntity>> query) {
+        List<K> distinct = keys.stream().distinct().collect(Collectors.toList());
+        int chunkSize = Math.max(1, cacheProperties.getBatchChunkSize());
+
+        List<Book> books = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<K> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            query.apply(chunk).forEach(entity -> books.add(mapper.toDomain(entity)));
+        }
+        return books;
+    }
+
+    private List<BookSummary> toSummaries(List<BookSummaryRow> rows) {
+        return rows.stream()
+                .map(mapper::toSummary)
+                .collect(Collectors.toList());
+    }
+}
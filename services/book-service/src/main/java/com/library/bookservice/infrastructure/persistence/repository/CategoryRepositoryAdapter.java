@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 
 import com.library.bookservice.application.port.output.CategoryRepositoryPort;
 import com.library.bookservice.domain.model.Category;
+import com.library.bookservice.infrastructure.cache.CompressedResponseCache;
 import com.library.bookservice.infrastructure.persistence.entity.CategoryEntity;
 import com.library.bookservice.infrastructure.persistence.mapper.CategoryMapper;
 
@@ -25,6 +26,7 @@ public class CategoryRepositoryAdapter implements CategoryRepositoryPort {
 
     private final JpaCategoryRepository jpaRepository;
     private final CategoryMapper mapper;
+    private final CompressedResponseCache responseCache;
 
     @Override
     public Category save(Category category) {
@@ -32,6 +34,7 @@ public class CategoryRepositoryAdapter implements CategoryRepositoryPort {
 
         CategoryEntity entity = mapper.toEntity(category);
         CategoryEntity savedEntity = jpaRepository.save(entity);
+        responseCache.invalidateAll();
 
         return mapper.toDomain(savedEntity);
     }
@@ -67,6 +70,7 @@ public class CategoryRepositoryAdapter implements CategoryRepositoryPort {
 
         CategoryEntity entity = mapper.toEntity(category);
         jpaRepository.delete(entity);
+        responseCache.invalidateAll();
     }
 
     @Override
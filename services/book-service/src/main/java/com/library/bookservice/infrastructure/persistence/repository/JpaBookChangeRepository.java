@@ -0,0 +1,84 @@
+package com.library.bookservice.infrastructure.persistence.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.bookservice.infrastructure.persistence.entity.BookChangeEntity;
+
+/**
+ * Spring Data JPA Repository for BookChangeEntity
+ *
+ * Sequences come from the book_change_sequence counter row. Writers must
+ * hold it until they commit, so the sequence methods require the caller's
+ * transaction.
+ */
+@Repository
+public interface JpaBookChangeRepository extends JpaRepository<BookChangeEntity, Long> {
+
+    /**
+     * Changes after a sequence, oldest first
+     */
+    @Query("SELECT c FROM BookChangeEntity c WHERE c.seq > :cursor ORDER BY c.seq")
+    List<BookChangeEntity> findSince(@Param("cursor") long cursor, Pageable pageable);
+
+    /**
+     * Take the next sequence; the counter row stays locked until the
+     * transaction ends
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "UPDATE book_change_sequence SET last_seq = last_seq + 1 WHERE id = 1", nativeQuery = true)
+    int incrementSeq();
+
+    /**
+     * Last committed sequence, or the one just taken inside a writing transaction
+     */
+    @Query(value = "SELECT last_seq FROM book_change_sequence WHERE id = 1", nativeQuery = true)
+    long findLastSeq();
+
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "INSERT INTO book_changes (seq, book_id, isbn, change_type, changed_at) "
+            + "VALUES (:seq, :bookId, :isbn, :changeType, CURRENT_TIMESTAMP(3))", nativeQuery = true)
+    int insert(@Param("seq") long seq,
+            @Param("bookId") Long bookId,
+            @Param("isbn") String isbn,
+            @Param("changeType") String changeType);
+
+    /**
+     * Sequences up to here were assigned by AUTO_INCREMENT before the counter
+     * existed and may have gaps
+     */
+    @Query(value = "SELECT gapless_after FROM book_change_sequence WHERE id = 1", nativeQuery = true)
+    long findGaplessAfter();
+
+    @Query(value = "SELECT purged_through FROM book_change_sequence WHERE id = 1", nativeQuery = true)
+    long findPurgedThrough();
+
+    /**
+     * Highest sequence stamped more than the given seconds ago by the
+     * database clock, 0 when there is none
+     */
+    @Query(value = "SELECT COALESCE(MAX(seq), 0) FROM book_changes "
+            + "WHERE changed_at < TIMESTAMPADD(SECOND, -:seconds, CURRENT_TIMESTAMP(3))", nativeQuery = true)
+    long findLastSeqOlderThan(@Param("seconds") long seconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE book_change_sequence SET purged_through = GREATEST(purged_through, :through) "
+            + "WHERE id = 1", nativeQuery = true)
+    int markPurged(@Param("through") long through);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM book_changes WHERE seq <= :through ORDER BY seq LIMIT :limit", nativeQuery = true)
+    int deleteThrough(@Param("through") long through, @Param("limit") int limit);
+}
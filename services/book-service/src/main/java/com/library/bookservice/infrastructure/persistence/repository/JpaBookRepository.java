@@ -1,18 +1,31 @@
 package com.library.bookservice.infrastructure.persistence.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import com.library.bookservice.domain.model.BookStatus;
 import com.library.bookservice.infrastructure.persistence.entity.BookEntity;
+import com.library.bookservice.infrastructure.persistence.projection.BookSummaryRow;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Spring Data JPA Repository for BookEntity
+ *
+ * List queries come in two flavours: the plain one, and a WithCategory
+ * variant that loads the lazy category in the same statement. Use the
+ * variant whenever the result is mapped to the domain model, otherwise the
+ * mapper triggers one category query per book.
  */
 @Repository
 public interface JpaBookRepository extends JpaRepository<BookEntity, Long> {
@@ -35,7 +48,7 @@ public interface JpaBookRepository extends JpaRepository<BookEntity, Long> {
     /**
      * Find available books (status = AVAILABLE and availableQuantity > 0)
      */
-    @Query("SELECT b FROM BookEntity b WHERE b. status = 'AVAILABLE' AND b.availableQuantity > 0")
+    @Query("SELECT b FROM BookEntity b WHERE b.status = 'AVAILABLE' AND b.availableQuantity > 0")
     List<BookEntity> findAvailableBooks();
 
     /**
@@ -47,7 +60,7 @@ public interface JpaBookRepository extends JpaRepository<BookEntity, Long> {
      * Search books by keyword (title, author, or description)
      */
     @Query("SELECT b FROM BookEntity b WHERE " +
-            "LOWER(b.title) LIKE LOWER(CONCAT('%', : keyword, '%')) OR " +
+            "LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(b.authorName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(b.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<BookEntity> searchByKeyword(@Param("keyword") String keyword);
@@ -55,7 +68,7 @@ public interface JpaBookRepository extends JpaRepository<BookEntity, Long> {
     /**
      * Find books by category ID
      */
-    @Query("SELECT b FROM BookEntity b WHERE b.category.id = : categoryId")
+    @Query("SELECT b FROM BookEntity b WHERE b.category.id = :categoryId")
     List<BookEntity> findByCategoryId(@Param("categoryId") Long categoryId);
 
     /**
@@ -73,7 +86,7 @@ public interface JpaBookRepository extends JpaRepository<BookEntity, Long> {
     /**
      * Find books needing reorder (availableQuantity < threshold)
      */
-    @Query("SELECT b FROM BookEntity b WHERE b.availableQuantity < : threshold AND b.status = 'AVAILABLE'")
+    @Query("SELECT b FROM BookEntity b WHERE b.availableQuantity < :threshold AND b.status = 'AVAILABLE'")
     List<BookEntity> findBooksNeedingReorder(@Param("threshold") int threshold);
 
     /**
@@ -83,4 +96,141 @@ public interface JpaBookRepository extends JpaRepository<BookEntity, Long> {
             "(CAST(b.borrowedQuantity AS double) / CAST(b.totalQuantity AS double)) > :borrowRateThreshold " +
             "AND b.totalQuantity > 0")
     List<BookEntity> findPopularBooks(@Param("borrowRateThreshold") double borrowRateThreshold);
-}
\ No newline at end of file
+
+    // ==================== FETCH CATEGORY ====================
+
+    /**
+     * Find all books with their category
+     */
+    @Query("SELECT b FROM BookEntity b JOIN FETCH b.category")
+    List<BookEntity> findAllWithCategory();
+
+    /**
+     * Find books by status with their category
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT b FROM BookEntity b WHERE b.status = :status")
+    List<BookEntity> findByStatusWithCategory(@Param("status") BookStatus status);
+
+    /**
+     * Find available books with their category
+     */
+    @Query("SELECT b FROM BookEntity b JOIN FETCH b.category " +
+            "WHERE b.status = 'AVAILABLE' AND b.availableQuantity > 0")
+    List<BookEntity> findAvailableBooksWithCategory();
+
+    /**
+     * Find books by author name with their category
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT b FROM BookEntity b WHERE LOWER(b.authorName) LIKE LOWER(CONCAT('%', :authorName, '%'))")
+    List<BookEntity> findByAuthorNameWithCategory(@Param("authorName") String authorName);
+
+    /**
+     * Search books by keyword with their category
+     */
+    @Query("SELECT b FROM BookEntity b JOIN FETCH b.category WHERE " +
+            "LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.authorName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    List<BookEntity> searchByKeywordWithCategory(@Param("keyword") String keyword);
+
+    /**
+     * Find books by category ID with their category
+     */
+    @Query("SELECT b FROM BookEntity b JOIN FETCH b.category c WHERE c.id = :categoryId")
+    List<BookEntity> findByCategoryIdWithCategory(@Param("categoryId") Long categoryId);
+
+    /**
+     * Find books by category name, ignoring case, with their category
+     */
+    @Query("SELECT b FROM BookEntity b JOIN FETCH b.category c WHERE LOWER(c.name) = LOWER(:categoryName)")
+    List<BookEntity> findByCategoryNameWithCategory(@Param("categoryName") String categoryName);
+
+    /**
+     * Find books needing reorder with their category
+     */
+    @Query("SELECT b FROM BookEntity b JOIN FETCH b.category " +
+            "WHERE b.availableQuantity < :threshold AND b.status = 'AVAILABLE'")
+    List<BookEntity> findBooksNeedingReorderWithCategory(@Param("threshold") int threshold);
+
+    /**
+     * Stream books needing reorder after an ID, in ID order, with their
+     * category. A fetch size of Integer.MIN_VALUE makes the MySQL driver
+     * stream rows instead of buffering the whole result; the connection can
+     * run nothing else until the stream is closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM BookEntity b JOIN FETCH b.category " +
+            "WHERE b.availableQuantity < :threshold AND b.status = 'AVAILABLE' AND b.id > :afterId " +
+            "ORDER BY b.id")
+    Stream<BookEntity> streamBooksNeedingReorderWithCategory(@Param("threshold") int threshold,
+            @Param("afterId") long afterId);
+
+    /**
+     * Count books needing reorder after an ID
+     */
+    @Query("SELECT COUNT(b) FROM BookEntity b " +
+            "WHERE b.availableQuantity < :threshold AND b.status = 'AVAILABLE' AND b.id > :afterId")
+    long countBooksNeedingReorder(@Param("threshold") int threshold, @Param("afterId") long afterId);
+
+    /**
+     * Find popular books with their category
+     */
+    @Query("SELECT b FROM BookEntity b JOIN FETCH b.category WHERE " +
+            "(CAST(b.borrowedQuantity AS double) / CAST(b.totalQuantity AS double)) > :borrowRateThreshold " +
+            "AND b.totalQuantity > 0")
+    List<BookEntity> findPopularBooksWithCategory(@Param("borrowRateThreshold") double borrowRateThreshold);
+
+    /**
+     * Find books by IDs with their category
+     */
+    @Query("SELECT b FROM BookEntity b JOIN FETCH b.category WHERE b.id IN :ids")
+    List<BookEntity> findAllWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find books by ISBNs with their category
+     */
+    @Query("SELECT b FROM BookEntity b JOIN FETCH b.category WHERE b.isbn IN :isbns")
+    List<BookEntity> findAllWithCategoryByIsbnIn(@Param("isbns") Collection<String> isbns);
+
+    // ==================== SUMMARY PROJECTION ====================
+
+    /**
+     * Summaries of all books
+     */
+    @Query("SELECT new com.library.bookservice.infrastructure.persistence.projection.BookSummaryRow(" +
+            "b.id, b.isbn, b.title, b.authorName, c.name, b.availableQuantity, b.status, b.coverImageUrl) " +
+            "FROM BookEntity b LEFT JOIN b.category c")
+    List<BookSummaryRow> findAllSummaries();
+
+    /**
+     * Summaries of available books
+     */
+    @Query("SELECT new com.library.bookservice.infrastructure.persistence.projection.BookSummaryRow(" +
+            "b.id, b.isbn, b.title, b.authorName, c.name, b.availableQuantity, b.status, b.coverImageUrl) " +
+            "FROM BookEntity b LEFT JOIN b.category c WHERE b.status = 'AVAILABLE' AND b.availableQuantity > 0")
+    List<BookSummaryRow> findAvailableSummaries();
+
+    /**
+     * Summaries of books matching a keyword (title, author, or description)
+     */
+    @Query("SELECT new com.library.bookservice.infrastructure.persistence.projection.BookSummaryRow(" +
+            "b.id, b.isbn, b.title, b.authorName, c.name, b.availableQuantity, b.status, b.coverImageUrl) " +
+            "FROM BookEntity b LEFT JOIN b.category c WHERE " +
+            "LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.authorName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    List<BookSummaryRow> searchSummariesByKeyword(@Param("keyword") String keyword);
+
+    /**
+     * Summaries of books in a category
+     */
+    @Query("SELECT new com.library.bookservice.infrastructure.persistence.projection.BookSummaryRow(" +
+            "b.id, b.isbn, b.title, b.authorName, c.name, b.availableQuantity, b.status, b.coverImageUrl) " +
+            "FROM BookEntity b LEFT JOIN b.category c WHERE LOWER(c.name) = LOWER(:categoryName)")
+    List<BookSummaryRow> findSummariesByCategoryName(@Param("categoryName") String categoryName);
+}
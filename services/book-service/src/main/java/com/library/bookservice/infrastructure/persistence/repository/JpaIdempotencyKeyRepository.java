@@ -0,0 +1,87 @@
+package com.library.bookservice.infrastructure.persistence.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.bookservice.infrastructure.persistence.entity.IdempotencyKeyEntity;
+
+/**
+ * Spring Data JPA Repository for IdempotencyKeyEntity
+ */
+@Repository
+public interface JpaIdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    /**
+     * Claim a key, relying on the primary key to make concurrent claims exclusive
+     *
+     * @return 1 if the key was claimed, 0 if it already exists
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO idempotency_keys " +
+            "(idempotency_key, request_hash, owner, created_at, expires_at, locked_until) " +
+            "VALUES (:key, :requestHash, :owner, :createdAt, :expiresAt, :lockedUntil)", nativeQuery = true)
+    int tryInsert(@Param("key") String key,
+            @Param("requestHash") String requestHash,
+            @Param("owner") String owner,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Take over a key whose owner's lease lapsed without a response, or whose
+     * entry expired but was not purged yet; the row lock taken by the UPDATE
+     * makes concurrent takeovers exclusive
+     *
+     * @return 1 if the key was claimed, 0 if it is held or has a live response
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE idempotency_keys SET request_hash = :requestHash, owner = :owner, " +
+            "created_at = :now, expires_at = :expiresAt, locked_until = :lockedUntil, " +
+            "response_status = NULL, content_type = NULL, response_body = NULL " +
+            "WHERE idempotency_key = :key AND (expires_at <= :now " +
+            "OR (response_status IS NULL AND (locked_until IS NULL OR locked_until <= :now)))", nativeQuery = true)
+    int tryReclaim(@Param("key") String key,
+            @Param("requestHash") String requestHash,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Store the response of a claimed key, if the caller still owns it
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyKeyEntity k SET k.responseStatus = :status, k.contentType = :contentType, " +
+            "k.responseBody = :body, k.lockedUntil = null WHERE k.idempotencyKey = :key AND k.owner = :owner")
+    int complete(@Param("key") String key,
+            @Param("owner") String owner,
+            @Param("status") int status,
+            @Param("contentType") String contentType,
+            @Param("body") String body);
+
+    /**
+     * Release a claimed key without a response, if the caller still owns it
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.idempotencyKey = :key AND k.owner = :owner " +
+            "AND k.responseStatus IS NULL")
+    int release(@Param("key") String key, @Param("owner") String owner);
+
+    /**
+     * Delete keys past their TTL
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
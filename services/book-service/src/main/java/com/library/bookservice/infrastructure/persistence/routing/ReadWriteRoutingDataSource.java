@@ -0,0 +1,103 @@
+package com.library.bookservice.infrastructure.persistence.routing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routes read-only transactions to a healthy replica, everything else to the
+ * primary
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the read-only flag of
+ * the transaction is only known once the transaction has begun, which is
+ * after JPA would otherwise have fetched the connection.
+ *
+ * A read carrying a read-your-writes token costs one GTID check on the
+ * replica before it is routed there.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> READING_FROM_REPLICA = new ThreadLocal<>();
+
+    private final List<ReplicaState> replicas;
+    private final DataSource primary;
+    private final Duration gtidWait;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(List<ReplicaState> replicas, DataSource primary, Duration gtidWait) {
+        this.replicas = replicas;
+        this.primary = primary;
+        this.gtidWait = gtidWait;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWrites.registerWrite(primary);
+            }
+            READING_FROM_REPLICA.remove();
+            return PRIMARY;
+        }
+
+        ReplicaState replica = pickReplica(ReadYourWrites.requiredToken());
+        if (replica == null) {
+            log.debug("No eligible replica, reading from primary");
+            READING_FROM_REPLICA.remove();
+            return PRIMARY;
+        }
+        markReadingFromReplica();
+        return replica.getName();
+    }
+
+    /**
+     * Whether the current transaction reads from a replica, which may lag
+     * behind the primary
+     */
+    public static boolean isReadingFromReplica() {
+        return Boolean.TRUE.equals(READING_FROM_REPLICA.get());
+    }
+
+    private static void markReadingFromReplica() {
+        if (isReadingFromReplica() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        READING_FROM_REPLICA.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                READING_FROM_REPLICA.remove();
+            }
+        });
+    }
+
+    /**
+     * Round robin over healthy replicas that have applied the read-your-writes
+     * token, if any
+     */
+    private ReplicaState pickReplica(String token) {
+        if (ReadYourWrites.PRIMARY_TOKEN.equals(token)) {
+            return null;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaState replica = replicas.get((start + i) % size);
+            if (replica.isHealthy() && (token == null || replica.hasExecuted(token, gtidWait))) {
+                return replica;
+            }
+        }
+        return null;
+    }
+}
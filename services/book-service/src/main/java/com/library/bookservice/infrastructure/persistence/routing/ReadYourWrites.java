@@ -0,0 +1,105 @@
+package com.library.bookservice.infrastructure.persistence.routing;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-your-writes session token
+ *
+ * After a write commits, the response carries the primary's executed GTID
+ * set in the X-Read-Token header. A client sending the token back is only
+ * served from replicas that have applied every transaction in it, otherwise
+ * from the primary. When the primary has no GTIDs (gtid_mode OFF) or cannot
+ * be asked, the token is "primary" and such reads always go there.
+ */
+@Slf4j
+public final class ReadYourWrites {
+
+    public static final String TOKEN_HEADER = "X-Read-Token";
+
+    /** Token of reads that must be served by the primary */
+    public static final String PRIMARY_TOKEN = "primary";
+
+    private static final String EXECUTED_QUERY = "SELECT @@GLOBAL.gtid_executed";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final ThreadLocal<String> REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * GTID set the current request must observe, PRIMARY_TOKEN, or null
+     */
+    public static String requiredToken() {
+        return REQUIRED.get();
+    }
+
+    public static void require(String token) {
+        if (token == null) {
+            REQUIRED.remove();
+        } else {
+            REQUIRED.set(token);
+        }
+    }
+
+    public static void clear() {
+        REQUIRED.remove();
+    }
+
+    /**
+     * Issue a token once the current read-write transaction commits
+     *
+     * The GTID set is read on a separate primary connection; it includes the
+     * commit, and possibly later ones, which only makes a replica wait longer.
+     */
+    static void registerWrite(DataSource primary) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                String token = executedGtids(primary);
+                // Later reads of the same request must see the write too
+                REQUIRED.set(token);
+                if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+                    HttpServletResponse response = attributes.getResponse();
+                    if (response != null && !response.isCommitted()) {
+                        response.setHeader(TOKEN_HEADER, token);
+                    }
+                }
+            }
+        });
+    }
+
+    private static String executedGtids(DataSource primary) {
+        try (Connection connection = primary.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery(EXECUTED_QUERY)) {
+            String executed = result.next() ? result.getString(1) : null;
+            if (executed == null || executed.isBlank()) {
+                return PRIMARY_TOKEN;
+            }
+            // MySQL separates the sets of different servers with ",\n"
+            return WHITESPACE.matcher(executed).replaceAll("");
+        } catch (SQLException e) {
+            log.warn("Could not read the primary's GTID set, later reads go to the primary: {}", e.getMessage());
+            return PRIMARY_TOKEN;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.library.bookservice.infrastructure.persistence.routing;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.library.bookservice.infrastructure.config.DataSourceRoutingProperties;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically probes every replica and records its health and lag
+ *
+ * A replica is healthy when it answers and its replication lag is within
+ * the configured bound. A database that is not a replica at all (no replica
+ * status) is treated as having no lag, which lets local setups use two
+ * independent databases.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ReplicaHealthChecker {
+
+    private static final String LAG_QUERY = "SHOW REPLICA STATUS";
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    @Getter
+    private final List<ReplicaState> replicas;
+    private final DataSourceRoutingProperties properties;
+
+    @Scheduled(fixedDelayString = "${datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    /**
+     * Close the replica pools on shutdown
+     */
+    public void close() {
+        replicas.forEach(ReplicaState::close);
+    }
+
+    void check(ReplicaState replica) {
+        boolean wasHealthy = replica.isHealthy();
+        try (Connection connection = replica.getDataSource().getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet status = statement.executeQuery(LAG_QUERY)) {
+
+            long lagMillis = 0;
+            boolean replicating = true;
+            if (status.next()) {
+                long seconds = status.getLong(LAG_COLUMN);
+                replicating = !status.wasNull();
+                lagMillis = seconds * 1000;
+            }
+
+            boolean healthy = replicating && lagMillis <= properties.getMaxLag().toMillis();
+            replica.update(healthy, lagMillis);
+            if (healthy != wasHealthy) {
+                log.info("Replica {} is now {} (lag {} ms)", replica.getName(), healthy ? "in rotation" : "out of rotation",
+                        lagMillis);
+            }
+        } catch (SQLException e) {
+            replica.update(false, Long.MAX_VALUE / 2);
+            if (wasHealthy) {
+                log.warn("Replica {} failed its health check: {}", replica.getName(), e.getMessage());
+            }
+        }
+    }
+}
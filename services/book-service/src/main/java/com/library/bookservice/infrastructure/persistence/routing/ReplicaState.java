@@ -0,0 +1,72 @@
+package com.library.bookservice.infrastructure.persistence.routing;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A replica and what the last health check learned about it
+ */
+@Getter
+@Slf4j
+public class ReplicaState {
+
+    private static final String SUBSET_QUERY = "SELECT GTID_SUBSET(?, @@GLOBAL.gtid_executed)";
+    private static final String WAIT_QUERY = "SELECT WAIT_FOR_EXECUTED_GTID_SET(?, ?) = 0";
+
+    private final String name;
+    private final DataSource dataSource;
+
+    private volatile boolean healthy;
+    private volatile long lagMillis;
+    private volatile long checkedAt;
+
+    public ReplicaState(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    void update(boolean healthy, long lagMillis) {
+        this.healthy = healthy;
+        this.lagMillis = lagMillis;
+        this.checkedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Whether the replica has applied every transaction of a GTID set,
+     * waiting up to the given time for it; false when it cannot tell
+     */
+    public boolean hasExecuted(String gtidSet, Duration wait) {
+        boolean waiting = !wait.isZero() && !wait.isNegative();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(waiting ? WAIT_QUERY : SUBSET_QUERY)) {
+            statement.setString(1, gtidSet);
+            if (waiting) {
+                statement.setDouble(2, wait.toMillis() / 1000.0);
+            }
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getInt(1) == 1;
+            }
+        } catch (SQLException e) {
+            log.debug("Replica {} could not check GTID set {}: {}", name, gtidSet, e.getMessage());
+            return false;
+        }
+    }
+
+    void close() {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close replica {} pool: {}", name, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.library.bookservice.infrastructure.report;
+
+import com.library.bookservice.domain.model.Book;
+
+/**
+ * One line of a reorder report
+ */
+record ReorderLine(
+        Long bookId,
+        String isbn,
+        String title,
+        String authorName,
+        String categoryName,
+        int totalQuantity,
+        int availableQuantity,
+        int borrowedQuantity,
+        double borrowRate,
+        int reorderQuantity) {
+
+    static final String[] HEADER = {
+            "bookId", "isbn", "title", "authorName", "categoryName",
+            "totalQuantity", "availableQuantity", "borrowedQuantity", "borrowRate", "reorderQuantity" };
+
+    static ReorderLine of(Book book, int reorderQuantity) {
+        return new ReorderLine(
+                book.getId(),
+                book.getIsbn().getValue(),
+                book.getTitle(),
+                book.getAuthor().getName(),
+                book.getCategoryName(),
+                book.getInventory().getTotalQuantity(),
+                book.getInventory().getAvailableQuantity(),
+                book.getInventory().getBorrowedQuantity(),
+                Math.round(book.getInventory().getBorrowRate() * 10_000) / 10_000.0,
+                reorderQuantity);
+    }
+}
@@ -0,0 +1,60 @@
+package com.library.bookservice.infrastructure.report;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+import com.library.bookservice.domain.model.Book;
+import com.library.bookservice.domain.service.BookDomainService;
+
+/**
+ * Computes the report lines of a chunk of books, splitting the range in
+ * halves until it is small enough to run on one worker
+ *
+ * lines[i] belongs to books.get(i), so the chunk keeps its ID order however
+ * the work was divided; books with nothing to reorder leave a null.
+ */
+class ReorderQuantityTask extends RecursiveAction {
+
+    private final List<Book> books;
+    private final ReorderLine[] lines;
+    private final int from;
+    private final int to;
+    private final BookDomainService domainService;
+    private final int forkThreshold;
+
+    ReorderQuantityTask(List<Book> books, BookDomainService domainService, int forkThreshold) {
+        this(books, new ReorderLine[books.size()], 0, books.size(), domainService, Math.max(1, forkThreshold));
+    }
+
+    private ReorderQuantityTask(List<Book> books, ReorderLine[] lines, int from, int to,
+            BookDomainService domainService, int forkThreshold) {
+        this.books = books;
+        this.lines = lines;
+        this.from = from;
+        this.to = to;
+        this.domainService = domainService;
+        this.forkThreshold = forkThreshold;
+    }
+
+    ReorderLine[] lines() {
+        return lines;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= forkThreshold) {
+            for (int i = from; i < to; i++) {
+                Book book = books.get(i);
+                int quantity = domainService.calculateReorderQuantity(book);
+                if (quantity > 0) {
+                    lines[i] = ReorderLine.of(book, quantity);
+                }
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(
+                new ReorderQuantityTask(books, lines, from, middle, domainService, forkThreshold),
+                new ReorderQuantityTask(books, lines, middle, to, domainService, forkThreshold));
+    }
+}
@@ -0,0 +1,190 @@
+package com.library.bookservice.infrastructure.report;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.library.bookservice.application.dto.ReorderReportFormat;
+import com.library.bookservice.application.dto.ReorderReportRun;
+import com.library.common.util.JsonUtils;
+
+/**
+ * Report file of one run, written as {@code <runId>.<ext>.part} and renamed
+ * once complete
+ *
+ * A checkpoint flushes and syncs the file and returns its length. Opening
+ * a resumed run cuts the file back to the length of its last checkpoint,
+ * dropping lines written after it, which the run writes again.
+ */
+class ReorderReportFile implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Lines go through one generator per file and are only flushed by a
+     * checkpoint; the shared writer flushes after every value. Without a
+     * root separator, each line ends with the newline written after it.
+     */
+    private static final ObjectWriter NDJSON_WRITER = JsonUtils.writer(ReorderLine.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator((String) null);
+
+    private final Path part;
+    private final Path target;
+    private final FileChannel channel;
+    private final OutputStream out;
+    private final JsonGenerator json;
+    private final StringBuilder csvLine = new StringBuilder(256);
+
+    private ReorderReportFile(Path part, Path target, ReorderReportFormat format, FileChannel channel)
+            throws IOException {
+        this.part = part;
+        this.target = target;
+        this.channel = channel;
+        this.out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        this.json = format == ReorderReportFormat.NDJSON ? NDJSON_WRITER.createGenerator(out) : null;
+    }
+
+    static Path target(Path directory, ReorderReportRun run) {
+        return directory.resolve(run.getRunId() + "." + run.getFormat().getExtension());
+    }
+
+    static ReorderReportFile open(Path directory, ReorderReportRun run) throws IOException {
+        Path target = target(directory, run);
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        long checkpoint = run.getReportBytes();
+
+        FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < checkpoint) {
+                throw new IOException("Report file " + part + " is shorter than its last checkpoint");
+            }
+            channel.truncate(checkpoint);
+            channel.position(checkpoint);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        ReorderReportFile file;
+        try {
+            file = new ReorderReportFile(part, target, run.getFormat(), channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (checkpoint == 0 && run.getFormat() == ReorderReportFormat.CSV) {
+            file.writeCsv(ReorderLine.HEADER);
+        }
+        return file;
+    }
+
+    /**
+     * Append the lines of a chunk, skipping nulls
+     */
+    void append(ReorderLine[] lines) throws IOException {
+        for (ReorderLine line : lines) {
+            if (line == null) {
+                continue;
+            }
+            if (json != null) {
+                NDJSON_WRITER.writeValue(json, line);
+                json.writeRaw('\n');
+            } else {
+                writeCsv(line);
+            }
+        }
+    }
+
+    /**
+     * Make everything appended so far durable
+     *
+     * @return length of the file
+     */
+    long checkpoint() throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        out.flush();
+        channel.force(false);
+        return channel.position();
+    }
+
+    /**
+     * Checkpoint, close and move the file to its final name
+     */
+    void complete() throws IOException {
+        checkpoint();
+        close();
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            if (json != null) {
+                // Leaves out open, closed next
+                json.close();
+            }
+            out.close();
+        }
+    }
+
+    private void writeCsv(ReorderLine line) throws IOException {
+        writeCsv(String.valueOf(line.bookId()), line.isbn(), line.title(), line.authorName(), line.categoryName(),
+                String.valueOf(line.totalQuantity()), String.valueOf(line.availableQuantity()),
+                String.valueOf(line.borrowedQuantity()), String.valueOf(line.borrowRate()),
+                String.valueOf(line.reorderQuantity()));
+    }
+
+    private void writeCsv(String... values) throws IOException {
+        csvLine.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csvLine.append(',');
+            }
+            appendCsvValue(values[i]);
+        }
+        csvLine.append('\n');
+        out.write(csvLine.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * RFC 4180 quoting: values with a comma, quote or line break are quoted
+     * and their quotes doubled
+     */
+    private void appendCsvValue(String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            csvLine.append(value);
+            return;
+        }
+        csvLine.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csvLine.append('"');
+            }
+            csvLine.append(c);
+        }
+        csvLine.append('"');
+    }
+}
@@ -0,0 +1,389 @@
+package com.library.bookservice.infrastructure.report;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.library.bookservice.application.dto.ReorderReportFormat;
+import com.library.bookservice.application.dto.ReorderReportRun;
+import com.library.bookservice.application.dto.ReorderReportState;
+import com.library.bookservice.application.port.input.ReorderReportService;
+import com.library.bookservice.application.port.output.BookRepositoryPort;
+import com.library.bookservice.domain.model.Book;
+import com.library.bookservice.domain.service.BookDomainService;
+import com.library.bookservice.infrastructure.config.ReorderReportProperties;
+import com.library.common.util.JsonUtils;
+import com.library.common.util.TimeOrderedIdGenerator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reorder report job
+ *
+ * Books needing reorder are read in ID order through a forward-only cursor
+ * inside one read-only transaction, a chunk at a time. While the fork/join
+ * pool computes the reorder quantities of one chunk, the next chunk is read
+ * from the cursor; the computed lines are then appended to the report file
+ * in order. After every chunk the file is synced and the run, with the last
+ * book ID it covered, is saved next to it as {@code <runId>.json}, so a run
+ * stopped by an error or a shutdown continues after that book.
+ *
+ * One run at a time per instance. Progress is exported as
+ * reorder.report.total, reorder.report.processed, reorder.report.lines and
+ * reorder.report.chunk.
+ */
+@Component
+@RegisterReflectionForBinding({ ReorderReportRun.class, ReorderLine.class })
+@Slf4j
+public class ReorderReportJob implements ReorderReportService {
+
+    private static final Pattern RUN_ID = Pattern.compile("[0-9A-Z]{26}");
+    private static final String RUN_SUFFIX = ".json";
+
+    private final BookRepositoryPort bookRepository;
+    private final BookDomainService domainService;
+    private final ReorderReportProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path directory;
+    private final ExecutorService runner;
+    private final ForkJoinPool workers;
+
+    private final AtomicLong totalGauge = new AtomicLong();
+    private final AtomicLong processedGauge = new AtomicLong();
+    private final Counter linesCounter;
+    private final Timer chunkTimer;
+
+    /** Run in progress, replaced by a new snapshot after every chunk */
+    private volatile ReorderReportRun active;
+    private volatile boolean stopping;
+
+    public ReorderReportJob(
+            BookRepositoryPort bookRepository,
+            BookDomainService domainService,
+            ReorderReportProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.domainService = domainService;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.directory = Paths.get(properties.getDirectory()).toAbsolutePath();
+        this.runner = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "reorder-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.workers = new ForkJoinPool(parallelism);
+
+        Gauge.builder("reorder.report.total", totalGauge, AtomicLong::get)
+                .description("Candidate books of the running reorder report")
+                .register(meterRegistry);
+        Gauge.builder("reorder.report.processed", processedGauge, AtomicLong::get)
+                .description("Candidate books processed by the running reorder report")
+                .register(meterRegistry);
+        this.linesCounter = Counter.builder("reorder.report.lines").register(meterRegistry);
+        this.chunkTimer = Timer.builder("reorder.report.chunk").register(meterRegistry);
+    }
+
+    @Override
+    public synchronized ReorderReportRun start(ReorderReportFormat format, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be at least 1");
+        }
+        ensureIdle();
+
+        LocalDateTime now = LocalDateTime.now();
+        ReorderReportRun run = ReorderReportRun.builder()
+                .runId(TimeOrderedIdGenerator.nextString())
+                .format(format)
+                .threshold(threshold)
+                .state(ReorderReportState.RUNNING)
+                .startedAt(now)
+                .updatedAt(now)
+                .build();
+        log.info("Starting reorder report {} ({}, threshold {})", run.getRunId(), format, threshold);
+        return submit(run);
+    }
+
+    @Override
+    public synchronized ReorderReportRun resume(String runId) {
+        ReorderReportRun run = getRun(runId);
+        if (run.getState() == ReorderReportState.COMPLETED) {
+            throw new IllegalStateException("Reorder report " + runId + " is already complete");
+        }
+        ensureIdle();
+
+        log.info("Resuming reorder report {} after book {} ({} processed)",
+                runId, run.getLastBookId(), run.getProcessed());
+        return submit(run.toBuilder()
+                .state(ReorderReportState.RUNNING)
+                .updatedAt(LocalDateTime.now())
+                .finishedAt(null)
+                .error(null)
+                .build());
+    }
+
+    @Override
+    public ReorderReportRun getRun(String runId) {
+        ReorderReportRun current = active;
+        if (current != null && current.getRunId().equals(runId)) {
+            return current;
+        }
+        return loadRun(runId)
+                // Saved as running but not running here: the instance stopped without a checkpoint
+                .map(run -> run.getState() == ReorderReportState.RUNNING
+                        ? run.toBuilder().state(ReorderReportState.INTERRUPTED).build()
+                        : run)
+                .orElseThrow(() -> new IllegalArgumentException("Reorder report not found: " + runId));
+    }
+
+    @Override
+    public List<ReorderReportRun> getRuns() {
+        List<ReorderReportRun> runs = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return runs;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + RUN_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String runId = name.substring(0, name.length() - RUN_SUFFIX.length());
+                if (RUN_ID.matcher(runId).matches()) {
+                    runs.add(getRun(runId));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list reorder reports", e);
+        }
+        // Run IDs are time ordered
+        runs.sort(Comparator.comparing(ReorderReportRun::getRunId).reversed());
+        return runs;
+    }
+
+    @Override
+    public Path getReportFile(String runId) {
+        ReorderReportRun run = getRun(runId);
+        if (run.getState() != ReorderReportState.COMPLETED) {
+            throw new IllegalStateException("Reorder report " + runId + " is " + run.getState());
+        }
+        return ReorderReportFile.target(directory, run);
+    }
+
+    /**
+     * Scheduled run: continues the newest unfinished run, or starts a new one
+     */
+    @Scheduled(cron = "${book.reorder-report.cron:-}")
+    public synchronized void runScheduled() {
+        if (active != null) {
+            log.info("Scheduled reorder report skipped, {} is still running", active.getRunId());
+            return;
+        }
+        Optional<ReorderReportRun> unfinished = getRuns().stream()
+                .filter(run -> run.getState() != ReorderReportState.COMPLETED)
+                .findFirst();
+        if (unfinished.isPresent()) {
+            resume(unfinished.get().getRunId());
+        } else {
+            start(ReorderReportFormat.from(properties.getFormat()), properties.getThreshold());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        runner.shutdown();
+        if (!runner.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Reorder report did not reach a checkpoint before shutdown");
+        }
+        workers.shutdown();
+    }
+
+    private void ensureIdle() {
+        if (active != null) {
+            throw new IllegalStateException("Reorder report " + active.getRunId() + " is already running");
+        }
+        if (stopping) {
+            throw new IllegalStateException("Reorder reports are shutting down");
+        }
+    }
+
+    private ReorderReportRun submit(ReorderReportRun run) {
+        active = run;
+        try {
+            saveRun(run);
+        } catch (RuntimeException e) {
+            active = null;
+            throw e;
+        }
+        runner.execute(() -> execute(run));
+        return run;
+    }
+
+    private void execute(ReorderReportRun run) {
+        ReorderReportRun last;
+        try {
+            last = readOnlyTransaction.execute(status -> write(run));
+            if (last.getState() == ReorderReportState.INTERRUPTED) {
+                log.info("Reorder report {} interrupted after book {}", last.getRunId(), last.getLastBookId());
+            } else {
+                log.info("Reorder report {} complete: {} books, {} lines",
+                        last.getRunId(), last.getProcessed(), last.getWritten());
+            }
+        } catch (RuntimeException e) {
+            log.error("Reorder report {} failed", run.getRunId(), e);
+            ReorderReportRun current = active;
+            last = current.toBuilder()
+                    .state(ReorderReportState.FAILED)
+                    .error(e.getMessage())
+                    .updatedAt(LocalDateTime.now())
+                    .build();
+        }
+        try {
+            saveRun(last);
+        } catch (UncheckedIOException e) {
+            log.error("Could not save the final state of reorder report {}", run.getRunId(), e);
+        } finally {
+            active = null;
+            totalGauge.set(0);
+            processedGauge.set(0);
+        }
+    }
+
+    /**
+     * Write the report inside the read-only transaction holding the cursor
+     */
+    private ReorderReportRun write(ReorderReportRun run) {
+        // Count first: the streaming cursor blocks the connection until closed
+        long total = run.getProcessed() + bookRepository.countBooksNeedingReorder(run.getThreshold(), run.getLastBookId());
+        ReorderReportRun current = run.toBuilder().total(total).build();
+        active = current;
+        totalGauge.set(total);
+        processedGauge.set(current.getProcessed());
+
+        try (ReorderReportFile file = ReorderReportFile.open(directory, current);
+                Stream<Book> books = bookRepository.streamBooksNeedingReorder(run.getThreshold(), run.getLastBookId())) {
+            Iterator<Book> cursor = books.iterator();
+            List<Book> chunk = nextChunk(cursor);
+            while (!chunk.isEmpty()) {
+                if (stopping) {
+                    return current.toBuilder()
+                            .state(ReorderReportState.INTERRUPTED)
+                            .updatedAt(LocalDateTime.now())
+                            .build();
+                }
+                long started = System.nanoTime();
+
+                ReorderQuantityTask task = new ReorderQuantityTask(chunk, domainService, properties.getForkThreshold());
+                workers.execute(task);
+                List<Book> next = nextChunk(cursor);
+                task.join();
+
+                ReorderLine[] lines = task.lines();
+                file.append(lines);
+                long bytes = file.checkpoint();
+
+                long written = 0;
+                for (ReorderLine line : lines) {
+                    if (line != null) {
+                        written++;
+                    }
+                }
+                current = current.toBuilder()
+                        .processed(current.getProcessed() + chunk.size())
+                        .written(current.getWritten() + written)
+                        .lastBookId(chunk.get(chunk.size() - 1).getId())
+                        .reportBytes(bytes)
+                        .updatedAt(LocalDateTime.now())
+                        .build();
+                saveRun(current);
+                active = current;
+
+                processedGauge.set(current.getProcessed());
+                linesCounter.increment(written);
+                chunkTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                chunk = next;
+            }
+
+            file.complete();
+            LocalDateTime now = LocalDateTime.now();
+            return current.toBuilder()
+                    .state(ReorderReportState.COMPLETED)
+                    .updatedAt(now)
+                    .finishedAt(now)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write reorder report " + run.getRunId(), e);
+        }
+    }
+
+    private List<Book> nextChunk(Iterator<Book> cursor) {
+        int size = Math.max(1, properties.getChunkSize());
+        List<Book> chunk = new ArrayList<>(size);
+        while (chunk.size() < size && cursor.hasNext()) {
+            chunk.add(cursor.next());
+        }
+        return chunk;
+    }
+
+    private Optional<ReorderReportRun> loadRun(String runId) {
+        if (runId == null || !RUN_ID.matcher(runId).matches()) {
+            throw new IllegalArgumentException("Invalid reorder report ID: " + runId);
+        }
+        Path file = directory.resolve(runId + RUN_SUFFIX);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(JsonUtils.read(Files.readAllBytes(file), ReorderReportRun.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read reorder report " + runId, e);
+        }
+    }
+
+    /**
+     * Replace the run file atomically, so a crash leaves the old or the new
+     * checkpoint but never half of one
+     */
+    private void saveRun(ReorderReportRun run) {
+        Path file = directory.resolve(run.getRunId() + RUN_SUFFIX);
+        Path temp = directory.resolve(run.getRunId() + RUN_SUFFIX + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            Files.write(temp, JsonUtils.writeBytes(run));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save reorder report " + run.getRunId(), e);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.library.bookservice.infrastructure.search;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.library.bookservice.application.dto.BookChange;
+import com.library.bookservice.application.dto.BookColumn;
+import com.library.bookservice.application.dto.BookQueryFilter;
+import com.library.bookservice.application.port.output.BookChangeLogPort;
+import com.library.bookservice.application.port.output.BookRepositoryPort;
+import com.library.bookservice.domain.event.BookChangedEvent;
+import com.library.bookservice.domain.model.Book;
+import com.library.bookservice.domain.model.BookStatus;
+import com.library.bookservice.infrastructure.config.CatalogSnapshotProperties;
+import com.library.bookservice.infrastructure.snapshot.CatalogSnapshot;
+import com.library.bookservice.infrastructure.snapshot.CatalogSnapshotExporter;
+import com.library.common.event.bus.EventBus;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills the in-memory search indexes once the application is up
+ *
+ * When a catalog snapshot exists the books are scanned from the mapped
+ * file, and only those changed since it (per the change feed) are read
+ * from the database. Otherwise, or when too much has changed, only the
+ * columns the indexes need are read from the books table.
+ *
+ * From the feed position the load is complete up to, the loader then
+ * follows the change feed and publishes each changed book on the event
+ * bus, so that the indexes (and every other local read model) also see the
+ * writes made through other instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSearchIndexLoader {
+
+    private static final int CHANGE_PAGE_SIZE = 1000;
+
+    private final BookRepositoryPort bookRepository;
+    private final BookChangeLogPort changeLog;
+    private final CatalogSnapshotExporter snapshots;
+    private final CatalogSnapshotProperties snapshotProperties;
+    private final InMemoryBookSuggestIndex suggestIndex;
+    private final InMemoryBookFacetIndex facetIndex;
+    private final InMemoryBookFuzzyIndex fuzzyIndex;
+    private final EventBus eventBus;
+
+    /** Last change feed sequence published, -1 until the indexes are loaded */
+    private volatile long cursor = -1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.currentTimeMillis();
+        List<InMemoryBookSuggestIndex.IndexedBook> books = new ArrayList<>();
+        List<InMemoryBookFacetIndex.Doc> docs = new ArrayList<>();
+
+        long loadedThrough = snapshotProperties.isLoadOnStartup() ? loadSnapshot(books, docs) : -1;
+        boolean fromSnapshot = loadedThrough >= 0;
+        if (!fromSnapshot) {
+            books.clear();
+            docs.clear();
+            loadedThrough = loadDatabase(books, docs);
+        }
+
+        suggestIndex.load(books);
+        fuzzyIndex.load(books);
+        facetIndex.load(docs);
+        cursor = loadedThrough;
+
+        log.info("Search indexes loaded from {} books ({}) in {} ms, following changes after {}",
+                books.size(), fromSnapshot ? "snapshot" : "database", System.currentTimeMillis() - start,
+                loadedThrough);
+    }
+
+    /**
+     * Publish the books changed since the last poll on the event bus
+     *
+     * Changes and book states are read in one transaction, so from the same
+     * replica, and a book is never published older than the change that
+     * named it. When the feed cannot be followed (the cursor fell behind the
+     * purge), the indexes are loaded again; a load only adds and refreshes,
+     * so books deleted in the missed range stay indexed until a restart.
+     */
+    @Scheduled(fixedDelayString = "${book.changes.follow-interval-ms:1000}")
+    @Transactional(readOnly = true)
+    public void follow() {
+        long from = cursor;
+        if (from < 0) {
+            return;
+        }
+
+        List<BookChange> page;
+        try {
+            do {
+                page = changeLog.findSince(from, CHANGE_PAGE_SIZE);
+                if (page.isEmpty()) {
+                    break;
+                }
+                publish(page);
+                from = page.get(page.size() - 1).getSeq();
+                cursor = from;
+            } while (page.size() == CHANGE_PAGE_SIZE);
+        } catch (IllegalStateException e) {
+            log.error("Cannot follow the book change feed after {}, reloading the search indexes: {}",
+                    from, e.getMessage());
+            cursor = -1;
+            load();
+        }
+    }
+
+    private void publish(List<BookChange> changes) {
+        Set<Long> changed = new LinkedHashSet<>();
+        changes.forEach(change -> changed.add(change.getBookId()));
+
+        Map<Long, Book> current = new HashMap<>();
+        bookRepository.findAllByIds(changed).forEach(book -> current.put(book.getId(), book));
+        for (Long bookId : changed) {
+            Book book = current.get(bookId);
+            eventBus.publish(book == null ? BookChangedEvent.deleted(bookId) : BookChangedEvent.saved(book));
+        }
+        log.debug("Published {} changed books from the change feed", changed.size());
+    }
+
+    /**
+     * @return the change feed sequence the rows are complete up to
+     */
+    private long loadDatabase(List<InMemoryBookSuggestIndex.IndexedBook> books,
+            List<InMemoryBookFacetIndex.Doc> docs) {
+        long loadedThrough = changeLog.findLatestSeq();
+        List<Map<BookColumn, Object>> rows = bookRepository.findColumns(
+                EnumSet.of(BookColumn.ID, BookColumn.TITLE, BookColumn.AUTHOR_NAME, BookColumn.CATEGORY_ID,
+                        BookColumn.CATEGORY_NAME, BookColumn.STATUS, BookColumn.AVAILABLE_QUANTITY,
+                        BookColumn.BORROWED_QUANTITY, BookColumn.UPDATED_AT),
+                BookQueryFilter.all());
+
+        for (Map<BookColumn, Object> row : rows) {
+            add(books, docs,
+                    (Long) row.get(BookColumn.ID),
+                    (String) row.get(BookColumn.TITLE),
+                    (String) row.get(BookColumn.AUTHOR_NAME),
+                    (Long) row.get(BookColumn.CATEGORY_ID),
+                    (String) row.get(BookColumn.CATEGORY_NAME),
+                    (BookStatus) row.get(BookColumn.STATUS),
+                    (Integer) row.get(BookColumn.AVAILABLE_QUANTITY),
+                    (Integer) row.get(BookColumn.BORROWED_QUANTITY),
+                    (LocalDateTime) row.get(BookColumn.UPDATED_AT));
+        }
+        return loadedThrough;
+    }
+
+    /**
+     * Scan the snapshot, then replace the books changed since it with their
+     * current state
+     *
+     * @return the change feed sequence the books are complete up to, -1 when
+     *         there is no usable snapshot or too much to catch up
+     */
+    private long loadSnapshot(List<InMemoryBookSuggestIndex.IndexedBook> books,
+            List<InMemoryBookFacetIndex.Doc> docs) {
+        Optional<CatalogSnapshot> opened;
+        try {
+            opened = snapshots.open();
+        } catch (IOException e) {
+            log.warn("Catalog snapshot not usable, loading search indexes from the database: {}", e.getMessage());
+            return -1;
+        }
+        if (opened.isEmpty()) {
+            return -1;
+        }
+
+        try (CatalogSnapshot snapshot = opened.get()) {
+            CatchUp catchUp = changedSince(snapshot.changeSeq());
+            if (catchUp == null) {
+                log.info("More than {} changes since the catalog snapshot, loading search indexes from the database",
+                        snapshotProperties.getMaxCatchUp());
+                return -1;
+            }
+            Set<Long> changed = catchUp.changed();
+
+            for (int row = 0; row < snapshot.size(); row++) {
+                long id = snapshot.id(row);
+                if (changed.contains(id)) {
+                    continue;
+                }
+                add(books, docs, id,
+                        snapshot.title(row),
+                        snapshot.authorName(row),
+                        snapshot.categoryId(row),
+                        snapshot.categoryName(row),
+                        snapshot.status(row),
+                        snapshot.availableQuantity(row),
+                        snapshot.borrowedQuantity(row),
+                        snapshot.updatedAt(row));
+            }
+
+            // Deleted books are simply not found
+            for (Book book : bookRepository.findAllByIds(changed)) {
+                add(books, docs, book.getId(),
+                        book.getTitle(),
+                        book.getAuthor().getName(),
+                        book.getCategory() == null ? null : book.getCategory().getId(),
+                        book.getCategoryName(),
+                        book.getStatus(),
+                        book.getInventory().getAvailableQuantity(),
+                        book.getInventory().getBorrowedQuantity(),
+                        book.getUpdatedAt());
+            }
+            log.debug("Catalog snapshot of {} books caught up with {} changed books", snapshot.size(), changed.size());
+            return catchUp.through();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Catalog snapshot not usable, loading search indexes from the database: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * IDs of the books changed after a change feed sequence, or null when
+     * there are more than max-catch-up
+     */
+    private CatchUp changedSince(long cursor) {
+        Set<Long> changed = new HashSet<>();
+        List<BookChange> page;
+        do {
+            page = changeLog.findSince(cursor, CHANGE_PAGE_SIZE);
+            for (BookChange change : page) {
+                changed.add(change.getBookId());
+                cursor = change.getSeq();
+            }
+            if (changed.size() > snapshotProperties.getMaxCatchUp()) {
+                return null;
+            }
+        } while (page.size() == CHANGE_PAGE_SIZE);
+        return new CatchUp(changed, cursor);
+    }
+
+    /**
+     * Books changed since the snapshot and the last sequence read
+     */
+    private record CatchUp(Set<Long> changed, long through) {
+    }
+
+    private static void add(List<InMemoryBookSuggestIndex.IndexedBook> books, List<InMemoryBookFacetIndex.Doc> docs,
+            Long id, String title, String authorName, Long categoryId, String categoryName, BookStatus status,
+            Integer availableQuantity, Integer borrowedQuantity, LocalDateTime updatedAt) {
+        books.add(new InMemoryBookSuggestIndex.IndexedBook(
+                id,
+                title,
+                authorName,
+                borrowedQuantity == null ? 0 : Math.max(0, borrowedQuantity),
+                updatedAt));
+        docs.add(InMemoryBookFacetIndex.Doc.of(
+                id,
+                categoryId,
+                categoryName,
+                status,
+                status == BookStatus.AVAILABLE && availableQuantity != null && availableQuantity > 0,
+                authorName,
+                updatedAt));
+    }
+}
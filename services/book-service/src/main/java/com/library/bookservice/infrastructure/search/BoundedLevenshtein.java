@@ -0,0 +1,89 @@
+package com.library.bookservice.infrastructure.search;
+
+/**
+ * Edit distance to a fixed word, bounded by a maximum
+ *
+ * Simulates the Levenshtein automaton of the word one input character at a
+ * time: each row holds the cheapest way to reach every position of the
+ * word, and the input is rejected as soon as no position is within the
+ * bound. Only the diagonal band of width 2k+1 is evaluated, so a check
+ * costs O(k * length) and most non-matching terms are given up after a
+ * few characters. Adjacent transpositions count as one edit, as typed
+ * misspellings often are.
+ *
+ * The three rows are allocated once per word, so checking candidates does
+ * not allocate; an instance is therefore confined to one thread.
+ */
+final class BoundedLevenshtein {
+
+    private final String word;
+    private final int maxDistance;
+    private final int[] row0;
+    private final int[] row1;
+    private final int[] row2;
+
+    BoundedLevenshtein(String word, int maxDistance) {
+        this.word = word;
+        this.maxDistance = maxDistance;
+        this.row0 = new int[word.length() + 1];
+        this.row1 = new int[word.length() + 1];
+        this.row2 = new int[word.length() + 1];
+    }
+
+    int maxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * @return the distance, or maxDistance + 1 if it is larger
+     */
+    int distance(String term) {
+        int n = word.length();
+        int m = term.length();
+        int k = maxDistance;
+        int over = k + 1;
+        if (Math.abs(n - m) > k) {
+            return over;
+        }
+
+        // Only cells inside the band and its two borders are ever read, so
+        // what a previous call left in the rows does not matter
+        int[] before = row0;
+        int[] previous = row1;
+        int[] current = row2;
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j <= k ? j : over;
+        }
+
+        for (int i = 1; i <= m; i++) {
+            char c = term.charAt(i - 1);
+            int from = Math.max(1, i - k);
+            int to = Math.min(n, i + k);
+            current[0] = i <= k ? i : over;
+            if (from > 1) {
+                current[from - 1] = over;
+            }
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = word.charAt(j - 1) == c ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                if (i > 1 && j > 1 && c == word.charAt(j - 2) && term.charAt(i - 2) == word.charAt(j - 1)) {
+                    value = Math.min(value, before[j - 2] + 1);
+                }
+                current[j] = Math.min(value, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < n) {
+                current[to + 1] = over;
+            }
+            if (rowMin > k) {
+                return over;
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[n], over);
+    }
+}
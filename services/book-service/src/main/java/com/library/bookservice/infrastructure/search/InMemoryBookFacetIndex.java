@@ -0,0 +1,342 @@
+package com.library.bookservice.infrastructure.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import com.library.bookservice.application.dto.BookFacetResult;
+import com.library.bookservice.application.dto.BookSearchQuery;
+import com.library.bookservice.application.dto.FacetCount;
+import com.library.bookservice.application.port.output.BookFacetPort;
+import com.library.bookservice.domain.event.BookChangedEvent;
+import com.library.bookservice.domain.model.Book;
+import com.library.bookservice.domain.model.BookStatus;
+import com.library.common.event.bus.EventBus;
+import com.library.common.event.bus.EventSubscriber;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory implementation of BookFacetPort
+ *
+ * Every book gets a dense document number, in ID order for the books loaded
+ * at startup and increasing for books added later. Each facet value keeps a
+ * compressed bitmap of its documents, so filtering is a bitmap AND and a
+ * facet count an AND cardinality, without materializing the intersection.
+ * Document numbers of deleted books are not reused, which keeps the result
+ * order stable.
+ *
+ * Changes arrive on the event bus and are ignored when older than the
+ * indexed state, as in InMemoryBookSuggestIndex.
+ */
+@Component
+@Slf4j
+public class InMemoryBookFacetIndex implements BookFacetPort, EventSubscriber {
+
+    /** Values listed for the author facet */
+    static final int MAX_AUTHOR_VALUES = 20;
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final Map<Long, Integer> docOf = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> categories = new HashMap<>();
+    private final Map<Long, String> categoryNames = new HashMap<>();
+    private final Map<BookStatus, RoaringBitmap> statuses = new EnumMap<>(BookStatus.class);
+    private final RoaringBitmap available = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> authors = new HashMap<>();
+    private final Map<String, String> authorNames = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final IndexLoad indexLoad = new IndexLoad(lock);
+
+    @Override
+    public BookFacetResult query(Collection<Long> candidates, BookSearchQuery query) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = candidates == null ? all : toDocs(candidates);
+
+            RoaringBitmap byCategory = query.getCategoryId() == null ? null
+                    : categories.getOrDefault(query.getCategoryId(), EMPTY);
+            RoaringBitmap byStatus = query.getStatus() == null ? null
+                    : statuses.getOrDefault(query.getStatus(), EMPTY);
+            RoaringBitmap byAvailability = Boolean.TRUE.equals(query.getAvailableOnly()) ? available : null;
+            String authorKey = InMemoryBookSuggestIndex.normalize(query.getAuthorName());
+            RoaringBitmap byAuthor = authorKey.isEmpty() ? null : authors.getOrDefault(authorKey, EMPTY);
+
+            RoaringBitmap matches = and(base, byCategory, byStatus, byAvailability, byAuthor);
+
+            Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+            facets.put(CATEGORY, countCategories(and(base, byStatus, byAvailability, byAuthor)));
+            facets.put(STATUS, countStatuses(and(base, byCategory, byAvailability, byAuthor)));
+            facets.put(AVAILABILITY, countAvailability(and(base, byCategory, byStatus, byAuthor)));
+            facets.put(AUTHOR, countAuthors(and(base, byCategory, byStatus, byAvailability)));
+
+            return BookFacetResult.builder()
+                    .bookIds(page(matches, (long) query.getPage() * query.getSize(), query.getSize()))
+                    .total(matches.getLongCardinality())
+                    .facets(facets)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void subscribe(EventBus.Builder bus) {
+        bus.on(BookChangedEvent.class, "facet-index", event -> {
+            if (event.isDeleted()) {
+                delete(event.getBookId());
+            } else {
+                upsert(toDoc(event.getBook()));
+            }
+        });
+    }
+
+    /**
+     * Bulk load at startup; books changed meanwhile keep their newer state
+     */
+    public void load(List<Doc> loaded) {
+        List<Doc> sorted = new ArrayList<>(loaded);
+        sorted.sort(Comparator.comparing(Doc::bookId));
+        indexLoad.load(sorted, Doc::bookId, this::applyUpsert, () -> {
+            optimize();
+            log.info("Facet index loaded: {} books, {} categories, {} authors",
+                    all.getCardinality(), categories.size(), authors.size());
+        });
+    }
+
+    private RoaringBitmap toDocs(Collection<Long> bookIds) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (Long bookId : bookIds) {
+            Integer doc = docOf.get(bookId);
+            if (doc != null) {
+                bitmap.add(doc.intValue());
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * Intersection of the base with the filters that are set
+     */
+    private static RoaringBitmap and(RoaringBitmap base, RoaringBitmap... filters) {
+        RoaringBitmap result = base;
+        boolean copied = false;
+        for (RoaringBitmap filter : filters) {
+            if (filter == null) {
+                continue;
+            }
+            if (copied) {
+                result.and(filter);
+            } else {
+                result = RoaringBitmap.and(result, filter);
+                copied = true;
+            }
+        }
+        return result;
+    }
+
+    private List<FacetCount> countCategories(RoaringBitmap scope) {
+        List<FacetCount> counts = new ArrayList<>();
+        categories.forEach((categoryId, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(scope, bitmap);
+            if (count > 0) {
+                counts.add(new FacetCount(categoryId.toString(), categoryNames.get(categoryId), count));
+            }
+        });
+        counts.sort(Comparator.comparingLong(FacetCount::getCount).reversed()
+                .thenComparing(FacetCount::getLabel, Comparator.nullsLast(Comparator.naturalOrder())));
+        return counts;
+    }
+
+    private List<FacetCount> countStatuses(RoaringBitmap scope) {
+        List<FacetCount> counts = new ArrayList<>();
+        statuses.forEach((status, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(scope, bitmap);
+            if (count > 0) {
+                counts.add(new FacetCount(status.name(), status.getDescription(), count));
+            }
+        });
+        return counts;
+    }
+
+    private List<FacetCount> countAvailability(RoaringBitmap scope) {
+        long availableCount = RoaringBitmap.andCardinality(scope, available);
+        return List.of(
+                new FacetCount("true", "Available", availableCount),
+                new FacetCount("false", "Not available", scope.getLongCardinality() - availableCount));
+    }
+
+    /**
+     * Top authors in scope; walks the matching documents when there are
+     * fewer of them than authors, the author bitmaps otherwise
+     */
+    private List<FacetCount> countAuthors(RoaringBitmap scope) {
+        Map<String, Long> counts = new HashMap<>();
+        if (scope.getLongCardinality() < authors.size()) {
+            scope.forEach((int doc) -> counts.merge(docs.get(doc).authorKey(), 1L, Long::sum));
+        } else {
+            authors.forEach((authorKey, bitmap) -> {
+                long count = RoaringBitmap.andCardinality(scope, bitmap);
+                if (count > 0) {
+                    counts.put(authorKey, count);
+                }
+            });
+        }
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_AUTHOR_VALUES)
+                .map(entry -> new FacetCount(entry.getKey(), authorNames.get(entry.getKey()), entry.getValue()))
+                .toList();
+    }
+
+    private List<Long> page(RoaringBitmap matches, long offset, int size) {
+        if (offset >= matches.getLongCardinality()) {
+            return List.of();
+        }
+        List<Long> bookIds = new ArrayList<>(size);
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select((int) offset));
+        while (iterator.hasNext() && bookIds.size() < size) {
+            bookIds.add(docs.get(iterator.next()).bookId());
+        }
+        return bookIds;
+    }
+
+    private static Doc toDoc(Book book) {
+        return Doc.of(
+                book.getId(),
+                book.getCategory().getId(),
+                book.getCategoryName(),
+                book.getStatus(),
+                book.isAvailableForBorrowing(),
+                book.getAuthor().getName(),
+                book.getUpdatedAt());
+    }
+
+    private void upsert(Doc doc) {
+        lock.writeLock().lock();
+        try {
+            applyUpsert(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            indexLoad.deleted(bookId);
+            Integer number = docOf.remove(bookId);
+            if (number != null) {
+                unindex(number, docs.get(number));
+                docs.set(number, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyUpsert(Doc doc) {
+        Integer number = docOf.get(doc.bookId());
+        if (number == null) {
+            number = docs.size();
+            docs.add(null);
+            docOf.put(doc.bookId(), number);
+        } else {
+            Doc previous = docs.get(number);
+            if (isOlder(doc, previous)) {
+                return;
+            }
+            unindex(number, previous);
+        }
+        docs.set(number, doc);
+
+        int n = number;
+        all.add(n);
+        if (doc.categoryId() != null) {
+            categories.computeIfAbsent(doc.categoryId(), id -> new RoaringBitmap()).add(n);
+            categoryNames.put(doc.categoryId(), doc.categoryName());
+        }
+        if (doc.status() != null) {
+            statuses.computeIfAbsent(doc.status(), status -> new RoaringBitmap()).add(n);
+        }
+        if (doc.available()) {
+            available.add(n);
+        }
+        if (!doc.authorKey().isEmpty()) {
+            authors.computeIfAbsent(doc.authorKey(), key -> new RoaringBitmap()).add(n);
+            authorNames.putIfAbsent(doc.authorKey(), doc.authorName());
+        }
+    }
+
+    private void unindex(int n, Doc doc) {
+        all.remove(n);
+        available.remove(n);
+        if (doc.categoryId() != null) {
+            removeFrom(categories, doc.categoryId(), n);
+        }
+        if (doc.status() != null) {
+            statuses.get(doc.status()).remove(n);
+        }
+        if (!doc.authorKey().isEmpty() && removeFrom(authors, doc.authorKey(), n)) {
+            authorNames.remove(doc.authorKey());
+        }
+    }
+
+    /**
+     * @return whether the value has no documents left and was dropped
+     */
+    private static <K> boolean removeFrom(Map<K, RoaringBitmap> bitmaps, K key, int n) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap == null) {
+            return false;
+        }
+        bitmap.remove(n);
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    private void optimize() {
+        all.runOptimize();
+        available.runOptimize();
+        categories.values().forEach(RoaringBitmap::runOptimize);
+        statuses.values().forEach(RoaringBitmap::runOptimize);
+        authors.values().forEach(RoaringBitmap::runOptimize);
+    }
+
+    private static boolean isOlder(Doc doc, Doc current) {
+        return doc.updatedAt() != null && current.updatedAt() != null
+                && doc.updatedAt().isBefore(current.updatedAt());
+    }
+
+    /**
+     * What the index keeps of a book
+     */
+    public record Doc(Long bookId, Long categoryId, String categoryName, BookStatus status, boolean available,
+            String authorKey, String authorName, LocalDateTime updatedAt) {
+
+        public static Doc of(Long bookId, Long categoryId, String categoryName, BookStatus status,
+                boolean available, String authorName, LocalDateTime updatedAt) {
+            return new Doc(bookId, categoryId, categoryName, status, available,
+                    InMemoryBookSuggestIndex.normalize(authorName), authorName, updatedAt);
+        }
+    }
+}
@@ -0,0 +1,573 @@
+package com.library.bookservice.infrastructure.search;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import com.library.bookservice.application.port.output.BookFuzzySearchPort;
+import com.library.bookservice.domain.event.BookChangedEvent;
+import com.library.bookservice.domain.model.Book;
+import com.library.bookservice.infrastructure.search.InMemoryBookSuggestIndex.IndexedBook;
+import com.library.common.event.bus.EventBus;
+import com.library.common.event.bus.EventSubscriber;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory implementation of BookFuzzySearchPort
+ *
+ * The distinct normalized words of all titles and author names form the
+ * term dictionary. Each term is split into padded trigrams ("$ha", "har",
+ * ..., "ry$"), and each trigram lists the terms containing it. A query word
+ * collects the terms sharing enough trigrams with it to be within the
+ * allowed edit distance, and a bounded Levenshtein check keeps those that
+ * really are. A book matches when each query word matches one of its
+ * terms; matches are ranked by similarity, then by borrowed copies.
+ *
+ * All postings are primitive int lists: trigram to term, term to book and
+ * book to terms. Books are numbered densely; a changed book gets a new
+ * number and the old one is marked dead, and the whole index is rebuilt
+ * from the live books once a quarter of them are dead.
+ *
+ * Changes arrive on the event bus, as for InMemoryBookSuggestIndex; a
+ * change older than the indexed state is ignored.
+ */
+@Component
+@Slf4j
+public class InMemoryBookFuzzyIndex implements BookFuzzySearchPort, EventSubscriber {
+
+    /** Query words beyond this are ignored */
+    static final int MAX_QUERY_WORDS = 8;
+
+    private static final int MIN_DEAD_TO_COMPACT = 10_000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Terms terms = new Terms();
+    private Docs docs = new Docs();
+    private final LongIntMap docOf = new LongIntMap();
+
+    private final IndexLoad indexLoad = new IndexLoad(lock);
+
+    @Override
+    public List<Long> search(String keyword, int limit) {
+        List<String> words = queryWords(keyword);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Float>> matches = new ArrayList<>(words.size());
+            for (String word : words) {
+                Map<Integer, Float> similar = similarTerms(word);
+                if (similar.isEmpty()) {
+                    return List.of();
+                }
+                matches.add(similar);
+            }
+            return rank(matches, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void subscribe(EventBus.Builder bus) {
+        bus.on(BookChangedEvent.class, "fuzzy-index", event -> {
+            if (event.isDeleted()) {
+                delete(event.getBookId());
+            } else {
+                upsert(toIndexed(event.getBook()));
+            }
+        });
+    }
+
+    /**
+     * Bulk load at startup; books changed meanwhile keep their newer state
+     */
+    public void load(List<IndexedBook> loaded) {
+        indexLoad.load(loaded, IndexedBook::id, this::applyUpsert, () -> {
+            terms.trim();
+            log.info("Fuzzy index loaded: {} books, {} terms, {} trigrams",
+                    docOf.size(), terms.size(), terms.gramCount());
+        });
+    }
+
+    /**
+     * Edits allowed for a word of this length
+     */
+    static int maxDistance(int length) {
+        if (length <= 2) {
+            return 0;
+        }
+        return length <= 5 ? 1 : 2;
+    }
+
+    private static List<String> queryWords(String keyword) {
+        String normalized = InMemoryBookSuggestIndex.normalize(keyword);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<String> words = new LinkedHashSet<>(Arrays.asList(normalized.split(" ")));
+        return words.stream().limit(MAX_QUERY_WORDS).toList();
+    }
+
+    /**
+     * Terms within the edit distance bound of the word, with their
+     * similarity (1 for an exact match)
+     *
+     * An insertion, deletion or substitution breaks at most three trigrams
+     * and a swap of adjacent letters four, so a term within k edits shares
+     * at least trigrams(word) - 4k of the word's trigrams; terms below that
+     * are never compared. When that bound is not positive a term may share
+     * none ("teh" and "the"), so the terms one edit away are looked up in
+     * the dictionary as well. Two edits that together break every trigram
+     * of a six to eight letter word are not found.
+     */
+    private Map<Integer, Float> similarTerms(String word) {
+        BoundedLevenshtein matcher = new BoundedLevenshtein(word, maxDistance(word.length()));
+        long[] grams = trigrams(word);
+        int bound = grams.length - 4 * matcher.maxDistance();
+        int required = Math.max(1, bound);
+
+        // Sized to the candidates, not the dictionary, so a query allocates what it reads
+        int candidates = 0;
+        IntList[] postings = new IntList[grams.length];
+        for (int g = 0; g < grams.length; g++) {
+            postings[g] = terms.termsWith(grams[g]);
+            candidates += postings[g] == null ? 0 : postings[g].size();
+        }
+        IntList neighbors = bound <= 0 && matcher.maxDistance() > 0 ? terms.oneEditFrom(word) : null;
+        if (neighbors != null) {
+            candidates += neighbors.size();
+        }
+
+        IntCounter shared = new IntCounter(candidates);
+        IntList touched = new IntList(256);
+        for (IntList gramTerms : postings) {
+            if (gramTerms == null) {
+                continue;
+            }
+            for (int i = 0; i < gramTerms.size(); i++) {
+                int term = gramTerms.get(i);
+                if (shared.increment(term) == 0) {
+                    touched.add(term);
+                }
+            }
+        }
+        if (neighbors != null) {
+            for (int i = 0; i < neighbors.size(); i++) {
+                int term = neighbors.get(i);
+                if (shared.increment(term) == 0) {
+                    touched.add(term);
+                }
+            }
+        }
+
+        Map<Integer, Float> similar = new HashMap<>();
+        for (int i = 0; i < touched.size(); i++) {
+            int term = touched.get(i);
+            if (shared.get(term) >= required) {
+                String text = terms.text(term);
+                int distance = matcher.distance(text);
+                if (distance <= matcher.maxDistance()) {
+                    similar.put(term, 1f - (float) distance / Math.max(word.length(), text.length()));
+                }
+            }
+        }
+        return similar;
+    }
+
+    /**
+     * Walk the books of the most selective query word and keep those that
+     * match every other word too
+     */
+    private List<Long> rank(List<Map<Integer, Float>> matches, int limit) {
+        int driver = 0;
+        long driverCost = Long.MAX_VALUE;
+        for (int w = 0; w < matches.size(); w++) {
+            long cost = 0;
+            for (int term : matches.get(w).keySet()) {
+                cost += terms.docsWith(term).size();
+            }
+            if (cost < driverCost) {
+                driver = w;
+                driverCost = cost;
+            }
+        }
+
+        PriorityQueue<Hit> best = new PriorityQueue<>();
+        RoaringBitmap seen = new RoaringBitmap();
+        for (int term : matches.get(driver).keySet()) {
+            IntList postings = terms.docsWith(term);
+            for (int i = 0; i < postings.size(); i++) {
+                int doc = postings.get(i);
+                if (docs.isDead(doc) || !seen.checkedAdd(doc)) {
+                    continue;
+                }
+                float score = score(doc, matches);
+                if (score <= 0) {
+                    continue;
+                }
+                best.add(new Hit(docs.bookId(doc), score, docs.weight(doc)));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(null);
+        List<Long> bookIds = new ArrayList<>(hits.size());
+        for (int i = hits.size() - 1; i >= 0; i--) {
+            bookIds.add(hits.get(i).bookId());
+        }
+        return bookIds;
+    }
+
+    /**
+     * Mean over the query words of the best similarity among the book's
+     * terms, or 0 if a word matches none of them
+     */
+    private float score(int doc, List<Map<Integer, Float>> matches) {
+        float total = 0;
+        for (Map<Integer, Float> similar : matches) {
+            float bestForWord = 0;
+            int end = docs.termsEnd(doc);
+            for (int i = docs.termsStart(doc); i < end; i++) {
+                Float similarity = similar.get(docs.term(i));
+                if (similarity != null && similarity > bestForWord) {
+                    bestForWord = similarity;
+                }
+            }
+            if (bestForWord == 0) {
+                return 0;
+            }
+            total += bestForWord;
+        }
+        return total / matches.size();
+    }
+
+    /**
+     * Distinct padded trigrams of a word, three 16 bit chars packed per long
+     */
+    static long[] trigrams(String word) {
+        String padded = "$" + word + "$";
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    private static IndexedBook toIndexed(Book book) {
+        Integer borrowed = book.getInventory().getBorrowedQuantity();
+        return new IndexedBook(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthor().getName(),
+                borrowed == null ? 0 : Math.max(0, borrowed),
+                book.getUpdatedAt());
+    }
+
+    private void upsert(IndexedBook book) {
+        lock.writeLock().lock();
+        try {
+            applyUpsert(book);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            indexLoad.deleted(bookId);
+            int doc = docOf.remove(bookId);
+            if (doc != LongIntMap.MISSING) {
+                docs.kill(doc);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyUpsert(IndexedBook book) {
+        long version = version(book.updatedAt());
+        Set<String> words = new LinkedHashSet<>();
+        words.addAll(Arrays.asList(InMemoryBookSuggestIndex.normalize(book.title()).split(" ")));
+        words.addAll(Arrays.asList(InMemoryBookSuggestIndex.normalize(book.authorName()).split(" ")));
+        words.remove("");
+
+        int previous = docOf.get(book.id());
+        if (previous != LongIntMap.MISSING) {
+            if (version < docs.version(previous)) {
+                return;
+            }
+            // Reservations only change the popularity; keep the entry
+            if (hasTerms(previous, words)) {
+                docs.update(previous, book.weight(), version);
+                return;
+            }
+            docs.kill(previous);
+        }
+
+        int doc = docs.add(book.id(), book.weight(), version);
+        for (String word : words) {
+            int term = terms.intern(word);
+            docs.addTerm(term);
+            terms.docsWith(term).add(doc);
+        }
+        docOf.put(book.id(), doc);
+    }
+
+    private boolean hasTerms(int doc, Set<String> words) {
+        int start = docs.termsStart(doc);
+        if (docs.termsEnd(doc) - start != words.size()) {
+            return false;
+        }
+        int i = start;
+        for (String word : words) {
+            if (!word.equals(terms.text(docs.term(i++)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ordering value of an updatedAt; unknown sorts first
+     */
+    private static long version(LocalDateTime updatedAt) {
+        return updatedAt == null ? Long.MIN_VALUE : updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Rebuild from the live books once dead entries take a quarter of the
+     * index
+     */
+    private void compactIfNeeded() {
+        int dead = docs.deadCount();
+        if (indexLoad.isLoading() || dead < MIN_DEAD_TO_COMPACT || dead * 4 < docs.size()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Terms oldTerms = terms;
+        Docs oldDocs = docs;
+        terms = new Terms();
+        docs = new Docs();
+        docOf.clear();
+
+        for (int old = 0; old < oldDocs.size(); old++) {
+            if (oldDocs.isDead(old)) {
+                continue;
+            }
+            int doc = docs.add(oldDocs.bookId(old), oldDocs.weight(old), oldDocs.version(old));
+            int end = oldDocs.termsEnd(old);
+            for (int i = oldDocs.termsStart(old); i < end; i++) {
+                int term = terms.intern(oldTerms.text(oldDocs.term(i)));
+                docs.addTerm(term);
+                terms.docsWith(term).add(doc);
+            }
+            docOf.put(docs.bookId(doc), doc);
+        }
+        terms.trim();
+        log.info("Fuzzy index compacted: {} dead entries dropped in {} ms", dead, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Ranked match; natural order is worst first, for the bounded heap
+     */
+    private record Hit(Long bookId, float score, int weight) implements Comparable<Hit> {
+
+        @Override
+        public int compareTo(Hit other) {
+            if (score != other.score) {
+                return Float.compare(score, other.score);
+            }
+            return Integer.compare(weight, other.weight);
+        }
+    }
+
+    /**
+     * Term dictionary with the trigram and book postings of each term
+     */
+    private static final class Terms {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> texts = new ArrayList<>();
+        private final List<IntList> docs = new ArrayList<>();
+        private final Map<Long, IntList> grams = new HashMap<>();
+        /** Every character used by some term, for the one-edit lookups */
+        private final BitSet alphabet = new BitSet(128);
+
+        int intern(String text) {
+            Integer id = ids.get(text);
+            if (id != null) {
+                return id;
+            }
+            int term = texts.size();
+            ids.put(text, term);
+            texts.add(text);
+            docs.add(new IntList(2));
+            for (long gram : trigrams(text)) {
+                grams.computeIfAbsent(gram, g -> new IntList()).add(term);
+            }
+            text.chars().forEach(alphabet::set);
+            return term;
+        }
+
+        /**
+         * Terms one deletion, adjacent swap, substitution or insertion away
+         * from the word, possibly repeated
+         */
+        IntList oneEditFrom(String word) {
+            IntList found = new IntList(8);
+            int n = word.length();
+            for (int i = 0; i <= n; i++) {
+                String head = word.substring(0, i);
+                String tail = word.substring(i);
+                if (i < n) {
+                    addIfTerm(found, head + tail.substring(1));
+                    if (i + 1 < n) {
+                        addIfTerm(found, head + tail.charAt(1) + tail.charAt(0) + tail.substring(2));
+                    }
+                }
+                for (int c = alphabet.nextSetBit(0); c >= 0; c = alphabet.nextSetBit(c + 1)) {
+                    addIfTerm(found, head + (char) c + tail);
+                    if (i < n && c != tail.charAt(0)) {
+                        addIfTerm(found, head + (char) c + tail.substring(1));
+                    }
+                }
+            }
+            return found;
+        }
+
+        private void addIfTerm(IntList found, String text) {
+            Integer term = ids.get(text);
+            if (term != null) {
+                found.add(term);
+            }
+        }
+
+        String text(int term) {
+            return texts.get(term);
+        }
+
+        IntList docsWith(int term) {
+            return docs.get(term);
+        }
+
+        IntList termsWith(long gram) {
+            return grams.get(gram);
+        }
+
+        int size() {
+            return texts.size();
+        }
+
+        int gramCount() {
+            return grams.size();
+        }
+
+        void trim() {
+            docs.forEach(IntList::trim);
+            grams.values().forEach(IntList::trim);
+        }
+    }
+
+    /**
+     * Books by dense number, with their terms stored back to back
+     */
+    private static final class Docs {
+        private long[] bookIds = new long[1024];
+        private int[] weights = new int[1024];
+        private long[] versions = new long[1024];
+        private final IntList termStarts = new IntList(1024);
+        private final IntList termData = new IntList(4096);
+        private final BitSet dead = new BitSet();
+        private int deadCount;
+        private int size;
+
+        int add(long bookId, int weight, long version) {
+            if (size == bookIds.length) {
+                int capacity = size + (size >> 1);
+                bookIds = Arrays.copyOf(bookIds, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+            }
+            bookIds[size] = bookId;
+            weights[size] = weight;
+            versions[size] = version;
+            termStarts.add(termData.size());
+            return size++;
+        }
+
+        /** Appends a term to the book added last */
+        void addTerm(int term) {
+            termData.add(term);
+        }
+
+        void update(int doc, int weight, long version) {
+            weights[doc] = weight;
+            versions[doc] = version;
+        }
+
+        void kill(int doc) {
+            if (!dead.get(doc)) {
+                dead.set(doc);
+                deadCount++;
+            }
+        }
+
+        boolean isDead(int doc) {
+            return dead.get(doc);
+        }
+
+        int deadCount() {
+            return deadCount;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long bookId(int doc) {
+            return bookIds[doc];
+        }
+
+        int weight(int doc) {
+            return weights[doc];
+        }
+
+        long version(int doc) {
+            return versions[doc];
+        }
+
+        int termsStart(int doc) {
+            return termStarts.get(doc);
+        }
+
+        int termsEnd(int doc) {
+            return doc + 1 < size ? termStarts.get(doc + 1) : termData.size();
+        }
+
+        int term(int index) {
+            return termData.get(index);
+        }
+    }
+}
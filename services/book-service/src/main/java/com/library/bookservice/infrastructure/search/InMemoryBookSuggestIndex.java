@@ -0,0 +1,282 @@
+package com.library.bookservice.infrastructure.search;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.library.bookservice.application.dto.BookSuggestion;
+import com.library.bookservice.application.dto.BookSuggestionType;
+import com.library.bookservice.application.port.output.BookSuggestPort;
+import com.library.bookservice.domain.event.BookChangedEvent;
+import com.library.bookservice.domain.model.Book;
+import com.library.common.event.bus.EventBus;
+import com.library.common.event.bus.EventSubscriber;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory implementation of BookSuggestPort
+ *
+ * Titles and author names are normalized (lower case, accents and
+ * punctuation stripped) and put into a ternary search trie once per word
+ * start, so "potter" finds "Harry Potter". A title is weighted by the
+ * borrowed copies of its book, an author by those of all their books.
+ *
+ * Changes arrive on the event bus: this instance's writes once committed,
+ * and those made through other instances from the change feed. Each
+ * carries the book's updatedAt, so a late update cannot overwrite a newer
+ * one. Reads share a lock, writes are exclusive.
+ */
+@Component
+@Slf4j
+public class InMemoryBookSuggestIndex implements BookSuggestPort, EventSubscriber {
+
+    /** Word starts indexed per title or name; later words are not suggested on */
+    static final int MAX_WORD_STARTS = 8;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final WeightedTernaryTrie<Term> trie = new WeightedTernaryTrie<>();
+    private final Map<Long, IndexedBook> books = new HashMap<>();
+    private final Map<String, IndexedAuthor> authors = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final IndexLoad indexLoad = new IndexLoad(lock);
+
+    @Override
+    public List<BookSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<BookSuggestion> suggestions = new ArrayList<>(limit);
+            for (Term term : trie.top(key, limit)) {
+                suggestions.add(toSuggestion(term));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void subscribe(EventBus.Builder bus) {
+        bus.on(BookChangedEvent.class, "suggest-index", event -> {
+            if (event.isDeleted()) {
+                delete(event.getBookId());
+            } else {
+                upsert(toIndexed(event.getBook()));
+            }
+        });
+    }
+
+    /**
+     * Bulk load at startup; books changed meanwhile keep their newer state
+     */
+    public void load(List<IndexedBook> loaded) {
+        indexLoad.load(loaded, IndexedBook::id, this::applyUpsert, () -> {
+            log.info("Suggest index loaded: {} books, {} authors, {} entries",
+                    books.size(), authors.size(), trie.size());
+        });
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower case, accents and punctuation removed, words separated by one
+     * space
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    /**
+     * The normalized text from each of its first word starts
+     */
+    static List<String> keys(String normalized) {
+        List<String> keys = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        int from = 0;
+        while (keys.size() < MAX_WORD_STARTS) {
+            int space = normalized.indexOf(' ', from);
+            if (space < 0) {
+                break;
+            }
+            keys.add(normalized.substring(space + 1));
+            from = space + 1;
+        }
+        return keys;
+    }
+
+    private static IndexedBook toIndexed(Book book) {
+        return new IndexedBook(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthor().getName(),
+                popularity(book.getInventory().getBorrowedQuantity()),
+                book.getUpdatedAt());
+    }
+
+    private static int popularity(Integer borrowedQuantity) {
+        return borrowedQuantity == null ? 0 : Math.max(0, borrowedQuantity);
+    }
+
+    private void upsert(IndexedBook book) {
+        lock.writeLock().lock();
+        try {
+            applyUpsert(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            indexLoad.deleted(bookId);
+            IndexedBook previous = books.remove(bookId);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyUpsert(IndexedBook book) {
+        IndexedBook previous = books.get(book.id());
+        if (previous != null) {
+            if (isOlder(book, previous)) {
+                return;
+            }
+            unindex(previous);
+        }
+        books.put(book.id(), book);
+
+        Term title = Term.title(book.id());
+        keys(normalize(book.title())).forEach(key -> trie.put(key, title, book.weight()));
+
+        String authorKey = normalize(book.authorName());
+        if (!authorKey.isEmpty()) {
+            IndexedAuthor author = authors.computeIfAbsent(authorKey, key -> new IndexedAuthor(book.authorName()));
+            author.weights.put(book.id(), book.weight());
+            reindexAuthor(authorKey, author);
+        }
+    }
+
+    private void unindex(IndexedBook book) {
+        Term title = Term.title(book.id());
+        keys(normalize(book.title())).forEach(key -> trie.remove(key, title));
+
+        String authorKey = normalize(book.authorName());
+        IndexedAuthor author = authors.get(authorKey);
+        if (author == null) {
+            return;
+        }
+        author.weights.remove(book.id());
+        if (author.weights.isEmpty()) {
+            authors.remove(authorKey);
+            Term term = Term.author(authorKey);
+            keys(authorKey).forEach(key -> trie.remove(key, term));
+        } else {
+            reindexAuthor(authorKey, author);
+        }
+    }
+
+    private void reindexAuthor(String authorKey, IndexedAuthor author) {
+        Term term = Term.author(authorKey);
+        int weight = author.weight();
+        keys(authorKey).forEach(key -> trie.put(key, term, weight));
+    }
+
+    private static boolean isOlder(IndexedBook book, IndexedBook current) {
+        return book.updatedAt() != null && current.updatedAt() != null
+                && book.updatedAt().isBefore(current.updatedAt());
+    }
+
+    private BookSuggestion toSuggestion(Term term) {
+        if (term.type() == BookSuggestionType.TITLE) {
+            IndexedBook book = books.get(term.bookId());
+            return BookSuggestion.builder()
+                    .text(book.title())
+                    .type(BookSuggestionType.TITLE)
+                    .bookId(book.id())
+                    .score(book.weight())
+                    .build();
+        }
+        IndexedAuthor author = authors.get(term.authorKey());
+        return BookSuggestion.builder()
+                .text(author.name)
+                .type(BookSuggestionType.AUTHOR)
+                .score(author.weight())
+                .build();
+    }
+
+    /**
+     * What the index keeps of a book
+     */
+    public record IndexedBook(Long id, String title, String authorName, int weight, LocalDateTime updatedAt) {
+    }
+
+    /**
+     * Trie value; the text and score are looked up when suggesting
+     */
+    private record Term(BookSuggestionType type, Long bookId, String authorKey) {
+
+        static Term title(Long bookId) {
+            return new Term(BookSuggestionType.TITLE, bookId, null);
+        }
+
+        static Term author(String authorKey) {
+            return new Term(BookSuggestionType.AUTHOR, null, authorKey);
+        }
+    }
+
+    private static final class IndexedAuthor {
+        /** Spelling of the first book indexed under this name */
+        private final String name;
+        private final Map<Long, Integer> weights = new HashMap<>();
+
+        IndexedAuthor(String name) {
+            this.name = name;
+        }
+
+        int weight() {
+            int sum = 0;
+            for (int weight : weights.values()) {
+                sum += weight;
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.library.bookservice.infrastructure.search;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Startup bulk load of an in-memory index that keeps receiving change events
+ * meanwhile
+ *
+ * The loaded books are applied in small batches under the index's write
+ * lock, so reads are only held up for one batch at a time. Events that
+ * arrive between batches are applied as usual; the index's version check
+ * keeps an update newer than the loaded row, and deletes are remembered
+ * here so the load cannot bring a deleted book back.
+ */
+final class IndexLoad {
+
+    static final int BATCH_SIZE = 500;
+
+    private final ReentrantReadWriteLock lock;
+
+    /** Books removed while a load runs; guarded by the write lock */
+    private Set<Long> removedDuringLoad;
+
+    IndexLoad(ReentrantReadWriteLock lock) {
+        this.lock = lock;
+    }
+
+    /**
+     * Apply the loaded entries, then run {@code finish} under the write lock
+     * once the load is over, whether it completed or failed
+     */
+    <T> void load(List<T> loaded, ToLongFunction<T> bookId, Consumer<T> apply, Runnable finish) {
+        lock.writeLock().lock();
+        try {
+            removedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            for (int from = 0; from < loaded.size(); from += BATCH_SIZE) {
+                List<T> batch = loaded.subList(from, Math.min(from + BATCH_SIZE, loaded.size()));
+                lock.writeLock().lock();
+                try {
+                    for (T entry : batch) {
+                        if (!removedDuringLoad.contains(bookId.applyAsLong(entry))) {
+                            apply.accept(entry);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                removedDuringLoad = null;
+                finish.run();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Record a delete; call with the write lock held
+     */
+    void deleted(Long bookId) {
+        if (removedDuringLoad != null) {
+            removedDuringLoad.add(bookId);
+        }
+    }
+
+    /**
+     * Whether a load is running; call with the lock held
+     */
+    boolean isLoading() {
+        return removedDuringLoad != null;
+    }
+}
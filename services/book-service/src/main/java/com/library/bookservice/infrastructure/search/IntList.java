@@ -0,0 +1,45 @@
+package com.library.bookservice.infrastructure.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, used for postings so that the search
+ * indexes do not box every entry
+ */
+final class IntList {
+
+    private int[] values;
+    private int size;
+
+    IntList() {
+        this(4);
+    }
+
+    IntList(int capacity) {
+        values = new int[Math.max(1, capacity)];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Drop the spare capacity once the list is complete
+     */
+    void trim() {
+        if (values.length > size) {
+            values = Arrays.copyOf(values, Math.max(1, size));
+        }
+    }
+}
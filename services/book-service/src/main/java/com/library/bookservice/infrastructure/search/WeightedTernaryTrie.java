@@ -0,0 +1,251 @@
+package com.library.bookservice.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Ternary search trie mapping keys to weighted values
+ *
+ * Every node keeps the highest weight found in itself and below, so the top
+ * K values under a prefix are found best-first: candidates are expanded in
+ * order of that bound and the search stops after K values, whatever the
+ * size of the subtree. Nodes left empty by a removal are unlinked.
+ *
+ * Not thread safe; callers guard it with a read/write lock.
+ */
+class WeightedTernaryTrie<T> {
+
+    private static final int NONE = -1;
+
+    private Node<T> root;
+    private int size;
+
+    /**
+     * Associate a value with a key, replacing its weight if already present
+     */
+    void put(String key, T value, int weight) {
+        if (key.isEmpty()) {
+            return;
+        }
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative");
+        }
+        List<Node<T>> path = new ArrayList<>(key.length() * 2);
+        if (root == null) {
+            root = new Node<>(key.charAt(0));
+        }
+        Node<T> node = root;
+        int i = 0;
+        while (true) {
+            path.add(node);
+            char c = key.charAt(i);
+            if (c < node.c) {
+                if (node.lo == null) {
+                    node.lo = new Node<>(c);
+                }
+                node = node.lo;
+            } else if (c > node.c) {
+                if (node.hi == null) {
+                    node.hi = new Node<>(c);
+                }
+                node = node.hi;
+            } else if (++i < key.length()) {
+                if (node.eq == null) {
+                    node.eq = new Node<>(key.charAt(i));
+                }
+                node = node.eq;
+            } else {
+                break;
+            }
+        }
+        if (node.values == null) {
+            node.values = new HashMap<>(2);
+        }
+        if (node.values.put(value, weight) == null) {
+            size++;
+        }
+        for (int p = path.size() - 1; p >= 0; p--) {
+            path.get(p).recompute();
+        }
+    }
+
+    /**
+     * Drop a value from a key
+     */
+    void remove(String key, T value) {
+        if (key.isEmpty() || root == null) {
+            return;
+        }
+        List<Node<T>> path = new ArrayList<>(key.length() * 2);
+        Node<T> node = root;
+        int i = 0;
+        while (node != null) {
+            path.add(node);
+            char c = key.charAt(i);
+            if (c < node.c) {
+                node = node.lo;
+            } else if (c > node.c) {
+                node = node.hi;
+            } else if (++i < key.length()) {
+                node = node.eq;
+            } else {
+                break;
+            }
+        }
+        if (node == null || node.values == null || node.values.remove(value) == null) {
+            return;
+        }
+        size--;
+        if (node.values.isEmpty()) {
+            node.values = null;
+        }
+        for (int p = path.size() - 1; p >= 0; p--) {
+            Node<T> current = path.get(p);
+            if (current.isEmpty()) {
+                unlink(p == 0 ? null : path.get(p - 1), current);
+            } else {
+                current.recompute();
+            }
+        }
+    }
+
+    /**
+     * Up to limit distinct values whose key starts with the prefix, highest
+     * weight first
+     */
+    List<T> top(String prefix, int limit) {
+        Node<T> start = find(prefix);
+        if (start == null || limit <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<Candidate<T>> queue = new PriorityQueue<>();
+        offerValues(queue, start);
+        offerNode(queue, start.eq);
+
+        Set<T> found = new LinkedHashSet<>();
+        while (!queue.isEmpty() && found.size() < limit) {
+            Candidate<T> candidate = queue.poll();
+            if (candidate.node == null) {
+                found.add(candidate.value);
+                continue;
+            }
+            Node<T> node = candidate.node;
+            offerValues(queue, node);
+            offerNode(queue, node.lo);
+            offerNode(queue, node.eq);
+            offerNode(queue, node.hi);
+        }
+        return new ArrayList<>(found);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        root = null;
+        size = 0;
+    }
+
+    private Node<T> find(String prefix) {
+        if (prefix.isEmpty()) {
+            return null;
+        }
+        Node<T> node = root;
+        int i = 0;
+        while (node != null) {
+            char c = prefix.charAt(i);
+            if (c < node.c) {
+                node = node.lo;
+            } else if (c > node.c) {
+                node = node.hi;
+            } else if (++i < prefix.length()) {
+                node = node.eq;
+            } else {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private void unlink(Node<T> parent, Node<T> node) {
+        if (parent == null) {
+            root = null;
+        } else if (parent.lo == node) {
+            parent.lo = null;
+        } else if (parent.eq == node) {
+            parent.eq = null;
+        } else {
+            parent.hi = null;
+        }
+    }
+
+    private static <T> void offerValues(PriorityQueue<Candidate<T>> queue, Node<T> node) {
+        if (node.values != null) {
+            node.values.forEach((value, weight) -> queue.add(new Candidate<>(weight, null, value)));
+        }
+    }
+
+    private static <T> void offerNode(PriorityQueue<Candidate<T>> queue, Node<T> node) {
+        if (node != null && node.best != NONE) {
+            queue.add(new Candidate<>(node.best, node, null));
+        }
+    }
+
+    private static final class Node<T> {
+        private final char c;
+        private Node<T> lo;
+        private Node<T> eq;
+        private Node<T> hi;
+        private Map<T, Integer> values;
+        private int best = NONE;
+
+        Node(char c) {
+            this.c = c;
+        }
+
+        boolean isEmpty() {
+            return values == null && lo == null && eq == null && hi == null;
+        }
+
+        void recompute() {
+            int max = NONE;
+            if (values != null) {
+                for (int weight : values.values()) {
+                    max = Math.max(max, weight);
+                }
+            }
+            if (lo != null) {
+                max = Math.max(max, lo.best);
+            }
+            if (eq != null) {
+                max = Math.max(max, eq.best);
+            }
+            if (hi != null) {
+                max = Math.max(max, hi.best);
+            }
+            best = max;
+        }
+    }
+
+    /**
+     * Queue entry: a value with its weight, or a node with the bound of its
+     * subtree. Values win ties so they are emitted before expanding further.
+     */
+    private record Candidate<T>(int weight, Node<T> node, T value) implements Comparable<Candidate<T>> {
+
+        @Override
+        public int compareTo(Candidate<T> other) {
+            if (weight != other.weight) {
+                return Integer.compare(other.weight, weight);
+            }
+            return Boolean.compare(node != null, other.node != null);
+        }
+    }
+}
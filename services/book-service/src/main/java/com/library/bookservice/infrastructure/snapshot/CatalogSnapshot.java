@@ -0,0 +1,279 @@
+package com.library.bookservice.infrastructure.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.library.bookservice.domain.model.BookStatus;
+
+/**
+ * Read-only, memory-mapped view of a catalog snapshot file
+ *
+ * Layout (little endian, every section starts on an 8 byte boundary):
+ * <pre>
+ * header    int magic "BKSN", int version, int rows, int sections,
+ *           long changeSeq, long createdAt (epoch ms),
+ *           then per section: long offset, long length
+ * ID        long[rows]
+ * UPDATED   long[rows]   epoch ms (UTC), Long.MIN_VALUE for none
+ * STATUS    byte[rows]   BookStatus ordinal, -1 for none
+ * INVENTORY int bits, int 0, long[] words: total, available and borrowed
+ *           of each row, bit packed with the width of the largest value
+ * CATEGORY  int[rows] codes into CATEGORY_IDS / CATEGORY_NAMES, -1 for none
+ * AUTHOR    int[rows] codes into AUTHOR_NAMES, -1 for none
+ * strings   ISBN, TITLE and the dictionaries: int count, int 0,
+ *           int[count + 1] offsets, UTF-8 bytes
+ * </pre>
+ *
+ * Numbers are read straight from the mapped file, so a scan over IDs or
+ * quantities copies nothing; strings are decoded when asked for, except the
+ * category and author dictionaries, which are decoded once. Safe for
+ * concurrent readers.
+ */
+public class CatalogSnapshot implements Closeable {
+
+    static final int MAGIC = 0x4E534B42; // "BKSN" read little endian
+    static final int VERSION = 1;
+    static final int FIXED_HEADER_BYTES = 32;
+    static final long NO_TIME = Long.MIN_VALUE;
+
+    /** Sections in file order */
+    enum Section {
+        ID, UPDATED_AT, STATUS, INVENTORY, CATEGORY_CODES, CATEGORY_IDS, CATEGORY_NAMES,
+        AUTHOR_CODES, AUTHOR_NAMES, ISBN, TITLE
+    }
+
+    static final int HEADER_BYTES = FIXED_HEADER_BYTES + Section.values().length * 16;
+
+    private static final BookStatus[] STATUSES = BookStatus.values();
+
+    private final FileChannel channel;
+    private final int rows;
+    private final long changeSeq;
+    private final Instant createdAt;
+
+    private final LongBuffer ids;
+    private final LongBuffer updatedAt;
+    private final ByteBuffer statuses;
+    private final BitPacked inventory;
+    private final IntBuffer categoryCodes;
+    private final LongBuffer categoryIds;
+    private final String[] categoryNames;
+    private final IntBuffer authorCodes;
+    private final String[] authorNames;
+    private final Strings isbns;
+    private final Strings titles;
+
+    private CatalogSnapshot(FileChannel channel, MappedByteBuffer file) throws IOException {
+        this.channel = channel;
+        file.order(ByteOrder.LITTLE_ENDIAN);
+        if (file.capacity() < HEADER_BYTES || file.getInt(0) != MAGIC) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        if (file.getInt(4) != VERSION || file.getInt(12) != Section.values().length) {
+            throw new IOException("Unsupported catalog snapshot version " + file.getInt(4));
+        }
+        this.rows = file.getInt(8);
+        this.changeSeq = file.getLong(16);
+        this.createdAt = Instant.ofEpochMilli(file.getLong(24));
+
+        this.ids = section(file, Section.ID).asLongBuffer();
+        this.updatedAt = section(file, Section.UPDATED_AT).asLongBuffer();
+        this.statuses = section(file, Section.STATUS);
+        this.inventory = new BitPacked(section(file, Section.INVENTORY));
+        this.categoryCodes = section(file, Section.CATEGORY_CODES).asIntBuffer();
+        this.categoryIds = section(file, Section.CATEGORY_IDS).asLongBuffer();
+        this.categoryNames = new Strings(section(file, Section.CATEGORY_NAMES)).decodeAll();
+        this.authorCodes = section(file, Section.AUTHOR_CODES).asIntBuffer();
+        this.authorNames = new Strings(section(file, Section.AUTHOR_NAMES)).decodeAll();
+        this.isbns = new Strings(section(file, Section.ISBN));
+        this.titles = new Strings(section(file, Section.TITLE));
+
+        if (ids.capacity() != rows || statuses.capacity() != rows || titles.size() != rows) {
+            throw new IOException("Catalog snapshot is truncated");
+        }
+    }
+
+    /**
+     * Map a snapshot file; the mapping stays valid after close until the
+     * view is garbage collected
+     */
+    public static CatalogSnapshot open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot larger than 2 GB");
+            }
+            return new CatalogSnapshot(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Change feed sequence the snapshot is complete up to
+     */
+    public long changeSeq() {
+        return changeSeq;
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    public long id(int row) {
+        return ids.get(row);
+    }
+
+    public String isbn(int row) {
+        return isbns.get(row);
+    }
+
+    public String title(int row) {
+        return titles.get(row);
+    }
+
+    /**
+     * Dictionary code of the row's author, -1 for none; equal names share a
+     * code
+     */
+    public int authorCode(int row) {
+        return authorCodes.get(row);
+    }
+
+    public String authorName(int row) {
+        int code = authorCodes.get(row);
+        return code < 0 ? null : authorNames[code];
+    }
+
+    public Long categoryId(int row) {
+        int code = categoryCodes.get(row);
+        return code < 0 ? null : categoryIds.get(code);
+    }
+
+    public String categoryName(int row) {
+        int code = categoryCodes.get(row);
+        return code < 0 ? null : categoryNames[code];
+    }
+
+    public BookStatus status(int row) {
+        byte ordinal = statuses.get(row);
+        return ordinal < 0 || ordinal >= STATUSES.length ? null : STATUSES[ordinal];
+    }
+
+    public int totalQuantity(int row) {
+        return inventory.get(3 * row);
+    }
+
+    public int availableQuantity(int row) {
+        return inventory.get(3 * row + 1);
+    }
+
+    public int borrowedQuantity(int row) {
+        return inventory.get(3 * row + 2);
+    }
+
+    public LocalDateTime updatedAt(int row) {
+        long millis = updatedAt.get(row);
+        return millis == NO_TIME ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static ByteBuffer section(ByteBuffer file, Section section) throws IOException {
+        int entry = FIXED_HEADER_BYTES + section.ordinal() * 16;
+        long offset = file.getLong(entry);
+        long length = file.getLong(entry + 8);
+        if (offset < HEADER_BYTES || length < 0 || offset + length > file.capacity()) {
+            throw new IOException("Catalog snapshot section " + section + " out of bounds");
+        }
+        return file.slice((int) offset, (int) length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Unsigned values of a fixed bit width packed into longs
+     */
+    private static final class BitPacked {
+        private final int bits;
+        private final long mask;
+        private final LongBuffer words;
+
+        BitPacked(ByteBuffer section) {
+            this.bits = section.getInt(0);
+            this.mask = bits == 0 ? 0 : -1L >>> (64 - bits);
+            this.words = section.slice(8, section.capacity() - 8).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        }
+
+        int get(int index) {
+            if (bits == 0) {
+                return 0;
+            }
+            long bit = (long) index * bits;
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            long value = words.get(word) >>> shift;
+            if (shift + bits > 64) {
+                value |= words.get(word + 1) << (64 - shift);
+            }
+            return (int) (value & mask);
+        }
+    }
+
+    /**
+     * Offsets followed by UTF-8 bytes
+     */
+    private static final class Strings {
+        private final int count;
+        private final IntBuffer offsets;
+        private final ByteBuffer bytes;
+
+        Strings(ByteBuffer section) {
+            this.count = section.getInt(0);
+            int bytesStart = align(8 + (count + 1) * 4);
+            this.offsets = section.slice(8, (count + 1) * 4).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            this.bytes = section.slice(bytesStart, section.capacity() - bytesStart);
+        }
+
+        int size() {
+            return count;
+        }
+
+        String get(int index) {
+            int from = offsets.get(index);
+            byte[] utf8 = new byte[offsets.get(index + 1) - from];
+            bytes.get(from, utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        String[] decodeAll() {
+            String[] values = new String[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = get(i);
+            }
+            return values;
+        }
+    }
+
+    static int align(int position) {
+        return (position + 7) & ~7;
+    }
+}
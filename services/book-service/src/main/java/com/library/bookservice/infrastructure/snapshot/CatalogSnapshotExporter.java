@@ -0,0 +1,137 @@
+package com.library.bookservice.infrastructure.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.library.bookservice.application.dto.BookColumn;
+import com.library.bookservice.application.dto.BookQueryFilter;
+import com.library.bookservice.application.dto.CatalogSnapshotInfo;
+import com.library.bookservice.application.port.input.CatalogSnapshotService;
+import com.library.bookservice.application.port.output.BookChangeLogPort;
+import com.library.bookservice.application.port.output.BookRepositoryPort;
+import com.library.bookservice.domain.model.BookStatus;
+import com.library.bookservice.infrastructure.config.CatalogSnapshotProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports the books table into a CatalogSnapshot file
+ *
+ * The latest committed change feed sequence is read before the table, and
+ * stored in the file: every change up to it is in the snapshot, so a reader
+ * catches up by replaying the feed after it. Rows are streamed through a
+ * forward-only cursor straight into the column buffers.
+ */
+@Component
+@Slf4j
+public class CatalogSnapshotExporter implements CatalogSnapshotService {
+
+    private static final Set<BookColumn> COLUMNS = EnumSet.of(BookColumn.ID, BookColumn.ISBN, BookColumn.TITLE,
+            BookColumn.AUTHOR_NAME, BookColumn.CATEGORY_ID, BookColumn.CATEGORY_NAME, BookColumn.STATUS,
+            BookColumn.TOTAL_QUANTITY, BookColumn.AVAILABLE_QUANTITY, BookColumn.BORROWED_QUANTITY,
+            BookColumn.UPDATED_AT);
+
+    private final BookRepositoryPort bookRepository;
+    private final BookChangeLogPort changeLog;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path file;
+
+    public CatalogSnapshotExporter(
+            BookRepositoryPort bookRepository,
+            BookChangeLogPort changeLog,
+            CatalogSnapshotProperties properties,
+            PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.changeLog = changeLog;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.file = Paths.get(properties.getFile()).toAbsolutePath();
+    }
+
+    @Override
+    public synchronized CatalogSnapshotInfo export() {
+        long start = System.currentTimeMillis();
+        CatalogSnapshotWriter writer = new CatalogSnapshotWriter();
+        long changeSeq = readOnlyTransaction.execute(status -> {
+            // Before the table, and before the cursor takes the connection
+            long seq = changeLog.findLatestSeq();
+            try (Stream<Map<BookColumn, Object>> rows = bookRepository.streamColumns(COLUMNS, BookQueryFilter.all())) {
+                rows.forEach(row -> writer.add(
+                        (Long) row.get(BookColumn.ID),
+                        (String) row.get(BookColumn.ISBN),
+                        (String) row.get(BookColumn.TITLE),
+                        (String) row.get(BookColumn.AUTHOR_NAME),
+                        (Long) row.get(BookColumn.CATEGORY_ID),
+                        (String) row.get(BookColumn.CATEGORY_NAME),
+                        (BookStatus) row.get(BookColumn.STATUS),
+                        (Integer) row.get(BookColumn.TOTAL_QUANTITY),
+                        (Integer) row.get(BookColumn.AVAILABLE_QUANTITY),
+                        (Integer) row.get(BookColumn.BORROWED_QUANTITY),
+                        (LocalDateTime) row.get(BookColumn.UPDATED_AT)));
+            }
+            return seq;
+        });
+
+        try {
+            long bytes = writer.writeTo(file, changeSeq);
+            log.info("Catalog snapshot exported: {} books, {} bytes, change {} in {} ms",
+                    writer.size(), bytes, changeSeq, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write catalog snapshot " + file, e);
+        }
+        return getInfo();
+    }
+
+    @Scheduled(cron = "${book.snapshot.export-cron:-}")
+    public void exportScheduled() {
+        export();
+    }
+
+    @Override
+    public CatalogSnapshotInfo getInfo() {
+        try (CatalogSnapshot snapshot = open()
+                .orElseThrow(() -> new IllegalStateException("No catalog snapshot has been exported"))) {
+            return CatalogSnapshotInfo.builder()
+                    .books(snapshot.size())
+                    .bytes(Files.size(file))
+                    .changeSeq(snapshot.changeSeq())
+                    .createdAt(LocalDateTime.ofInstant(snapshot.createdAt(), ZoneId.systemDefault()))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read catalog snapshot " + file, e);
+        }
+    }
+
+    @Override
+    public Path getFile() {
+        if (!Files.exists(file)) {
+            throw new IllegalStateException("No catalog snapshot has been exported");
+        }
+        return file;
+    }
+
+    /**
+     * Map the current snapshot, if there is one
+     */
+    public Optional<CatalogSnapshot> open() throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(CatalogSnapshot.open(file));
+    }
+}
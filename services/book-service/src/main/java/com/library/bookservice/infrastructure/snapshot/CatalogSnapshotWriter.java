@@ -0,0 +1,324 @@
+package com.library.bookservice.infrastructure.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.library.bookservice.domain.model.BookStatus;
+import com.library.bookservice.infrastructure.snapshot.CatalogSnapshot.Section;
+
+/**
+ * Builds a catalog snapshot file, see CatalogSnapshot for the layout
+ *
+ * Rows are added one at a time into primitive column buffers, so a streamed
+ * query never holds entities or row maps; writeTo then lays the columns out
+ * one after another and moves the file into place atomically.
+ */
+public class CatalogSnapshotWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private int rows;
+    private long[] ids = new long[1024];
+    private long[] updatedAt = new long[1024];
+    private byte[] statuses = new byte[1024];
+    private int[] inventory = new int[3 * 1024];
+    private int[] categoryCodes = new int[1024];
+    private int[] authorCodes = new int[1024];
+    private final StringColumn isbns = new StringColumn();
+    private final StringColumn titles = new StringColumn();
+
+    private final Map<Long, Integer> categoryCodeOf = new HashMap<>();
+    private long[] categoryIds = new long[16];
+    private final StringColumn categoryNames = new StringColumn();
+    private final Map<String, Integer> authorCodeOf = new HashMap<>();
+    private final StringColumn authorNames = new StringColumn();
+
+    public void add(long id, String isbn, String title, String authorName, Long categoryId, String categoryName,
+            BookStatus status, Integer totalQuantity, Integer availableQuantity, Integer borrowedQuantity,
+            LocalDateTime updated) {
+        if (rows == ids.length) {
+            int capacity = rows * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            inventory = Arrays.copyOf(inventory, 3 * capacity);
+            categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+            authorCodes = Arrays.copyOf(authorCodes, capacity);
+        }
+        ids[rows] = id;
+        updatedAt[rows] = updated == null ? CatalogSnapshot.NO_TIME : updated.toInstant(ZoneOffset.UTC).toEpochMilli();
+        statuses[rows] = status == null ? -1 : (byte) status.ordinal();
+        inventory[3 * rows] = quantity(totalQuantity);
+        inventory[3 * rows + 1] = quantity(availableQuantity);
+        inventory[3 * rows + 2] = quantity(borrowedQuantity);
+        categoryCodes[rows] = categoryId == null ? -1 : categoryCode(categoryId, categoryName);
+        authorCodes[rows] = authorName == null ? -1 : authorCode(authorName);
+        isbns.add(isbn);
+        titles.add(title);
+        rows++;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Write the snapshot next to the target and rename it over the target
+     *
+     * @return size of the file in bytes
+     */
+    public long writeTo(Path target, long changeSeq) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            long size;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                size = write(channel, changeSeq);
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return size;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private long write(FileChannel channel, long changeSeq) throws IOException {
+        Output out = new Output(channel);
+        long[][] sections = new long[Section.values().length][];
+        out.skip(CatalogSnapshot.HEADER_BYTES);
+
+        sections[Section.ID.ordinal()] = out.section(() -> out.putLongs(ids, rows));
+        sections[Section.UPDATED_AT.ordinal()] = out.section(() -> out.putLongs(updatedAt, rows));
+        sections[Section.STATUS.ordinal()] = out.section(() -> out.putBytes(statuses, rows));
+        sections[Section.INVENTORY.ordinal()] = out.section(() -> out.putPacked(inventory, 3 * rows));
+        sections[Section.CATEGORY_CODES.ordinal()] = out.section(() -> out.putInts(categoryCodes, rows));
+        sections[Section.CATEGORY_IDS.ordinal()] = out.section(() -> out.putLongs(categoryIds, categoryNames.count));
+        sections[Section.CATEGORY_NAMES.ordinal()] = out.section(() -> out.putStrings(categoryNames));
+        sections[Section.AUTHOR_CODES.ordinal()] = out.section(() -> out.putInts(authorCodes, rows));
+        sections[Section.AUTHOR_NAMES.ordinal()] = out.section(() -> out.putStrings(authorNames));
+        sections[Section.ISBN.ordinal()] = out.section(() -> out.putStrings(isbns));
+        sections[Section.TITLE.ordinal()] = out.section(() -> out.putStrings(titles));
+        long size = out.finish();
+
+        ByteBuffer header = ByteBuffer.allocate(CatalogSnapshot.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(CatalogSnapshot.MAGIC)
+                .putInt(CatalogSnapshot.VERSION)
+                .putInt(rows)
+                .putInt(sections.length)
+                .putLong(changeSeq)
+                .putLong(System.currentTimeMillis());
+        for (long[] section : sections) {
+            header.putLong(section[0]).putLong(section[1]);
+        }
+        header.flip();
+        channel.write(header, 0);
+        return size;
+    }
+
+    private int categoryCode(Long categoryId, String categoryName) {
+        return categoryCodeOf.computeIfAbsent(categoryId, key -> {
+            int code = categoryNames.count;
+            if (code == categoryIds.length) {
+                categoryIds = Arrays.copyOf(categoryIds, code * 2);
+            }
+            categoryIds[code] = key;
+            categoryNames.add(categoryName);
+            return code;
+        });
+    }
+
+    private int authorCode(String authorName) {
+        return authorCodeOf.computeIfAbsent(authorName, key -> {
+            int code = authorNames.count;
+            authorNames.add(key);
+            return code;
+        });
+    }
+
+    private static int quantity(Integer value) {
+        return value == null ? 0 : Math.max(0, value);
+    }
+
+    /**
+     * UTF-8 values appended to one byte array, with their start offsets
+     */
+    private static final class StringColumn {
+        private int count;
+        private int[] offsets = new int[1025];
+        private byte[] bytes = new byte[16 * 1024];
+        private int length;
+
+        void add(String value) {
+            byte[] utf8 = Objects.toString(value, "").getBytes(StandardCharsets.UTF_8);
+            if (length + utf8.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + utf8.length));
+            }
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+            if (count + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++count] = length;
+        }
+    }
+
+    private interface SectionBody {
+        void write() throws IOException;
+    }
+
+    /**
+     * Little endian output through one reusable buffer, tracking the file
+     * position so sections can be aligned and located
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Write one section 8 byte aligned
+         *
+         * @return offset and length of the section
+         */
+        long[] section(SectionBody body) throws IOException {
+            align();
+            long start = position;
+            body.write();
+            return new long[] { start, position - start };
+        }
+
+        void skip(int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                putByte((byte) 0);
+            }
+        }
+
+        void putLongs(long[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                ensure(8);
+                buffer.putLong(values[i]);
+                position += 8;
+            }
+        }
+
+        void putInts(int[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                putInt(values[i]);
+            }
+        }
+
+        void putBytes(byte[] values, int count) throws IOException {
+            int from = 0;
+            while (from < count) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), count - from);
+                buffer.put(values, from, chunk);
+                from += chunk;
+                position += chunk;
+            }
+        }
+
+        /**
+         * Header int bits, int 0, then the values packed into longs
+         */
+        void putPacked(int[] values, int count) throws IOException {
+            int max = 0;
+            for (int i = 0; i < count; i++) {
+                max = Math.max(max, values[i]);
+            }
+            int bits = 32 - Integer.numberOfLeadingZeros(max);
+            putInt(bits);
+            putInt(0);
+            if (bits == 0) {
+                return;
+            }
+            long word = 0;
+            int used = 0;
+            for (int i = 0; i < count; i++) {
+                long value = values[i] & 0xFFFFFFFFL;
+                word |= value << used;
+                used += bits;
+                if (used >= 64) {
+                    putLong(word);
+                    used -= 64;
+                    word = used == 0 ? 0 : value >>> (bits - used);
+                }
+            }
+            if (used > 0) {
+                putLong(word);
+            }
+        }
+
+        void putStrings(StringColumn column) throws IOException {
+            putInt(column.count);
+            putInt(0);
+            putInts(column.offsets, column.count + 1);
+            align();
+            putBytes(column.bytes, column.length);
+        }
+
+        long finish() throws IOException {
+            align();
+            flush();
+            return position;
+        }
+
+        private void putInt(int value) throws IOException {
+            ensure(4);
+            buffer.putInt(value);
+            position += 4;
+        }
+
+        private void putLong(long value) throws IOException {
+            ensure(8);
+            buffer.putLong(value);
+            position += 8;
+        }
+
+        private void putByte(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+            position++;
+        }
+
+        private void align() throws IOException {
+            while ((position & 7) != 0) {
+                putByte((byte) 0);
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.library.bookservice.presentation.rest.controller;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,16 +17,27 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.library.bookservice.application.dto.BookField;
+import com.library.bookservice.application.dto.BookQueryFilter;
+import com.library.bookservice.application.dto.BookSearchMode;
 import com.library.bookservice.application.dto.BookSearchQuery;
+import com.library.bookservice.application.dto.BookSummary;
+import com.library.bookservice.application.dto.BookView;
 import com.library.bookservice.application.port.input.BookService;
 import com.library.bookservice.presentation.rest.dto.ApiResponse;
+import com.library.bookservice.presentation.rest.dto.BookBatchItemResponse;
+import com.library.bookservice.presentation.rest.dto.BookChangePageResponse;
 import com.library.bookservice.presentation.rest.dto.BookResponse;
+import com.library.bookservice.presentation.rest.dto.BookSearchResultResponse;
+import com.library.bookservice.presentation.rest.dto.BookSuggestionResponse;
+import com.library.bookservice.presentation.rest.dto.BookSummaryResponse;
 import com.library.bookservice.presentation.rest.dto.CreateBookRequest;
 import com.library.bookservice.presentation.rest.dto.ReserveBookRequest;
 import com.library.bookservice.presentation.rest.dto.UpdateBookRequest;
 import com.library.bookservice.presentation.rest.mapper.BookDtoMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -37,6 +49,10 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * REST Controller for Book operations
  * Exposes HTTP endpoints
+ *
+ * Endpoints that return one of several views are declared with wildcard
+ * types, which AOT cannot see through, so the DTOs they serialize are
+ * registered for binding explicitly.
  */
 @RestController
 @RequestMapping("/api/v1/books")
@@ -44,6 +60,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Validated
 @Tag(name = "Book Management", description = "APIs for managing books")
+@RegisterReflectionForBinding({ BookResponse.class, BookSummaryResponse.class, BookBatchItemResponse.class,
+        BookSearchResultResponse.class, BookSuggestionResponse.class })
 public class BookController {
 
     private final BookService bookService;
@@ -79,19 +97,90 @@ public class BookController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get book by ID", description = "Retrieves a book by its ID")
-    public ApiResponse<BookResponse> getBookById(@PathVariable @Positive Long id) {
+    public ApiResponse<?> getBookById(
+            @PathVariable @Positive Long id,
+            @Parameter(description = "Comma separated fields to return") @RequestParam(required = false) String fields) {
         log.info("REST: Getting book by ID: {}", id);
 
+        if (fields != null) {
+            return ApiResponse.success(bookService.getBookFieldsById(id, BookField.parse(fields)),
+                    "Book retrieved successfully");
+        }
+
         var appResponse = bookService.getBookById(id);
         var response = mapper.toDto(appResponse);
 
         return ApiResponse.success(response, "Book retrieved successfully");
     }
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get books by IDs", description = "Retrieves many books in one call, in the requested order")
+    public ApiResponse<List<BookBatchItemResponse>> getBooksByIds(@RequestParam List<Long> ids) {
+        log.info("REST: Getting {} books by ID", ids.size());
+
+        var responses = bookService.getBooksByIds(ids).stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+
+        return ApiResponse.success(responses, "Books retrieved successfully");
+    }
+
+    @GetMapping("/batch/isbn")
+    @Operation(summary = "Get books by ISBNs", description = "Retrieves many books by ISBN in one call, in the requested order")
+    public ApiResponse<List<BookBatchItemResponse>> getBooksByIsbns(@RequestParam List<String> isbns) {
+        log.info("REST: Getting {} books by ISBN", isbns.size());
+
+        var responses = bookService.getBooksByIsbns(isbns).stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+
+        return ApiResponse.success(responses, "Books retrieved successfully");
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get book changes", description = "Retrieves the book changes recorded after a cursor, oldest first; deletes are returned as tombstones")
+    public ApiResponse<BookChangePageResponse> getBookChanges(
+            @Parameter(description = "Cursor from the previous page, 0 to start") @RequestParam(defaultValue = "0") @Min(0) long since,
+            @RequestParam(defaultValue = "100") @Positive int limit) {
+        log.info("REST: Getting book changes since {}", since);
+
+        var appResponse = bookService.getBookChanges(since, limit);
+        var response = mapper.toDto(appResponse);
+
+        return ApiResponse.success(response, "Book changes retrieved successfully");
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest books", description = "Typeahead: most popular titles and authors starting with a prefix, served from memory")
+    public ApiResponse<List<BookSuggestionResponse>> suggestBooks(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "10") @Positive int limit) {
+        log.debug("REST: Suggesting books for prefix: {}", prefix);
+
+        var responses = bookService.suggestBooks(prefix, limit).stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+
+        return ApiResponse.success(responses, "Suggestions retrieved successfully");
+    }
+
     @GetMapping
     @Operation(summary = "Get all books", description = "Retrieves all books in the catalog")
-    public ApiResponse<List<BookResponse>> getAllBooks() {
-        log.info("REST:  Getting all books");
+    public ApiResponse<List<?>> getAllBooks(
+            @Parameter(description = "summary or full") @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Comma separated fields to return") @RequestParam(required = false) String fields) {
+        log.info("REST:  Getting all books ({} view)", view);
+
+        if (fields != null) {
+            var filter = BookQueryFilter.all();
+            return ApiResponse.success(bookService.getBookFields(filter, BookField.parse(fields)),
+                    "Books retrieved successfully");
+        }
+
+        if (BookView.from(view) == BookView.SUMMARY) {
+            return ApiResponse.success(toSummaryDtos(bookService.getAllBookSummaries()),
+                    "Books retrieved successfully");
+        }
 
         var appResponses = bookService.getAllBooks();
         var responses = appResponses.stream()
@@ -102,16 +191,40 @@ public class BookController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search books", description = "Search books by keyword in title, author, or description")
-    public ApiResponse<List<BookResponse>> searchBooks(
-            @RequestParam(required = false) String keyword) {
+    @Operation(summary = "Search books", description = "Search books by keyword in title, author, or description; mode=fuzzy tolerates typos in title and author words")
+    public ApiResponse<List<?>> searchBooks(
+            @RequestParam(required = false) String keyword,
+            @Parameter(description = "exact or fuzzy") @RequestParam(defaultValue = "exact") String mode,
+            @Parameter(description = "summary or full") @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Comma separated fields to return") @RequestParam(required = false) String fields) {
 
         log.info("REST:  Searching books with keyword: {}", keyword);
 
+        if (BookSearchMode.from(mode) == BookSearchMode.FUZZY) {
+            if (fields != null || BookView.from(view) != BookView.FULL) {
+                throw new IllegalArgumentException("Fuzzy search only returns the full view");
+            }
+            var responses = bookService.fuzzySearchBooks(keyword).stream()
+                    .map(mapper::toDto)
+                    .collect(Collectors.toList());
+            return ApiResponse.success(responses, "Search completed successfully");
+        }
+
         BookSearchQuery query = BookSearchQuery.builder()
                 .keyword(keyword)
                 .build();
 
+        if (fields != null) {
+            var filter = BookQueryFilter.byKeyword(keyword);
+            return ApiResponse.success(bookService.getBookFields(filter, BookField.parse(fields)),
+                    "Search completed successfully");
+        }
+
+        if (BookView.from(view) == BookView.SUMMARY) {
+            return ApiResponse.success(toSummaryDtos(bookService.searchBookSummaries(query)),
+                    "Search completed successfully");
+        }
+
         var appResponses = bookService.searchBooks(query);
         var responses = appResponses.stream()
                 .map(mapper::toDto)
@@ -120,11 +233,52 @@ public class BookController {
         return ApiResponse.success(responses, "Search completed successfully");
     }
 
+    @GetMapping("/search/faceted")
+    @Operation(summary = "Search books with facets", description = "Search by keyword, filter by category, status, availability and author, and count the matches per facet value")
+    public ApiResponse<BookSearchResultResponse> searchBooksWithFacets(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "AVAILABLE, OUT_OF_STOCK or DISCONTINUED") @RequestParam(required = false) String status,
+            @Parameter(description = "true to return only books that can be borrowed") @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) String author,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Positive int size) {
+
+        log.info("REST:  Searching books with facets, keyword: {}", keyword);
+
+        BookSearchQuery query = BookSearchQuery.builder()
+                .keyword(keyword)
+                .categoryId(categoryId)
+                .status(BookSearchQuery.parseStatus(status))
+                .availableOnly(available)
+                .authorName(author)
+                .page(page)
+                .size(size)
+                .build();
+
+        var response = mapper.toDto(bookService.searchBooksWithFacets(query));
+
+        return ApiResponse.success(response, "Search completed successfully");
+    }
+
     @GetMapping("/available")
     @Operation(summary = "Get available books", description = "Retrieves all books available for borrowing")
-    public ApiResponse<List<BookResponse>> getAvailableBooks() {
+    public ApiResponse<List<?>> getAvailableBooks(
+            @Parameter(description = "summary or full") @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Comma separated fields to return") @RequestParam(required = false) String fields) {
         log.info("REST: Getting available books");
 
+        if (fields != null) {
+            var filter = BookQueryFilter.available();
+            return ApiResponse.success(bookService.getBookFields(filter, BookField.parse(fields)),
+                    "Available books retrieved successfully");
+        }
+
+        if (BookView.from(view) == BookView.SUMMARY) {
+            return ApiResponse.success(toSummaryDtos(bookService.getAvailableBookSummaries()),
+                    "Available books retrieved successfully");
+        }
+
         var appResponses = bookService.getAvailableBooks();
         var responses = appResponses.stream()
                 .map(mapper::toDto)
@@ -135,11 +289,24 @@ public class BookController {
 
     @GetMapping("/category/{categoryName}")
     @Operation(summary = "Get books by category", description = "Retrieves all books in a specific category")
-    public ApiResponse<List<BookResponse>> getBooksByCategory(
-            @PathVariable String categoryName) {
+    public ApiResponse<List<?>> getBooksByCategory(
+            @PathVariable String categoryName,
+            @Parameter(description = "summary or full") @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Comma separated fields to return") @RequestParam(required = false) String fields) {
 
         log.info("REST: Getting books by category: {}", categoryName);
 
+        if (fields != null) {
+            var filter = BookQueryFilter.byCategory(categoryName);
+            return ApiResponse.success(bookService.getBookFields(filter, BookField.parse(fields)),
+                    "Books in category retrieved successfully");
+        }
+
+        if (BookView.from(view) == BookView.SUMMARY) {
+            return ApiResponse.success(toSummaryDtos(bookService.getBookSummariesByCategory(categoryName)),
+                    "Books in category retrieved successfully");
+        }
+
         var appResponses = bookService.getBooksByCategory(categoryName);
         var responses = appResponses.stream()
                 .map(mapper::toDto)
@@ -229,4 +396,10 @@ public class BookController {
 
         return ApiResponse.success(response, quantity + " copies removed successfully");
     }
-}
\ No newline at end of file
+
+    private List<BookSummaryResponse> toSummaryDtos(List<BookSummary> summaries) {
+        return summaries.stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
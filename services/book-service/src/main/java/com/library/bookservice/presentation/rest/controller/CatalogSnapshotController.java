@@ -0,0 +1,64 @@
+package com.library.bookservice.presentation.rest.controller;
+
+import java.nio.file.Path;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.library.bookservice.application.port.input.CatalogSnapshotService;
+import com.library.bookservice.presentation.rest.dto.ApiResponse;
+import com.library.bookservice.presentation.rest.dto.CatalogSnapshotResponse;
+import com.library.bookservice.presentation.rest.mapper.BookDtoMapper;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST Controller for the columnar catalog snapshot
+ */
+@RestController
+@RequestMapping("/api/v1/books/snapshot")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Catalog Snapshot", description = "APIs for the columnar catalog snapshot")
+public class CatalogSnapshotController {
+
+    private final CatalogSnapshotService snapshotService;
+    private final BookDtoMapper mapper;
+
+    @PostMapping
+    @Operation(summary = "Export a catalog snapshot", description = "Writes the books table into a columnar snapshot file, replacing the current one")
+    public ApiResponse<CatalogSnapshotResponse> exportSnapshot() {
+        log.info("REST:  Exporting catalog snapshot");
+
+        return ApiResponse.success(mapper.toDto(snapshotService.export()), "Catalog snapshot exported");
+    }
+
+    @GetMapping
+    @Operation(summary = "Describe the catalog snapshot")
+    public ApiResponse<CatalogSnapshotResponse> getSnapshot() {
+        return ApiResponse.success(mapper.toDto(snapshotService.getInfo()), "Catalog snapshot retrieved successfully");
+    }
+
+    @GetMapping("/file")
+    @Operation(summary = "Download the catalog snapshot file")
+    public ResponseEntity<Resource> downloadSnapshot() {
+        Path file = snapshotService.getFile();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
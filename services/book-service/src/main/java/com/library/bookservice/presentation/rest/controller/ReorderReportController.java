@@ -0,0 +1,104 @@
+package com.library.bookservice.presentation.rest.controller;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.library.bookservice.application.dto.ReorderReportFormat;
+import com.library.bookservice.application.dto.ReorderReportRun;
+import com.library.bookservice.application.port.input.ReorderReportService;
+import com.library.bookservice.presentation.rest.dto.ApiResponse;
+import com.library.bookservice.presentation.rest.dto.ReorderReportResponse;
+import com.library.bookservice.presentation.rest.mapper.BookDtoMapper;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * REST Controller for the reorder report job
+ * Runs execute in the background; clients poll the run for progress and
+ * download the file once it is complete
+ */
+@RestController
+@RequestMapping("/api/v1/books/reorder-reports")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@Tag(name = "Reorder Reports", description = "APIs for generating book reorder reports")
+public class ReorderReportController {
+
+    private final ReorderReportService reorderReportService;
+    private final BookDtoMapper mapper;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Start a reorder report", description = "Reports books with fewer available copies than the threshold and the copies to order")
+    public ApiResponse<ReorderReportResponse> startReport(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "5") @Positive int threshold) {
+        log.info("REST:  Starting reorder report ({}, threshold {})", format, threshold);
+
+        ReorderReportRun run = reorderReportService.start(ReorderReportFormat.from(format), threshold);
+
+        return ApiResponse.success(mapper.toDto(run), "Reorder report started");
+    }
+
+    @PostMapping("/{runId}/resume")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Resume a reorder report", description = "Continues a failed or interrupted run after its last checkpoint")
+    public ApiResponse<ReorderReportResponse> resumeReport(@PathVariable String runId) {
+        log.info("REST:  Resuming reorder report {}", runId);
+
+        return ApiResponse.success(mapper.toDto(reorderReportService.resume(runId)), "Reorder report resumed");
+    }
+
+    @GetMapping
+    @Operation(summary = "List reorder reports", description = "All known runs, newest first")
+    public ApiResponse<List<ReorderReportResponse>> getReports() {
+        var responses = reorderReportService.getRuns().stream()
+                .map(mapper::toDto)
+                .collect(Collectors.toList());
+
+        return ApiResponse.success(responses, "Reorder reports retrieved successfully");
+    }
+
+    @GetMapping("/{runId}")
+    @Operation(summary = "Get reorder report progress")
+    public ApiResponse<ReorderReportResponse> getReport(@PathVariable String runId) {
+        return ApiResponse.success(mapper.toDto(reorderReportService.getRun(runId)),
+                "Reorder report retrieved successfully");
+    }
+
+    @GetMapping("/{runId}/file")
+    @Operation(summary = "Download a completed reorder report")
+    public ResponseEntity<Resource> downloadReport(@PathVariable String runId) {
+        ReorderReportRun run = reorderReportService.getRun(runId);
+        Path file = reorderReportService.getReportFile(runId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(run.getFormat().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
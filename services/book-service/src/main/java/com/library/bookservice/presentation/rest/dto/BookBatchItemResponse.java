@@ -0,0 +1,24 @@
+package com.library.bookservice.presentation.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a batch lookup response
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookBatchItemResponse {
+
+    private Long id;
+    private String isbn;
+    private Boolean found;
+    private BookResponse book;
+}
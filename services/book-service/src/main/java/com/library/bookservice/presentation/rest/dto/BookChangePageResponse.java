@@ -0,0 +1,22 @@
+package com.library.bookservice.presentation.rest.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Page of the book change feed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookChangePageResponse {
+
+    private List<BookChangeResponse> changes;
+    private long nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,28 @@
+package com.library.bookservice.presentation.rest.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of the book change feed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookChangeResponse {
+
+    private Long seq;
+    private Long bookId;
+    private String isbn;
+    private String type;
+    private LocalDateTime changedAt;
+    private BookResponse book;
+}
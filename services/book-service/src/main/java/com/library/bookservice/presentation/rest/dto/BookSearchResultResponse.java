@@ -0,0 +1,25 @@
+package com.library.bookservice.presentation.rest.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Page of a faceted book search with the counts per facet value
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchResultResponse {
+
+    private List<BookResponse> books;
+    private long total;
+    private int page;
+    private int size;
+    private Map<String, List<FacetCountResponse>> facets;
+}
@@ -0,0 +1,24 @@
+package com.library.bookservice.presentation.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typeahead suggestion: a title (with its book ID) or an author name
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookSuggestionResponse {
+
+    private String text;
+    private String type;
+    private Long bookId;
+    private int score;
+}
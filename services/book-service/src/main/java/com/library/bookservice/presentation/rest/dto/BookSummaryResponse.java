@@ -0,0 +1,27 @@
+package com.library.bookservice.presentation.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary Response DTO for Book lists
+ * What client receives with view=summary
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSummaryResponse {
+
+    private Long id;
+    private String isbn;
+    private String title;
+    private String authorName;
+    private String categoryName;
+    private Integer availableQuantity;
+    private String status;
+    private String coverImageUrl;
+    private Boolean availableForBorrowing;
+}
@@ -0,0 +1,23 @@
+package com.library.bookservice.presentation.rest.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Current catalog snapshot
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSnapshotResponse {
+
+    private int books;
+    private long bytes;
+    private long changeSeq;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,20 @@
+package com.library.bookservice.presentation.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Count of matching books for one facet value
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountResponse {
+
+    private String value;
+    private String label;
+    private long count;
+}
@@ -0,0 +1,34 @@
+package com.library.bookservice.presentation.rest.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a reorder report run
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReorderReportResponse {
+
+    private String runId;
+    private String format;
+    private int threshold;
+    private String state;
+    private long total;
+    private long processed;
+    private long written;
+    private long lastBookId;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
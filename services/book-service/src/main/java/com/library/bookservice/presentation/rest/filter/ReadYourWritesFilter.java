@@ -0,0 +1,47 @@
+package com.library.bookservice.presentation.rest.filter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.library.bookservice.infrastructure.persistence.routing.ReadYourWrites;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Picks up the read-your-writes token a client got back from a write
+ */
+@Component
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /** A GTID set: server UUIDs, optional tags and transaction ranges */
+    private static final Pattern GTID_SET = Pattern.compile("[A-Za-z0-9_:,-]{1,8192}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        ReadYourWrites.require(parse(request.getHeader(ReadYourWrites.TOKEN_HEADER)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private static String parse(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String trimmed = token.trim();
+        // An unreadable token must not weaken consistency: read from the primary
+        return GTID_SET.matcher(trimmed).matches() ? trimmed : ReadYourWrites.PRIMARY_TOKEN;
+    }
+}
@@ -0,0 +1,288 @@
+package com.library.bookservice.presentation.rest.filter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.library.bookservice.infrastructure.cache.CompressedResponseCache;
+import com.library.bookservice.infrastructure.compression.ResponseEncoder;
+import com.library.bookservice.infrastructure.compression.ResponseEncoders;
+import com.library.bookservice.infrastructure.config.CompressionProperties;
+import com.library.bookservice.infrastructure.persistence.routing.ReadYourWrites;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compresses responses in the coding negotiated from Accept-Encoding and
+ * serves hot GET pages from the precompressed response cache
+ *
+ * The body is buffered so that small responses can be sent as they are
+ * and compressed ones carry a Content-Length. Responses of a compressible
+ * type always get {@code Vary: Accept-Encoding}, so shared caches keep one
+ * copy per coding. Cached bodies are compressed at the higher cache level,
+ * once per catalog change instead of once per request.
+ *
+ * Runs ahead of the other filters so that cache hits skip them.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@RequiredArgsConstructor
+@Slf4j
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    static final String CACHE_STATUS_HEADER = "X-Response-Cache";
+
+    private static final String IDENTITY = "identity";
+
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONTENT_TYPE.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONTENT_ENCODING.toLowerCase(Locale.ROOT),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT),
+            HttpHeaders.DATE.toLowerCase(Locale.ROOT),
+            HttpHeaders.SET_COOKIE.toLowerCase(Locale.ROOT),
+            ReadYourWrites.TOKEN_HEADER.toLowerCase(Locale.ROOT),
+            CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT));
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final CompressionProperties properties;
+    private final ResponseEncoders encoders;
+    private final CompressedResponseCache cache;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !matches(properties.getPaths(), path) || matches(properties.getExcludePaths(), path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        Optional<ResponseEncoder> encoder = encoders.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        boolean cacheable = isCacheable(request);
+        String key = null;
+        long generation = 0;
+
+        if (cacheable) {
+            key = cacheKey(request, encoder.map(e -> e.coding().token()).orElse(IDENTITY));
+            CompressedResponseCache.Entry hit = noCache(request) ? null : cache.get(key);
+            if (hit != null) {
+                count("hit");
+                writeCached(response, hit);
+                return;
+            }
+            count("miss");
+            generation = cache.generation();
+            response.setHeader(CACHE_STATUS_HEADER, "MISS");
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        if (isAsyncStarted(request)) {
+            // The body would be written into the buffer after this returns and never copied
+            log.warn("Async response for {} cannot be compressed, add it to compression.exclude-paths",
+                    request.getRequestURI());
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = wrapper.getContentAsByteArray();
+        boolean compressible = isCompressible(wrapper);
+        if (compressible) {
+            addVary(response);
+        }
+        boolean store = cacheable && compressible && isStorable(wrapper);
+
+        byte[] encoded = null;
+        if (compressible && encoder.isPresent() && body.length >= properties.getMinSize().toBytes()
+                && !response.isCommitted()) {
+            encoded = encode(encoder.get(), body, store);
+        }
+
+        if (encoded == null) {
+            if (store) {
+                cache.put(key, wrapper.getContentType(), null, headers(response), body, generation);
+            }
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        String coding = encoder.get().coding().token();
+        if (store) {
+            cache.put(key, wrapper.getContentType(), coding, headers(response), encoded, generation);
+        }
+        wrapper.resetBuffer();
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, coding);
+        response.setContentLength(encoded.length);
+        response.getOutputStream().write(encoded);
+    }
+
+    /**
+     * Encoded body, or null when encoding fails or does not make it smaller
+     */
+    private byte[] encode(ResponseEncoder encoder, byte[] body, boolean cached) {
+        String coding = encoder.coding().token();
+        byte[] encoded;
+        try {
+            encoded = encoder.encode(body, encoders.level(encoder.coding(), cached));
+        } catch (IOException | RuntimeException e) {
+            log.warn("{} compression failed, sending the response uncompressed: {}", coding, e.getMessage());
+            return null;
+        }
+
+        meterRegistry.counter("http.compression.bytes", "coding", coding, "stage", "in").increment(body.length);
+        if (encoded.length >= body.length) {
+            return null;
+        }
+        meterRegistry.counter("http.compression.bytes", "coding", coding, "stage", "out").increment(encoded.length);
+        return encoded;
+    }
+
+    private void writeCached(HttpServletResponse response, CompressedResponseCache.Entry entry) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (entry.contentType() != null) {
+            response.setContentType(entry.contentType());
+        }
+        for (CompressedResponseCache.Header header : entry.headers()) {
+            response.addHeader(header.name(), header.value());
+        }
+        if (entry.contentEncoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, entry.contentEncoding());
+        }
+        response.setHeader(CACHE_STATUS_HEADER, "HIT");
+        response.setContentLength(entry.body().length);
+        response.getOutputStream().write(entry.body());
+    }
+
+    private boolean isCacheable(HttpServletRequest request) {
+        CompressionProperties.Cache cacheProperties = properties.getCache();
+        return cacheProperties.isEnabled()
+                && HttpMethod.GET.matches(request.getMethod())
+                // Must be read from the primary, which a cached page may predate
+                && request.getHeader(ReadYourWrites.TOKEN_HEADER) == null
+                && matches(cacheProperties.getPaths(), request.getRequestURI());
+    }
+
+    private boolean isCompressible(ContentCachingResponseWrapper response) {
+        int status = response.getStatus();
+        if (status < 200 || status == HttpServletResponse.SC_NO_CONTENT || status == HttpServletResponse.SC_NOT_MODIFIED
+                || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || response.getContentType() == null) {
+            return false;
+        }
+        MediaType type;
+        try {
+            type = MediaType.parseMediaType(response.getContentType());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        String mimeType = type.getType() + "/" + type.getSubtype();
+        return properties.getMimeTypes().stream().anyMatch(mimeType::equalsIgnoreCase);
+    }
+
+    private static boolean isStorable(ContentCachingResponseWrapper response) {
+        if (response.getStatus() != HttpServletResponse.SC_OK || response.getHeader(HttpHeaders.SET_COOKIE) != null) {
+            return false;
+        }
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        return cacheControl == null
+                || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private static boolean noCache(HttpServletRequest request) {
+        String cacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+        return cacheControl != null && cacheControl.contains("no-cache");
+    }
+
+    private static void addVary(HttpServletResponse response) {
+        for (String vary : response.getHeaders(HttpHeaders.VARY)) {
+            for (String name : vary.split(",")) {
+                String trimmed = name.trim();
+                if (trimmed.equals("*") || trimmed.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING)) {
+                    return;
+                }
+            }
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private static List<CompressedResponseCache.Header> headers(HttpServletResponse response) {
+        List<CompressedResponseCache.Header> headers = new ArrayList<>();
+        for (String name : response.getHeaderNames()) {
+            if (UNCACHED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            for (String value : response.getHeaders(name)) {
+                headers.add(new CompressedResponseCache.Header(name, value));
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Path, query parameters sorted by name and value, negotiated coding
+     * and CORS origin (the allowed-origin headers differ per origin)
+     */
+    static String cacheKey(HttpServletRequest request, String coding) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+
+        char separator = '?';
+        for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            String[] values = param.getValue().clone();
+            Arrays.sort(values);
+            for (String value : values) {
+                key.append(separator).append(param.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+
+        key.append('|').append(coding);
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        if (origin != null) {
+            key.append('|').append(origin);
+        }
+        return key.toString();
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("http.compression.cache.requests", "result", result).increment();
+    }
+}
@@ -1,12 +1,35 @@
 package com.library.bookservice.presentation.rest.mapper;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import org.springframework.stereotype.Component;
 
+import com.library.bookservice.application.dto.BookBatchItem;
+import com.library.bookservice.application.dto.BookChange;
+import com.library.bookservice.application.dto.BookChangePage;
 import com.library.bookservice.application.dto.BookResponse;
+import com.library.bookservice.application.dto.BookSearchResult;
+import com.library.bookservice.application.dto.BookSuggestion;
+import com.library.bookservice.application.dto.BookSummary;
+import com.library.bookservice.application.dto.CatalogSnapshotInfo;
 import com.library.bookservice.application.dto.CreateBookCommand;
 import com.library.bookservice.application.dto.ReserveBookCommand;
+import com.library.bookservice.application.dto.FacetCount;
+import com.library.bookservice.application.dto.ReorderReportRun;
 import com.library.bookservice.application.dto.UpdateBookCommand;
+import com.library.bookservice.presentation.rest.dto.BookBatchItemResponse;
+import com.library.bookservice.presentation.rest.dto.BookChangePageResponse;
+import com.library.bookservice.presentation.rest.dto.BookChangeResponse;
+import com.library.bookservice.presentation.rest.dto.BookSearchResultResponse;
+import com.library.bookservice.presentation.rest.dto.BookSuggestionResponse;
+import com.library.bookservice.presentation.rest.dto.BookSummaryResponse;
+import com.library.bookservice.presentation.rest.dto.CatalogSnapshotResponse;
 import com.library.bookservice.presentation.rest.dto.CreateBookRequest;
+import com.library.bookservice.presentation.rest.dto.FacetCountResponse;
+import com.library.bookservice.presentation.rest.dto.ReorderReportResponse;
 import com.library.bookservice.presentation.rest.dto.ReserveBookRequest;
 import com.library.bookservice.presentation.rest.dto.UpdateBookRequest;
 
@@ -78,4 +101,135 @@ public class BookDtoMapper {
                 .updatedAt(response.getUpdatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Map BookSummary (Application) → BookSummaryResponse (Presentation)
+     */
+    public BookSummaryResponse toDto(BookSummary summary) {
+        return BookSummaryResponse.builder()
+                .id(summary.getId())
+                .isbn(summary.getIsbn())
+                .title(summary.getTitle())
+                .authorName(summary.getAuthorName())
+                .categoryName(summary.getCategoryName())
+                .availableQuantity(summary.getAvailableQuantity())
+                .status(summary.getStatus().name())
+                .coverImageUrl(summary.getCoverImageUrl())
+                .availableForBorrowing(summary.isAvailableForBorrowing())
+                .build();
+    }
+
+    /**
+     * Map BookBatchItem (Application) → BookBatchItemResponse (Presentation)
+     */
+    public BookBatchItemResponse toDto(BookBatchItem item) {
+        return BookBatchItemResponse.builder()
+                .id(item.getId())
+                .isbn(item.getIsbn())
+                .found(item.isFound())
+                .book(item.getBook() != null ? toDto(item.getBook()) : null)
+                .build();
+    }
+
+    /**
+     * Map BookChangePage (Application) → BookChangePageResponse (Presentation)
+     */
+    public BookChangePageResponse toDto(BookChangePage page) {
+        return BookChangePageResponse.builder()
+                .changes(page.getChanges().stream()
+                        .map(this::toDto)
+                        .collect(Collectors.toList()))
+                .nextCursor(page.getNextCursor())
+                .hasMore(page.isHasMore())
+                .build();
+    }
+
+    /**
+     * Map BookChange (Application) → BookChangeResponse (Presentation)
+     */
+    public BookChangeResponse toDto(BookChange change) {
+        return BookChangeResponse.builder()
+                .seq(change.getSeq())
+                .bookId(change.getBookId())
+                .isbn(change.getIsbn())
+                .type(change.getType().name())
+                .changedAt(change.getChangedAt())
+                .book(change.getBook() != null ? toDto(change.getBook()) : null)
+                .build();
+    }
+
+    /**
+     * Map BookSuggestion (Application) → BookSuggestionResponse (Presentation)
+     */
+    public BookSuggestionResponse toDto(BookSuggestion suggestion) {
+        return BookSuggestionResponse.builder()
+                .text(suggestion.getText())
+                .type(suggestion.getType().name())
+                .bookId(suggestion.getBookId())
+                .score(suggestion.getScore())
+                .build();
+    }
+
+    /**
+     * Map BookSearchResult (Application) → BookSearchResultResponse (Presentation)
+     */
+    public BookSearchResultResponse toDto(BookSearchResult result) {
+        Map<String, List<FacetCountResponse>> facets = new LinkedHashMap<>();
+        result.getFacets().forEach((facet, counts) -> facets.put(facet, counts.stream()
+                .map(this::toDto)
+                .collect(Collectors.toList())));
+
+        return BookSearchResultResponse.builder()
+                .books(result.getBooks().stream()
+                        .map(this::toDto)
+                        .collect(Collectors.toList()))
+                .total(result.getTotal())
+                .page(result.getPage())
+                .size(result.getSize())
+                .facets(facets)
+                .build();
+    }
+
+    /**
+     * Map FacetCount (Application) → FacetCountResponse (Presentation)
+     */
+    public FacetCountResponse toDto(FacetCount count) {
+        return FacetCountResponse.builder()
+                .value(count.getValue())
+                .label(count.getLabel())
+                .count(count.getCount())
+                .build();
+    }
+
+    /**
+     * Map ReorderReportRun (Application) → ReorderReportResponse (Presentation)
+     */
+    public ReorderReportResponse toDto(ReorderReportRun run) {
+        return ReorderReportResponse.builder()
+                .runId(run.getRunId())
+                .format(run.getFormat().name())
+                .threshold(run.getThreshold())
+                .state(run.getState().name())
+                .total(run.getTotal())
+                .processed(run.getProcessed())
+                .written(run.getWritten())
+                .lastBookId(run.getLastBookId())
+                .startedAt(run.getStartedAt())
+                .updatedAt(run.getUpdatedAt())
+                .finishedAt(run.getFinishedAt())
+                .error(run.getError())
+                .build();
+    }
+
+    /**
+     * Map CatalogSnapshotInfo (Application) → CatalogSnapshotResponse (Presentation)
+     */
+    public CatalogSnapshotResponse toDto(CatalogSnapshotInfo info) {
+        return CatalogSnapshotResponse.builder()
+                .books(info.getBooks())
+                .bytes(info.getBytes())
+                .changeSeq(info.getChangeSeq())
+                .createdAt(info.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.library.bookservice.presentation.rpc;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.library.bookservice.application.dto.BookBatchItem;
+import com.library.bookservice.application.dto.BookResponse;
+import com.library.bookservice.application.dto.ReserveBookCommand;
+import com.library.bookservice.application.port.input.BookService;
+import com.library.bookservice.infrastructure.config.BookRpcProperties;
+import com.library.bookservice.infrastructure.config.IdempotencyProperties;
+import com.library.bookservice.infrastructure.idempotency.IdempotencyClaim;
+import com.library.bookservice.infrastructure.idempotency.IdempotencyStore;
+import com.library.bookservice.infrastructure.idempotency.StoredResponse;
+import com.library.common.rpc.Deadline;
+import com.library.common.rpc.RpcException;
+import com.library.common.rpc.RpcStatus;
+import com.library.common.rpc.book.BookBatchEntry;
+import com.library.common.rpc.book.BookMessage;
+import com.library.common.rpc.book.BookRpc;
+import com.library.common.rpc.book.BookRpcService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves the book RPC contract from the BookService input port
+ *
+ * Lookups go through the batch use case, so they share its read cache
+ * and chunked IN queries with GET /books/batch. Keyed reserves share the
+ * Idempotency-Key store with the REST API: the outcome of the first call,
+ * success or a rejection, is stored and returned to every retry.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookRpcAdapter implements BookRpcService {
+
+    private final BookService bookService;
+    private final BookRpcProperties properties;
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties idempotencyProperties;
+
+    @Override
+    public Optional<BookMessage> get(long id) {
+        BookBatchItem item = bookService.getBooksByIds(List.of(id)).get(0);
+        return item.isFound() ? Optional.of(toMessage(item.getBook())) : Optional.empty();
+    }
+
+    @Override
+    public void batchGet(List<Long> ids, Consumer<List<BookBatchEntry>> chunks, Deadline deadline) {
+        int chunkSize = Math.max(1, properties.getStreamChunkSize());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            deadline.check();
+            List<Long> chunkIds = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            List<BookBatchItem> items = bookService.getBooksByIds(chunkIds);
+
+            List<BookBatchEntry> entries = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                BookBatchItem item = items.get(i);
+                entries.add(new BookBatchEntry(chunkIds.get(i), item.isFound() ? toMessage(item.getBook()) : null));
+            }
+            chunks.accept(entries);
+        }
+    }
+
+    @Override
+    public void reserve(long bookId, Long userId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            reserve(bookId, userId);
+            return;
+        }
+
+        String requestHash = hash(BookRpc.RESERVE + ' ' + bookId + ' ' + userId);
+        IdempotencyClaim claim = idempotencyStore.claim(idempotencyKey, requestHash);
+        switch (claim.outcome()) {
+            case ACQUIRED -> reserveOnce(idempotencyKey, claim.owner(), requestHash, bookId, userId);
+            case REPLAY -> replay(requestHash, claim.response());
+            case WAIT -> replay(requestHash, await(claim));
+            case IN_PROGRESS -> throw inProgress();
+        }
+    }
+
+    @Override
+    public void release(long bookId) {
+        bookService.releaseBook(bookId);
+    }
+
+    private void reserve(long bookId, Long userId) {
+        bookService.reserveBook(ReserveBookCommand.builder()
+                .bookId(bookId)
+                .userId(userId)
+                .build());
+    }
+
+    /**
+     * Run the reserve as owner of the key and store its outcome; failures
+     * other than a rejection release the key so a retry runs it again
+     */
+    private void reserveOnce(String key, String owner, String requestHash, long bookId, Long userId) {
+        StoredResponse outcome = null;
+        try {
+            reserve(bookId, userId);
+            outcome = new StoredResponse(requestHash, HttpStatus.OK.value(), null, null);
+        } catch (IllegalArgumentException e) {
+            outcome = new StoredResponse(requestHash, HttpStatus.BAD_REQUEST.value(), null, e.getMessage());
+            throw e;
+        } catch (IllegalStateException e) {
+            outcome = new StoredResponse(requestHash, HttpStatus.CONFLICT.value(), null, e.getMessage());
+            throw e;
+        } finally {
+            if (outcome != null) {
+                idempotencyStore.complete(key, owner, outcome);
+            } else {
+                idempotencyStore.abandon(key, owner);
+            }
+        }
+    }
+
+    /**
+     * Repeat the stored outcome: return for a success, rethrow a rejection
+     */
+    private static void replay(String requestHash, StoredResponse stored) {
+        if (stored == null) {
+            throw inProgress();
+        }
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency key was already used for a different request");
+        }
+        if (stored.status() == HttpStatus.BAD_REQUEST.value()) {
+            throw new IllegalArgumentException(stored.body());
+        }
+        if (stored.status() == HttpStatus.CONFLICT.value()) {
+            throw new IllegalStateException(stored.body());
+        }
+    }
+
+    private StoredResponse await(IdempotencyClaim claim) {
+        try {
+            return claim.pending().get(idempotencyProperties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private static RpcException inProgress() {
+        return new RpcException(RpcStatus.ABORTED, "A call with this idempotency key is still in progress");
+    }
+
+    private static String hash(String request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(request.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static BookMessage toMessage(BookResponse book) {
+        return new BookMessage(
+                book.getId(),
+                book.getIsbn(),
+                book.getTitle(),
+                book.getAuthorName(),
+                book.getCategoryName(),
+                book.getStatus() != null ? book.getStatus().name() : null,
+                book.getTotalQuantity(),
+                book.getAvailableQuantity(),
+                book.getBorrowedQuantity(),
+                book.isAvailableForBorrowing(),
+                book.getUpdatedAt());
+    }
+}
@@ -0,0 +1,61 @@
+package com.library.bookservice.presentation.rpc;
+
+import java.time.Duration;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.library.bookservice.infrastructure.config.BookRpcProperties;
+import com.library.common.rpc.Deadline;
+import com.library.common.rpc.HttpRpcTransport;
+import com.library.common.rpc.RpcDispatcher;
+import com.library.common.rpc.RpcFrames;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * HTTP transport of the internal binary RPC
+ *
+ * Called by other services directly on an instance, not through the
+ * gateway, which does not route /internal. The response is always 200;
+ * the outcome is the status in the last frame. Frames are flushed as the
+ * handler produces them, so streaming calls reach the client chunk by
+ * chunk.
+ */
+@Hidden
+@RestController
+@RequiredArgsConstructor
+public class BookRpcEndpoint {
+
+    private static final MediaType RPC = MediaType.parseMediaType(RpcFrames.CONTENT_TYPE);
+
+    private final RpcDispatcher dispatcher;
+    private final BookRpcProperties properties;
+
+    @PostMapping(path = HttpRpcTransport.PATH + "{method}", consumes = RpcFrames.CONTENT_TYPE)
+    public ResponseEntity<StreamingResponseBody> call(
+            @PathVariable String method,
+            @RequestBody byte[] request,
+            @RequestHeader(name = RpcFrames.TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+
+        Deadline deadline = Deadline.after(timeout(timeoutMillis));
+        return ResponseEntity.ok()
+                .contentType(RPC)
+                .body(out -> dispatcher.dispatch(method, request, out, deadline));
+    }
+
+    private Duration timeout(Long timeoutMillis) {
+        if (timeoutMillis == null || timeoutMillis <= 0) {
+            return properties.getDefaultTimeout();
+        }
+        Duration requested = Duration.ofMillis(timeoutMillis);
+        return requested.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : requested;
+    }
+}
@@ -0,0 +1,14 @@
+-- Create book changes table
+-- Append-only change feed, one row per book mutation (UPSERT) or deletion (DELETE)
+CREATE TABLE IF NOT EXISTS book_changes (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    book_id BIGINT NOT NULL,
+    isbn VARCHAR(20) NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP(3) NOT NULL,
+
+    -- Index for settle window filtering
+    INDEX idx_book_changes_changed_at (changed_at),
+
+    CONSTRAINT chk_change_type CHECK (change_type IN ('UPSERT', 'DELETE'))
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,6 @@
+-- Lease for in-progress idempotency keys
+-- A key whose owner crashed or timed out before storing a response can be
+-- reclaimed once locked_until has passed, instead of blocking until expires_at
+ALTER TABLE idempotency_keys
+    ADD COLUMN owner VARCHAR(36) NULL AFTER request_hash,
+    ADD COLUMN locked_until TIMESTAMP(3) NULL AFTER expires_at;
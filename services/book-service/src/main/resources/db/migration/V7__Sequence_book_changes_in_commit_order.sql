@@ -0,0 +1,21 @@
+-- Number book changes in commit order
+-- Each writing transaction increments the single counter row and keeps it
+-- locked until it ends, so a sequence becomes visible only after every
+-- lower one, and a rollback hands its sequence back: the feed has no gaps.
+CREATE TABLE IF NOT EXISTS book_change_sequence (
+    id TINYINT PRIMARY KEY,
+    last_seq BIGINT NOT NULL,
+
+    -- Rows up to here were numbered by AUTO_INCREMENT and may have gaps
+    gapless_after BIGINT NOT NULL,
+
+    -- Highest sequence removed by retention; older cursors must reload
+    purged_through BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO book_change_sequence (id, last_seq, gapless_after, purged_through)
+SELECT 1, COALESCE(MAX(seq), 0), COALESCE(MAX(seq), 0), 0 FROM book_changes;
+
+-- Stamped by the database clock, not by the writing instance
+ALTER TABLE book_changes
+    MODIFY changed_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3);
@@ -0,0 +1,131 @@
+package com.library.bookservice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Starts the whole service on a migrated MySQL and calls each endpoint
+ * family once
+ *
+ * Covers what an AOT or native build is most likely to miss (entity mapping
+ * and lazy associations, JPQL projections, Jackson DTOs, springdoc), so it
+ * also runs as a native image: mvn -PnativeTest test -pl services/book-service -am
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+class BookServiceSmokeTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.36");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("book.snapshot.load-on-startup", () -> "false");
+    }
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void reads() {
+        expect(HttpStatus.OK, "/api/v1/books?page=0&size=5");
+        expect(HttpStatus.OK, "/api/v1/books?view=summary");
+        expect(HttpStatus.OK, "/api/v1/books?fields=id,title,categoryName");
+        expect(HttpStatus.OK, "/api/v1/books/category/technology");
+        expect(HttpStatus.OK, "/api/v1/books/search?keyword=the");
+        expect(HttpStatus.OK, "/api/v1/books/search?keyword=hary%20poter&mode=fuzzy");
+        expect(HttpStatus.OK, "/api/v1/books/search/faceted?keyword=&size=5");
+        expect(HttpStatus.OK, "/api/v1/books/suggest?prefix=ha");
+        expect(HttpStatus.OK, "/api/v1/books/changes?since=0&limit=10");
+        expect(HttpStatus.OK, "/api/v1/books/batch?ids=1,2,999999");
+        expect(HttpStatus.BAD_REQUEST, "/api/v1/books?fields=nope");
+    }
+
+    /**
+     * Bodies of the endpoints declared with wildcard types, whose DTOs only
+     * serialize in a native image through the controller's binding hints
+     */
+    @Test
+    void viewBodies() throws Exception {
+        JsonNode summary = data("/api/v1/books?view=summary").path(0);
+        assertThat(summary.path("title").asText()).isNotBlank();
+        assertThat(summary.path("categoryName").asText()).isNotBlank();
+        assertThat(summary.path("status").asText()).isNotBlank();
+        assertThat(summary.has("description")).isFalse();
+
+        JsonNode full = data("/api/v1/books/" + summary.path("id").asLong());
+        assertThat(full.path("title").asText()).isEqualTo(summary.path("title").asText());
+        assertThat(full.path("categoryName").asText()).isEqualTo(summary.path("categoryName").asText());
+        assertThat(full.has("totalQuantity")).isTrue();
+
+        JsonNode fields = data("/api/v1/books?fields=id,title,categoryName").path(0);
+        assertThat(fields.size()).isEqualTo(3);
+        assertThat(fields.path("title").asText()).isNotBlank();
+        assertThat(fields.path("categoryName").asText()).isNotBlank();
+    }
+
+    @Test
+    void createReadDelete() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Idempotency-Key", "smoke-9790000000018");
+        String body = """
+                {"isbn":"9790000000018","title":"Smoke Test","authorName":"Smoke Test",\
+                "categoryName":"Fiction","initialQuantity":1}""";
+
+        ResponseEntity<String> created = rest.exchange("/api/v1/books", HttpMethod.POST,
+                new HttpEntity<>(body, headers), String.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        JsonNode book = objectMapper.readTree(created.getBody()).path("data");
+        long id = book.path("id").asLong();
+        assertThat(book.path("categoryName").asText()).isEqualTo("Fiction");
+
+        expect(HttpStatus.OK, "/api/v1/books/" + id);
+        ResponseEntity<String> deleted = rest.exchange("/api/v1/books/" + id, HttpMethod.DELETE, null, String.class);
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        // Missing books are reported as bad requests, see GlobalExceptionHandler
+        expect(HttpStatus.BAD_REQUEST, "/api/v1/books/" + id);
+    }
+
+    @Test
+    void docsAndHealth() {
+        expect(HttpStatus.OK, "/v3/api-docs");
+        expect(HttpStatus.OK, "/actuator/health");
+    }
+
+    private JsonNode data(String path) throws Exception {
+        ResponseEntity<String> response = rest.getForEntity(path, String.class);
+        assertThat(response.getStatusCode()).as("GET %s: %s", path, response.getBody()).isEqualTo(HttpStatus.OK);
+        return objectMapper.readTree(response.getBody()).path("data");
+    }
+
+    private void expect(HttpStatus status, String path) {
+        ResponseEntity<String> response = rest.getForEntity(path, String.class);
+        assertThat(response.getStatusCode()).as("GET %s: %s", path, response.getBody()).isEqualTo(status);
+    }
+}
@@ -0,0 +1,43 @@
+package com.library.bookservice.infrastructure.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.library.bookservice.infrastructure.config.IdempotencyProperties;
+import com.library.bookservice.infrastructure.idempotency.IdempotencyClaim.Outcome;
+import com.library.bookservice.infrastructure.persistence.repository.JpaIdempotencyKeyRepository;
+
+class IdempotencyStoreTest {
+
+    private final JpaIdempotencyKeyRepository repository = mock(JpaIdempotencyKeyRepository.class);
+    private final IdempotencyStore store = new IdempotencyStore(repository, new IdempotencyProperties());
+
+    @Test
+    void failedClaimReleasesWaitingDuplicates() {
+        AtomicReference<IdempotencyClaim> duplicate = new AtomicReference<>();
+        when(repository.tryInsert(eq("key"), anyString(), anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    // A duplicate arrives while the original is talking to the database
+                    duplicate.set(store.claim("key", "hash"));
+                    throw new QueryTimeoutException("timeout");
+                })
+                .thenReturn(1);
+
+        assertThatThrownBy(() -> store.claim("key", "hash")).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(duplicate.get().outcome()).isEqualTo(Outcome.WAIT);
+        assertThat(duplicate.get().pending()).isCompletedWithValue(null);
+        // The key is not left in flight, the next request claims it
+        assertThat(store.claim("key", "hash").outcome()).isEqualTo(Outcome.ACQUIRED);
+    }
+}
@@ -0,0 +1,35 @@
+package com.library.bookservice.infrastructure.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL statements Hibernate issues on the current thread
+ *
+ * Registered by class name as the session factory's statement inspector
+ * in tests that assert how many statements a read takes, so that an N+1
+ * regression fails the build instead of slowing down production.
+ */
+public class QueryCountGuard implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    /**
+     * Statements issued since the last reset
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+}
@@ -0,0 +1,107 @@
+package com.library.bookservice.infrastructure.persistence.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.library.bookservice.application.dto.BookChange;
+import com.library.bookservice.application.dto.ReserveBookCommand;
+import com.library.bookservice.application.port.input.BookService;
+import com.library.bookservice.application.port.output.BookChangeLogPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Concurrent reserve/release on distinct books, which only contend on the
+ * change feed's counter row
+ *
+ * Every write must leave exactly one change and the feed must stay gapless.
+ * The logged rate is the ceiling the counter row puts on book writes on this
+ * database; it is reported, not asserted, since it depends on the host.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Slf4j
+class BookChangeLogLoadTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 100;
+    private static final int PAGE_SIZE = 500;
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.36");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("book.snapshot.load-on-startup", () -> "false");
+    }
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookChangeLogPort changeLog;
+
+    @Test
+    void reserveAndReleaseUnderContention() throws Exception {
+        long start = changeLog.findLatestSeq();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long began = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                // One sample book per thread, so only the counter row is shared
+                long bookId = thread + 1;
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        bookService.reserveBook(new ReserveBookCommand(bookId, bookId));
+                        bookService.releaseBook(bookId);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - began;
+
+        int writes = 2 * ITERATIONS * THREADS;
+        log.info("{} book writes in {} ms, {} writes/s", writes, elapsedNanos / 1_000_000,
+                writes * 1_000_000_000L / elapsedNanos);
+
+        // findSince fails on a gap, so reading the whole range proves there is none
+        int read = 0;
+        long cursor = start;
+        List<BookChange> page;
+        do {
+            page = changeLog.findSince(cursor, PAGE_SIZE);
+            for (BookChange change : page) {
+                assertThat(change.getSeq()).isEqualTo(cursor + 1);
+                cursor = change.getSeq();
+            }
+            read += page.size();
+        } while (page.size() == PAGE_SIZE);
+
+        assertThat(read).isEqualTo(writes);
+        assertThat(changeLog.findLatestSeq()).isEqualTo(start + writes);
+    }
+}
@@ -0,0 +1,154 @@
+package com.library.bookservice.infrastructure.persistence.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.library.bookservice.application.dto.BookSummary;
+import com.library.bookservice.application.port.output.BookChangeLogPort;
+import com.library.bookservice.domain.model.Book;
+import com.library.bookservice.domain.model.BookStatus;
+import com.library.bookservice.infrastructure.config.BookCacheProperties;
+import com.library.bookservice.infrastructure.messaging.LocalEventPublisher;
+import com.library.bookservice.infrastructure.persistence.QueryCountGuard;
+import com.library.bookservice.infrastructure.persistence.mapper.BookMapper;
+import com.library.bookservice.infrastructure.persistence.mapper.CategoryMapper;
+
+/**
+ * Every list read of the book repository takes one statement, however many
+ * books it maps (categories are fetched with the books, not one by one)
+ *
+ * Runs against the migrated schema and its sample books.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ BookRepositoryAdapter.class, BookMapper.class, CategoryMapper.class, BookColumnQuery.class,
+        BookCacheProperties.class })
+class BookRepositoryAdapterQueryCountTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.36");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                QueryCountGuard.class::getName);
+    }
+
+    @Autowired
+    private BookRepositoryAdapter adapter;
+
+    @MockBean
+    private BookChangeLogPort changeLog;
+    @MockBean
+    private LocalEventPublisher localEvents;
+
+    @Test
+    void findAll() {
+        assertSingleStatement(() -> adapter.findAll(), 10);
+    }
+
+    @Test
+    void findByStatus() {
+        assertSingleStatement(() -> adapter.findByStatus(BookStatus.AVAILABLE), 10);
+    }
+
+    @Test
+    void findAvailableBooks() {
+        assertSingleStatement(() -> adapter.findAvailableBooks(), 10);
+    }
+
+    @Test
+    void searchByKeyword() {
+        assertSingleStatement(() -> adapter.searchByKeyword("the"), 2);
+    }
+
+    @Test
+    void findByCategoryNameIgnoresCase() {
+        List<Book> books = assertSingleStatement(() -> adapter.findByCategoryName("technology"), 3);
+
+        assertThat(books).extracting(book -> book.getCategory().getName()).containsOnly("Technology");
+    }
+
+    @Test
+    void findAllByIds() {
+        List<Long> ids = adapter.findAll().stream().map(Book::getId).toList();
+
+        assertSingleStatement(() -> adapter.findAllByIds(ids), ids.size());
+    }
+
+    @Test
+    void findAllByIsbns() {
+        assertSingleStatement(() -> adapter.findAllByIsbns(List.of("978-0-132-35088-4", "978-0-451-52493-5")), 2);
+    }
+
+    @Test
+    void streamBooksNeedingReorder() {
+        assertSingleStatement(() -> {
+            try (Stream<Book> books = adapter.streamBooksNeedingReorder(3, 0)) {
+                return books.toList();
+            }
+        }, 3);
+    }
+
+    @Test
+    void summaries() {
+        assertSingleStatement(() -> adapter.findAllSummaries(), 10);
+        assertSingleStatement(() -> adapter.findAvailableSummaries(), 10);
+        assertSingleStatement(() -> adapter.searchSummariesByKeyword("the"), 2);
+
+        List<BookSummary> science = assertSingleStatement(() -> adapter.findSummariesByCategoryName("SCIENCE"),
+                2);
+        assertThat(science).extracting(BookSummary::getCategoryName).containsOnly("Science");
+    }
+
+    @Test
+    void summariesCarryTheSameCategoryAsBooks() {
+        Map<Long, String> categories = adapter.findAll().stream()
+                .collect(Collectors.toMap(Book::getId, Book::getCategoryName));
+
+        assertThat(adapter.findAllSummaries())
+                .hasSize(categories.size())
+                .allSatisfy(summary -> assertThat(summary.getCategoryName())
+                        .isEqualTo(categories.get(summary.getId())));
+    }
+
+    /**
+     * Run a read, touch each book's category, and check that it all took one
+     * statement
+     */
+    private static <T> List<T> assertSingleStatement(Supplier<List<T>> read, int expectedSize) {
+        QueryCountGuard.reset();
+
+        List<T> result = read.get();
+        result.forEach(item -> {
+            if (item instanceof Book book) {
+                assertThat(book.getCategory().getName()).isNotBlank();
+            }
+        });
+
+        assertThat(result).hasSizeGreaterThanOrEqualTo(expectedSize);
+        assertThat(QueryCountGuard.statements()).hasSize(1);
+        return result;
+    }
+}
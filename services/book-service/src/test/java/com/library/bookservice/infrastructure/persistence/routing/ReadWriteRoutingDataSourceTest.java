@@ -0,0 +1,296 @@
+package com.library.bookservice.infrastructure.persistence.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.Network;
+
+import com.library.bookservice.infrastructure.config.DataSourceRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read/write routing and GTID read-your-writes tokens against a primary
+ * and a replica replicating from it
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final int PRIMARY_SERVER_ID = 1;
+    private static final int REPLICA_SERVER_ID = 2;
+
+    private static Network network;
+    private static MySQLContainer<?> primaryDatabase;
+    private static MySQLContainer<?> replicaDatabase;
+
+    private static HikariDataSource primaryPool;
+    private static HikariDataSource replicaPool;
+    private static ReplicaState replica;
+    private static JdbcTemplate jdbc;
+    private static TransactionTemplate writes;
+    private static TransactionTemplate reads;
+
+    private static final AtomicInteger ids = new AtomicInteger();
+
+    @BeforeAll
+    static void startReplication() throws SQLException {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+
+        network = Network.newNetwork();
+        primaryDatabase = mysql(PRIMARY_SERVER_ID).withNetworkAliases("primary");
+        replicaDatabase = mysql(REPLICA_SERVER_ID);
+        primaryDatabase.start();
+        replicaDatabase.start();
+
+        // The replica has its own copy of what the primary's init created
+        String initialized = query(primaryDatabase, "SELECT @@GLOBAL.gtid_executed");
+        execute(replicaDatabase,
+                "RESET MASTER",
+                "SET GLOBAL gtid_purged = '" + initialized + "'",
+                "CHANGE REPLICATION SOURCE TO SOURCE_HOST = 'primary', SOURCE_PORT = 3306, "
+                        + "SOURCE_USER = 'root', SOURCE_PASSWORD = '" + primaryDatabase.getPassword() + "', "
+                        + "SOURCE_AUTO_POSITION = 1, GET_SOURCE_PUBLIC_KEY = 1",
+                "START REPLICA");
+        execute(primaryDatabase, "CREATE TABLE notes (id INT PRIMARY KEY, text VARCHAR(50) NOT NULL)");
+
+        primaryPool = pool(primaryDatabase, "primary");
+        replicaPool = pool(replicaDatabase, "replica-1");
+        replica = new ReplicaState("replica-1", replicaPool);
+        replica.update(true, 0);
+        await(() -> replica.hasExecuted(query(primaryDatabase, "SELECT @@GLOBAL.gtid_executed"), Duration.ZERO));
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(List.of(replica), primaryPool,
+                Duration.ZERO);
+        routing.setTargetDataSources(Map.of(ReadWriteRoutingDataSource.PRIMARY, primaryPool,
+                replica.getName(), replicaPool));
+        routing.setDefaultTargetDataSource(primaryPool);
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    @AfterAll
+    static void stop() {
+        if (primaryPool != null) {
+            primaryPool.close();
+        }
+        if (replicaPool != null) {
+            replicaPool.close();
+        }
+        if (replicaDatabase != null) {
+            replicaDatabase.stop();
+        }
+        if (primaryDatabase != null) {
+            primaryDatabase.stop();
+        }
+        if (network != null) {
+            network.close();
+        }
+    }
+
+    @AfterEach
+    void clearToken() throws SQLException {
+        ReadYourWrites.clear();
+        execute(replicaDatabase, "START REPLICA");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        Integer readServer = reads.execute(status -> serverId());
+        Integer writeServer = writes.execute(status -> serverId());
+
+        assertThat(readServer).isEqualTo(REPLICA_SERVER_ID);
+        assertThat(writeServer).isEqualTo(PRIMARY_SERVER_ID);
+    }
+
+    @Test
+    void committedWriteIssuesTheExecutedGtidSet() {
+        insert();
+
+        String token = ReadYourWrites.requiredToken();
+        assertThat(token).isNotEqualTo(ReadYourWrites.PRIMARY_TOKEN).contains(":");
+        assertThat(token).isEqualTo(query(primaryDatabase, "SELECT @@GLOBAL.gtid_executed").replaceAll("\\s", ""));
+    }
+
+    @Test
+    void tokenReadsFromTheReplicaOnceItAppliedTheWrite() {
+        int id = insert();
+        String token = ReadYourWrites.requiredToken();
+        await(() -> replica.hasExecuted(token, Duration.ZERO));
+
+        ReadYourWrites.require(token);
+        Integer server = reads.execute(status -> serverId());
+        Integer count = reads.execute(status -> count(id));
+
+        assertThat(server).isEqualTo(REPLICA_SERVER_ID);
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    void tokenReadsFromThePrimaryWhileTheReplicaLags() throws SQLException {
+        execute(replicaDatabase, "STOP REPLICA SQL_THREAD");
+        int id = insert();
+        String token = ReadYourWrites.requiredToken();
+
+        assertThat(replica.hasExecuted(token, Duration.ZERO)).isFalse();
+        ReadYourWrites.require(token);
+        Integer server = reads.execute(status -> serverId());
+        Integer count = reads.execute(status -> count(id));
+
+        assertThat(server).isEqualTo(PRIMARY_SERVER_ID);
+        assertThat(count).isEqualTo(1);
+
+        // Without the token the lagging replica is still used
+        ReadYourWrites.clear();
+        Integer lagging = reads.execute(status -> count(id));
+
+        assertThat(lagging).isZero();
+    }
+
+    @Test
+    void waitingForTheTokenSeesTheWriteArrive() throws Exception {
+        execute(replicaDatabase, "STOP REPLICA SQL_THREAD");
+        insert();
+        String token = ReadYourWrites.requiredToken();
+
+        CompletableFuture<Void> restart = CompletableFuture.runAsync(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(500);
+                execute(replicaDatabase, "START REPLICA SQL_THREAD");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(replica.hasExecuted(token, Duration.ofSeconds(20))).isTrue();
+        restart.get(20, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void primaryTokenAlwaysReadsFromThePrimary() {
+        ReadYourWrites.require(ReadYourWrites.PRIMARY_TOKEN);
+        Integer server = reads.execute(status -> serverId());
+
+        assertThat(server).isEqualTo(PRIMARY_SERVER_ID);
+    }
+
+    @Test
+    void healthCheckTakesAStoppedReplicaOutOfRotation() throws SQLException {
+        ReplicaState probed = new ReplicaState("probed", replicaPool);
+        ReplicaHealthChecker checker = new ReplicaHealthChecker(List.of(probed), new DataSourceRoutingProperties());
+
+        checker.check(probed);
+        assertThat(probed.isHealthy()).isTrue();
+
+        execute(replicaDatabase, "STOP REPLICA");
+        checker.check(probed);
+        assertThat(probed.isHealthy()).isFalse();
+    }
+
+    @Test
+    void closingTheCheckerClosesTheReplicaPools() {
+        HikariDataSource pool = pool(replicaDatabase, "closed-on-shutdown");
+        ReplicaHealthChecker checker = new ReplicaHealthChecker(List.of(new ReplicaState("closed", pool)),
+                new DataSourceRoutingProperties());
+
+        checker.close();
+
+        assertThat(pool.isClosed()).isTrue();
+    }
+
+    private static int insert() {
+        int id = ids.incrementAndGet();
+        writes.executeWithoutResult(status -> jdbc.update("INSERT INTO notes (id, text) VALUES (?, ?)", id, "n" + id));
+        return id;
+    }
+
+    private static int serverId() {
+        return jdbc.queryForObject("SELECT @@server_id", Integer.class);
+    }
+
+    private static int count(int id) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM notes WHERE id = ?", Integer.class, id);
+    }
+
+    private static MySQLContainer<?> mysql(int serverId) {
+        return new MySQLContainer<>("mysql:8.0.36")
+                .withNetwork(network)
+                .withCommand("--server-id=" + serverId, "--log-bin=binlog", "--gtid-mode=ON",
+                        "--enforce-gtid-consistency=ON");
+    }
+
+    private static HikariDataSource pool(MySQLContainer<?> database, String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(database.getJdbcUrl());
+        pool.setUsername("root");
+        pool.setPassword(database.getPassword());
+        pool.setMaximumPoolSize(4);
+        return pool;
+    }
+
+    private static Connection root(MySQLContainer<?> database) throws SQLException {
+        return DriverManager.getConnection(database.getJdbcUrl(), "root", database.getPassword());
+    }
+
+    private static void execute(MySQLContainer<?> database, String... statements) throws SQLException {
+        try (Connection connection = root(database); Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static String query(MySQLContainer<?> database, String sql) {
+        try (Connection connection = root(database);
+                Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getString(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Replica did not catch up within 30s");
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
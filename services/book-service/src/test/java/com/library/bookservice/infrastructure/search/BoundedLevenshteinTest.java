@@ -0,0 +1,54 @@
+package com.library.bookservice.infrastructure.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedLevenshteinTest {
+
+    @Test
+    void countsEachKindOfEditOnce() {
+        BoundedLevenshtein matcher = new BoundedLevenshtein("harry", 2);
+
+        assertThat(matcher.distance("harry")).isZero();
+        assertThat(matcher.distance("hary")).isEqualTo(1);
+        assertThat(matcher.distance("harrey")).isEqualTo(1);
+        assertThat(matcher.distance("hatry")).isEqualTo(1);
+        assertThat(matcher.distance("hrary")).isEqualTo(1);
+        assertThat(matcher.distance("hrray")).isEqualTo(2);
+    }
+
+    @Test
+    void stopsAtTheBound() {
+        BoundedLevenshtein matcher = new BoundedLevenshtein("potter", 1);
+
+        assertThat(matcher.distance("poter")).isEqualTo(1);
+        assertThat(matcher.distance("pottery")).isEqualTo(1);
+        assertThat(matcher.distance("pooter")).isEqualTo(1);
+        assertThat(matcher.distance("plotter")).isEqualTo(1);
+        assertThat(matcher.distance("patter")).isEqualTo(1);
+        assertThat(matcher.distance("platter")).isEqualTo(2);
+        assertThat(matcher.distance("butter")).isEqualTo(2);
+        assertThat(matcher.distance("pot")).isEqualTo(2);
+    }
+
+    @Test
+    void reusedRowsGiveTheSameResults() {
+        BoundedLevenshtein matcher = new BoundedLevenshtein("the", 1);
+
+        assertThat(matcher.distance("xxxxx")).isEqualTo(2);
+        assertThat(matcher.distance("teh")).isEqualTo(1);
+        assertThat(matcher.distance("zzz")).isEqualTo(2);
+        assertThat(matcher.distance("the")).isZero();
+        assertThat(matcher.distance("he")).isEqualTo(1);
+    }
+
+    @Test
+    void exactMatchOnlyWithoutEdits() {
+        BoundedLevenshtein matcher = new BoundedLevenshtein("it", 0);
+
+        assertThat(matcher.distance("it")).isZero();
+        assertThat(matcher.distance("ti")).isEqualTo(1);
+        assertThat(matcher.distance("is")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,107 @@
+package com.library.bookservice.infrastructure.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.library.bookservice.domain.event.BookChangedEvent;
+import com.library.bookservice.domain.model.Author;
+import com.library.bookservice.domain.model.Book;
+import com.library.bookservice.domain.model.BookStatus;
+import com.library.bookservice.domain.model.Category;
+import com.library.bookservice.domain.model.ISBN;
+import com.library.bookservice.domain.model.Inventory;
+import com.library.bookservice.infrastructure.search.InMemoryBookSuggestIndex.IndexedBook;
+import com.library.common.event.bus.EventBus;
+
+class InMemoryBookFuzzyIndexTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private InMemoryBookFuzzyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryBookFuzzyIndex();
+        index.load(List.of(
+                new IndexedBook(1L, "Harry Potter and the Philosopher's Stone", "J. K. Rowling", 10, UPDATED_AT),
+                new IndexedBook(2L, "The Hobbit", "J. R. R. Tolkien", 5, UPDATED_AT),
+                new IndexedBook(3L, "Dune", "Frank Herbert", 1, UPDATED_AT),
+                new IndexedBook(4L, "Harvest", "Jim Crace", 2, UPDATED_AT)));
+    }
+
+    @Test
+    void swappedLettersSharingFewTrigramsStillMatch() {
+        // "hrary" shares only "ry$" with "harry"
+        assertThat(index.search("hrary", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void shortWordWithNoTrigramLeftIsFoundByOneEditLookup() {
+        // "teh" and "the" share no trigram at all
+        assertThat(index.search("teh", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void everyWordMustMatch() {
+        assertThat(index.search("hary poter", 10)).containsExactly(1L);
+        assertThat(index.search("hobit tolkein", 10)).containsExactly(2L);
+        assertThat(index.search("hobit rowling", 10)).isEmpty();
+    }
+
+    @Test
+    void exactMatchesRankFirst() {
+        assertThat(index.search("harvest", 10)).containsExactly(4L);
+        assertThat(index.search("dune", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void oneOrTwoLetterWordsMustMatchExactly() {
+        assertThat(index.search("jk", 10)).isEmpty();
+        assertThat(index.search("k", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void tooManyEditsDoNotMatch() {
+        assertThat(index.search("dnuee", 10)).isEmpty();
+        assertThat(index.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void moreBorrowedBooksRankFirstAmongEqualMatches() {
+        assertThat(index.search("j", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void changesPublishedOnTheBusAreApplied() {
+        try (EventBus bus = EventBus.builder().subscribe(index).build()) {
+            bus.publish(BookChangedEvent.saved(book(3L, "Dune Messiah", UPDATED_AT.plusDays(1))));
+            bus.publish(BookChangedEvent.saved(book(5L, "Neuromancer", UPDATED_AT)));
+            bus.publish(BookChangedEvent.deleted(4L));
+        }
+
+        assertThat(index.search("mesiah", 10)).containsExactly(3L);
+        assertThat(index.search("neuromancr", 10)).containsExactly(5L);
+        assertThat(index.search("harvest", 10)).isEmpty();
+    }
+
+    @Test
+    void olderStateFromTheBusIsIgnored() {
+        try (EventBus bus = EventBus.builder().subscribe(index).build()) {
+            bus.publish(BookChangedEvent.saved(book(3L, "Children of Dune", UPDATED_AT.minusDays(1))));
+        }
+
+        assertThat(index.search("children", 10)).isEmpty();
+        assertThat(index.search("dune", 10)).containsExactly(3L);
+    }
+
+    private static Book book(Long id, String title, LocalDateTime updatedAt) {
+        return Book.reconstruct(id, title, "Description", Author.of("Frank Herbert"), ISBN.of("9780441172719"),
+                Category.reconstruct(1L, "Fiction", null, UPDATED_AT, UPDATED_AT), Inventory.of(2, 1, 1),
+                BookStatus.AVAILABLE, null, UPDATED_AT, updatedAt);
+    }
+}
@@ -0,0 +1,37 @@
+package com.library.bookservice.infrastructure.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class IntCounterTest {
+
+    @Test
+    void returnsThePreviousCount() {
+        IntCounter counter = new IntCounter(4);
+
+        assertThat(counter.increment(7)).isZero();
+        assertThat(counter.increment(7)).isEqualTo(1);
+        assertThat(counter.increment(0)).isZero();
+
+        assertThat(counter.get(7)).isEqualTo(2);
+        assertThat(counter.get(0)).isEqualTo(1);
+        assertThat(counter.get(8)).isZero();
+        assertThat(counter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsCountsWhenItGrowsPastTheExpectedKeys() {
+        IntCounter counter = new IntCounter(0);
+        for (int round = 0; round < 3; round++) {
+            for (int key = 0; key < 10_000; key += 7) {
+                counter.increment(key);
+            }
+        }
+
+        for (int key = 0; key < 10_000; key++) {
+            assertThat(counter.get(key)).isEqualTo(key % 7 == 0 ? 3 : 0);
+        }
+        assertThat(counter.size()).isEqualTo(1429);
+    }
+}